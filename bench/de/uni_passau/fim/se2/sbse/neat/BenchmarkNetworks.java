@@ -0,0 +1,44 @@
+package de.uni_passau.fim.se2.sbse.neat;
+
+import de.uni_passau.fim.se2.sbse.neat.algorithms.innovations.Innovation;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkGenerator;
+import de.uni_passau.fim.se2.sbse.neat.mutation.NeatMutation;
+
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Creates reproducible networks of a given size for the benchmarks.
+ */
+public final class BenchmarkNetworks {
+
+    /**
+     * The number of inputs of the benchmarked networks, matching the state of the cart-pole tasks.
+     */
+    public static final int INPUTS = 4;
+
+    public static final int OUTPUTS = 1;
+
+    private BenchmarkNetworks() {
+        // private constructor to prevent instantiation.
+    }
+
+    /**
+     * Generates a network and grows it by splitting connections until it has the given number of hidden neurons.
+     * Every split is followed by an attempt to add a connection, such that larger networks are also denser.
+     *
+     * @param innovations   The innovations shared by all networks of a benchmark.
+     * @param hiddenNeurons The number of hidden neurons of the network.
+     * @param random        The random number generator.
+     * @return The grown network.
+     */
+    public static NetworkChromosome grow(Set<Innovation> innovations, int hiddenNeurons, Random random) {
+        NetworkChromosome chromosome = new NetworkGenerator(innovations, INPUTS, OUTPUTS, random).generate();
+        NeatMutation mutation = new NeatMutation(innovations, random);
+        for (int neuron = 0; neuron < hiddenNeurons; neuron++) {
+            chromosome = mutation.addConnection(mutation.addNeuron(chromosome));
+        }
+        return mutation.mutateWeights(chromosome);
+    }
+}
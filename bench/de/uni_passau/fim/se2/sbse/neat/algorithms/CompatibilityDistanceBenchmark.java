@@ -0,0 +1,45 @@
+package de.uni_passau.fim.se2.sbse.neat.algorithms;
+
+import de.uni_passau.fim.se2.sbse.neat.BenchmarkNetworks;
+import de.uni_passau.fim.se2.sbse.neat.algorithms.innovations.Innovation;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the compatibility distance between two networks that grew apart from a shared set of innovations,
+ * which speciation computes for every individual and species representative.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CompatibilityDistanceBenchmark {
+
+    @Param({"0", "8", "32"})
+    private int hiddenNeurons;
+
+    private NeatAlgorithm neat;
+    private NetworkChromosome first;
+    private NetworkChromosome second;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(0);
+        Set<Innovation> innovations = new HashSet<>();
+        neat = new NeatAlgorithm(50, 1, random);
+        first = BenchmarkNetworks.grow(innovations, hiddenNeurons, random);
+        second = BenchmarkNetworks.grow(innovations, hiddenNeurons, random);
+    }
+
+    @Benchmark
+    public double computeCompatibilityDistance() {
+        return neat.computeCompatibilityDistance(first, second);
+    }
+}
@@ -0,0 +1,39 @@
+package de.uni_passau.fim.se2.sbse.neat.chromosomes;
+
+import de.uni_passau.fim.se2.sbse.neat.BenchmarkNetworks;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the activation of network chromosomes of different sizes, i.e., the inner loop of every evaluation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class NetworkChromosomeBenchmark {
+
+    @Param({"0", "8", "32"})
+    private int hiddenNeurons;
+
+    private NetworkChromosome chromosome;
+    private List<Double> state;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(0);
+        chromosome = BenchmarkNetworks.grow(new HashSet<>(), hiddenNeurons, random);
+        state = List.of(0.1, -0.2, 0.05, 0.3);
+    }
+
+    @Benchmark
+    public List<Double> getOutput() {
+        return chromosome.getOutput(state);
+    }
+}
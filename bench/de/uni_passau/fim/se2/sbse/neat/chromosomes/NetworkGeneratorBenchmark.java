@@ -0,0 +1,34 @@
+package de.uni_passau.fim.se2.sbse.neat.chromosomes;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the generation of fully connected initial networks, which happens once per individual of the population.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class NetworkGeneratorBenchmark {
+
+    @Param({"2", "4", "16"})
+    private int inputSize;
+
+    private NetworkGenerator generator;
+
+    @Setup
+    public void setUp() {
+        generator = new NetworkGenerator(new HashSet<>(), inputSize, 1, new Random(0));
+    }
+
+    @Benchmark
+    public NetworkChromosome generate() {
+        return generator.generate();
+    }
+}
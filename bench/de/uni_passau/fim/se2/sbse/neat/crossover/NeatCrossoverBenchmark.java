@@ -0,0 +1,46 @@
+package de.uni_passau.fim.se2.sbse.neat.crossover;
+
+import de.uni_passau.fim.se2.sbse.neat.BenchmarkNetworks;
+import de.uni_passau.fim.se2.sbse.neat.algorithms.innovations.Innovation;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the crossover of two networks that grew apart from a shared set of innovations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class NeatCrossoverBenchmark {
+
+    @Param({"0", "8", "32"})
+    private int hiddenNeurons;
+
+    private NeatCrossover crossover;
+    private NetworkChromosome first;
+    private NetworkChromosome second;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(0);
+        Set<Innovation> innovations = new HashSet<>();
+        crossover = new NeatCrossover(random);
+        first = BenchmarkNetworks.grow(innovations, hiddenNeurons, random);
+        second = BenchmarkNetworks.grow(innovations, hiddenNeurons, random);
+        first.setFitness(2);
+        second.setFitness(1);
+    }
+
+    @Benchmark
+    public NetworkChromosome apply() {
+        return crossover.apply(first, second);
+    }
+}
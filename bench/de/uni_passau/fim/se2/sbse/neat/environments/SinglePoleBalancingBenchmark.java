@@ -0,0 +1,45 @@
+package de.uni_passau.fim.se2.sbse.neat.environments;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a single step of the cart-pole simulation with the exact and the fast physics.
+ * The force alternates between both directions, and the environment is reset whenever the pole falls.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SinglePoleBalancingBenchmark {
+
+    private static final List<Double> PUSH_LEFT = List.of(-1.0);
+    private static final List<Double> PUSH_RIGHT = List.of(1.0);
+
+    @Param({"false", "true"})
+    private boolean fastPhysics;
+
+    private SinglePoleBalancing environment;
+    private boolean right;
+
+    @Setup
+    public void setUp() {
+        environment = new SinglePoleBalancing(1, false, new Random(0));
+        environment.setFastPhysics(fastPhysics);
+    }
+
+    @Benchmark
+    public boolean updateState() {
+        right = !right;
+        environment.updateState(right ? PUSH_RIGHT : PUSH_LEFT);
+        if (environment.isDone()) {
+            environment.resetState();
+        }
+        return right;
+    }
+}
@@ -0,0 +1,63 @@
+package de.uni_passau.fim.se2.sbse.neat.mutation;
+
+import de.uni_passau.fim.se2.sbse.neat.BenchmarkNetworks;
+import de.uni_passau.fim.se2.sbse.neat.algorithms.innovations.Innovation;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures every mutation operator on the same parent. All operators copy the parent,
+ * hence the parent does not grow across invocations and every invocation mutates a network of the same size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class NeatMutationBenchmark {
+
+    @Param({"0", "8", "32"})
+    private int hiddenNeurons;
+
+    private NeatMutation mutation;
+    private NetworkChromosome parent;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(0);
+        Set<Innovation> innovations = new HashSet<>();
+        parent = BenchmarkNetworks.grow(innovations, hiddenNeurons, random);
+        mutation = new NeatMutation(innovations, random);
+    }
+
+    @Benchmark
+    public NetworkChromosome apply() {
+        return mutation.apply(parent);
+    }
+
+    @Benchmark
+    public NetworkChromosome addNeuron() {
+        return mutation.addNeuron(parent);
+    }
+
+    @Benchmark
+    public NetworkChromosome addConnection() {
+        return mutation.addConnection(parent);
+    }
+
+    @Benchmark
+    public NetworkChromosome mutateWeights() {
+        return mutation.mutateWeights(parent);
+    }
+
+    @Benchmark
+    public NetworkChromosome toggleConnection() {
+        return mutation.toggleConnection(parent);
+    }
+}
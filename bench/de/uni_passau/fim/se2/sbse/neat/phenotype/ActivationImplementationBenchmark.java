@@ -0,0 +1,44 @@
+package de.uni_passau.fim.se2.sbse.neat.phenotype;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one tanh and one sigmoid activation of every {@link ActivationImplementation}.
+ * The inputs are drawn from a normal distribution with a standard deviation of 3, which resembles the weighted sums
+ * of evolved networks. The error bounds are verified by the unit tests.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ActivationImplementationBenchmark {
+
+    private static final int INPUTS = 4096;
+
+    @Param({"EXACT", "RATIONAL", "TABLE"})
+    private ActivationImplementation implementation;
+
+    private double[] inputs;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(0);
+        inputs = new double[INPUTS];
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = random.nextGaussian() * 3;
+        }
+    }
+
+    @Benchmark
+    public double activate() {
+        double input = inputs[next];
+        next = (next + 1) & (INPUTS - 1);
+        return implementation.tanh(input) + implementation.sigmoid(input);
+    }
+}
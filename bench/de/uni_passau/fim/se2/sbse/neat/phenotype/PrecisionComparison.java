@@ -0,0 +1,81 @@
+package de.uni_passau.fim.se2.sbse.neat.phenotype;
+
+import de.uni_passau.fim.se2.sbse.neat.algorithms.NeatAlgorithm;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import de.uni_passau.fim.se2.sbse.neat.environments.Environment;
+import de.uni_passau.fim.se2.sbse.neat.environments.SinglePoleBalancing;
+import de.uni_passau.fim.se2.sbse.neat.environments.XOR;
+
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Compares the fitness of evolved networks under double and single precision evaluation.
+ * For every task, a population is evolved in double precision for a few generations, and every network of the final
+ * population is then evaluated once as a {@link CompiledNetwork} and once as its
+ * {@link CompiledNetwork#toFloat() single precision counterpart} on identically seeded environments.
+ * <p>
+ * The report lists how many networks obtain a different fitness, the mean and maximum absolute difference,
+ * and the maximum difference relative to the fitness in double precision.
+ * On the cart-pole tasks a difference usually means that a network which balances the pole right at a failure
+ * threshold fails one step earlier or later, or fails an episode it survived in double precision.
+ * <p>
+ * The comparison is compiled with the {@code jmh} profile, build the jar with {@code mvn -Pjmh package -DskipTests} and
+ * run it with {@code java -cp target/Neuroevolution-Neat.jar de.uni_passau.fim.se2.sbse.neat.phenotype.PrecisionComparison
+ * [generations] [seed]}.
+ */
+public final class PrecisionComparison {
+
+    private static final int POPULATION_SIZE = 150;
+
+    private PrecisionComparison() {
+        // private constructor to prevent instantiation.
+    }
+
+    public static void main(String[] args) {
+        int generations = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 0;
+
+        System.out.printf(Locale.ROOT, "%-12s %9s %9s %14s %14s %14s%n",
+                "", "networks", "differ", "mean |diff|", "max |diff|", "max relative");
+        compare("XOR", XOR::new, generations, seed);
+        compare("CART", () -> new SinglePoleBalancing(10, false, new Random(seed)), generations, seed);
+        compare("CART_RANDOM", () -> new SinglePoleBalancing(10, true, new Random(seed)), generations, seed);
+    }
+
+    /**
+     * Evolves a population on the environments of the given factory and prints the fitness differences of its networks.
+     * Every evaluation uses a fresh environment, such that randomised tasks start from the same initial states.
+     */
+    private static void compare(String task, Supplier<Environment> environments, int generations, long seed) {
+        NeatAlgorithm neat = new NeatAlgorithm(POPULATION_SIZE, generations, new Random(seed));
+        PlanCache planCache = new PlanCache(PlanCache.DEFAULT_CAPACITY);
+        neat.setPlanCache(planCache);
+        neat.solve(environments.get());
+
+        int networks = 0;
+        int differ = 0;
+        double sum = 0;
+        double max = 0;
+        double maxRelative = 0;
+        for (NetworkChromosome chromosome : neat.getPopulation()) {
+            CompiledNetwork network = planCache.compile(chromosome);
+            double doubleFitness = environments.get().evaluate(network);
+            double floatFitness = environments.get().evaluate(network.toFloat());
+            double difference = Math.abs(doubleFitness - floatFitness);
+
+            networks++;
+            if (difference != 0) {
+                differ++;
+            }
+            sum += difference;
+            max = Math.max(max, difference);
+            if (doubleFitness != 0) {
+                maxRelative = Math.max(maxRelative, difference / Math.abs(doubleFitness));
+            }
+        }
+        System.out.printf(Locale.ROOT, "%-12s %9d %9d %14.3e %14.3e %14.3e%n",
+                task, networks, differ, sum / networks, max, maxRelative);
+    }
+}
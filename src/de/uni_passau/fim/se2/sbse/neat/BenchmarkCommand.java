@@ -0,0 +1,202 @@
+package de.uni_passau.fim.se2.sbse.neat;
+
+import de.uni_passau.fim.se2.sbse.neat.algorithms.NeatAlgorithm;
+import de.uni_passau.fim.se2.sbse.neat.algorithms.Phase;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.Agent;
+import de.uni_passau.fim.se2.sbse.neat.environments.Environment;
+import de.uni_passau.fim.se2.sbse.neat.environments.Tasks;
+import de.uni_passau.fim.se2.sbse.neat.phenotype.PlanCache;
+import de.uni_passau.fim.se2.sbse.neat.utils.Randomness;
+import de.uni_passau.fim.se2.sbse.neat.utils.RestorableRandom;
+import picocli.CommandLine;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.Callable;
+
+/**
+ * Measures how complete NEAT runs scale with the population size, the initial genome size, the number of threads and
+ * the task. Every combination is run with fixed seeds, and every run is written as one CSV row as soon as it finishes,
+ * such that the results of different commits can be compared row by row.
+ */
+@CommandLine.Command(
+        name = "benchmark",
+        description = "Sweeps population sizes, genome sizes, thread counts and tasks and writes the measurements as CSV."
+)
+public class BenchmarkCommand implements Callable<Integer> {
+
+    static final String HEADER = "task,population_size,hidden_neurons,threads,repetition,seed,generations,solved,"
+            + "best_fitness,mean_connections,wall_ms,initialisation_ms,checkpointing_ms,evaluation_ms,speciation_ms,"
+            + "fitness_sharing_ms,reproduction_ms,evaluations,evaluations_per_s,steps,steps_per_s,peak_heap_mb,gc_ms,gc_count";
+
+    @CommandLine.Option(
+            names = {"--tasks"},
+            description = "The tasks to run [XOR, CART, CART_RANDOM].",
+            split = ",",
+            converter = TaskConverter.class,
+            defaultValue = "XOR,CART"
+    )
+    private List<Tasks> tasks;
+
+    @CommandLine.Option(
+            names = {"--population-sizes"},
+            description = "The population sizes to run.",
+            split = ",",
+            defaultValue = "50,150,500"
+    )
+    private List<Integer> populationSizes;
+
+    @CommandLine.Option(
+            names = {"--hidden-neurons"},
+            description = "The numbers of hidden neurons of the initial networks.",
+            split = ",",
+            defaultValue = "0"
+    )
+    private List<Integer> hiddenNeurons;
+
+    @CommandLine.Option(
+            names = {"--threads"},
+            description = "The thread counts to run.",
+            split = ",",
+            defaultValue = "1"
+    )
+    private List<Integer> threads;
+
+    @CommandLine.Option(
+            names = {"-g", "--max-generations"},
+            description = "The maximum number of generations of every run.",
+            defaultValue = "20"
+    )
+    private int maxGenerations;
+
+    @CommandLine.Option(
+            names = {"-r", "--repetitions"},
+            description = "The number of runs of every combination, each with its own seed.",
+            defaultValue = "1"
+    )
+    private int repetitions;
+
+    @CommandLine.Option(
+            names = {"-s", "--seed"},
+            description = "The seed from which the seed of every repetition is derived.",
+            defaultValue = "0"
+    )
+    private long seed;
+
+    @CommandLine.Option(
+            names = {"--plan-cache-size"},
+            description = "The number of compiled network structures cached for evaluation, 0 evaluates the chromosomes directly.",
+            defaultValue = "1024"
+    )
+    private int planCacheSize;
+
+    @CommandLine.Option(
+            names = {"-o", "--output"},
+            description = "The CSV file receiving the results, which are printed to the console if omitted."
+    )
+    private Path output;
+
+    /**
+     * Runs all combinations and writes their measurements.
+     *
+     * @return 1 if the results could not be written, 0 otherwise.
+     */
+    @Override
+    public Integer call() {
+        try (PrintWriter writer = output == null
+                ? new PrintWriter(System.out, true, StandardCharsets.UTF_8)
+                : new PrintWriter(Files.newBufferedWriter(output, StandardCharsets.UTF_8), true)) {
+            writer.println(HEADER);
+            for (Tasks task : tasks) {
+                for (int populationSize : populationSizes) {
+                    for (int hidden : hiddenNeurons) {
+                        for (int threadCount : threads) {
+                            for (int repetition = 0; repetition < repetitions; repetition++) {
+                                writer.println(run(task, populationSize, hidden, threadCount, repetition));
+                            }
+                        }
+                    }
+                }
+            }
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Could not write the results: " + e.getMessage());
+            return 1;
+        }
+        return 0;
+    }
+
+    /**
+     * Runs NEAT once with the given configuration and returns the CSV row of its measurements.
+     * The heap is collected before the run, such that the peak heap usage is attributed to this run only.
+     */
+    private String run(Tasks task, int populationSize, int hidden, int threadCount, int repetition) {
+        long runSeed = Randomness.derive(seed, repetition);
+        Random random = new RestorableRandom(runSeed);
+        Environment environment = task.createEnvironment(random);
+        NeatAlgorithm neat = new NeatAlgorithm(populationSize, maxGenerations, random);
+        neat.setInitialHiddenNeurons(hidden);
+        neat.setThreads(threadCount);
+        if (planCacheSize != 0) {
+            neat.setPlanCache(new PlanCache(planCacheSize));
+        }
+
+        System.gc();
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        long gcMillis = gcMillis();
+        long gcCount = gcCount();
+
+        long start = System.nanoTime();
+        Agent best = neat.solve(environment);
+        long wallNanos = System.nanoTime() - start;
+
+        gcMillis = gcMillis() - gcMillis;
+        gcCount = gcCount() - gcCount;
+        long peakHeap = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+        double meanConnections = neat.getPopulation().stream()
+                .mapToInt(chromosome -> chromosome.getConnections().size())
+                .average().orElse(0);
+        double seconds = wallNanos / 1e9;
+
+        return String.format(Locale.ROOT, "%s,%d,%d,%d,%d,%d,%d,%b,%s,%.2f,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f,%d,%.1f,%d,%.1f,%.1f,%d,%d",
+                task, populationSize, hidden, threadCount, repetition, runSeed, neat.getGeneration(),
+                environment.solved(best), best.getFitness(), meanConnections,
+                wallNanos / 1e6,
+                neat.getPhaseNanos(Phase.INITIALISATION) / 1e6,
+                neat.getPhaseNanos(Phase.CHECKPOINTING) / 1e6,
+                neat.getPhaseNanos(Phase.EVALUATION) / 1e6,
+                neat.getPhaseNanos(Phase.SPECIATION) / 1e6,
+                neat.getPhaseNanos(Phase.FITNESS_SHARING) / 1e6,
+                neat.getPhaseNanos(Phase.REPRODUCTION) / 1e6,
+                neat.getEvaluationCount(), neat.getEvaluationCount() / seconds,
+                neat.getStepCount(), neat.getStepCount() / seconds,
+                peakHeap / (1024.0 * 1024.0), gcMillis, gcCount);
+    }
+
+    private static long gcMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime)
+                .filter(time -> time > 0)
+                .sum();
+    }
+
+    private static long gcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionCount)
+                .filter(count -> count > 0)
+                .sum();
+    }
+}
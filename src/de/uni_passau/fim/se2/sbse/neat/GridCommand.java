@@ -0,0 +1,259 @@
+package de.uni_passau.fim.se2.sbse.neat;
+
+import de.uni_passau.fim.se2.sbse.neat.algorithms.NeatParameters;
+import de.uni_passau.fim.se2.sbse.neat.environments.Tasks;
+import de.uni_passau.fim.se2.sbse.neat.experiments.CellResult;
+import de.uni_passau.fim.se2.sbse.neat.experiments.Configuration;
+import de.uni_passau.fim.se2.sbse.neat.experiments.ExperimentRunner;
+import de.uni_passau.fim.se2.sbse.neat.experiments.Summary;
+import picocli.CommandLine;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.BiFunction;
+
+/**
+ * Sweeps the Cartesian product of tasks, population sizes, generation limits, mutation and crossover probabilities,
+ * tournament sizes and speciation targets in a single JVM. Every repetition of every configuration is scheduled as an independent cell on a thread pool,
+ * every finished cell is appended to the results file immediately, and the repetitions of every configuration are
+ * finally aggregated into medians and 95% confidence intervals.
+ */
+@CommandLine.Command(
+        name = "grid",
+        description = "Runs a grid of configurations with repetitions in parallel and aggregates the results."
+)
+public class GridCommand implements Callable<Integer> {
+
+    @CommandLine.Spec
+    private CommandLine.Model.CommandSpec spec;
+
+    @CommandLine.Option(
+            names = {"--tasks"},
+            description = "The tasks to run [XOR, CART, CART_RANDOM].",
+            split = ",",
+            converter = TaskConverter.class,
+            defaultValue = "XOR"
+    )
+    private List<Tasks> tasks;
+
+    @CommandLine.Option(
+            names = {"--population-sizes"},
+            description = "The population sizes to run.",
+            split = ",",
+            defaultValue = "50"
+    )
+    private List<Integer> populationSizes;
+
+    @CommandLine.Option(
+            names = {"--max-generations"},
+            description = "The generation limits to run.",
+            split = ",",
+            defaultValue = "50"
+    )
+    private List<Integer> maxGenerations;
+
+    @CommandLine.Option(
+            names = {"--add-neuron"},
+            description = "The probabilities of adding a neuron to run.",
+            split = ",",
+            defaultValue = "0.03"
+    )
+    private List<Double> addNeuronProbabilities;
+
+    @CommandLine.Option(
+            names = {"--add-connection"},
+            description = "The probabilities of adding a connection to run.",
+            split = ",",
+            defaultValue = "0.05"
+    )
+    private List<Double> addConnectionProbabilities;
+
+    @CommandLine.Option(
+            names = {"--mutate-weights"},
+            description = "The probabilities of mutating the weights to run.",
+            split = ",",
+            defaultValue = "0.8"
+    )
+    private List<Double> mutateWeightsProbabilities;
+
+    @CommandLine.Option(
+            names = {"--toggle-connection"},
+            description = "The probabilities of toggling a connection to run.",
+            split = ",",
+            defaultValue = "0.01"
+    )
+    private List<Double> toggleConnectionProbabilities;
+
+    @CommandLine.Option(
+            names = {"--crossover"},
+            description = "The probabilities of creating an offspring by crossover to run.",
+            split = ",",
+            defaultValue = "0.75"
+    )
+    private List<Double> crossoverProbabilities;
+
+    @CommandLine.Option(
+            names = {"--tournament-sizes"},
+            description = "The tournament sizes of the parent selection to run.",
+            split = ",",
+            defaultValue = "3"
+    )
+    private List<Integer> tournamentSizes;
+
+    @CommandLine.Option(
+            names = {"--species-targets"},
+            description = "The desired numbers of species to run.",
+            split = ",",
+            defaultValue = "10"
+    )
+    private List<Integer> speciesTargets;
+
+    @CommandLine.Option(
+            names = {"--delta-thresholds"},
+            description = "The initial compatibility thresholds to run.",
+            split = ",",
+            defaultValue = "2.5"
+    )
+    private List<Double> deltaThresholds;
+
+    @CommandLine.Option(
+            names = {"-r", "--repetitions"},
+            description = "The number of repetitions of every configuration.",
+            defaultValue = "30"
+    )
+    private int repetitions;
+
+    @CommandLine.Option(
+            names = {"-s", "--seed"},
+            description = "The seed from which the seed of every repetition is derived, shared by all configurations.",
+            defaultValue = "0"
+    )
+    private long seed;
+
+    @CommandLine.Option(
+            names = {"--threads"},
+            description = "The number of cells run concurrently, 0 uses one thread per available processor.",
+            defaultValue = "0"
+    )
+    private int threads;
+
+    @CommandLine.Option(
+            names = {"--plan-cache-size"},
+            description = "The number of compiled network structures cached by every cell, 0 evaluates the chromosomes directly.",
+            defaultValue = "1024"
+    )
+    private int planCacheSize;
+
+    @CommandLine.Option(
+            names = {"-o", "--output"},
+            description = "The CSV file receiving the result of every cell as soon as it has finished.",
+            required = true
+    )
+    private Path output;
+
+    @CommandLine.Option(
+            names = {"--summary"},
+            description = "The CSV file receiving the aggregated results of every configuration, which are printed to the console if omitted."
+    )
+    private Path summary;
+
+    /**
+     * Runs all cells of the grid and writes their results and summaries.
+     *
+     * @return 1 if the results could not be written, 0 otherwise.
+     */
+    @Override
+    public Integer call() {
+        List<Configuration> configurations;
+        try {
+            configurations = configurations();
+        } catch (IllegalArgumentException e) {
+            throw new CommandLine.ParameterException(spec.commandLine(), e.getMessage());
+        }
+        if (repetitions < 1) {
+            throw new CommandLine.ParameterException(spec.commandLine(), "The number of repetitions must be positive.");
+        }
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        System.out.printf("Running %d configurations with %d repetitions each on %d threads.%n",
+                configurations.size(), repetitions, poolSize);
+
+        ExperimentRunner runner = new ExperimentRunner(Tasks::createEnvironment, poolSize, planCacheSize);
+        List<CellResult> results;
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(output, StandardCharsets.UTF_8), true)) {
+            writer.println(CellResult.CSV_HEADER);
+            int[] finished = {0};
+            results = runner.run(configurations, repetitions, seed, result -> {
+                writer.println(result.csv());
+                finished[0]++;
+                System.out.printf("Finished %d of %d cells.\r", finished[0], configurations.size() * repetitions);
+            });
+            System.out.println();
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Could not write the results: " + e.getMessage());
+            return 1;
+        }
+
+        try (PrintWriter writer = summary == null
+                ? new PrintWriter(System.out, true, StandardCharsets.UTF_8)
+                : new PrintWriter(Files.newBufferedWriter(summary, StandardCharsets.UTF_8), true)) {
+            writer.println(Summary.CSV_HEADER);
+            for (Summary configurationSummary : ExperimentRunner.summarise(configurations, results)) {
+                writer.println(configurationSummary.csv());
+            }
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Could not write the summary: " + e.getMessage());
+            return 1;
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the Cartesian product of all swept values.
+     *
+     * @throws IllegalArgumentException if a combination of values is invalid.
+     */
+    private List<Configuration> configurations() {
+        List<NeatParameters> parameters = List.of(NeatParameters.DEFAULT);
+        parameters = expand(parameters, addNeuronProbabilities, NeatParameters::withAddNeuronProbability);
+        parameters = expand(parameters, addConnectionProbabilities, NeatParameters::withAddConnectionProbability);
+        parameters = expand(parameters, mutateWeightsProbabilities, NeatParameters::withMutateWeightsProbability);
+        parameters = expand(parameters, toggleConnectionProbabilities, NeatParameters::withToggleConnectionProbability);
+        parameters = expand(parameters, crossoverProbabilities, NeatParameters::withCrossoverProbability);
+        parameters = expand(parameters, tournamentSizes, NeatParameters::withTournamentSize);
+        parameters = expand(parameters, speciesTargets, NeatParameters::withDesiredSpeciesCount);
+        parameters = expand(parameters, deltaThresholds, NeatParameters::withInitialDeltaThreshold);
+
+        List<Configuration> configurations = new ArrayList<>();
+        for (Tasks task : tasks) {
+            for (int populationSize : populationSizes) {
+                for (int generations : maxGenerations) {
+                    for (NeatParameters configurationParameters : parameters) {
+                        configurations.add(new Configuration(task, populationSize, generations, configurationParameters));
+                    }
+                }
+            }
+        }
+        return configurations;
+    }
+
+    /**
+     * Combines every given parameter set with every value of a further swept parameter.
+     */
+    private static <T> List<NeatParameters> expand(List<NeatParameters> parameters, List<T> values,
+                                                   BiFunction<NeatParameters, T, NeatParameters> with) {
+        List<NeatParameters> expanded = new ArrayList<>(parameters.size() * values.size());
+        for (NeatParameters base : parameters) {
+            for (T value : values) {
+                expanded.add(with.apply(base, value));
+            }
+        }
+        return expanded;
+    }
+}
@@ -1,31 +1,66 @@
 package de.uni_passau.fim.se2.sbse.neat;
 
+import de.uni_passau.fim.se2.sbse.neat.algorithms.Budget;
 import de.uni_passau.fim.se2.sbse.neat.algorithms.NeatAlgorithm;
-import de.uni_passau.fim.se2.sbse.neat.algorithms.Neuroevolution;
 import de.uni_passau.fim.se2.sbse.neat.algorithms.innovations.Innovation;
 import de.uni_passau.fim.se2.sbse.neat.chromosomes.Agent;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
 import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkGenerator;
 import de.uni_passau.fim.se2.sbse.neat.crossover.NeatCrossover;
 import de.uni_passau.fim.se2.sbse.neat.environments.Environment;
 import de.uni_passau.fim.se2.sbse.neat.environments.SinglePoleBalancing;
 import de.uni_passau.fim.se2.sbse.neat.environments.Tasks;
-import de.uni_passau.fim.se2.sbse.neat.environments.XOR;
+import de.uni_passau.fim.se2.sbse.neat.metrics.MetricsServer;
+import de.uni_passau.fim.se2.sbse.neat.metrics.RunLog;
+import de.uni_passau.fim.se2.sbse.neat.metrics.RunMetrics;
 import de.uni_passau.fim.se2.sbse.neat.mutation.NeatMutation;
+import de.uni_passau.fim.se2.sbse.neat.persistence.Checkpoint;
+import de.uni_passau.fim.se2.sbse.neat.persistence.CheckpointReader;
+import de.uni_passau.fim.se2.sbse.neat.persistence.CheckpointWriter;
+import de.uni_passau.fim.se2.sbse.neat.persistence.GenomeArchiveReader;
+import de.uni_passau.fim.se2.sbse.neat.persistence.GenomeArchiveWriter;
+import de.uni_passau.fim.se2.sbse.neat.persistence.GenomeCodec;
+import de.uni_passau.fim.se2.sbse.neat.phenotype.ActivationImplementation;
+import de.uni_passau.fim.se2.sbse.neat.phenotype.NetworkCodeGenerator;
+import de.uni_passau.fim.se2.sbse.neat.phenotype.PlanCache;
+import de.uni_passau.fim.se2.sbse.neat.phenotype.Precision;
+import de.uni_passau.fim.se2.sbse.neat.phenotype.QuantisedNetwork;
+import de.uni_passau.fim.se2.sbse.neat.utils.CancellationToken;
 import de.uni_passau.fim.se2.sbse.neat.utils.Randomness;
+import de.uni_passau.fim.se2.sbse.neat.utils.RestorableRandom;
 import picocli.CommandLine;
 
+import javax.lang.model.SourceVersion;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CountDownLatch;
-import java.util.stream.IntStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+@CommandLine.Command(
+        name = "neat",
+        subcommands = {ServeCommand.class, BenchmarkCommand.class, GridCommand.class, TuneCommand.class}
+)
 public class Main implements Callable<Integer> {
 
+    @CommandLine.Spec
+    private CommandLine.Model.CommandSpec spec;
+
+    // Required for solving tasks but not for subcommands, hence validated in call()
     @CommandLine.Option(
             names = {"-t", "--task"},
-            description = "The reinforcement learning task to solve [XOR, CART, CART_RANDOM].",
-            converter = TaskConverter.class,
-            required = true
+            description = "The reinforcement learning task to solve [XOR, CART, CART_RANDOM]. Required unless a subcommand is given.",
+            converter = TaskConverter.class
     )
     private Tasks task;
 
@@ -57,14 +92,172 @@ public class Main implements Callable<Integer> {
     )
     private boolean visualise;
 
+    @CommandLine.Option(
+            names = {"--racing"},
+            description = "Stops evaluating agents early once they cannot beat the elite of their species anymore.",
+            defaultValue = "false"
+    )
+    private boolean racing;
+
+    @CommandLine.Option(
+            names = {"--batched"},
+            description = "Evaluates networks of the same structure together in lockstep.",
+            defaultValue = "false"
+    )
+    private boolean batched;
+
+    @CommandLine.Option(
+            names = {"--fitness-cache-size"},
+            description = "The number of fitness values cached for deterministic tasks, 0 disables the cache.",
+            defaultValue = "4096"
+    )
+    private int fitnessCacheSize;
+
+    @CommandLine.Option(
+            names = {"--plan-cache-size"},
+            description = "The number of compiled network structures cached for evaluation, 0 evaluates the chromosomes directly.",
+            defaultValue = "1024"
+    )
+    private int planCacheSize;
+
+    @CommandLine.Option(
+            names = {"--activation"},
+            description = "The implementation of the activation functions of compiled networks [EXACT, RATIONAL, TABLE].",
+            defaultValue = "EXACT"
+    )
+    private ActivationImplementation activation;
+
+    @CommandLine.Option(
+            names = {"--precision"},
+            description = "The floating point precision of compiled networks [DOUBLE, FLOAT].",
+            defaultValue = "DOUBLE"
+    )
+    private Precision precision;
+
+    @CommandLine.Option(
+            names = {"--fast-physics"},
+            description = "Simulates the cart pole with polynomial approximations of the sine and cosine.",
+            defaultValue = "false"
+    )
+    private boolean fastPhysics;
+
+    @CommandLine.Option(
+            names = {"--threads"},
+            description = "The number of threads used to evaluate the population.",
+            defaultValue = "1"
+    )
+    private int threads;
+
+    @CommandLine.Option(
+            names = {"--generation-stats"},
+            description = "Prints the species count, genome size, best fitness and phase times of every generation.",
+            defaultValue = "false"
+    )
+    private boolean generationStats;
+
+    @CommandLine.Option(
+            names = {"--metrics-port"},
+            description = "Serves live metrics of the runs in Prometheus text format on http://localhost:<port>/metrics."
+    )
+    private Integer metricsPort;
+
+    @CommandLine.Option(
+            names = {"--run-log"},
+            description = "Appends the statistics, champion, species sizes and phase times of every generation of every repetition to the given CSV file."
+    )
+    private Path runLogFile;
+
+    @CommandLine.Option(
+            names = {"--archive"},
+            description = "Archives every evaluated genome with its fitness in memory-mapped segments below the given directory, one archive per repetition."
+    )
+    private Path archiveDirectory;
+
+    @CommandLine.Option(
+            names = {"--parallel-repetitions"},
+            description = "Runs the given number of repetitions concurrently, each with its own seed derived from the seed. "
+                    + "The results do not depend on the number. 0 runs all repetitions on one shared random number generator.",
+            defaultValue = "0"
+    )
+    private int parallelRepetitions;
+
+    @CommandLine.Option(
+            names = {"--time-limit"},
+            description = "The maximum wall-clock time in seconds a single repetition may take."
+    )
+    private Long timeLimitSeconds;
+
+    @CommandLine.Option(
+            names = {"--max-steps"},
+            description = "The maximum number of environment steps a single repetition may take."
+    )
+    private Long maxSteps;
+
+    @CommandLine.Option(
+            names = {"--max-evaluations"},
+            description = "The maximum number of evaluations a single repetition may perform."
+    )
+    private Long maxEvaluations;
+
+    @CommandLine.Option(
+            names = {"--checkpoint-dir"},
+            description = "The directory in which the state of every repetition is checkpointed."
+    )
+    private Path checkpointDirectory;
+
+    @CommandLine.Option(
+            names = {"--checkpoint-interval"},
+            description = "The number of generations between two checkpoints.",
+            defaultValue = "10"
+    )
+    private int checkpointInterval;
+
+    @CommandLine.Option(
+            names = {"--resume"},
+            description = "Resumes the last checkpointed repetition from the checkpoint directory.",
+            defaultValue = "false"
+    )
+    private boolean resume;
+
+    @CommandLine.Option(
+            names = {"--export"},
+            description = "Exports the fittest solution of all repetitions to the given file."
+    )
+    private Path exportFile;
+
+    @CommandLine.Option(
+            names = {"--export-precision"},
+            description = "The precision of the exported and archived weights [DOUBLE, HALF].",
+            defaultValue = "DOUBLE"
+    )
+    private GenomeCodec.WeightPrecision exportPrecision;
+
+    @CommandLine.Option(
+            names = {"--export-source"},
+            description = "Exports the fittest solution as a Java class named after the given file."
+    )
+    private Path exportSourceFile;
+
+    @CommandLine.Option(
+            names = {"--export-quantised"},
+            description = "Exports the fittest solution with 8-bit weights for fixed-point inference, if it still solves the task."
+    )
+    private Path exportQuantisedFile;
+
     @CommandLine.Option(
             names = {"-s", "--seed"},
             description = "Sets the random number generator to a fixed seed."
     )
     public void setSeed(long seed) {
+        this.seed = seed;
         Randomness.random().setSeed(seed);
     }
 
+    /**
+     * The seed of the run, or {@code null} if none was given.
+     */
+    private Long seed;
+
     public static void main(String[] args) {
         int exitCode = new CommandLine(new Main()).execute(args);
         System.exit(exitCode);
@@ -74,6 +267,21 @@ public static void main(String[] args) {
     private final List<Integer> generations = new ArrayList<>();
     private final List<Boolean> successes = new ArrayList<>();
     private final List<Long> times = new ArrayList<>();
+    private RunMetrics metrics;
+    private RunLog runLog;
+
+    /**
+     * The outcome of a single repetition.
+     *
+     * @param solution    The best agent of the repetition.
+     * @param generations The number of generations the repetition ran for.
+     * @param solved      Whether the best agent solves the task.
+     * @param millis      The wall-clock time of the repetition in milliseconds.
+     * @param randomState The position of the random number generator of the repetition after it finished.
+     */
+    private record Repetition(Agent solution, int generations, boolean solved, long millis,
+                              RestorableRandom.State randomState) {
+    }
 
 
     /**
@@ -83,12 +291,112 @@ public static void main(String[] args) {
      */
     @Override
     public Integer call() {
+        if (task == null) {
+            throw new CommandLine.ParameterException(spec.commandLine(), "Missing required option: '--task=<task>'");
+        }
+        if (activation != ActivationImplementation.EXACT && planCacheSize == 0) {
+            throw new CommandLine.ParameterException(spec.commandLine(),
+                    "Approximate activation functions require compiled networks, i.e., a positive '--plan-cache-size'");
+        }
+        if (precision != Precision.DOUBLE && (planCacheSize == 0 || batched)) {
+            throw new CommandLine.ParameterException(spec.commandLine(),
+                    "Single precision requires compiled networks, i.e., a positive '--plan-cache-size', without '--batched'");
+        }
         System.out.printf(
                 "Analysing task '%s' with a population size of %d and a maximum of %d generations over %d repetitions.%n",
                 task, populationSize, maxGenerations, repetitions);
-        IntStream.range(0, repetitions).forEach(_ -> solveTask());
+        if (resume && checkpointDirectory == null) {
+            System.err.println("Resuming requires a checkpoint directory.");
+            return 1;
+        }
+        if (parallelRepetitions < 0) {
+            throw new CommandLine.ParameterException(spec.commandLine(), "The number of parallel repetitions must not be negative");
+        }
+
+        if (checkpointDirectory != null) {
+            try {
+                Files.createDirectories(checkpointDirectory);
+                if (!resume) {
+                    // Checkpoints and results of an earlier run in the same directory must not be resumed or merged
+                    try (DirectoryStream<Path> files =
+                                 Files.newDirectoryStream(checkpointDirectory, "repetition-*.{ckpt,result}")) {
+                        for (Path file : files) {
+                            Files.delete(file);
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("Could not prepare the checkpoint directory: " + e.getMessage());
+                return 1;
+            }
+        }
+        Optional<Checkpoint.Origin> recorded = Optional.empty();
+        if (resume) {
+            try {
+                recorded = CheckpointReader.readLast(checkpointFile(lastCheckpointedRepetition())).map(Checkpoint::origin);
+            } catch (IOException e) {
+                System.err.println("Could not read the checkpoints: " + e.getMessage());
+                return 1;
+            }
+        }
+        if (seed == null) {
+            // Every checkpointed run records its seed, a resumed run continues with the recorded one
+            setSeed(recorded.map(Checkpoint.Origin::seed).orElseGet(() -> Randomness.random().nextLong()));
+        }
+        if (recorded.isPresent() && !recorded.get().equals(origin())) {
+            throw new CommandLine.ParameterException(spec.commandLine(), String.format(
+                    "The checkpoints in %s belong to a run of task %s with a population size of %d and seed %d",
+                    checkpointDirectory, recorded.get().task(), recorded.get().populationSize(), recorded.get().seed()));
+        }
+
+        MetricsServer metricsServer = null;
+        if (metricsPort != null) {
+            metrics = new RunMetrics();
+            try {
+                metricsServer = new MetricsServer(metrics, metricsPort);
+            } catch (IOException e) {
+                System.err.println("Could not start the metrics server: " + e.getMessage());
+                return 1;
+            }
+            System.out.printf("Serving metrics on http://localhost:%d/metrics.%n", metricsServer.getPort());
+        }
+        if (runLogFile != null) {
+            try {
+                runLog = new RunLog(runLogFile, RunLog.DEFAULT_CAPACITY);
+            } catch (IOException e) {
+                System.err.println("Could not open the run log: " + e.getMessage());
+                if (metricsServer != null) {
+                    metricsServer.close();
+                }
+                return 1;
+            }
+        }
+        boolean logWritten = true;
+        try {
+            List<Repetition> results = parallelRepetitions > 0 ? solveInParallel() : solveSequentially();
+            for (Repetition result : results) {
+                solutions.add(result.solution());
+                generations.add(result.generations());
+                successes.add(result.solved());
+                times.add(result.millis());
+            }
+        } finally {
+            if (metricsServer != null) {
+                metricsServer.close();
+            }
+            if (runLog != null) {
+                logWritten = closeRunLog();
+            }
+        }
+        if (!logWritten) {
+            return 1;
+        }
         printResults();
 
+        if ((exportFile != null || exportSourceFile != null || exportQuantisedFile != null) && !exportChampion()) {
+            return 1;
+        }
+
         if (visualise) {
             Agent solution = solutions.getFirst();
             Environment environment = initialiseTask();
@@ -105,26 +413,410 @@ public Integer call() {
         return 0;
     }
 
+    /**
+     * Runs the repetitions one after another, all drawing from the shared random number generator.
+     * When resuming, the last checkpointed repetition is continued and the recorded results of the repetitions before
+     * it are merged into the results. If the last checkpointed repetition has finished already, its result is merged
+     * as well, and the next repetition starts from the recorded state of the shared random number generator.
+     *
+     * @return The results of the repetitions, in the order of the repetitions.
+     */
+    private List<Repetition> solveSequentially() {
+        int firstRepetition = 0;
+        Checkpoint checkpoint = null;
+        if (resume) {
+            firstRepetition = lastCheckpointedRepetition();
+            Optional<Repetition> finished = readResult(firstRepetition);
+            if (finished.isPresent()) {
+                Randomness.random().restore(finished.get().randomState());
+                firstRepetition++;
+            } else {
+                checkpoint = readCheckpoint(firstRepetition).orElse(null);
+            }
+        }
+        if (checkpoint != null) {
+            System.out.printf("Resuming repetition %d at generation %d.%n", firstRepetition, checkpoint.generation());
+        }
+        List<Repetition> results = new ArrayList<>(repetitions);
+        for (int repetition = 0; repetition < firstRepetition; repetition++) {
+            Optional<Repetition> result = readResult(repetition);
+            if (result.isPresent()) {
+                results.add(result.get());
+            } else {
+                System.err.printf("No result was recorded for repetition %d, the summary does not include it.%n",
+                        repetition);
+            }
+        }
+        for (int repetition = firstRepetition; repetition < repetitions; repetition++) {
+            results.add(solveTask(repetition, repetition == firstRepetition ? checkpoint : null, Randomness.random()));
+        }
+        return results;
+    }
+
+    /**
+     * Runs up to the given number of repetitions concurrently. Every repetition has its own random number generator,
+     * seeded by a seed derived from the shared generator and the index of the repetition, hence its result does not
+     * depend on the order in which the repetitions are scheduled.
+     * When resuming, the recorded results of finished repetitions are reused, and every other repetition continues
+     * from its own last checkpoint, if any.
+     *
+     * @return The results of all repetitions, in the order of the repetitions.
+     */
+    private List<Repetition> solveInParallel() {
+        long seed = Randomness.random().nextLong();
+        List<Future<Repetition>> futures = new ArrayList<>(repetitions);
+        try (ExecutorService executor = Executors.newFixedThreadPool(parallelRepetitions)) {
+            for (int repetition = 0; repetition < repetitions; repetition++) {
+                int index = repetition;
+                futures.add(executor.submit(() -> {
+                    Optional<Repetition> result = resume ? readResult(index) : Optional.empty();
+                    if (result.isPresent()) {
+                        return result.get();
+                    }
+                    Checkpoint checkpoint = resume ? readCheckpoint(index).orElse(null) : null;
+                    if (checkpoint != null) {
+                        System.out.printf("Resuming repetition %d at generation %d.%n", index, checkpoint.generation());
+                    }
+                    return solveTask(index, checkpoint, new RestorableRandom(Randomness.derive(seed, index)));
+                }));
+            }
+        }
+
+        List<Repetition> results = new ArrayList<>(repetitions);
+        for (Future<Repetition> future : futures) {
+            if (future.state() == Future.State.FAILED) {
+                Throwable failure = future.exceptionNow();
+                if (failure instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                if (failure instanceof Error error) {
+                    throw error;
+                }
+                throw new IllegalStateException(failure);
+            }
+            results.add(future.resultNow());
+        }
+        return results;
+    }
+
     /**
      * Solves the specified reinforcement learning task using the Neat algorithm.
+     *
+     * @param repetition The index of the repetition, used to name its checkpoint file.
+     * @param checkpoint The checkpoint the repetition continues from, or {@code null} to start a new run.
+     * @param random     The random number generator of the task and the algorithm.
+     * @return The outcome of the repetition.
      */
-    private void solveTask() {
-        Environment environment = initialiseTask();
-        Neuroevolution neat = initialiseNeat(populationSize, maxGenerations);
+    private Repetition solveTask(int repetition, Checkpoint checkpoint, RestorableRandom random) {
+        Environment environment = initialiseTask(random);
+        NeatAlgorithm neat = initialiseNeat(populationSize, maxGenerations, random);
+        neat.setRacing(racing);
+        neat.setBatched(batched);
+        neat.setFitnessCacheCapacity(fitnessCacheSize);
+        if (planCacheSize != 0) {
+            neat.setPlanCache(new PlanCache(planCacheSize, activation, precision));
+        }
+        neat.setThreads(threads);
+        if (generationStats) {
+            String prefix = parallelRepetitions > 0 ? "repetition=" + repetition + " " : "";
+            neat.addGenerationListener(stats -> System.out.println(prefix + stats.format()));
+        }
+        if (checkpoint != null) {
+            // Restores the shared random number generator after the task has drawn its initial state
+            neat.restore(checkpoint);
+        }
+        if (metrics != null) {
+            metrics.attach(neat);
+        }
+        if (runLog != null) {
+            neat.addGenerationListener(runLog.listener(String.valueOf(repetition)));
+        }
+
+        GenomeArchiveWriter archive = openArchive(repetition, checkpoint != null);
+        neat.setGenomeArchive(archive);
 
         long startTime = System.currentTimeMillis();
-        Agent solution = neat.solve(environment);
+        Agent solution;
+        try {
+            if (checkpointDirectory == null) {
+                solution = neat.solve(environment, initialiseBudget(), new CancellationToken());
+            } else {
+                try (CheckpointWriter writer = new CheckpointWriter(checkpointFile(repetition), origin())) {
+                    neat.setCheckpointWriter(writer, checkpointInterval);
+                    solution = neat.solve(environment, initialiseBudget(), new CancellationToken());
+                }
+            }
+        } finally {
+            if (metrics != null) {
+                metrics.detach(neat);
+            }
+            if (archive != null) {
+                closeArchive(archive);
+            }
+        }
+
+        long millis = System.currentTimeMillis() - startTime;
+        Repetition result = new Repetition(solution, neat.getGeneration(), environment.solved(solution), millis,
+                random.getState());
+        if (checkpointDirectory != null) {
+            writeResult(repetition, result);
+        }
+        return result;
+    }
+
+    /**
+     * Writes the pending rows of the run log and closes it.
+     *
+     * @return True if all rows were written, false otherwise.
+     */
+    private boolean closeRunLog() {
+        try {
+            runLog.close();
+        } catch (IOException e) {
+            System.err.println("Could not write the run log: " + e.getMessage());
+            return false;
+        }
+        if (runLog.getDroppedRows() > 0) {
+            System.err.printf("The run log dropped %d generations.%n", runLog.getDroppedRows());
+        }
+        return true;
+    }
+
+    /**
+     * Initialises the budget of a single repetition from the supplied limits.
+     *
+     * @return The budget of a single repetition.
+     */
+    private Budget initialiseBudget() {
+        Budget budget = Budget.UNLIMITED;
+        if (timeLimitSeconds != null) {
+            budget = budget.withWallClockLimit(Duration.ofSeconds(timeLimitSeconds));
+        }
+        if (maxSteps != null) {
+            budget = budget.withMaxSteps(maxSteps);
+        }
+        if (maxEvaluations != null) {
+            budget = budget.withMaxEvaluations(maxEvaluations);
+        }
+        return budget;
+    }
 
-        times.add(System.currentTimeMillis() - startTime);
-        generations.add(neat.getGeneration());
-        successes.add(environment.solved(solution));
-        solutions.add(solution);
+    /**
+     * Returns the checkpoint file of the given repetition.
+     *
+     * @param repetition The index of the repetition.
+     * @return The path of the checkpoint file.
+     */
+    private Path checkpointFile(int repetition) {
+        return checkpointDirectory.resolve("repetition-%03d.ckpt".formatted(repetition));
+    }
+
+    /**
+     * Returns the file recording the result of the given finished repetition.
+     *
+     * @param repetition The index of the repetition.
+     * @return The path of the result file.
+     */
+    private Path resultFile(int repetition) {
+        return checkpointDirectory.resolve("repetition-%03d.result".formatted(repetition));
+    }
+
+    /**
+     * Records the result of a finished repetition next to its checkpoints, such that resuming can report it.
+     * The file is replaced atomically, hence it is either complete or absent.
+     *
+     * @param repetition The index of the repetition.
+     * @param result     The result of the repetition.
+     * @throws UncheckedIOException if the result cannot be written.
+     */
+    private void writeResult(int repetition, Repetition result) {
+        if (!(result.solution() instanceof NetworkChromosome chromosome)) {
+            return;
+        }
+        byte[] genome = GenomeCodec.encode(chromosome, GenomeCodec.WeightPrecision.DOUBLE);
+        ByteBuffer record = ByteBuffer.allocate(Integer.BYTES * 2 + 1 + Long.BYTES * 2 + Double.BYTES + genome.length);
+        record.putInt(result.generations()).put((byte) (result.solved() ? 1 : 0)).putLong(result.millis())
+                .putLong(result.randomState().seed()).putDouble(result.randomState().nextNextGaussian())
+                .putInt(genome.length).put(genome);
+        Path file = resultFile(repetition);
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.write(temporary, record.array());
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not record the result of repetition " + repetition + ".", e);
+        }
+    }
+
+    /**
+     * Reads the recorded result of the given repetition.
+     *
+     * @param repetition The index of the repetition.
+     * @return The result, or an empty optional if the repetition has not finished.
+     * @throws UncheckedIOException if the result file cannot be read or is corrupt.
+     */
+    private Optional<Repetition> readResult(int repetition) {
+        Path file = resultFile(repetition);
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        try {
+            ByteBuffer record = ByteBuffer.wrap(Files.readAllBytes(file));
+            int generations = record.getInt();
+            boolean solved = record.get() != 0;
+            long millis = record.getLong();
+            RestorableRandom.State randomState = new RestorableRandom.State(record.getLong(), record.getDouble());
+            ByteBuffer genome = record.slice(record.position() + Integer.BYTES, record.getInt());
+            return Optional.of(new Repetition(GenomeCodec.decode(genome), generations, solved, millis, randomState));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the result of repetition " + repetition + ".", e);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new UncheckedIOException(new IOException("The result of repetition " + repetition + " is truncated.", e));
+        }
+    }
+
+    /**
+     * Opens the genome archive of the given repetition, if archiving is enabled.
+     * A repetition resumed from a checkpoint skips the generations that were archived before the run was interrupted,
+     * any other repetition replaces the archive of an earlier run.
+     *
+     * @param repetition The index of the repetition.
+     * @param resumed    Whether the repetition continues from a checkpoint.
+     * @return The archive of the repetition, or {@code null} if archiving is disabled.
+     * @throws UncheckedIOException if the archive cannot be created.
+     */
+    private GenomeArchiveWriter openArchive(int repetition, boolean resumed) {
+        if (archiveDirectory == null) {
+            return null;
+        }
+        Path directory = archiveDirectory.resolve("repetition-%03d".formatted(repetition));
+        try {
+            int archivedGenerations = -1;
+            if (resumed) {
+                // A resumed repetition replays the generations since its checkpoint, which are archived already
+                archivedGenerations = GenomeArchiveReader.open(directory).maxGeneration();
+            } else {
+                GenomeArchiveWriter.delete(directory);
+            }
+            GenomeArchiveWriter archive = new GenomeArchiveWriter(directory, GenomeArchiveWriter.DEFAULT_SEGMENT_SIZE,
+                    exportPrecision);
+            archive.skipGenerationsThrough(archivedGenerations);
+            return archive;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create the genome archive " + directory + ".", e);
+        }
+    }
+
+    private static void closeArchive(GenomeArchiveWriter archive) {
+        try {
+            archive.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not close the genome archive.", e);
+        }
+    }
+
+    /**
+     * Determines the highest repetition for which a checkpoint file exists.
+     *
+     * @return The index of the last checkpointed repetition, or 0 if there is none.
+     */
+    private int lastCheckpointedRepetition() {
+        for (int repetition = repetitions - 1; repetition >= 0; repetition--) {
+            if (Files.exists(checkpointFile(repetition))) {
+                return repetition;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Reads the last intact checkpoint of the given repetition.
+     *
+     * @param repetition The index of the repetition.
+     * @return The last checkpoint, or an empty optional if the repetition has not been checkpointed.
+     * @throws IllegalStateException if the checkpoint belongs to a run with another configuration.
+     */
+    private Optional<Checkpoint> readCheckpoint(int repetition) {
+        Optional<Checkpoint> checkpoint;
+        try {
+            checkpoint = CheckpointReader.readLast(checkpointFile(repetition));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (checkpoint.isPresent() && !checkpoint.get().origin().equals(origin())) {
+            throw new IllegalStateException("The checkpoint of repetition " + repetition + " belongs to another run.");
+        }
+        return checkpoint;
+    }
+
+    /**
+     * Returns the configuration identifying the checkpoints of this run.
+     *
+     * @return The task, population size and seed of this run.
+     */
+    private Checkpoint.Origin origin() {
+        return new Checkpoint.Origin(task.name(), populationSize, seed);
+    }
+
+    /**
+     * Exports the fittest solution of all repetitions as genome, Java source and/or quantised network.
+     * The quantised network is re-scored on a new instance of the task and rejected if it does not solve the task.
+     * The unquantised champion is scored on an identically seeded instance, which tells apart failures caused by the
+     * quantisation from initial states the champion cannot handle either.
+     *
+     * @return Whether the solution was exported successfully.
+     */
+    private boolean exportChampion() {
+        Agent champion = solutions.stream().max(Comparator.comparingDouble(Agent::getFitness)).orElseThrow();
+        if (!(champion instanceof NetworkChromosome chromosome)) {
+            System.err.println("Only network chromosomes can be exported.");
+            return false;
+        }
+        try {
+            if (exportFile != null) {
+                Files.write(exportFile, GenomeCodec.encode(chromosome, exportPrecision));
+                System.out.println("Exported champion with fitness " + champion.getFitness() + " to " + exportFile);
+            }
+            if (exportSourceFile != null) {
+                String className = exportSourceFile.getFileName().toString().replaceFirst("\\.java$", "");
+                if (!SourceVersion.isIdentifier(className) || SourceVersion.isKeyword(className)) {
+                    System.err.println("'" + className + "' is not a valid class name.");
+                    return false;
+                }
+                Files.writeString(exportSourceFile, NetworkCodeGenerator.generateSource(chromosome, "", className));
+                System.out.println("Exported champion as class " + className + " to " + exportSourceFile);
+            }
+            if (exportQuantisedFile != null) {
+                QuantisedNetwork quantised = QuantisedNetwork.quantise(chromosome);
+                long seed = Randomness.random().nextLong();
+                Environment environment = initialiseTask(new Random(seed));
+                quantised.setFitness(environment.evaluate(quantised));
+                if (!environment.solved(quantised)) {
+                    double unquantisedFitness = initialiseTask(new Random(seed)).evaluate(chromosome);
+                    System.err.println("Rejected the quantised champion, which only reaches a fitness of "
+                            + quantised.getFitness() + " instead of " + unquantisedFitness + " without quantisation.");
+                    return false;
+                }
+                byte[] bytes = quantised.encode();
+                Files.write(exportQuantisedFile, bytes);
+                System.out.printf("Exported quantised champion with fitness %s to %s (%d bytes, %d of %d weight bytes).%n",
+                        quantised.getFitness(), exportQuantisedFile, bytes.length,
+                        quantised.weightBytes(), quantised.weightBytes() * Double.BYTES);
+            }
+        } catch (IOException e) {
+            System.err.println("Could not export the champion: " + e.getMessage());
+            return false;
+        }
+        return true;
     }
 
     /**
      * Prints the results of the evaluation.
      */
     private void printResults() {
+        if (successes.size() < repetitions) {
+            System.out.printf("The summary covers %d of %d repetitions.%n", successes.size(), repetitions);
+        }
         long successfulRepetitions = successes.stream().filter(Boolean::booleanValue).count();
         double averageGenerations = generations.stream().mapToInt(Integer::intValue).average().orElseThrow();
         double maxGenerations = generations.stream().mapToInt(Integer::intValue).max().orElseThrow();
@@ -146,8 +838,20 @@ private void printResults() {
      * @param maxGenerations The maximum number of generations to run the algorithm for.
      * @return The initialised Neat algorithm.
      */
-    public static Neuroevolution initialiseNeat(int populationSize, int maxGenerations) {
-        return new NeatAlgorithm(populationSize, maxGenerations,Randomness.random());
+    public static NeatAlgorithm initialiseNeat(int populationSize, int maxGenerations) {
+        return initialiseNeat(populationSize, maxGenerations, Randomness.random());
+    }
+
+    /**
+     * Initialises the Neuroevolution algorithm Neat with its own random number generator.
+     *
+     * @param populationSize The size of the population.
+     * @param maxGenerations The maximum number of generations to run the algorithm for.
+     * @param random         The random number generator of the algorithm.
+     * @return The initialised Neat algorithm.
+     */
+    public static NeatAlgorithm initialiseNeat(int populationSize, int maxGenerations, Random random) {
+        return new NeatAlgorithm(populationSize, maxGenerations, random);
     }
 
     /**
@@ -156,27 +860,21 @@ public static Neuroevolution initialiseNeat(int populationSize, int maxGeneratio
      * @return The initialised task.
      */
     private Environment initialiseTask() {
-        return switch (task) {
-            case Tasks.XOR -> new XOR();
-            case Tasks.CARTPOLE -> new SinglePoleBalancing(10, false, Randomness.random());
-            case Tasks.CARTPOLE_RANDOM -> new SinglePoleBalancing(10, true, Randomness.random());
-        };
+        return initialiseTask(Randomness.random());
     }
 
-}
-
+    /**
+     * Initialises the specified reinforcement learning task with the given random number generator.
+     *
+     * @param random The random number generator drawing the initial states of randomised tasks.
+     * @return The initialised task.
+     */
+    private Environment initialiseTask(Random random) {
+        Environment environment = task.createEnvironment(random);
+        if (environment instanceof SinglePoleBalancing cartPole) {
+            cartPole.setFastPhysics(fastPhysics);
+        }
+        return environment;
+    }
 
-/**
- * Converts supplied cli parameters to the respective {@link Tasks}.
- */
-final class TaskConverter implements CommandLine.ITypeConverter<Tasks> {
-    @Override
-    public Tasks convert(String task) {
-        return switch (task.toUpperCase()) {
-            case "XOR" -> Tasks.XOR;
-            case "CART" -> Tasks.CARTPOLE;
-            case "CART_RANDOM" -> Tasks.CARTPOLE_RANDOM;
-            default -> throw new IllegalArgumentException("The task '" + task + "' is not a valid reinforcement learning task.");
-        };
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,117 @@
+package de.uni_passau.fim.se2.sbse.neat;
+
+import de.uni_passau.fim.se2.sbse.neat.persistence.GenomeCodec;
+import de.uni_passau.fim.se2.sbse.neat.phenotype.CompiledNetwork;
+import de.uni_passau.fim.se2.sbse.neat.serve.InferenceServer;
+import picocli.CommandLine;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.*;
+
+/**
+ * Serves predictions of a champion exported with {@code --export} over HTTP on the loopback interface.
+ */
+@CommandLine.Command(
+        name = "serve",
+        description = "Answers prediction requests for an exported champion over HTTP."
+)
+public class ServeCommand implements Callable<Integer> {
+
+    @CommandLine.Spec
+    private CommandLine.Model.CommandSpec spec;
+
+    @CommandLine.Parameters(
+            index = "0",
+            description = "The champion exported with --export."
+    )
+    private Path model;
+
+    @CommandLine.Option(
+            names = {"--port"},
+            description = "The loopback port to listen on.",
+            defaultValue = "8080"
+    )
+    private int port;
+
+    @CommandLine.Option(
+            names = {"--batch-size"},
+            description = "The maximum number of requests evaluated in one forward pass.",
+            defaultValue = "64"
+    )
+    private int batchSize;
+
+    @CommandLine.Option(
+            names = {"--batch-delay"},
+            description = "The maximum time in microseconds to wait for further requests of a batch.",
+            defaultValue = "100"
+    )
+    private long batchDelayMicros;
+
+    @CommandLine.Option(
+            names = {"--report-interval"},
+            description = "The number of seconds between two reports of throughput and latency, 0 disables reports.",
+            defaultValue = "10"
+    )
+    private int reportInterval;
+
+    /**
+     * Loads the champion and serves predictions until the process is terminated.
+     *
+     * @return 1 if the champion could not be loaded or the server could not be started, 0 otherwise.
+     */
+    @Override
+    public Integer call() {
+        if (batchSize < 1) {
+            throw new CommandLine.ParameterException(spec.commandLine(), "The batch size must be positive.");
+        }
+        if (batchDelayMicros < 0) {
+            throw new CommandLine.ParameterException(spec.commandLine(), "The batch delay must not be negative.");
+        }
+        long loadStart = System.nanoTime();
+        CompiledNetwork network;
+        try {
+            network = GenomeCodec.decodeCompiled(Files.readAllBytes(model));
+        } catch (IOException e) {
+            System.err.println("Could not load the champion: " + e.getMessage());
+            return 1;
+        }
+        System.out.printf("Loaded champion with %d inputs and %d outputs in %.2f ms.%n",
+                network.inputSize(), network.outputSize(), (System.nanoTime() - loadStart) / 1e6);
+
+        InferenceServer server;
+        try {
+            server = new InferenceServer(network, port, batchSize, Duration.ofNanos(batchDelayMicros * 1000));
+        } catch (IOException e) {
+            System.err.println("Could not start the server: " + e.getMessage());
+            return 1;
+        }
+        System.out.printf("Serving predictions on http://localhost:%d/predict and statistics on /stats.%n", server.getPort());
+
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "inference-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (reportInterval > 0) {
+            reporter.scheduleAtFixedRate(() -> System.out.println(server.statistics().format()),
+                    reportInterval, reportInterval, TimeUnit.SECONDS);
+        }
+
+        CountDownLatch shutdown = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            reporter.shutdownNow();
+            server.close();
+            System.out.println(server.statistics().format());
+            shutdown.countDown();
+        }));
+        try {
+            shutdown.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return 0;
+    }
+}
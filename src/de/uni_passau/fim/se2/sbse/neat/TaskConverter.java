@@ -0,0 +1,19 @@
+package de.uni_passau.fim.se2.sbse.neat;
+
+import de.uni_passau.fim.se2.sbse.neat.environments.Tasks;
+import picocli.CommandLine;
+
+/**
+ * Converts supplied cli parameters to the respective {@link Tasks}.
+ */
+final class TaskConverter implements CommandLine.ITypeConverter<Tasks> {
+    @Override
+    public Tasks convert(String task) {
+        return switch (task.toUpperCase()) {
+            case "XOR" -> Tasks.XOR;
+            case "CART" -> Tasks.CARTPOLE;
+            case "CART_RANDOM" -> Tasks.CARTPOLE_RANDOM;
+            default -> throw new IllegalArgumentException("The task '" + task + "' is not a valid reinforcement learning task.");
+        };
+    }
+}
@@ -0,0 +1,181 @@
+package de.uni_passau.fim.se2.sbse.neat;
+
+import de.uni_passau.fim.se2.sbse.neat.algorithms.Budget;
+import de.uni_passau.fim.se2.sbse.neat.algorithms.NeatParameters;
+import de.uni_passau.fim.se2.sbse.neat.environments.Tasks;
+import de.uni_passau.fim.se2.sbse.neat.experiments.CellResult;
+import de.uni_passau.fim.se2.sbse.neat.experiments.Configuration;
+import de.uni_passau.fim.se2.sbse.neat.experiments.ExperimentRunner;
+import de.uni_passau.fim.se2.sbse.neat.experiments.ParameterSpace;
+import de.uni_passau.fim.se2.sbse.neat.experiments.SuccessiveHalving;
+import picocli.CommandLine;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.Callable;
+
+/**
+ * Searches the parameters that solve a task in the shortest median wall-clock time.
+ * Random configurations, together with the defaults, are raced against each other by {@link SuccessiveHalving}:
+ * all configurations run concurrently on a thread pool, slow configurations are dropped after a few runs, and the
+ * remaining ones are run more and more often until the best one is found.
+ */
+@CommandLine.Command(
+        name = "tune",
+        description = "Races random parameter configurations with successive halving for the shortest median time to solve a task."
+)
+public class TuneCommand implements Callable<Integer> {
+
+    @CommandLine.Spec
+    private CommandLine.Model.CommandSpec spec;
+
+    @CommandLine.Option(
+            names = {"-t", "--task"},
+            description = "The task to solve [XOR, CART, CART_RANDOM].",
+            converter = TaskConverter.class,
+            defaultValue = "XOR"
+    )
+    private Tasks task;
+
+    @CommandLine.Option(
+            names = {"-p", "--population-size"},
+            description = "The population size of every run.",
+            defaultValue = "150"
+    )
+    private int populationSize;
+
+    @CommandLine.Option(
+            names = {"-g", "--max-generations"},
+            description = "The maximum number of generations of every run.",
+            defaultValue = "100"
+    )
+    private int maxGenerations;
+
+    @CommandLine.Option(
+            names = {"-n", "--configurations"},
+            description = "The number of configurations raced in the first round, including the defaults.",
+            defaultValue = "32"
+    )
+    private int configurationCount;
+
+    @CommandLine.Option(
+            names = {"-r", "--repetitions"},
+            description = "The number of repetitions of every configuration in the first round.",
+            defaultValue = "3"
+    )
+    private int repetitions;
+
+    @CommandLine.Option(
+            names = {"--eta"},
+            description = "The factor by which the configurations are reduced and the repetitions are increased per round.",
+            defaultValue = "2"
+    )
+    private int eta;
+
+    @CommandLine.Option(
+            names = {"--time-limit"},
+            description = "The maximum wall-clock time in seconds of a single run, which counts as unsolved if it is exceeded.",
+            defaultValue = "30"
+    )
+    private long timeLimitSeconds;
+
+    @CommandLine.Option(
+            names = {"-s", "--seed"},
+            description = "The seed of the sampled configurations and from which the seed of every repetition is derived.",
+            defaultValue = "0"
+    )
+    private long seed;
+
+    @CommandLine.Option(
+            names = {"--threads"},
+            description = "The number of runs executed concurrently, 0 uses one thread per available processor.",
+            defaultValue = "0"
+    )
+    private int threads;
+
+    @CommandLine.Option(
+            names = {"--plan-cache-size"},
+            description = "The number of compiled network structures cached by every run, 0 evaluates the chromosomes directly.",
+            defaultValue = "1024"
+    )
+    private int planCacheSize;
+
+    @CommandLine.Option(
+            names = {"-o", "--output"},
+            description = "The CSV file receiving the result of every run as soon as it has finished."
+    )
+    private Path output;
+
+    /**
+     * Races the configurations and prints the ranking of every round.
+     *
+     * @return 1 if the results could not be written, 0 otherwise.
+     */
+    @Override
+    public Integer call() {
+        if (configurationCount < 1 || timeLimitSeconds < 1) {
+            throw new CommandLine.ParameterException(spec.commandLine(),
+                    "The number of configurations and the time limit must be positive.");
+        }
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ExperimentRunner runner = new ExperimentRunner(Tasks::createEnvironment, poolSize, planCacheSize);
+        runner.setBudget(Budget.UNLIMITED.withWallClockLimit(Duration.ofSeconds(timeLimitSeconds)));
+        List<Configuration> configurations;
+        SuccessiveHalving tuner;
+        try {
+            configurations = configurations();
+            tuner = new SuccessiveHalving(runner, repetitions, eta);
+        } catch (IllegalArgumentException e) {
+            throw new CommandLine.ParameterException(spec.commandLine(), e.getMessage());
+        }
+        System.out.printf("Racing %d configurations on %s with %d threads.%n", configurationCount, task, poolSize);
+
+        List<SuccessiveHalving.Candidate> ranking;
+        try (PrintWriter writer = output == null
+                ? new PrintWriter(PrintWriter.nullWriter())
+                : new PrintWriter(Files.newBufferedWriter(output, StandardCharsets.UTF_8), true)) {
+            writer.println(CellResult.CSV_HEADER);
+            int[] round = {0};
+            ranking = tuner.tune(configurations, seed, result -> writer.println(result.csv()), candidates -> {
+                System.out.printf("%nRound %d:%n%s%n", ++round[0], SuccessiveHalving.Candidate.CSV_HEADER);
+                candidates.forEach(candidate -> System.out.println(candidate.csv()));
+            });
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Could not write the results: " + e.getMessage());
+            return 1;
+        }
+
+        NeatParameters best = ranking.getFirst().configuration().parameters();
+        System.out.printf(Locale.ROOT, "%nBest parameters: --add-neuron %s --add-connection %s --mutate-weights %s "
+                        + "--toggle-connection %s --crossover %s --tournament-sizes %d --species-targets %d "
+                        + "--delta-thresholds %s%n",
+                best.addNeuronProbability(), best.addConnectionProbability(), best.mutateWeightsProbability(),
+                best.toggleConnectionProbability(), best.crossoverProbability(), best.tournamentSize(),
+                best.desiredSpeciesCount(), best.initialDeltaThreshold());
+        return 0;
+    }
+
+    /**
+     * Returns the defaults followed by randomly sampled configurations.
+     *
+     * @throws IllegalArgumentException if the population size or the generation limit is invalid.
+     */
+    private List<Configuration> configurations() {
+        Random random = new Random(seed);
+        List<Configuration> configurations = new ArrayList<>(configurationCount);
+        configurations.add(new Configuration(task, populationSize, maxGenerations, NeatParameters.DEFAULT));
+        while (configurations.size() < configurationCount) {
+            configurations.add(new Configuration(task, populationSize, maxGenerations, ParameterSpace.sample(random)));
+        }
+        return configurations;
+    }
+}
@@ -0,0 +1,89 @@
+package de.uni_passau.fim.se2.sbse.neat.algorithms;
+
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.EvaluationCost;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import de.uni_passau.fim.se2.sbse.neat.environments.LockstepEnvironment;
+import de.uni_passau.fim.se2.sbse.neat.phenotype.BatchedNetwork;
+import de.uni_passau.fim.se2.sbse.neat.phenotype.CompiledNetwork;
+import de.uni_passau.fim.se2.sbse.neat.phenotype.EvaluationPlan;
+import de.uni_passau.fim.se2.sbse.neat.phenotype.PlanCache;
+import de.uni_passau.fim.se2.sbse.neat.utils.CancellationToken;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Evaluates chromosomes in a {@link LockstepEnvironment} in batches of networks that share the same structure.
+ * The chromosomes are compiled by a {@link PlanCache}, grouped by their evaluation plan,
+ * and every group is evaluated as one {@link BatchedNetwork}.
+ * Since most offspring only differ from their parents in their weights, a population usually consists of
+ * few large groups.
+ */
+public class BatchEvaluator {
+
+    /**
+     * The environment in which the batches are evaluated.
+     */
+    private final LockstepEnvironment environment;
+
+    /**
+     * The cache providing the shared plans of the chromosomes.
+     */
+    private final PlanCache planCache;
+
+    /**
+     * Creates a new batch evaluator.
+     *
+     * @param environment The environment in which the batches are evaluated.
+     * @param planCache   The cache compiling the chromosomes.
+     */
+    public BatchEvaluator(LockstepEnvironment environment, PlanCache planCache) {
+        this.environment = requireNonNull(environment);
+        this.planCache = requireNonNull(planCache);
+    }
+
+    /**
+     * Evaluates the given chromosomes batch by batch and sets their fitness and evaluation cost.
+     * The time of a batch is split evenly between its chromosomes.
+     * Once the cancellation token is cancelled, the running batch is discarded and no further batches are evaluated.
+     *
+     * @param chromosomes The chromosomes to evaluate.
+     * @param token       The token that stops the evaluation, must be the token set in the environment.
+     * @param onEvaluated The callback invoked after each completed evaluation.
+     * @return The chromosomes whose evaluation completed before the token was cancelled.
+     */
+    public List<NetworkChromosome> evaluate(List<NetworkChromosome> chromosomes, CancellationToken token,
+                                            Consumer<NetworkChromosome> onEvaluated) {
+        Map<EvaluationPlan, List<NetworkChromosome>> groups = new LinkedHashMap<>();
+        Map<EvaluationPlan, List<CompiledNetwork>> networks = new HashMap<>();
+        for (NetworkChromosome chromosome : chromosomes) {
+            CompiledNetwork network = planCache.compile(chromosome);
+            groups.computeIfAbsent(network.getPlan(), plan -> new ArrayList<>()).add(chromosome);
+            networks.computeIfAbsent(network.getPlan(), plan -> new ArrayList<>()).add(network);
+        }
+
+        List<NetworkChromosome> completed = new ArrayList<>(chromosomes.size());
+        for (Map.Entry<EvaluationPlan, List<NetworkChromosome>> group : groups.entrySet()) {
+            if (token.isCancelled()) {
+                break;
+            }
+            List<NetworkChromosome> members = group.getValue();
+            long start = System.nanoTime();
+            double[] rewards = environment.evaluate(BatchedNetwork.of(networks.get(group.getKey())));
+            long nanos = (System.nanoTime() - start) / members.size();
+            if (token.isCancelled()) {
+                break;
+            }
+            for (int lane = 0; lane < members.size(); lane++) {
+                NetworkChromosome chromosome = members.get(lane);
+                chromosome.setFitness(rewards[lane]);
+                chromosome.setEvaluationCost(new EvaluationCost(environment.getEvaluationSteps(lane), nanos));
+                completed.add(chromosome);
+                onEvaluated.accept(chromosome);
+            }
+        }
+        return completed;
+    }
+}
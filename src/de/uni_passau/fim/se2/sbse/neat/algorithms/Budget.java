@@ -0,0 +1,52 @@
+package de.uni_passau.fim.se2.sbse.neat.algorithms;
+
+import java.time.Duration;
+
+/**
+ * Limits the resources a neuroevolution algorithm may spend on solving a task.
+ * Once any of the limits is reached, the algorithm stops and returns the best agent found so far.
+ *
+ * @param wallClockLimit The maximum wall-clock time, or {@code null} for no limit.
+ * @param maxSteps       The maximum number of environment steps over all evaluations.
+ * @param maxEvaluations The maximum number of evaluations.
+ */
+public record Budget(Duration wallClockLimit, long maxSteps, long maxEvaluations) {
+
+    /**
+     * A budget without any limits.
+     */
+    public static final Budget UNLIMITED = new Budget(null, Long.MAX_VALUE, Long.MAX_VALUE);
+
+    public Budget {
+        if (wallClockLimit != null && wallClockLimit.isNegative()) {
+            throw new IllegalArgumentException("The wall-clock limit must not be negative.");
+        }
+        if (maxSteps < 0 || maxEvaluations < 0) {
+            throw new IllegalArgumentException("The step and evaluation limits must not be negative.");
+        }
+    }
+
+    public Budget withWallClockLimit(Duration wallClockLimit) {
+        return new Budget(wallClockLimit, maxSteps, maxEvaluations);
+    }
+
+    public Budget withMaxSteps(long maxSteps) {
+        return new Budget(wallClockLimit, maxSteps, maxEvaluations);
+    }
+
+    public Budget withMaxEvaluations(long maxEvaluations) {
+        return new Budget(wallClockLimit, maxSteps, maxEvaluations);
+    }
+
+    /**
+     * Returns whether the given amount of consumed steps or evaluations exhausts this budget.
+     * The wall-clock limit is enforced through the deadline of a {@link de.uni_passau.fim.se2.sbse.neat.utils.CancellationToken}.
+     *
+     * @param steps       The number of environment steps taken so far.
+     * @param evaluations The number of evaluations performed so far.
+     * @return True if no further evaluations may be performed, false otherwise.
+     */
+    public boolean isExhausted(long steps, long evaluations) {
+        return steps >= maxSteps || evaluations >= maxEvaluations;
+    }
+}
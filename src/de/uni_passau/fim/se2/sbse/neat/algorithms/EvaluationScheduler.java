@@ -0,0 +1,166 @@
+package de.uni_passau.fim.se2.sbse.neat.algorithms;
+
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.Agent;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.EvaluationCost;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import de.uni_passau.fim.se2.sbse.neat.environments.Environment;
+import de.uni_passau.fim.se2.sbse.neat.utils.CancellationToken;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Evaluates chromosomes concurrently on a work-stealing thread pool.
+ * Since the cost of evaluating a chromosome varies by orders of magnitude,
+ * chromosomes are scheduled in the order of their predicted cost with the most expensive chromosome first.
+ * This prevents a single long evaluation that is started last from determining the duration of a whole generation.
+ * <p>
+ * Every worker thread evaluates chromosomes in its own copy of the environment, see {@link Environment#copy()}.
+ * Once the cancellation token of the environment is cancelled, for instance because a worker found a solution,
+ * running evaluations stop early and pending evaluations are skipped.
+ */
+public class EvaluationScheduler implements AutoCloseable {
+
+    /**
+     * The work-stealing pool executing the evaluations.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a new scheduler evaluating chromosomes on the given number of threads.
+     *
+     * @param threads The number of worker threads.
+     * @throws IllegalArgumentException if the number of threads is not positive.
+     */
+    public EvaluationScheduler(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is required to evaluate chromosomes.");
+        }
+        this.pool = new ForkJoinPool(threads, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+    }
+
+    /**
+     * Evaluates the given chromosomes, longest predicted evaluation first,
+     * and sets their fitness and evaluation cost.
+     * Evaluations that are interrupted by the cancellation token do not change the fitness of their chromosome.
+     * Randomised environments are seeded from a generator with a fixed seed.
+     *
+     * @param environment The environment whose copies are used to evaluate the chromosomes.
+     * @param chromosomes The chromosomes to evaluate.
+     * @param token       The token that stops the evaluation, must be the token set in the environment.
+     * @param onEvaluated The callback invoked by the worker threads after each completed evaluation.
+     * @return The chromosomes whose evaluation completed before the token was cancelled.
+     */
+    public List<NetworkChromosome> evaluate(Environment environment, List<NetworkChromosome> chromosomes,
+                                            CancellationToken token, Consumer<NetworkChromosome> onEvaluated) {
+        return evaluate(environment, chromosomes, chromosome -> chromosome, new Random(0), token, onEvaluated);
+    }
+
+    /**
+     * Evaluates the given chromosomes like {@link #evaluate(Environment, List, CancellationToken, Consumer)},
+     * but hands the phenotype of every chromosome to the environment instead of the chromosome itself.
+     * <p>
+     * If the environment is not deterministic, a seed is drawn for every chromosome in the given order before any
+     * evaluation starts, and the copy of the environment evaluating a chromosome is {@link
+     * Environment#setEvaluationSeed reseeded} with it. The fitness of every chromosome therefore depends on the seeds
+     * only, but not on the thread evaluating it or the order in which the evaluations finish.
+     *
+     * @param environment The environment whose copies are used to evaluate the chromosomes.
+     * @param chromosomes The chromosomes to evaluate.
+     * @param phenotypes  The function creating the agent evaluated for a chromosome, called by the worker threads.
+     * @param seeds       The generator of the evaluation seeds, which is only used by the calling thread.
+     * @param token       The token that stops the evaluation, must be the token set in the environment.
+     * @param onEvaluated The callback invoked by the worker threads after each completed evaluation.
+     * @return The chromosomes whose evaluation completed before the token was cancelled.
+     */
+    public List<NetworkChromosome> evaluate(Environment environment, List<NetworkChromosome> chromosomes,
+                                            Function<NetworkChromosome, ? extends Agent> phenotypes, Random seeds,
+                                            CancellationToken token, Consumer<NetworkChromosome> onEvaluated) {
+        ThreadLocal<Environment> environments = ThreadLocal.withInitial(environment::copy);
+
+        boolean seeded = !environment.isDeterministic();
+        List<Evaluation> schedule = new ArrayList<>(chromosomes.size());
+        for (NetworkChromosome chromosome : chromosomes) {
+            schedule.add(new Evaluation(chromosome, seeded ? seeds.nextLong() : 0));
+        }
+        schedule.sort(Comparator.comparingLong((Evaluation evaluation) -> evaluation.chromosome().getPredictedCost().nanos()).reversed());
+
+        Queue<NetworkChromosome> completed = new ConcurrentLinkedQueue<>();
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(schedule.size());
+        for (Evaluation evaluation : schedule) {
+            NetworkChromosome chromosome = evaluation.chromosome();
+            tasks.add(pool.submit(() -> {
+                if (token.isCancelled()) {
+                    return;
+                }
+                Environment copy = environments.get();
+                if (seeded) {
+                    copy.setEvaluationSeed(evaluation.seed());
+                }
+                double fitness = measure(copy, chromosome, phenotypes.apply(chromosome));
+                if (!token.isCancelled()) {
+                    chromosome.setFitness(fitness);
+                    completed.add(chromosome);
+                    onEvaluated.accept(chromosome);
+                }
+            }));
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+        return new ArrayList<>(completed);
+    }
+
+    /**
+     * A scheduled evaluation of a chromosome with the seed of its environment.
+     */
+    private record Evaluation(NetworkChromosome chromosome, long seed) {
+    }
+
+    /**
+     * Evaluates the given chromosome and records the steps and time the evaluation took as its evaluation cost.
+     *
+     * @param environment The environment in which the chromosome is evaluated.
+     * @param chromosome  The chromosome to evaluate.
+     * @return The fitness of the chromosome.
+     */
+    static double measure(Environment environment, NetworkChromosome chromosome) {
+        return measure(environment, chromosome, chromosome);
+    }
+
+    /**
+     * Evaluates the given phenotype of a chromosome and records the cost of the evaluation in the chromosome.
+     *
+     * @param environment The environment in which the phenotype is evaluated.
+     * @param chromosome  The chromosome the phenotype was created from.
+     * @param phenotype   The agent that is evaluated, which behaves like the chromosome.
+     * @return The fitness of the chromosome.
+     */
+    static double measure(Environment environment, NetworkChromosome chromosome, Agent phenotype) {
+        long start = System.nanoTime();
+        double fitness = environment.evaluate(phenotype);
+        long nanos = System.nanoTime() - start;
+        chromosome.setEvaluationCost(new EvaluationCost(environment.getEvaluationSteps(), nanos));
+        return fitness;
+    }
+
+    /**
+     * Predicts the evaluation cost of an offspring as the mean cost of its parents.
+     *
+     * @param parent1 The first parent.
+     * @param parent2 The second parent.
+     * @return The predicted evaluation cost of the offspring.
+     */
+    static EvaluationCost predict(NetworkChromosome parent1, NetworkChromosome parent2) {
+        return parent1.getEvaluationCost().mean(parent2.getEvaluationCost());
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+}
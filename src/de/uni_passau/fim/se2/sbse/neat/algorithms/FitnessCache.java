@@ -0,0 +1,91 @@
+package de.uni_passau.fim.se2.sbse.neat.algorithms;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache that maps the content hash of a network to the fitness it obtained in a deterministic environment.
+ * If the cache is full, the least recently used entry is evicted.
+ *
+ * @see de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome#contentHash()
+ */
+public class FitnessCache {
+
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    /**
+     * The maximum number of entries kept in the cache.
+     */
+    private final int capacity;
+
+    /**
+     * Maps content hashes to fitness values in access order.
+     */
+    private final LinkedHashMap<Long, Double> entries;
+
+    private long hits;
+    private long misses;
+
+    /**
+     * Creates a new fitness cache holding at most the given number of entries.
+     *
+     * @param capacity The maximum number of entries, zero disables the cache.
+     * @throws IllegalArgumentException if the capacity is negative.
+     */
+    public FitnessCache(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("The capacity of the fitness cache must not be negative.");
+        }
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Double> eldest) {
+                return size() > FitnessCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached fitness for the given content hash and marks the entry as recently used.
+     *
+     * @param contentHash The content hash of the network.
+     * @return The cached fitness, or {@code null} if the hash is not cached.
+     */
+    public Double get(long contentHash) {
+        Double fitness = entries.get(contentHash);
+        if (fitness == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return fitness;
+    }
+
+    /**
+     * Caches the fitness for the given content hash.
+     *
+     * @param contentHash The content hash of the network.
+     * @param fitness     The fitness the network obtained.
+     */
+    public void put(long contentHash, double fitness) {
+        if (capacity > 0) {
+            entries.put(contentHash, fitness);
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+}
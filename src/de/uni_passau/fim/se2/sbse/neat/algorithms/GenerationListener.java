@@ -0,0 +1,17 @@
+package de.uni_passau.fim.se2.sbse.neat.algorithms;
+
+/**
+ * Receives the statistics of every generation of a {@link NeatAlgorithm} run.
+ * Listeners are called on the thread running the algorithm, between two generations,
+ * hence a slow listener delays the run but does not distort the reported times.
+ */
+@FunctionalInterface
+public interface GenerationListener {
+
+    /**
+     * Called once the next generation of the reported generation has been created.
+     *
+     * @param stats The statistics of the completed generation.
+     */
+    void generationCompleted(GenerationStats stats);
+}
@@ -0,0 +1,62 @@
+package de.uni_passau.fim.se2.sbse.neat.algorithms;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The statistics of a single generation, including the wall-clock time of each of its {@link Phase phases}.
+ * Crossover and mutation are part of the reproduction, the remaining reproduction time is spent selecting parents
+ * and copying elites.
+ *
+ * @param generation          The zero-based index of the generation.
+ * @param speciesCount        The number of species the generation was divided into.
+ * @param speciesSizes        The number of members of every species, in the order of the species.
+ * @param meanGenomeSize      The mean number of connection genes of the networks of the generation.
+ * @param bestFitness         The highest fitness within the generation.
+ * @param championHash        The {@link de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome#contentHash()
+ *                            content hash} of the network with the highest fitness, which identifies the champion
+ *                            across generations and runs.
+ * @param meanFitness         The mean fitness of the generation.
+ * @param innovationCount     The number of connection innovations created so far in the run.
+ * @param evaluations         The number of evaluations performed so far in the run.
+ * @param steps               The number of environment steps taken so far in the run.
+ * @param checkpointingNanos  The time spent writing a checkpoint at the start of the generation.
+ * @param evaluationNanos     The time spent evaluating the generation.
+ * @param speciationNanos     The time spent assigning the generation to species.
+ * @param fitnessSharingNanos The time spent sharing fitness and allotting offspring.
+ * @param reproductionNanos   The time spent creating the next generation.
+ * @param crossoverNanos      The part of the reproduction time spent in crossover.
+ * @param mutationNanos       The part of the reproduction time spent in mutation.
+ */
+public record GenerationStats(int generation, int speciesCount, List<Integer> speciesSizes, double meanGenomeSize,
+                              double bestFitness, long championHash, double meanFitness, int innovationCount, long evaluations, long steps,
+                              long checkpointingNanos, long evaluationNanos, long speciationNanos,
+                              long fitnessSharingNanos, long reproductionNanos, long crossoverNanos, long mutationNanos) {
+
+    public GenerationStats {
+        speciesSizes = List.copyOf(speciesSizes);
+    }
+
+    /**
+     * Returns the total time of the generation.
+     *
+     * @return The sum of the times of all phases in nanoseconds.
+     */
+    public long totalNanos() {
+        return checkpointingNanos + evaluationNanos + speciationNanos + fitnessSharingNanos + reproductionNanos;
+    }
+
+    /**
+     * Formats the statistics as a single human-readable line with times in milliseconds.
+     *
+     * @return The formatted statistics.
+     */
+    public String format() {
+        return String.format(Locale.ROOT,
+                "generation=%d species=%d genome=%.1f best=%s mean=%.4f innovations=%d total=%.2fms evaluation=%.2fms speciation=%.2fms "
+                        + "sharing=%.2fms reproduction=%.2fms crossover=%.2fms mutation=%.2fms checkpoint=%.2fms",
+                generation, speciesCount, meanGenomeSize, bestFitness, meanFitness, innovationCount, totalNanos() / 1e6, evaluationNanos / 1e6,
+                speciationNanos / 1e6, fitnessSharingNanos / 1e6, reproductionNanos / 1e6, crossoverNanos / 1e6,
+                mutationNanos / 1e6, checkpointingNanos / 1e6);
+    }
+}
@@ -1,15 +1,31 @@
 package de.uni_passau.fim.se2.sbse.neat.algorithms;
 
+import de.uni_passau.fim.se2.sbse.neat.algorithms.innovations.ConnectionInnovation;
 import de.uni_passau.fim.se2.sbse.neat.algorithms.innovations.Innovation;
 import de.uni_passau.fim.se2.sbse.neat.chromosomes.*;
 import de.uni_passau.fim.se2.sbse.neat.crossover.NeatCrossover;
 import de.uni_passau.fim.se2.sbse.neat.environments.Environment;
+import de.uni_passau.fim.se2.sbse.neat.environments.EpisodicEnvironment;
+import de.uni_passau.fim.se2.sbse.neat.environments.LockstepEnvironment;
+import de.uni_passau.fim.se2.sbse.neat.events.GenerationEvent;
+import de.uni_passau.fim.se2.sbse.neat.events.ReproductionEvent;
+import de.uni_passau.fim.se2.sbse.neat.events.SpeciationEvent;
 import de.uni_passau.fim.se2.sbse.neat.mutation.NeatMutation;
+import de.uni_passau.fim.se2.sbse.neat.persistence.Checkpoint;
+import de.uni_passau.fim.se2.sbse.neat.persistence.CheckpointWriter;
+import de.uni_passau.fim.se2.sbse.neat.persistence.GenomeArchiveWriter;
+import de.uni_passau.fim.se2.sbse.neat.phenotype.PlanCache;
+import de.uni_passau.fim.se2.sbse.neat.utils.CancellationToken;
+import de.uni_passau.fim.se2.sbse.neat.utils.RestorableRandom;
 
 import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static java.util.Objects.requireNonNull;
+
 public class NeatAlgorithm implements Neuroevolution {
     private final int populationSize;
     private final int maxGenerations;
@@ -20,40 +36,179 @@ public class NeatAlgorithm implements Neuroevolution {
     private int currentGeneration;
     private double deltaThreshold;
     private final int desiredSpeciesCount;
+    private final NeatParameters parameters;
     private final Set<Innovation> innovations;
+    private boolean racing;
+    private boolean batched;
+    private FitnessCache fitnessCache;
+    private PlanCache planCache;
+    private int threads;
+    private Budget budget;
+    private CancellationToken runToken;
+    private final LongAdder evaluationCount;
+    private final LongAdder stepCount;
+    private CheckpointWriter checkpointWriter;
+    private int checkpointInterval;
+    private GenomeArchiveWriter genomeArchive;
+    private NetworkChromosome restoredBestAgent;
+    private int initialHiddenNeurons;
+
+    /**
+     * The accumulated wall-clock time of every phase in nanoseconds.
+     */
+    private final long[] phaseNanos = new long[Phase.values().length];
+    private Phase phase;
+    private long phaseStart;
+    private final List<GenerationListener> listeners = new ArrayList<>();
+    private GenerationEvent generationEvent;
 
     public NeatAlgorithm(int populationSize, int maxGenerations, Random random) {
+        this(populationSize, maxGenerations, random, NeatParameters.DEFAULT);
+    }
+
+    /**
+     * Creates a new instance of the algorithm with the given mutation probabilities and speciation targets.
+     *
+     * @param populationSize The size of the population.
+     * @param maxGenerations The maximum number of generations.
+     * @param random         The random number generator.
+     * @param parameters     The parameters of the mutation and the speciation.
+     */
+    public NeatAlgorithm(int populationSize, int maxGenerations, Random random, NeatParameters parameters) {
         this.populationSize = populationSize;
         this.maxGenerations = maxGenerations;
         this.random = random;
+        this.parameters = requireNonNull(parameters);
 
         this.innovations = new HashSet<>();
-        this.mutation = new NeatMutation(innovations, random);
+        this.mutation = new NeatMutation(innovations, random, parameters);
         this.crossover = new NeatCrossover(random);
         this.population = new ArrayList<>();
 
         currentGeneration = 0;
-        desiredSpeciesCount = 10;
-        deltaThreshold = 2.5;
-
+        desiredSpeciesCount = parameters.desiredSpeciesCount();
+        deltaThreshold = parameters.initialDeltaThreshold();
+        fitnessCache = new FitnessCache(FitnessCache.DEFAULT_CAPACITY);
+        threads = 1;
+        budget = Budget.UNLIMITED;
+        runToken = new CancellationToken();
+        evaluationCount = new LongAdder();
+        stepCount = new LongAdder();
     }
 
     @Override
-    public Agent solve(Environment environment) {
-        NetworkChromosome bestAgent = null;
+    public Agent solve(Environment environment, Budget budget, CancellationToken token) {
+        this.budget = requireNonNull(budget);
+        this.runToken = budget.wallClockLimit() == null
+                ? token.child()
+                : token.child(System.nanoTime() + budget.wallClockLimit().toNanos());
+        environment.setCancellationToken(runToken);
+        try {
+            if (threads > 1) {
+                try (EvaluationScheduler scheduler = new EvaluationScheduler(threads)) {
+                    return evolve(environment, scheduler);
+                }
+            }
+            return evolve(environment, null);
+        } finally {
+            endGeneration(0);
+            enterPhase(null);
+            environment.setCancellationToken(new CancellationToken());
+        }
+    }
+
+    /**
+     * Evolves the population until the environment is solved, the maximum number of generations is reached,
+     * the budget is exhausted or the run is cancelled.
+     *
+     * @param environment The environment to solve.
+     * @param scheduler   The scheduler evaluating the population concurrently, or {@code null} to evaluate sequentially.
+     * @return The best agent found.
+     */
+    private Agent evolve(Environment environment, EvaluationScheduler scheduler) {
+        NetworkChromosome bestAgent = restoredBestAgent;
+        enterPhase(Phase.INITIALISATION);
         NetworkGenerator generator = new NetworkGenerator(innovations, environment.getState().size(), environment.actionInputSize(), random);
 
-        for (int i = 0; i < populationSize; i++) {
-            NetworkChromosome chromosome = generator.generate();
-            population.add(chromosome);
+        // A population restored from a checkpoint is continued instead of generating a new one
+        if (population.isEmpty()) {
+            for (int i = 0; i < populationSize; i++) {
+                NetworkChromosome chromosome = generator.generate();
+                for (int neuron = 0; neuron < initialHiddenNeurons; neuron++) {
+                    chromosome = mutation.addNeuron(chromosome);
+                }
+                population.add(chromosome);
+            }
         }
 
 
         while (currentGeneration < maxGenerations) {
+            generationEvent = new GenerationEvent();
+            generationEvent.begin();
+            // Crossover and mutation are only timed separately if the times are reported
+            boolean timed = !listeners.isEmpty();
+            long[] generationStart = null;
+            if (timed) {
+                // Accounts the time of the running phase to the previous generation
+                enterPhase(phase);
+                generationStart = phaseNanos.clone();
+            }
+            long crossoverNanos = 0;
+            long mutationNanos = 0;
+            if (checkpointWriter != null && currentGeneration % checkpointInterval == 0) {
+                enterPhase(Phase.CHECKPOINTING);
+                checkpointWriter.write(createCheckpoint(checkpointWriter.getOrigin(), bestAgent));
+            }
+            enterPhase(Phase.EVALUATION);
+
+            List<Species> speciesList = null;
+            Set<NetworkChromosome> evaluated = null;
+
+            if (racing && environment instanceof EpisodicEnvironment episodicEnvironment) {
+                // Speciation does not depend on fitness, which allows racing members of the same species
+                enterPhase(Phase.SPECIATION);
+                speciesList = assignSpecies(population);
+                enterPhase(Phase.EVALUATION);
+                // Members are accounted as they leave the race, such that budgets and solutions stop the race
+                Map<NetworkChromosome, RacingEvaluator.Result> results = new RacingEvaluator(episodicEnvironment)
+                        .evaluate(speciesList, runToken, (chromosome, result) -> {
+                            chromosome.setFitness(result.fitness());
+                            recordEvaluation(environment, chromosome);
+                        });
+                evaluated = Collections.newSetFromMap(new IdentityHashMap<>());
+                evaluated.addAll(results.keySet());
+            } else if (batched && environment instanceof LockstepEnvironment lockstepEnvironment) {
+                BatchEvaluator batchEvaluator = new BatchEvaluator(lockstepEnvironment,
+                        planCache != null ? planCache : new PlanCache(PlanCache.DEFAULT_CAPACITY));
+                evaluated = evaluatePopulation(environment, pending -> batchEvaluator.evaluate(pending, runToken,
+                        chromosome -> recordEvaluation(environment, chromosome)));
+            } else if (scheduler != null) {
+                evaluated = evaluatePopulation(environment, pending -> scheduler.evaluate(environment, pending,
+                        this::phenotype, random, runToken, chromosome -> recordEvaluation(environment, chromosome)));
+            }
+
+            // The whole evaluated generation is archived before a solution ends the run
+            if (genomeArchive != null && evaluated != null) {
+                for (NetworkChromosome chromosome : population) {
+                    if (evaluated.contains(chromosome)) {
+                        genomeArchive.append(currentGeneration, chromosome);
+                    }
+                }
+            }
+
             // Evaluation
             for (NetworkChromosome chromosome : population) {
-                double fitness = environment.evaluate(chromosome);
-                chromosome.setFitness(fitness);
+                if (evaluated == null) {
+                    if (isStopped() || !evaluate(environment, chromosome)) {
+                        return bestOrFirst(bestAgent);
+                    }
+                    if (genomeArchive != null) {
+                        genomeArchive.append(currentGeneration, chromosome);
+                    }
+                } else if (!evaluated.contains(chromosome)) {
+                    continue;
+                }
+                double fitness = chromosome.getFitness();
                 if (bestAgent == null || fitness > bestAgent.getFitness()) {
                     bestAgent = chromosome;
                 }
@@ -62,10 +217,18 @@ public Agent solve(Environment environment) {
                 }
             }
 
+            if (isStopped()) {
+                return bestOrFirst(bestAgent);
+            }
+
             // Convert to Species
-            List<Species> speciesList = assignSpecies(population);
+            enterPhase(Phase.SPECIATION);
+            if (speciesList == null) {
+                speciesList = assignSpecies(population);
+            }
 
             // Fitness Sharing
+            enterPhase(Phase.FITNESS_SHARING);
             double totalSharedFitness = 0.0;
             for (Species species : speciesList) {
                 totalSharedFitness += species.getSharedFitness();
@@ -80,11 +243,16 @@ public Agent solve(Environment environment) {
             adjustThreshold(speciesList.size());
 
             // Cross-over and mutation
+            enterPhase(Phase.REPRODUCTION);
             List<NetworkChromosome> nextGeneration = new ArrayList<>(populationSize);
 
 
-            for (Species species : speciesList) {
+            for (int speciesIndex = 0; speciesIndex < speciesList.size(); speciesIndex++) {
+                Species species = speciesList.get(speciesIndex);
                 int offspringCount = species.getOffspringCount();
+                ReproductionEvent reproductionEvent = new ReproductionEvent();
+                reproductionEvent.begin();
+                int batchStart = nextGeneration.size();
 
                 if (offspringCount > 0) {
                     List<NetworkChromosome> sortedMembers = species.getMembers().stream()
@@ -92,6 +260,7 @@ public Agent solve(Environment environment) {
                             .toList();
 
                     NetworkChromosome elite = sortedMembers.get(0).copy();
+                    elite.setPredictedCost(sortedMembers.get(0).getEvaluationCost());
                     nextGeneration.add(elite);
                     offspringCount--;
                 }
@@ -100,16 +269,29 @@ public Agent solve(Environment environment) {
                     NetworkChromosome parent1 = species.selectParent(random);
                     NetworkChromosome parent2 = species.selectParent(random);
                     NetworkChromosome child;
+                    EvaluationCost predictedCost;
 
                     // Apply crossover or retain the best of two parents
-                    if (random.nextDouble() < 0.75) {
+                    if (random.nextDouble() < parameters.crossoverProbability()) {
+                        long start = timed ? System.nanoTime() : 0;
                         child = crossover.apply(parent1, parent2);
+                        if (timed) {
+                            crossoverNanos += System.nanoTime() - start;
+                        }
+                        predictedCost = EvaluationScheduler.predict(parent1, parent2);
                     } else {
-                        child = (parent1.getFitness() >= parent2.getFitness() ? parent1.copy() : parent2.copy());
+                        NetworkChromosome fitterParent = parent1.getFitness() >= parent2.getFitness() ? parent1 : parent2;
+                        child = fitterParent.copy();
+                        predictedCost = fitterParent.getEvaluationCost();
                     }
 
                     // Apply mutation to the child
+                    long start = timed ? System.nanoTime() : 0;
                     child = mutation.apply(child);
+                    if (timed) {
+                        mutationNanos += System.nanoTime() - start;
+                    }
+                    child.setPredictedCost(predictedCost);
                     nextGeneration.add(child);
                     offspringCount--;
 
@@ -118,19 +300,36 @@ public Agent solve(Environment environment) {
                     }
                 }
 
+                commitReproduction(reproductionEvent, speciesIndex, species.getMembers().size(), nextGeneration.size() - batchStart);
+
                 // Ensure that the population size doesn't exceed the specified size and break early if necessary
                 if (nextGeneration.size() >= populationSize) {
                     break;
                 }
             }
 
+            ReproductionEvent reproductionEvent = new ReproductionEvent();
+            reproductionEvent.begin();
+            int batchStart = nextGeneration.size();
             while (nextGeneration.size() < populationSize) {
                 Species randomSpecies = speciesList.get(random.nextInt(speciesList.size()));
                 NetworkChromosome parent = randomSpecies.selectParent(random);
+                long start = timed ? System.nanoTime() : 0;
                 NetworkChromosome child = mutation.apply(parent.copy());
+                if (timed) {
+                    mutationNanos += System.nanoTime() - start;
+                }
+                child.setPredictedCost(parent.getEvaluationCost());
                 nextGeneration.add(child);
             }
 
+            commitReproduction(reproductionEvent, -1, 0, nextGeneration.size() - batchStart);
+
+            endGeneration(speciesList.size());
+            if (timed) {
+                enterPhase(Phase.REPRODUCTION);
+                notifyListeners(generationStart, speciesList, crossoverNanos, mutationNanos);
+            }
             population = nextGeneration;
             currentGeneration++;
         }
@@ -138,7 +337,253 @@ public Agent solve(Environment environment) {
         return bestAgent;
     }
 
+    /**
+     * Ends the current phase, adding its duration to its accumulated time, and starts the given phase.
+     *
+     * @param next The phase that starts now, or {@code null} if the run ends.
+     */
+    private void enterPhase(Phase next) {
+        long now = System.nanoTime();
+        if (phase != null) {
+            phaseNanos[phase.ordinal()] += now - phaseStart;
+        }
+        phase = next;
+        phaseStart = now;
+    }
+
+    /**
+     * Ends the event of the running generation, if any, and commits it if it is recorded.
+     *
+     * @param speciesCount The number of species of the generation, 0 if it ended before speciation.
+     */
+    private void endGeneration(int speciesCount) {
+        GenerationEvent event = generationEvent;
+        if (event == null) {
+            return;
+        }
+        generationEvent = null;
+        event.end();
+        if (event.shouldCommit()) {
+            event.generation = currentGeneration;
+            event.populationSize = population.size();
+            event.speciesCount = speciesCount;
+            event.bestFitness = population.stream().mapToDouble(NetworkChromosome::getFitness).max().orElse(0);
+            event.commit();
+        }
+    }
+
+    private void commitReproduction(ReproductionEvent event, int species, int members, int offspring) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.generation = currentGeneration;
+            event.species = species;
+            event.members = members;
+            event.offspring = offspring;
+            event.commit();
+        }
+    }
+
+    /**
+     * Reports the statistics of the current generation, which has just been reproduced, to all listeners.
+     *
+     * @param generationStart The accumulated phase times at the start of the generation.
+     * @param speciesList     The species of the generation.
+     * @param crossoverNanos  The time spent in crossover during reproduction.
+     * @param mutationNanos   The time spent in mutation during reproduction.
+     */
+    private void notifyListeners(long[] generationStart, List<Species> speciesList, long crossoverNanos,
+                                 long mutationNanos) {
+        NetworkChromosome champion = null;
+        double totalFitness = 0;
+        long connections = 0;
+        for (NetworkChromosome chromosome : population) {
+            if (champion == null || chromosome.getFitness() > champion.getFitness()) {
+                champion = chromosome;
+            }
+            totalFitness += chromosome.getFitness();
+            connections += chromosome.getConnections().size();
+        }
+        List<Integer> speciesSizes = new ArrayList<>(speciesList.size());
+        for (Species species : speciesList) {
+            speciesSizes.add(species.getMembers().size());
+        }
+        GenerationStats stats = new GenerationStats(currentGeneration, speciesList.size(), speciesSizes,
+                (double) connections / population.size(), champion.getFitness(), champion.contentHash(),
+                totalFitness / population.size(),
+                innovations.size(), evaluationCount.sum(), stepCount.sum(),
+                phaseNanos(Phase.CHECKPOINTING, generationStart),
+                phaseNanos(Phase.EVALUATION, generationStart),
+                phaseNanos(Phase.SPECIATION, generationStart),
+                phaseNanos(Phase.FITNESS_SHARING, generationStart),
+                phaseNanos(Phase.REPRODUCTION, generationStart),
+                crossoverNanos, mutationNanos);
+        for (GenerationListener listener : listeners) {
+            listener.generationCompleted(stats);
+        }
+    }
+
+    private long phaseNanos(Phase phase, long[] since) {
+        return phaseNanos[phase.ordinal()] - since[phase.ordinal()];
+    }
+
+    /**
+     * Evaluates the given chromosome in the environment and sets its fitness.
+     * In deterministic environments, the fitness of chromosomes with identical content is looked up in the fitness cache,
+     * which avoids re-evaluating elites and unmutated copies of parents.
+     *
+     * @param environment The environment in which the chromosome is evaluated.
+     * @param chromosome  The chromosome to evaluate.
+     * @return True if the evaluation completed, false if it was interrupted because the run was cancelled.
+     */
+    boolean evaluate(Environment environment, NetworkChromosome chromosome) {
+        long contentHash = 0;
+        if (environment.isDeterministic()) {
+            contentHash = chromosome.contentHash();
+            Double cachedFitness = fitnessCache.get(contentHash);
+            if (cachedFitness != null) {
+                chromosome.setFitness(cachedFitness);
+                chromosome.setEvaluationCost(chromosome.getPredictedCost());
+                return true;
+            }
+        }
+
+        double fitness = EvaluationScheduler.measure(environment, chromosome, phenotype(chromosome));
+        if (runToken.isCancelled()) {
+            return false;
+        }
+        chromosome.setFitness(fitness);
+        if (environment.isDeterministic()) {
+            fitnessCache.put(contentHash, fitness);
+        }
+        recordEvaluation(environment, chromosome);
+        return true;
+    }
+
+    /**
+     * Returns the agent that is evaluated in place of the given chromosome.
+     */
+    private Agent phenotype(NetworkChromosome chromosome) {
+        return planCache == null ? chromosome : planCache.instantiate(chromosome);
+    }
+
+    /**
+     * Evaluates the whole population at once using the given evaluator, such as an {@link EvaluationScheduler}.
+     * Cached fitness values are looked up before the remaining chromosomes are handed to the evaluator.
+     *
+     * @param environment The environment in which the population is evaluated.
+     * @param evaluator   The function evaluating the given chromosomes and returning those whose evaluation completed.
+     * @return The chromosomes whose fitness is known, which excludes chromosomes skipped due to cancellation.
+     */
+    private Set<NetworkChromosome> evaluatePopulation(Environment environment,
+                                                      UnaryOperator<List<NetworkChromosome>> evaluator) {
+        boolean deterministic = environment.isDeterministic();
+        Set<NetworkChromosome> evaluated = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<NetworkChromosome> pending = new ArrayList<>(population.size());
+        for (NetworkChromosome chromosome : population) {
+            Double cachedFitness = deterministic ? fitnessCache.get(chromosome.contentHash()) : null;
+            if (cachedFitness == null) {
+                pending.add(chromosome);
+            } else {
+                chromosome.setFitness(cachedFitness);
+                chromosome.setEvaluationCost(chromosome.getPredictedCost());
+                evaluated.add(chromosome);
+            }
+        }
+
+        List<NetworkChromosome> completed = evaluator.apply(pending);
+        evaluated.addAll(completed);
+
+        if (deterministic) {
+            for (NetworkChromosome chromosome : completed) {
+                fitnessCache.put(chromosome.contentHash(), chromosome.getFitness());
+            }
+        }
+        return evaluated;
+    }
+
+    /**
+     * Accounts a completed evaluation against the budget.
+     * Cancels the run once the budget is exhausted or the chromosome solves the environment,
+     * which stops all evaluations that are still running.
+     * May be called concurrently by several evaluation threads, which update striped counters and hence do not contend.
+     *
+     * @param environment The environment in which the chromosome was evaluated.
+     * @param chromosome  The evaluated chromosome.
+     */
+    private void recordEvaluation(Environment environment, NetworkChromosome chromosome) {
+        evaluationCount.increment();
+        stepCount.add(chromosome.getEvaluationCost().steps());
+        if (budget.isExhausted(stepCount.sum(), evaluationCount.sum()) || environment.solved(chromosome)) {
+            runToken.cancel();
+        }
+    }
+
+    /**
+     * Returns whether the run must stop because it was cancelled or the budget is exhausted.
+     *
+     * @return True if no further evaluations may be performed, false otherwise.
+     */
+    private boolean isStopped() {
+        return runToken.isCancelled() || budget.isExhausted(stepCount.sum(), evaluationCount.sum());
+    }
+
+    /**
+     * Returns the given best agent, or the first member of the population if no evaluation has completed yet.
+     *
+     * @param bestAgent The best agent found so far, may be {@code null}.
+     * @return The agent to return from a stopped run.
+     */
+    private Agent bestOrFirst(NetworkChromosome bestAgent) {
+        return bestAgent != null ? bestAgent : population.getFirst();
+    }
+
+    /**
+     * Captures the complete state of the run at the beginning of the current generation.
+     *
+     * @param origin    The configuration of the run.
+     * @param bestAgent The best agent found so far, may be {@code null}.
+     * @return The checkpoint of the current state.
+     * @throws IllegalStateException if this algorithm does not use a {@link RestorableRandom}.
+     */
+    public Checkpoint createCheckpoint(Checkpoint.Origin origin, NetworkChromosome bestAgent) {
+        if (!(random instanceof RestorableRandom restorable)) {
+            throw new IllegalStateException("Only runs using a restorable random number generator can be checkpointed.");
+        }
+        List<ConnectionInnovation> connectionInnovations = new ArrayList<>(innovations.size());
+        for (Innovation innovation : innovations) {
+            connectionInnovations.add((ConnectionInnovation) innovation);
+        }
+        return new Checkpoint(origin, currentGeneration, deltaThreshold, evaluationCount.sum(), stepCount.sum(),
+                population, connectionInnovations, bestAgent, restorable.getState());
+    }
+
+    /**
+     * Restores the state of a run from the given checkpoint, such that the next call to {@link #solve} continues the run.
+     * If this algorithm uses a {@link RestorableRandom}, its stream is restored in place,
+     * which also continues the stream of every environment sharing the generator.
+     * Otherwise, the algorithm must have been created with the generator obtained from {@link Checkpoint#restoreRandom()}.
+     *
+     * @param checkpoint The checkpoint to restore.
+     */
+    public void restore(Checkpoint checkpoint) {
+        population = new ArrayList<>(checkpoint.population());
+        innovations.clear();
+        innovations.addAll(checkpoint.innovations());
+        deltaThreshold = checkpoint.deltaThreshold();
+        currentGeneration = checkpoint.generation();
+        evaluationCount.reset();
+        evaluationCount.add(checkpoint.evaluationCount());
+        stepCount.reset();
+        stepCount.add(checkpoint.stepCount());
+        restoredBestAgent = checkpoint.bestAgent();
+        if (random instanceof RestorableRandom restorable) {
+            restorable.restore(checkpoint.randomState());
+        }
+    }
+
     List<Species> assignSpecies(List<NetworkChromosome> agents) {
+        SpeciationEvent event = new SpeciationEvent();
+        event.begin();
         List<Species> speciesList = new ArrayList<>();
 
         for (NetworkChromosome agent : agents) {
@@ -154,12 +599,20 @@ List<Species> assignSpecies(List<NetworkChromosome> agents) {
             }
 
             if (!assigned) {
-                Species newSpecies = new Species(random);
+                Species newSpecies = new Species(random, parameters.tournamentSize());
                 newSpecies.addMember(agent);
                 speciesList.add(newSpecies);
             }
         }
 
+        event.end();
+        if (event.shouldCommit()) {
+            event.generation = currentGeneration;
+            event.populationSize = agents.size();
+            event.speciesCount = speciesList.size();
+            event.threshold = deltaThreshold;
+            event.commit();
+        }
         return speciesList;
     }
 
@@ -238,6 +691,10 @@ public int getGeneration() {
 
 
 
+    public NeatParameters getParameters() {
+        return parameters;
+    }
+
     public double getDeltaThreshold() {
         return deltaThreshold;
     }
@@ -246,6 +703,174 @@ public void setDeltaThreshold(double deltaThreshold) {
         this.deltaThreshold = deltaThreshold;
     }
 
+    public boolean isRacing() {
+        return racing;
+    }
+
+    /**
+     * Enables or disables racing evaluation, see {@link RacingEvaluator}.
+     * Racing only applies to environments consisting of several episodes and is ignored otherwise.
+     *
+     * @param racing Whether agents that cannot beat their species elite should be dropped early during evaluation.
+     */
+    public void setRacing(boolean racing) {
+        this.racing = racing;
+    }
+
+    public boolean isBatched() {
+        return batched;
+    }
+
+    /**
+     * Enables or disables batched evaluation, see {@link BatchEvaluator}.
+     * Batched evaluation only applies to {@link LockstepEnvironment}s and takes precedence over concurrent evaluation.
+     * The networks are grouped by the plan cache, or by a temporary cache if no plan cache is set,
+     * and are always evaluated in double precision.
+     *
+     * @param batched Whether networks sharing the same structure should be evaluated together in lockstep.
+     */
+    public void setBatched(boolean batched) {
+        this.batched = batched;
+    }
+
+    public FitnessCache getFitnessCache() {
+        return fitnessCache;
+    }
+
+    /**
+     * Replaces the fitness cache with an empty cache of the given capacity.
+     *
+     * @param capacity The maximum number of cached fitness values, zero disables caching.
+     */
+    public void setFitnessCacheCapacity(int capacity) {
+        this.fitnessCache = new FitnessCache(capacity);
+    }
+
+    public PlanCache getPlanCache() {
+        return planCache;
+    }
+
+    /**
+     * Sets the cache of compiled evaluation plans. If a plan cache is set, every chromosome is compiled
+     * into a {@link de.uni_passau.fim.se2.sbse.neat.phenotype.CompiledNetwork} before it is evaluated,
+     * which produces the same outputs but avoids traversing the chromosome in every step of the environment.
+     * Caches with single {@link PlanCache#getPrecision() precision} evaluate the networks in {@code float} instead.
+     *
+     * @param planCache The plan cache, or {@code null} to evaluate the chromosomes themselves.
+     */
+    public void setPlanCache(PlanCache planCache) {
+        this.planCache = planCache;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Sets the number of threads used to evaluate the population.
+     * With more than one thread, the population is evaluated by an {@link EvaluationScheduler},
+     * which requires the environment to support {@link Environment#copy()}.
+     *
+     * @param threads The number of evaluation threads.
+     * @throws IllegalArgumentException if the number of threads is not positive.
+     */
+    public void setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is required to evaluate the population.");
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * Returns the number of completed evaluations, excluding fitness values taken from the fitness cache.
+     *
+     * @return The number of completed evaluations.
+     */
+    public long getEvaluationCount() {
+        return evaluationCount.sum();
+    }
+
+    /**
+     * Returns the number of environment steps taken by all completed evaluations.
+     *
+     * @return The number of environment steps.
+     */
+    public long getStepCount() {
+        return stepCount.sum();
+    }
+
+    /**
+     * Enables writing a checkpoint at the beginning of every {@code interval}-th generation.
+     *
+     * @param checkpointWriter The writer the checkpoints are handed to, or {@code null} to disable checkpoints.
+     * @param interval         The number of generations between two checkpoints.
+     * @throws IllegalArgumentException if the interval is not positive.
+     * @throws IllegalStateException    if this algorithm does not use a {@link RestorableRandom}.
+     */
+    public void setCheckpointWriter(CheckpointWriter checkpointWriter, int interval) {
+        if (interval < 1) {
+            throw new IllegalArgumentException("The checkpoint interval must be positive.");
+        }
+        if (checkpointWriter != null && !(random instanceof RestorableRandom)) {
+            throw new IllegalStateException("Only runs using a restorable random number generator can be checkpointed.");
+        }
+        this.checkpointWriter = checkpointWriter;
+        this.checkpointInterval = interval;
+    }
+
+    /**
+     * Returns the wall-clock time spent in the given phase, accumulated over all runs of this instance.
+     *
+     * @param phase The phase.
+     * @return The time spent in the phase in nanoseconds.
+     */
+    public long getPhaseNanos(Phase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    /**
+     * Archives every member of every generation once its fitness is known, including members whose fitness was
+     * looked up in the fitness cache.
+     *
+     * @param genomeArchive The archive the evaluated genomes are appended to, or {@code null} to disable archiving.
+     */
+    public void setGenomeArchive(GenomeArchiveWriter genomeArchive) {
+        this.genomeArchive = genomeArchive;
+    }
+
+    /**
+     * Registers a listener that is notified at the end of every generation, once the next generation has been created.
+     * A generation that ends the run, because it solves the environment or the run is stopped, is not reported.
+     * Crossover and mutation are only timed while at least one listener is registered.
+     *
+     * @param listener The listener to register.
+     */
+    public void addGenerationListener(GenerationListener listener) {
+        listeners.add(requireNonNull(listener));
+    }
+
+    public void removeGenerationListener(GenerationListener listener) {
+        listeners.remove(listener);
+    }
+
+    public int getInitialHiddenNeurons() {
+        return initialHiddenNeurons;
+    }
+
+    /**
+     * Sets the number of hidden neurons every network of the initial population starts with.
+     * The neurons are added by splitting random connections of the generated networks, see {@link NeatMutation#addNeuron}.
+     *
+     * @param initialHiddenNeurons The number of hidden neurons, zero starts from minimal networks.
+     * @throws IllegalArgumentException if the number is negative.
+     */
+    public void setInitialHiddenNeurons(int initialHiddenNeurons) {
+        if (initialHiddenNeurons < 0) {
+            throw new IllegalArgumentException("The number of initial hidden neurons must not be negative.");
+        }
+        this.initialHiddenNeurons = initialHiddenNeurons;
+    }
+
     public List<NetworkChromosome> getPopulation() {
         return population;
     }
@@ -0,0 +1,90 @@
+package de.uni_passau.fim.se2.sbse.neat.algorithms;
+
+/**
+ * The tunable parameters of the NEAT algorithm besides the population size and the number of generations.
+ *
+ * @param addNeuronProbability        The probability of adding a neuron to an offspring.
+ * @param addConnectionProbability    The probability of adding a connection to an offspring.
+ * @param mutateWeightsProbability    The probability of perturbing the weights of an offspring.
+ * @param toggleConnectionProbability The probability of toggling a connection of an offspring.
+ * @param crossoverProbability        The probability of creating an offspring by crossover instead of copying a parent.
+ * @param tournamentSize              The number of members competing in a tournament selecting a parent.
+ * @param desiredSpeciesCount         The number of species the compatibility threshold is adjusted towards.
+ * @param initialDeltaThreshold       The compatibility threshold of the first generation.
+ */
+public record NeatParameters(double addNeuronProbability, double addConnectionProbability,
+                             double mutateWeightsProbability, double toggleConnectionProbability,
+                             double crossoverProbability, int tournamentSize, int desiredSpeciesCount,
+                             double initialDeltaThreshold) {
+
+    /**
+     * The parameters used unless configured otherwise.
+     */
+    public static final NeatParameters DEFAULT = new NeatParameters(0.03, 0.05, 0.8, 0.01, 0.75, 3, 10, 2.5);
+
+    public NeatParameters {
+        for (double probability : new double[]{addNeuronProbability, addConnectionProbability,
+                mutateWeightsProbability, toggleConnectionProbability, crossoverProbability}) {
+            if (!(probability >= 0 && probability <= 1)) {
+                throw new IllegalArgumentException("Probabilities must be in [0, 1].");
+            }
+        }
+        if (tournamentSize < 1) {
+            throw new IllegalArgumentException("The tournament size must be positive.");
+        }
+        if (desiredSpeciesCount < 1) {
+            throw new IllegalArgumentException("The desired number of species must be positive.");
+        }
+        if (!(initialDeltaThreshold > 0)) {
+            throw new IllegalArgumentException("The initial compatibility threshold must be positive.");
+        }
+    }
+
+    public NeatParameters withAddNeuronProbability(double addNeuronProbability) {
+        return new NeatParameters(addNeuronProbability, addConnectionProbability, mutateWeightsProbability,
+                toggleConnectionProbability, crossoverProbability, tournamentSize, desiredSpeciesCount,
+                initialDeltaThreshold);
+    }
+
+    public NeatParameters withAddConnectionProbability(double addConnectionProbability) {
+        return new NeatParameters(addNeuronProbability, addConnectionProbability, mutateWeightsProbability,
+                toggleConnectionProbability, crossoverProbability, tournamentSize, desiredSpeciesCount,
+                initialDeltaThreshold);
+    }
+
+    public NeatParameters withMutateWeightsProbability(double mutateWeightsProbability) {
+        return new NeatParameters(addNeuronProbability, addConnectionProbability, mutateWeightsProbability,
+                toggleConnectionProbability, crossoverProbability, tournamentSize, desiredSpeciesCount,
+                initialDeltaThreshold);
+    }
+
+    public NeatParameters withToggleConnectionProbability(double toggleConnectionProbability) {
+        return new NeatParameters(addNeuronProbability, addConnectionProbability, mutateWeightsProbability,
+                toggleConnectionProbability, crossoverProbability, tournamentSize, desiredSpeciesCount,
+                initialDeltaThreshold);
+    }
+
+    public NeatParameters withCrossoverProbability(double crossoverProbability) {
+        return new NeatParameters(addNeuronProbability, addConnectionProbability, mutateWeightsProbability,
+                toggleConnectionProbability, crossoverProbability, tournamentSize, desiredSpeciesCount,
+                initialDeltaThreshold);
+    }
+
+    public NeatParameters withTournamentSize(int tournamentSize) {
+        return new NeatParameters(addNeuronProbability, addConnectionProbability, mutateWeightsProbability,
+                toggleConnectionProbability, crossoverProbability, tournamentSize, desiredSpeciesCount,
+                initialDeltaThreshold);
+    }
+
+    public NeatParameters withDesiredSpeciesCount(int desiredSpeciesCount) {
+        return new NeatParameters(addNeuronProbability, addConnectionProbability, mutateWeightsProbability,
+                toggleConnectionProbability, crossoverProbability, tournamentSize, desiredSpeciesCount,
+                initialDeltaThreshold);
+    }
+
+    public NeatParameters withInitialDeltaThreshold(double initialDeltaThreshold) {
+        return new NeatParameters(addNeuronProbability, addConnectionProbability, mutateWeightsProbability,
+                toggleConnectionProbability, crossoverProbability, tournamentSize, desiredSpeciesCount,
+                initialDeltaThreshold);
+    }
+}
@@ -2,6 +2,7 @@
 
 import de.uni_passau.fim.se2.sbse.neat.chromosomes.Agent;
 import de.uni_passau.fim.se2.sbse.neat.environments.Environment;
+import de.uni_passau.fim.se2.sbse.neat.utils.CancellationToken;
 
 /**
  * Represents a neuroevolution algorithm that solves reinforcement learning tasks.
@@ -13,7 +14,20 @@ public interface Neuroevolution {
      *
      * @return The agent that solves the task.
      */
-    Agent solve(Environment environment);
+    default Agent solve(Environment environment) {
+        return solve(environment, Budget.UNLIMITED, new CancellationToken());
+    }
+
+    /**
+     * Solves the given reinforcement learning task within the given budget.
+     * The algorithm stops as soon as the task is solved, the budget is exhausted or the token is cancelled.
+     *
+     * @param environment The reinforcement learning task to solve.
+     * @param budget      The resources the algorithm may spend.
+     * @param token       The token that allows cancelling the algorithm from outside.
+     * @return The agent that solves the task, or the best agent found before the algorithm was stopped.
+     */
+    Agent solve(Environment environment, Budget budget, CancellationToken token);
 
     /**
      * Returns the current generation of the neuroevolution algorithm.
@@ -0,0 +1,38 @@
+package de.uni_passau.fim.se2.sbse.neat.algorithms;
+
+/**
+ * The phases of a NEAT run, whose wall-clock time is measured separately, see {@link NeatAlgorithm#getPhaseNanos}.
+ */
+public enum Phase {
+
+    /**
+     * Generating the initial population.
+     */
+    INITIALISATION,
+
+    /**
+     * Writing checkpoints.
+     */
+    CHECKPOINTING,
+
+    /**
+     * Evaluating the population, including fitness cache lookups.
+     */
+    EVALUATION,
+
+    /**
+     * Assigning the population to species.
+     */
+    SPECIATION,
+
+    /**
+     * Sharing fitness within species, allotting the offspring of every species and adjusting the compatibility threshold.
+     */
+    FITNESS_SHARING,
+
+    /**
+     * Selecting parents and creating the next generation by crossover and mutation.
+     * The time of crossover and mutation alone is reported by {@link GenerationStats}.
+     */
+    REPRODUCTION
+}
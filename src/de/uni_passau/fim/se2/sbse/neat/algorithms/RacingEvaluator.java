@@ -0,0 +1,187 @@
+package de.uni_passau.fim.se2.sbse.neat.algorithms;
+
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.EvaluationCost;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.Species;
+import de.uni_passau.fim.se2.sbse.neat.environments.EpisodicEnvironment;
+import de.uni_passau.fim.se2.sbse.neat.utils.CancellationToken;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Evaluates a population in an {@link EpisodicEnvironment} by racing the agents of every species against each other.
+ * Instead of running all episodes of one agent after another, the episodes are run in rounds.
+ * After every round, agents that provably can neither beat the current elite of their species
+ * nor reach the solved threshold are dropped from the race and do not receive any further episodes.
+ * <p>
+ * Agents that finish all of their episodes receive their exact fitness,
+ * whereas dropped agents receive the reward accumulated so far as a lower bound of their fitness.
+ * Every agent is reported as soon as it leaves the race, either finished or dropped, together with the cost of the
+ * episodes it ran, which allows callers to account budgets and to stop the race once an agent solved the environment.
+ */
+public class RacingEvaluator {
+
+    /**
+     * The environment in which the agents are evaluated.
+     */
+    private final EpisodicEnvironment environment;
+
+    /**
+     * Creates a new racing evaluator for the given environment.
+     *
+     * @param environment The environment in which the agents are evaluated.
+     */
+    public RacingEvaluator(EpisodicEnvironment environment) {
+        this.environment = requireNonNull(environment);
+    }
+
+    /**
+     * The outcome of racing a single agent.
+     *
+     * @param fitness    The exact fitness for agents that finished the race, the accumulated reward otherwise.
+     * @param upperBound The highest fitness the agent could have reached if it had finished the race.
+     * @param episodes   The number of episodes that were run for the agent.
+     * @param exact      Whether the fitness is exact or a lower bound because the agent was dropped.
+     */
+    public record Result(double fitness, double upperBound, int episodes, boolean exact) {
+    }
+
+    /**
+     * Races the members of the given species and returns the outcome for every member.
+     * The fitness of the members is not changed.
+     *
+     * @param speciesList The species whose members are to be evaluated.
+     * @return The outcome of the race for every member of the given species.
+     */
+    public Map<NetworkChromosome, Result> evaluate(List<Species> speciesList) {
+        return evaluate(speciesList, new CancellationToken(), (chromosome, result) -> {
+        });
+    }
+
+    /**
+     * Races the members of the given species until all of them left the race or the given token is cancelled.
+     * When a member leaves the race, its {@link EvaluationCost evaluation cost} is set to the steps and time of its
+     * episodes and it is reported to the given consumer; its fitness is not changed.
+     * The token is checked before every episode, and members whose episode was interrupted by the cancellation are
+     * neither reported nor included in the returned outcomes.
+     *
+     * @param speciesList The species whose members are to be evaluated.
+     * @param token       The token that stops the race when cancelled.
+     * @param onFinished  Receives every member together with its outcome as soon as it leaves the race.
+     * @return The outcome for every member that left the race.
+     */
+    public Map<NetworkChromosome, Result> evaluate(List<Species> speciesList, CancellationToken token,
+                                                   BiConsumer<NetworkChromosome, Result> onFinished) {
+        List<List<Contestant>> groups = new ArrayList<>(speciesList.size());
+        for (Species species : speciesList) {
+            List<Contestant> group = new ArrayList<>(species.getMembers().size());
+            for (NetworkChromosome member : species.getMembers()) {
+                group.add(new Contestant(member));
+            }
+            groups.add(group);
+        }
+
+        Map<NetworkChromosome, Result> results = new IdentityHashMap<>();
+        int episodes = environment.maxEpisodes();
+        race:
+        for (int episode = 0; episode < episodes; episode++) {
+            for (List<Contestant> group : groups) {
+                for (Contestant contestant : group) {
+                    if (!contestant.running) {
+                        continue;
+                    }
+                    if (token.isCancelled()) {
+                        break race;
+                    }
+                    long steps = environment.getEvaluationSteps();
+                    long start = System.nanoTime();
+                    double reward = environment.runEpisode(contestant.chromosome);
+                    if (token.isCancelled()) {
+                        // The episode may have been cut short and must not be accounted
+                        break race;
+                    }
+                    contestant.nanos += System.nanoTime() - start;
+                    contestant.steps += environment.getEvaluationSteps() - steps;
+                    contestant.reward += reward;
+                    contestant.episodes++;
+                    if (episode == episodes - 1 || environment.endsEvaluation(episode)) {
+                        contestant.running = false;
+                        contestant.exact = true;
+                        finish(contestant, results, onFinished);
+                    }
+                }
+            }
+
+            int remainingEpisodes = episodes - episode - 1;
+            for (List<Contestant> group : groups) {
+                for (Contestant dropped : dropHopelessContestants(group, remainingEpisodes)) {
+                    finish(dropped, results, onFinished);
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Records the outcome and cost of a contestant that left the race and reports it.
+     */
+    private void finish(Contestant contestant, Map<NetworkChromosome, Result> results,
+                        BiConsumer<NetworkChromosome, Result> onFinished) {
+        Result result = contestant.toResult(environment.maxEpisodes(), environment.maxEpisodeReward());
+        contestant.chromosome.setEvaluationCost(new EvaluationCost(contestant.steps, contestant.nanos));
+        results.put(contestant.chromosome, result);
+        onFinished.accept(contestant.chromosome, result);
+    }
+
+    /**
+     * Drops all contestants of the group whose reward can neither exceed the reward already collected by the
+     * species elite nor reach the solved threshold within the remaining episodes.
+     *
+     * @param group             The contestants of a single species.
+     * @param remainingEpisodes The number of episodes that are still to be run.
+     * @return The contestants that were dropped.
+     */
+    private List<Contestant> dropHopelessContestants(List<Contestant> group, int remainingEpisodes) {
+        double eliteLowerBound = Double.NEGATIVE_INFINITY;
+        for (Contestant contestant : group) {
+            eliteLowerBound = Math.max(eliteLowerBound, contestant.reward);
+        }
+
+        double maxRemainingReward = remainingEpisodes * environment.maxEpisodeReward();
+        List<Contestant> dropped = new ArrayList<>();
+        for (Contestant contestant : group) {
+            double upperBound = contestant.reward + maxRemainingReward;
+            if (contestant.running && upperBound < eliteLowerBound && upperBound < environment.solvedThreshold()) {
+                contestant.running = false;
+                dropped.add(contestant);
+            }
+        }
+        return dropped;
+    }
+
+    /**
+     * Tracks the progress of a single agent during the race.
+     */
+    private static final class Contestant {
+        private final NetworkChromosome chromosome;
+        private double reward;
+        private int episodes;
+        private long steps;
+        private long nanos;
+        private boolean running;
+        private boolean exact;
+
+        private Contestant(NetworkChromosome chromosome) {
+            this.chromosome = chromosome;
+            this.running = true;
+        }
+
+        private Result toResult(int maxEpisodes, double maxEpisodeReward) {
+            double upperBound = exact ? reward : reward + (maxEpisodes - episodes) * maxEpisodeReward;
+            return new Result(reward, upperBound, episodes, exact);
+        }
+    }
+}
@@ -3,5 +3,19 @@
 public enum ActivationFunction {
     NONE,
     SIGMOID,
-    TANH,
+    TANH;
+
+    /**
+     * Applies this activation function to the given weighted input sum.
+     *
+     * @param input The weighted sum of the inputs of a neuron.
+     * @return The output of the neuron.
+     */
+    public double apply(double input) {
+        return switch (this) {
+            case SIGMOID -> 1 / (1 + Math.exp(-input));
+            case TANH -> Math.tanh(input);
+            default -> input;
+        };
+    }
 }
@@ -0,0 +1,25 @@
+package de.uni_passau.fim.se2.sbse.neat.chromosomes;
+
+/**
+ * The cost of evaluating an agent in an environment.
+ *
+ * @param steps The number of environment steps the evaluation took.
+ * @param nanos The wall-clock time the evaluation took in nanoseconds.
+ */
+public record EvaluationCost(long steps, long nanos) {
+
+    /**
+     * The cost of an agent that has not been evaluated yet.
+     */
+    public static final EvaluationCost NONE = new EvaluationCost(0, 0);
+
+    /**
+     * Returns the mean of this and the given cost.
+     *
+     * @param other The cost to average with.
+     * @return The mean of both costs.
+     */
+    public EvaluationCost mean(EvaluationCost other) {
+        return new EvaluationCost((steps + other.steps) / 2, (nanos + other.nanos) / 2);
+    }
+}
@@ -31,6 +31,16 @@ public class NetworkChromosome implements Agent {
 
     private double fitness;
 
+    /**
+     * The measured cost of the most recent evaluation of this network.
+     */
+    private EvaluationCost evaluationCost = EvaluationCost.NONE;
+
+    /**
+     * The cost this network is expected to take to evaluate, derived from the cost of its parents.
+     */
+    private EvaluationCost predictedCost = EvaluationCost.NONE;
+
     /**
      * Creates a new network chromosome with the given layers and connections.
      *
@@ -101,6 +111,22 @@ public double getFitness() {
         return fitness;
     }
 
+    public EvaluationCost getEvaluationCost() {
+        return evaluationCost;
+    }
+
+    public void setEvaluationCost(EvaluationCost evaluationCost) {
+        this.evaluationCost = requireNonNull(evaluationCost);
+    }
+
+    public EvaluationCost getPredictedCost() {
+        return predictedCost;
+    }
+
+    public void setPredictedCost(EvaluationCost predictedCost) {
+        this.predictedCost = requireNonNull(predictedCost);
+    }
+
     public NetworkChromosome copy() {
         Map<Double, List<NeuronGene>> newLayerMap = new HashMap<>();
         for (Map.Entry<Double, List<NeuronGene>> entry : layers.entrySet()) {
@@ -150,6 +176,87 @@ public void addNeuronToLevel(NeuronGene neuron, double level) {
     }
 
 
+    /**
+     * Computes a hash over the complete content of the network, i.e., its neurons, layers, connections and weights.
+     * Two networks with the same content hash produce the same outputs for every input,
+     * which allows reusing the fitness of one network for the other in deterministic environments.
+     * The order of neurons within a layer and the order of connections are part of the hash,
+     * since both determine the order in which floating point sums are computed.
+     *
+     * @return The 64-bit content hash of the network.
+     */
+    public long contentHash() {
+        long hash = 0x9E3779B97F4A7C15L;
+
+        List<Double> sortedLayers = new ArrayList<>(layers.keySet());
+        Collections.sort(sortedLayers);
+        for (double layer : sortedLayers) {
+            hash = mix(hash, Double.doubleToLongBits(layer));
+            for (NeuronGene neuron : layers.get(layer)) {
+                hash = mix(hash, neuron.getId());
+                hash = mix(hash, ordinal(neuron.getActivationFunction()));
+                hash = mix(hash, ordinal(neuron.getNeuronType()));
+            }
+        }
+
+        for (ConnectionGene connection : connections) {
+            hash = mix(hash, connection.getInnovationNumber());
+            hash = mix(hash, connection.getSourceNeuron().getId());
+            hash = mix(hash, connection.getTargetNeuron().getId());
+            hash = mix(hash, Double.doubleToLongBits(connection.getWeight()));
+            hash = mix(hash, connection.getEnabled() ? 1 : 0);
+        }
+        return hash;
+    }
+
+    /**
+     * Computes a hash over the structure of the network, i.e., the order of its layers, their neurons
+     * and the source and target of every enabled connection in the order of the connections.
+     * Unlike the {@link #contentHash() content hash}, weights, disabled connections and innovation numbers are ignored,
+     * hence networks that only differ in their weights share the same structural hash and can be evaluated
+     * by the same compiled evaluation plan.
+     *
+     * @return The 64-bit structural hash of the network.
+     */
+    public long structuralHash() {
+        long hash = 0xC2B2AE3D27D4EB4FL;
+
+        List<Double> sortedLayers = new ArrayList<>(layers.keySet());
+        Collections.sort(sortedLayers);
+        for (double layer : sortedLayers) {
+            // Only the order of the layers matters, except for the input and output layer
+            hash = mix(hash, layer == INPUT_LAYER ? -1 : layer == OUTPUT_LAYER ? -2 : -3);
+            List<NeuronGene> neurons = layers.get(layer);
+            hash = mix(hash, neurons.size());
+            for (NeuronGene neuron : neurons) {
+                hash = mix(hash, neuron.getId());
+                hash = mix(hash, ordinal(neuron.getActivationFunction()));
+            }
+        }
+
+        for (ConnectionGene connection : connections) {
+            if (connection.getEnabled()) {
+                hash = mix(hash, connection.getSourceNeuron().getId());
+                hash = mix(hash, connection.getTargetNeuron().getId());
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Returns the ordinal of the given constant, which unlike its identity hash code is stable across runs.
+     */
+    private static long ordinal(Enum<?> constant) {
+        return constant == null ? -1 : constant.ordinal();
+    }
+
+    private static long mix(long hash, long value) {
+        long z = hash ^ (value + 0x9E3779B97F4A7C15L + (hash << 6) + (hash >>> 2));
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
     public Map<Integer, ConnectionGene> getConnectionMap() {
         Map<Integer, ConnectionGene> connectionMap = new HashMap<>();
         for (ConnectionGene connection : connections) {
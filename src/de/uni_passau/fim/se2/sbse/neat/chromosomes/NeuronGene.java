@@ -34,11 +34,7 @@ public NeuronType getNeuronType() {
     }
 
     public double applyActivation(double input) {
-        return switch (activationFunction) {
-            case SIGMOID -> 1 / (1 + Math.exp(-input));
-            case TANH -> Math.tanh(input);
-            default -> input;
-        };
+        return activationFunction.apply(input);
     }
 
     public ActivationFunction getActivationFunction() {
@@ -9,10 +9,25 @@ public class Species {
     private final List<NetworkChromosome> members;
     private Random random;
     private int offspringCount;
+    private final int tournamentSize;
 
     public Species(Random random) {
+        this(random, 3);
+    }
+
+    /**
+     * Creates a new species that selects parents by tournaments of the given size.
+     *
+     * @param random         The random number generator choosing representatives.
+     * @param tournamentSize The number of members competing in a tournament, at most all members.
+     */
+    public Species(Random random, int tournamentSize) {
+        if (tournamentSize < 1) {
+            throw new IllegalArgumentException("The tournament size must be positive.");
+        }
         this.members = new ArrayList<>();
         this.random = random;
+        this.tournamentSize = tournamentSize;
     }
 
     public void addMember(NetworkChromosome agent) {
@@ -37,9 +52,9 @@ public void setOffspringCount(int offspringCount) {
     }
 
     public NetworkChromosome selectParent(Random random) {
-        int tournamentSize = Math.min(3, members.size());
+        int competitors = Math.min(tournamentSize, members.size());
         NetworkChromosome best = null;
-        for (int i = 0; i < tournamentSize; i++) {
+        for (int i = 0; i < competitors; i++) {
             int index = random.nextInt(members.size());
             NetworkChromosome candidate = members.get(index);
             if (best == null || candidate.getFitness() > best.getFitness()) {
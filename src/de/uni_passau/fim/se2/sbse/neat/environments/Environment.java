@@ -1,6 +1,7 @@
 package de.uni_passau.fim.se2.sbse.neat.environments;
 
 import de.uni_passau.fim.se2.sbse.neat.chromosomes.Agent;
+import de.uni_passau.fim.se2.sbse.neat.utils.CancellationToken;
 
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
@@ -51,6 +52,57 @@ public interface Environment {
      */
     double evaluate(Agent agent);
 
+    /**
+     * Returns the number of steps taken in the environment during the most recent evaluation.
+     *
+     * @return The number of steps of the most recent evaluation.
+     */
+    default long getEvaluationSteps() {
+        return 0;
+    }
+
+    /**
+     * Creates a new environment with the same configuration that shares no mutable state with this environment.
+     * Copies allow evaluating several agents concurrently, one environment per thread.
+     *
+     * @return An independent copy of this environment.
+     * @throws UnsupportedOperationException if the environment cannot be copied.
+     */
+    default Environment copy() {
+        throw new UnsupportedOperationException("The environment " + getClass().getSimpleName() + " cannot be copied.");
+    }
+
+    /**
+     * Sets the token that is checked while agents interact with the environment.
+     * Once the token is cancelled, running evaluations stop early and return the reward obtained so far,
+     * which must then not be treated as the fitness of the agent.
+     *
+     * @param token The token to check during evaluations.
+     */
+    default void setCancellationToken(CancellationToken token) {
+    }
+
+    /**
+     * Reseeds the random number generator of the environment, which determines the random parts of the following
+     * evaluations, such as randomised initial states. Evaluating agents concurrently in {@link #copy() copies} of the
+     * environment draws one seed per agent on a single thread, which keeps every evaluation reproducible regardless
+     * of the thread running it. Deterministic environments ignore the seed.
+     *
+     * @param seed The seed for the following evaluations.
+     */
+    default void setEvaluationSeed(long seed) {
+    }
+
+    /**
+     * Returns whether evaluating the same agent always yields the same reward.
+     * The fitness of agents evaluated in deterministic environments may be cached and reused.
+     *
+     * @return True if the reward of an agent does not depend on randomness, false otherwise.
+     */
+    default boolean isDeterministic() {
+        return false;
+    }
+
     /**
      * Returns whether the environment is in a terminal state.
      *
@@ -0,0 +1,49 @@
+package de.uni_passau.fim.se2.sbse.neat.environments;
+
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.Agent;
+
+/**
+ * Models a reinforcement learning environment whose reward is the sum of the rewards of several independent episodes.
+ * Exposing the individual episodes allows an evaluator to stop spending episodes on agents
+ * that cannot achieve a competitive reward anymore.
+ */
+public interface EpisodicEnvironment extends Environment {
+
+    /**
+     * Returns the maximum number of episodes that are run to evaluate a single agent.
+     *
+     * @return The maximum number of episodes per evaluation.
+     */
+    int maxEpisodes();
+
+    /**
+     * Returns the highest reward an agent can obtain in a single episode.
+     *
+     * @return The highest reward of a single episode.
+     */
+    double maxEpisodeReward();
+
+    /**
+     * Runs a single episode of the given agent in the environment.
+     *
+     * @param agent The agent to evaluate.
+     * @return The reward the agent received during the episode.
+     */
+    double runEpisode(Agent agent);
+
+    /**
+     * Returns whether the episode with the given index that has just been run ends the evaluation of the agent,
+     * regardless of the number of remaining episodes.
+     *
+     * @param episode The zero-based index of the episode that has just been run.
+     * @return True if no further episodes contribute to the reward of the agent, false otherwise.
+     */
+    boolean endsEvaluation(int episode);
+
+    /**
+     * Returns the fitness an agent must reach to solve the environment.
+     *
+     * @return The fitness threshold for solving the environment.
+     */
+    double solvedThreshold();
+}
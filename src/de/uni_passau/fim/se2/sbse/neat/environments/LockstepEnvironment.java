@@ -0,0 +1,28 @@
+package de.uni_passau.fim.se2.sbse.neat.environments;
+
+import de.uni_passau.fim.se2.sbse.neat.phenotype.BatchedNetwork;
+
+/**
+ * Models an environment that can evaluate a whole batch of networks in lockstep.
+ * Every lane of the batch interacts with its own instance of the environment, and all lanes are activated together
+ * in every step, which replaces many small activations of individual networks by one pass over the batch.
+ */
+public interface LockstepEnvironment extends Environment {
+
+    /**
+     * Evaluates every network of the given batch as if it were evaluated on its own by {@link #evaluate}.
+     * The networks of the batch may be reordered during the evaluation, but are restored before this method returns.
+     *
+     * @param batch The batch of networks to evaluate.
+     * @return The reward of every network in the order of the lanes of the batch.
+     */
+    double[] evaluate(BatchedNetwork batch);
+
+    /**
+     * Returns the number of steps taken by the network in the given lane during the most recent batch evaluation.
+     *
+     * @param lane The lane of the network in the batch.
+     * @return The number of steps of the network.
+     */
+    long getEvaluationSteps(int lane);
+}
@@ -1,5 +1,6 @@
 package de.uni_passau.fim.se2.sbse.neat.environments;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.CountDownLatch;
@@ -10,12 +11,15 @@
 
 import de.uni_passau.fim.se2.sbse.neat.chromosomes.Agent;
 import de.uni_passau.fim.se2.sbse.neat.environments.visualisation.SinglePoleVisualisation;
+import de.uni_passau.fim.se2.sbse.neat.events.EvaluationEvent;
+import de.uni_passau.fim.se2.sbse.neat.phenotype.BatchedNetwork;
+import de.uni_passau.fim.se2.sbse.neat.utils.CancellationToken;
 
 /**
  * The environment consists of a cart that can move along a track and a pole attached to the cart.
  * The goal is to balance the pole by moving the cart left and right.
  */
-public class SinglePoleBalancing implements Environment {
+public class SinglePoleBalancing implements EpisodicEnvironment, LockstepEnvironment {
     // Physical constants
     private static final double GRAVITY = 9.8;
     private static final double CART_MASS = 1.0;
@@ -24,6 +28,11 @@ public class SinglePoleBalancing implements Environment {
     private static final double FORCE_MAGNITUDE = 10.0;
     private static final double TIME_STEP = 0.02; // 20ms
 
+    // Constant subexpressions of the equations of motion
+    private static final double TOTAL_MASS = CART_MASS + POLE_MASS;
+    private static final double INVERSE_TOTAL_MASS = 1 / TOTAL_MASS;
+    private static final double POLE_MASS_LENGTH = POLE_MASS * POLE_LENGTH;
+
     private static final double MAX_POSITION = 2.4;
     private static final double MAX_ANGLE = (12 * Math.PI) / 180; // 12 degrees in radians
     private static final double MAX_VELOCITY = 2.5;         // Derived empirically
@@ -41,11 +50,16 @@ public class SinglePoleBalancing implements Environment {
     // Track simulation status
     private boolean failed;
     private int steps;
+    private long evaluationSteps;
+    private long[] laneEvaluationSteps = new long[0];
 
     private final int maxSteps;
     private final int repeats;
     private final boolean randomise;
     private final Random random;
+    private CancellationToken cancellationToken;
+    private boolean fastPhysics;
+    private final double[] accelerations = new double[2];
 
     /**
      * Initialises a new single pole balancing environment.
@@ -59,6 +73,7 @@ public SinglePoleBalancing(int maxSteps, int repeats, boolean randomise, Random
         this.repeats = repeats;
         this.randomise = randomise;
         this.random = requireNonNull(random);
+        this.cancellationToken = new CancellationToken();
         resetState();
     }
 
@@ -103,6 +118,47 @@ public void resetState() {
     public void updateState(List<Double> actions) {
         double force = actions.getFirst() * FORCE_MAGNITUDE;
 
+        accelerations(force, poleAngle, poleAngularVelocity, fastPhysics, accelerations);
+        double cartAccel = accelerations[0];
+        double poleAccel = accelerations[1];
+
+        cartPosition += TIME_STEP * cartVelocity;
+        cartVelocity += TIME_STEP * cartAccel;
+        poleAngle += TIME_STEP * poleAngularVelocity;
+        poleAngularVelocity += TIME_STEP * poleAccel;
+
+        steps++;
+
+        // Stop if the cart goes off the track or the pole falls over by more than 12 degrees.
+        if (Math.abs(cartPosition) > MAX_POSITION || Math.abs(poleAngle) > MAX_ANGLE) {
+            failed = true;
+        }
+    }
+
+    /**
+     * Computes the accelerations of the cart and the pole for the given force and pole state.
+     * The fast physics replace the divisions by the total mass by multiplications with its reciprocal,
+     * and the sine and cosine by polynomials, see {@link #fastSin(double)} and {@link #fastCos(double)}.
+     *
+     * @param force               The force applied to the cart.
+     * @param poleAngle           The angle of the pole.
+     * @param poleAngularVelocity The angular velocity of the pole.
+     * @param fastPhysics         Whether the fast physics are used.
+     * @param accelerations       The array receiving the acceleration of the cart and the angular acceleration of the pole.
+     */
+    private static void accelerations(double force, double poleAngle, double poleAngularVelocity, boolean fastPhysics,
+                                      double[] accelerations) {
+        if (fastPhysics) {
+            double cosTheta = fastCos(poleAngle);
+            double sinTheta = fastSin(poleAngle);
+            double temp = (force + POLE_MASS_LENGTH * poleAngularVelocity * poleAngularVelocity * sinTheta) * INVERSE_TOTAL_MASS;
+            double poleDenom = POLE_LENGTH * (4.0 / 3.0 - POLE_MASS * INVERSE_TOTAL_MASS * cosTheta * cosTheta);
+            double poleAccel = (GRAVITY * sinTheta - cosTheta * temp) / poleDenom;
+            accelerations[0] = temp - POLE_MASS_LENGTH * INVERSE_TOTAL_MASS * poleAccel * cosTheta;
+            accelerations[1] = poleAccel;
+            return;
+        }
+
         double totalMass = CART_MASS + POLE_MASS;
         double cosTheta = Math.cos(poleAngle);
         double sinTheta = Math.sin(poleAngle);
@@ -112,19 +168,49 @@ public void updateState(List<Double> actions) {
         double poleDenom = POLE_LENGTH * (4.0 / 3.0 - (POLE_MASS * cosTheta * cosTheta) / totalMass);
         double poleAccel = poleAccelNum / poleDenom;
 
-        double cartAccel = temp - (POLE_MASS * POLE_LENGTH * poleAccel * cosTheta) / totalMass;
+        accelerations[0] = temp - (POLE_MASS * POLE_LENGTH * poleAccel * cosTheta) / totalMass;
+        accelerations[1] = poleAccel;
+    }
 
-        cartPosition += TIME_STEP * cartVelocity;
-        cartVelocity += TIME_STEP * cartAccel;
-        poleAngle += TIME_STEP * poleAngularVelocity;
-        poleAngularVelocity += TIME_STEP * poleAccel;
+    // The coefficients of the Taylor polynomials, precomputed since javac does not replace divisions by multiplications
+    private static final double SIN_3 = -1.0 / 6;
+    private static final double SIN_5 = 1.0 / 120;
+    private static final double SIN_7 = -1.0 / 5040;
+    private static final double SIN_9 = 1.0 / 362880;
+    private static final double COS_2 = -1.0 / 2;
+    private static final double COS_4 = 1.0 / 24;
+    private static final double COS_6 = -1.0 / 720;
+    private static final double COS_8 = 1.0 / 40320;
+    private static final double COS_10 = -1.0 / 3628800;
 
-        steps++;
+    /**
+     * Approximates the sine by its Taylor polynomial of degree 9 in Horner form, whose absolute error is below
+     * {@code 1e-15} for angles within the failure threshold of 12 degrees. Larger angles fall back to {@link Math#sin}.
+     *
+     * @param angle The angle in radians.
+     * @return The sine of the angle.
+     */
+    static double fastSin(double angle) {
+        if (Math.abs(angle) > MAX_ANGLE) {
+            return Math.sin(angle);
+        }
+        double square = angle * angle;
+        return angle + angle * square * (SIN_3 + square * (SIN_5 + square * (SIN_7 + square * SIN_9)));
+    }
 
-        // Stop if the cart goes off the track or the pole falls over by more than 12 degrees.
-        if (Math.abs(cartPosition) > MAX_POSITION || Math.abs(poleAngle) > MAX_ANGLE) {
-            failed = true;
+    /**
+     * Approximates the cosine by its Taylor polynomial of degree 10 in Horner form, whose absolute error is below
+     * {@code 1e-15} for angles within the failure threshold of 12 degrees. Larger angles fall back to {@link Math#cos}.
+     *
+     * @param angle The angle in radians.
+     * @return The cosine of the angle.
+     */
+    static double fastCos(double angle) {
+        if (Math.abs(angle) > MAX_ANGLE) {
+            return Math.cos(angle);
         }
+        double square = angle * angle;
+        return 1 + square * (COS_2 + square * (COS_4 + square * (COS_6 + square * (COS_8 + square * COS_10))));
     }
 
     /**
@@ -147,12 +233,14 @@ public List<Double> getState() {
      * @param agent The agent to evaluate.
      * @return The reward obtained by the agent in the environment.
      */
-    private double singleEvaluation(Agent agent) {
+    @Override
+    public double runEpisode(Agent agent) {
         resetState();
-        while (!isDone()) {
+        while (!isDone() && !cancellationToken.isCancelled()) {
             List<Double> action = agent.getOutput(getState());
             updateState(action);
         }
+        evaluationSteps += steps;
         return steps;
     }
 
@@ -164,16 +252,242 @@ private double singleEvaluation(Agent agent) {
      */
     @Override
     public double evaluate(Agent agent) {
-        double reward = singleEvaluation(agent);
-        if (failed) {
-            return reward;
+        EvaluationEvent event = new EvaluationEvent();
+        event.begin();
+        evaluationSteps = 0;
+        double reward = runEpisode(agent);
+        if (!failed) {
+            for (int i = 0; i < repeats && !cancellationToken.isCancelled(); i++) {
+                reward += runEpisode(agent);
+            }
         }
 
-        for (int i = 0; i < repeats; i++) {
-            reward += singleEvaluation(agent);
+        commit(event, 1, evaluationSteps, reward);
+        return reward;
+    }
+
+    /**
+     * Ends the given evaluation event and commits it if it is recorded.
+     */
+    private void commit(EvaluationEvent event, int networks, long steps, double fitness) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.environment = randomise ? "CART_RANDOM" : "CART";
+            event.networks = networks;
+            event.steps = steps;
+            event.fitness = fitness;
+            event.commit();
         }
+    }
 
-        return reward;
+    /**
+     * Evaluates all networks of the batch, each balancing its own cart, with the same episodes as {@link #evaluate(Agent)}.
+     * The physics of all carts are updated lane by lane with the same floating point operations as
+     * {@link #updateState(List)}. Once a network has finished its episodes, its lane is swapped with the last running
+     * lane, such that the batch only activates the networks that are still balancing.
+     * <p>
+     * With randomised initial states, every episode draws its initial state when it starts, hence the states are drawn
+     * in a different order than by evaluating the networks one after another.
+     *
+     * @param batch The batch of networks to evaluate.
+     * @return The reward of every network in the order of the lanes of the batch.
+     */
+    @Override
+    public double[] evaluate(BatchedNetwork batch) {
+        EvaluationEvent event = new EvaluationEvent();
+        event.begin();
+        int capacity = batch.capacity();
+        double[] position = new double[capacity];
+        double[] velocity = new double[capacity];
+        double[] angle = new double[capacity];
+        double[] angularVelocity = new double[capacity];
+        int[] laneSteps = new int[capacity];
+        int[] episodes = new int[capacity];
+        double[] rewards = new double[capacity];
+        long[] totalSteps = new long[capacity];
+        // The index of the network that is currently evaluated in every lane
+        int[] networks = new int[capacity];
+        for (int lane = 0; lane < capacity; lane++) {
+            networks[lane] = lane;
+            resetState();
+            position[lane] = cartPosition;
+            velocity[lane] = cartVelocity;
+            angle[lane] = poleAngle;
+            angularVelocity[lane] = poleAngularVelocity;
+        }
+
+        double[] inputs = new double[4 * capacity];
+        double[] outputs = new double[batch.outputSize() * capacity];
+        int running = capacity;
+        while (running > 0 && !cancellationToken.isCancelled()) {
+            for (int lane = 0; lane < running; lane++) {
+                inputs[lane] = position[lane] / MAX_POSITION;
+                inputs[capacity + lane] = velocity[lane] / MAX_VELOCITY;
+                inputs[2 * capacity + lane] = angle[lane] / MAX_ANGLE;
+                inputs[3 * capacity + lane] = angularVelocity[lane] / MAX_POLE_VELOCITY;
+            }
+            batch.activate(inputs, outputs, running);
+
+            for (int lane = 0; lane < running; lane++) {
+                double force = outputs[lane] * FORCE_MAGNITUDE;
+                accelerations(force, angle[lane], angularVelocity[lane], fastPhysics, accelerations);
+                double cartAccel = accelerations[0];
+                double poleAccel = accelerations[1];
+
+                position[lane] += TIME_STEP * velocity[lane];
+                velocity[lane] += TIME_STEP * cartAccel;
+                angle[lane] += TIME_STEP * angularVelocity[lane];
+                angularVelocity[lane] += TIME_STEP * poleAccel;
+                laneSteps[lane]++;
+            }
+
+            for (int lane = 0; lane < running; ) {
+                boolean laneFailed = Math.abs(position[lane]) > MAX_POSITION || Math.abs(angle[lane]) > MAX_ANGLE;
+                if (!laneFailed && laneSteps[lane] < maxSteps) {
+                    lane++;
+                    continue;
+                }
+                int network = networks[lane];
+                rewards[network] += laneSteps[lane];
+                totalSteps[network] += laneSteps[lane];
+                episodes[network]++;
+                if (episodes[network] > repeats || (episodes[network] == 1 && laneFailed)) {
+                    running--;
+                    swapLanes(batch, lane, running, position, velocity, angle, angularVelocity, laneSteps, networks);
+                } else {
+                    resetState();
+                    position[lane] = cartPosition;
+                    velocity[lane] = cartVelocity;
+                    angle[lane] = poleAngle;
+                    angularVelocity[lane] = poleAngularVelocity;
+                    laneSteps[lane] = 0;
+                    lane++;
+                }
+            }
+        }
+
+        // Restores the original order of the networks in the batch
+        for (int lane = 0; lane < capacity; lane++) {
+            while (networks[lane] != lane) {
+                swapLanes(batch, lane, networks[lane], position, velocity, angle, angularVelocity, laneSteps, networks);
+            }
+        }
+        laneEvaluationSteps = totalSteps;
+        commit(event, capacity, Arrays.stream(totalSteps).sum(), Arrays.stream(rewards).max().orElse(0));
+        return rewards;
+    }
+
+    /**
+     * Swaps the networks and cart states of the given lanes.
+     */
+    private static void swapLanes(BatchedNetwork batch, int lane, int other, double[] position, double[] velocity,
+                                  double[] angle, double[] angularVelocity, int[] laneSteps, int[] networks) {
+        batch.swapLanes(lane, other);
+        swap(position, lane, other);
+        swap(velocity, lane, other);
+        swap(angle, lane, other);
+        swap(angularVelocity, lane, other);
+        int steps = laneSteps[lane];
+        laneSteps[lane] = laneSteps[other];
+        laneSteps[other] = steps;
+        int network = networks[lane];
+        networks[lane] = networks[other];
+        networks[other] = network;
+    }
+
+    private static void swap(double[] array, int i, int j) {
+        double value = array[i];
+        array[i] = array[j];
+        array[j] = value;
+    }
+
+    @Override
+    public void setEvaluationSeed(long seed) {
+        if (randomise) {
+            random.setSeed(seed);
+        }
+    }
+
+    @Override
+    public long getEvaluationSteps() {
+        return evaluationSteps;
+    }
+
+    @Override
+    public long getEvaluationSteps(int lane) {
+        return laneEvaluationSteps[lane];
+    }
+
+    /**
+     * Creates a new environment with the same configuration and the same cancellation token.
+     * The copy has its own random number generator, which is expected to be {@link #setEvaluationSeed seeded}
+     * before every evaluation.
+     *
+     * @return A copy of this environment.
+     */
+    @Override
+    public Environment copy() {
+        SinglePoleBalancing copy = new SinglePoleBalancing(maxSteps, repeats, randomise, new Random(0));
+        copy.setCancellationToken(cancellationToken);
+        copy.setFastPhysics(fastPhysics);
+        return copy;
+    }
+
+    /**
+     * Selects between the exact physics and the fast physics, which approximate the sine and cosine of the pole angle
+     * by polynomials and replace divisions by constants with multiplications.
+     * The fast physics deviate from the exact physics by rounding errors only, but the rewards of an agent may still
+     * differ in rare cases where the trajectory ends up close to a failure threshold.
+     *
+     * @param fastPhysics Whether the fast physics are used.
+     */
+    public void setFastPhysics(boolean fastPhysics) {
+        this.fastPhysics = fastPhysics;
+    }
+
+    public boolean isFastPhysics() {
+        return fastPhysics;
+    }
+
+    @Override
+    public void setCancellationToken(CancellationToken token) {
+        this.cancellationToken = requireNonNull(token);
+    }
+
+    @Override
+    public int maxEpisodes() {
+        return repeats + 1;
+    }
+
+    @Override
+    public double maxEpisodeReward() {
+        return maxSteps;
+    }
+
+    /**
+     * Agents failing the first episode are not evaluated any further, see {@link #evaluate(Agent)}.
+     *
+     * @param episode The zero-based index of the episode that has just been run.
+     * @return true if the agent failed the first episode, false otherwise.
+     */
+    @Override
+    public boolean endsEvaluation(int episode) {
+        return episode == 0 && failed;
+    }
+
+    @Override
+    public double solvedThreshold() {
+        return maxSteps * repeats;
+    }
+
+    /**
+     * Without randomised initial states, every episode of an agent starts in the same state.
+     *
+     * @return true if the initial states are not randomised, false otherwise.
+     */
+    @Override
+    public boolean isDeterministic() {
+        return !randomise;
     }
 
     /**
@@ -192,12 +506,13 @@ public boolean isDone() {
      * @return true if the environment is solved, false otherwise.
      */
     public boolean solved(Agent agent) {
-        return agent.getFitness() >= maxSteps * repeats;
+        return agent.getFitness() >= solvedThreshold();
     }
 
     @Override
     public void visualise(Agent agent, CountDownLatch latch) {
         SinglePoleBalancing visEnv = new SinglePoleBalancing(maxSteps, repeats, randomise, random);
+        visEnv.setFastPhysics(fastPhysics);
         SwingUtilities.invokeLater(() -> {
             SinglePoleVisualisation visualisation = new SinglePoleVisualisation(visEnv, agent, latch);
             visualisation.setLocationRelativeTo(null);
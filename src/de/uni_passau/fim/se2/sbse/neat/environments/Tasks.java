@@ -1,7 +1,23 @@
 package de.uni_passau.fim.se2.sbse.neat.environments;
 
+import java.util.Random;
+
 public enum Tasks {
     XOR,
     CARTPOLE,
-    CARTPOLE_RANDOM,
+    CARTPOLE_RANDOM;
+
+    /**
+     * Creates a new instance of the environment of this task.
+     *
+     * @param random The random number generator drawing the initial states of randomised tasks.
+     * @return The environment of this task.
+     */
+    public Environment createEnvironment(Random random) {
+        return switch (this) {
+            case XOR -> new XOR();
+            case CARTPOLE -> new SinglePoleBalancing(10, false, random);
+            case CARTPOLE_RANDOM -> new SinglePoleBalancing(10, true, random);
+        };
+    }
 }
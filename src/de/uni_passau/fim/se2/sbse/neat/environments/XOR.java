@@ -1,14 +1,17 @@
 package de.uni_passau.fim.se2.sbse.neat.environments;
 
 import de.uni_passau.fim.se2.sbse.neat.chromosomes.Agent;
+import de.uni_passau.fim.se2.sbse.neat.events.EvaluationEvent;
+import de.uni_passau.fim.se2.sbse.neat.phenotype.BatchedNetwork;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 
 /**
  * Models an XOR gate as a reinforcement learning environment.
  */
-public class XOR implements Environment {
+public class XOR implements LockstepEnvironment {
 
     private final static double[][] XOR_INPUTS = {
             {0, 0},
@@ -19,6 +22,11 @@ public class XOR implements Environment {
 
     private final static double[] XOR_OUTPUTS = {0, 1, 1, 0};
 
+    /**
+     * The reward of an agent that makes no error on any input.
+     */
+    private final static double MAX_REWARD = Math.pow(XOR_INPUTS.length, 2);
+
     /**
      * The current inputs of the XOR gate.
      */
@@ -52,12 +60,24 @@ public void resetState() {
 
     @Override
     public void updateState(List<Double> actions) {
-        double networkOutput = actions.getFirst() + 1;  // Scale [-1, 1] to [0, 1]
+        error += errorOf(actions.getFirst(), currentInput);
+        currentInput++;
+    }
+
+    /**
+     * Returns the error of the given action for the input with the given index.
+     *
+     * @param action The action of the agent.
+     * @param input  The index of the input.
+     * @return The error of the action, zero if the action is classified correctly.
+     */
+    private static double errorOf(double action, int input) {
+        double networkOutput = action + 1;  // Scale [-1, 1] to [0, 1]
         int result = networkOutput + 1 > 0.5 ? 1 : 0;
-        if (result != XOR_OUTPUTS[currentInput]) {
-            error += Math.abs(networkOutput - XOR_OUTPUTS[currentInput]);
+        if (result != XOR_OUTPUTS[input]) {
+            return Math.abs(networkOutput - XOR_OUTPUTS[input]);
         }
-        currentInput++;
+        return 0;
     }
 
     @Override
@@ -67,12 +87,82 @@ public List<Double> getState() {
 
     @Override
     public double evaluate(Agent agent) {
+        EvaluationEvent event = new EvaluationEvent();
+        event.begin();
         resetState();
         while (!isDone()) {
             List<Double> action = agent.getOutput(getState());
             updateState(action);
         }
-        return Math.pow(4 - error, 2); // Cast problem to a maximisation problem
+        double reward = Math.pow(4 - error, 2); // Cast problem to a maximisation problem
+        event.end();
+        if (event.shouldCommit()) {
+            event.environment = "XOR";
+            event.networks = 1;
+            event.steps = currentInput;
+            event.fitness = reward;
+            event.commit();
+        }
+        return reward;
+    }
+
+    /**
+     * Evaluates all networks of the batch by activating them once per input.
+     *
+     * @param batch The batch of networks to evaluate.
+     * @return The reward of every network in the order of the lanes of the batch.
+     */
+    @Override
+    public double[] evaluate(BatchedNetwork batch) {
+        EvaluationEvent event = new EvaluationEvent();
+        event.begin();
+        int lanes = batch.capacity();
+        double[] inputs = new double[stateSize() * lanes];
+        double[] outputs = new double[batch.outputSize() * lanes];
+        double[] errors = new double[lanes];
+        for (int input = 0; input < XOR_INPUTS.length; input++) {
+            for (int i = 0; i < stateSize(); i++) {
+                Arrays.fill(inputs, i * lanes, (i + 1) * lanes, XOR_INPUTS[input][i]);
+            }
+            batch.activate(inputs, outputs);
+            for (int lane = 0; lane < lanes; lane++) {
+                errors[lane] += errorOf(outputs[lane], input);
+            }
+        }
+
+        double[] rewards = new double[lanes];
+        for (int lane = 0; lane < lanes; lane++) {
+            rewards[lane] = Math.pow(4 - errors[lane], 2);
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.environment = "XOR";
+            event.networks = lanes;
+            event.steps = (long) XOR_INPUTS.length * lanes;
+            event.fitness = Arrays.stream(rewards).max().orElse(0);
+            event.commit();
+        }
+        return rewards;
+    }
+
+    @Override
+    public long getEvaluationSteps() {
+        return currentInput;
+    }
+
+    @Override
+    public long getEvaluationSteps(int lane) {
+        return XOR_INPUTS.length;
+    }
+
+    @Override
+    public Environment copy() {
+        return new XOR();
+    }
+
+    @Override
+    public boolean isDeterministic() {
+        return true;
     }
 
     @Override
@@ -82,7 +172,7 @@ public boolean isDone() {
 
     @Override
     public boolean solved(Agent agent) {
-        return error == 0;
+        return agent.getFitness() >= MAX_REWARD;
     }
 
     @Override
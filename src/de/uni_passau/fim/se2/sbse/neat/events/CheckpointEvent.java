@@ -0,0 +1,33 @@
+package de.uni_passau.fim.se2.sbse.neat.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Spans appending a checkpoint to its file, including forcing it to the storage device.
+ * Checkpoints are written by a background thread, hence the event does not delay the generation it belongs to.
+ */
+@Name("de.uni_passau.fim.se2.sbse.neat.Checkpoint")
+@Label("Checkpoint Write")
+@Category({"NEAT", "Persistence"})
+@Description("Appending a checkpoint to its file")
+@StackTrace(false)
+public final class CheckpointEvent extends jdk.jfr.Event {
+
+    @Label("Generation")
+    public int generation;
+
+    @Label("File")
+    public String file;
+
+    @Label("Size")
+    @DataAmount
+    public long bytes;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
@@ -0,0 +1,34 @@
+package de.uni_passau.fim.se2.sbse.neat.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Spans the evaluation of a network in an environment.
+ * Networks evaluated together in lockstep are reported as one event, with the total steps and the best reward of the batch.
+ */
+@Name("de.uni_passau.fim.se2.sbse.neat.Evaluation")
+@Label("Evaluation")
+@Category({"NEAT", "Evaluation"})
+@Description("Evaluation of a network or a batch of networks in an environment")
+@StackTrace(false)
+public final class EvaluationEvent extends jdk.jfr.Event {
+
+    @Label("Environment")
+    public String environment;
+
+    @Label("Networks")
+    @Description("The number of networks evaluated, more than 1 for batches")
+    public int networks;
+
+    @Label("Steps")
+    @Description("The number of environment steps of all networks")
+    public long steps;
+
+    @Label("Fitness")
+    @Description("The reward of the network, the best reward for batches")
+    public double fitness;
+}
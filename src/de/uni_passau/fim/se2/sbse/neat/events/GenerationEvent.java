@@ -0,0 +1,33 @@
+package de.uni_passau.fim.se2.sbse.neat.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Spans one generation of a NEAT run, from the start of its evaluation until the next generation has been created.
+ * A generation that ends the run early, because the environment is solved or the run is stopped, ends with the run.
+ */
+@Name("de.uni_passau.fim.se2.sbse.neat.Generation")
+@Label("Generation")
+@Category({"NEAT", "Evolution"})
+@Description("One generation of a NEAT run")
+@StackTrace(false)
+public final class GenerationEvent extends jdk.jfr.Event {
+
+    @Label("Generation")
+    public int generation;
+
+    @Label("Population Size")
+    public int populationSize;
+
+    @Label("Species Count")
+    @Description("The number of species, 0 if the generation ended before speciation")
+    public int speciesCount;
+
+    @Label("Best Fitness")
+    @Description("The highest fitness within the generation")
+    public double bestFitness;
+}
@@ -0,0 +1,27 @@
+package de.uni_passau.fim.se2.sbse.neat.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Marks the creation of a new connection innovation by a structural mutation.
+ */
+@Name("de.uni_passau.fim.se2.sbse.neat.Innovation")
+@Label("Innovation")
+@Category({"NEAT", "Evolution"})
+@Description("Creation of a new connection innovation")
+@StackTrace(false)
+public final class InnovationEvent extends jdk.jfr.Event {
+
+    @Label("Innovation Number")
+    public int innovationNumber;
+
+    @Label("Source Neuron")
+    public int source;
+
+    @Label("Target Neuron")
+    public int target;
+}
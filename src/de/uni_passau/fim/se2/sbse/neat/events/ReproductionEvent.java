@@ -0,0 +1,35 @@
+package de.uni_passau.fim.se2.sbse.neat.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Spans the creation of a batch of offspring by crossover and mutation.
+ * Every species produces its offspring in one batch, the population is then topped up in a final batch
+ * from randomly chosen species.
+ */
+@Name("de.uni_passau.fim.se2.sbse.neat.Reproduction")
+@Label("Reproduction Batch")
+@Category({"NEAT", "Evolution"})
+@Description("Creation of a batch of offspring")
+@StackTrace(false)
+public final class ReproductionEvent extends jdk.jfr.Event {
+
+    @Label("Generation")
+    public int generation;
+
+    @Label("Species")
+    @Description("The index of the reproducing species, -1 for the batch topping up the population")
+    public int species;
+
+    @Label("Members")
+    @Description("The number of members of the reproducing species")
+    public int members;
+
+    @Label("Offspring")
+    @Description("The number of offspring created, including the elite")
+    public int offspring;
+}
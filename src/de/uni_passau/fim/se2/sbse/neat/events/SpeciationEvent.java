@@ -0,0 +1,30 @@
+package de.uni_passau.fim.se2.sbse.neat.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Spans the assignment of a population to species.
+ */
+@Name("de.uni_passau.fim.se2.sbse.neat.Speciation")
+@Label("Speciation")
+@Category({"NEAT", "Evolution"})
+@Description("Assignment of a population to species")
+@StackTrace(false)
+public final class SpeciationEvent extends jdk.jfr.Event {
+
+    @Label("Generation")
+    public int generation;
+
+    @Label("Population Size")
+    public int populationSize;
+
+    @Label("Species Count")
+    public int speciesCount;
+
+    @Label("Compatibility Threshold")
+    public double threshold;
+}
@@ -0,0 +1,35 @@
+package de.uni_passau.fim.se2.sbse.neat.experiments;
+
+import java.util.Locale;
+
+/**
+ * The outcome of a single run of a configuration, i.e., one cell of an experiment grid.
+ *
+ * @param configuration The configuration that was run.
+ * @param repetition    The index of the repetition.
+ * @param seed          The seed of the run.
+ * @param generations   The number of generations the run took.
+ * @param solved        Whether the best agent solves the task.
+ * @param bestFitness   The fitness of the best agent.
+ * @param evaluations   The number of evaluations of the run.
+ * @param millis        The wall-clock time of the run in milliseconds.
+ */
+public record CellResult(Configuration configuration, int repetition, long seed, int generations, boolean solved,
+                         double bestFitness, long evaluations, long millis) {
+
+    /**
+     * The CSV header of the rows written by {@link #csv()}.
+     */
+    public static final String CSV_HEADER = Configuration.CSV_HEADER
+            + ",repetition,seed,generations,solved,best_fitness,evaluations,wall_ms";
+
+    /**
+     * Returns the result as one CSV row in the order of {@link #CSV_HEADER}.
+     *
+     * @return The result as CSV row.
+     */
+    public String csv() {
+        return String.format(Locale.ROOT, "%s,%d,%d,%d,%b,%s,%d,%d", configuration.csv(), repetition, seed,
+                generations, solved, bestFitness, evaluations, millis);
+    }
+}
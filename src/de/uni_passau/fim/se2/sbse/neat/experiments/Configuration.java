@@ -0,0 +1,44 @@
+package de.uni_passau.fim.se2.sbse.neat.experiments;
+
+import de.uni_passau.fim.se2.sbse.neat.algorithms.NeatParameters;
+import de.uni_passau.fim.se2.sbse.neat.environments.Tasks;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * One point of an experiment grid, i.e., a task and a complete configuration of the algorithm.
+ *
+ * @param task           The task to solve.
+ * @param populationSize The size of the population.
+ * @param maxGenerations The maximum number of generations.
+ * @param parameters     The mutation and crossover probabilities, the tournament size and the speciation targets.
+ */
+public record Configuration(Tasks task, int populationSize, int maxGenerations, NeatParameters parameters) {
+
+    /**
+     * The CSV header of the columns written by {@link #csv()}.
+     */
+    public static final String CSV_HEADER = "task,population_size,max_generations,add_neuron,add_connection,"
+            + "mutate_weights,toggle_connection,crossover,tournament_size,species_target,delta_threshold";
+
+    public Configuration {
+        requireNonNull(task);
+        requireNonNull(parameters);
+        if (populationSize < 1 || maxGenerations < 0) {
+            throw new IllegalArgumentException("The population size must be positive and the generations must not be negative.");
+        }
+    }
+
+    /**
+     * Returns the configuration as comma separated values in the order of {@link #CSV_HEADER}.
+     *
+     * @return The configuration as CSV columns.
+     */
+    public String csv() {
+        return task + "," + populationSize + "," + maxGenerations + ","
+                + parameters.addNeuronProbability() + "," + parameters.addConnectionProbability() + ","
+                + parameters.mutateWeightsProbability() + "," + parameters.toggleConnectionProbability() + ","
+                + parameters.crossoverProbability() + "," + parameters.tournamentSize() + ","
+                + parameters.desiredSpeciesCount() + "," + parameters.initialDeltaThreshold();
+    }
+}
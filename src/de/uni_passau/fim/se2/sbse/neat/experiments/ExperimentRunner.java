@@ -0,0 +1,158 @@
+package de.uni_passau.fim.se2.sbse.neat.experiments;
+
+import de.uni_passau.fim.se2.sbse.neat.algorithms.Budget;
+import de.uni_passau.fim.se2.sbse.neat.algorithms.NeatAlgorithm;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.Agent;
+import de.uni_passau.fim.se2.sbse.neat.environments.Environment;
+import de.uni_passau.fim.se2.sbse.neat.environments.Tasks;
+import de.uni_passau.fim.se2.sbse.neat.phenotype.PlanCache;
+import de.uni_passau.fim.se2.sbse.neat.utils.CancellationToken;
+import de.uni_passau.fim.se2.sbse.neat.utils.Randomness;
+import de.uni_passau.fim.se2.sbse.neat.utils.RestorableRandom;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.*;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Runs every repetition of every configuration of an experiment grid as an independent cell on a thread pool.
+ * <p>
+ * Repetition {@code i} of every configuration is seeded with the same seed derived from the experiment seed and
+ * {@code i}, such that all configurations face the same random initial states and differences between configurations
+ * are not blurred by different seeds. Since every cell has its own random number generator, environment and algorithm,
+ * the results do not depend on the number of threads or the order in which the cells finish.
+ */
+public class ExperimentRunner {
+
+    private final BiFunction<Tasks, Random, Environment> environments;
+    private final int threads;
+    private final int planCacheSize;
+    private Budget budget;
+
+    /**
+     * Creates a new runner.
+     *
+     * @param environments  Creates the environment of a task, drawing random initial states from the given generator.
+     * @param threads       The number of cells run concurrently.
+     * @param planCacheSize The plan cache capacity of every cell, 0 evaluates the chromosomes directly.
+     */
+    public ExperimentRunner(BiFunction<Tasks, Random, Environment> environments, int threads, int planCacheSize) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("The number of threads must be positive.");
+        }
+        this.environments = requireNonNull(environments);
+        this.threads = threads;
+        this.planCacheSize = planCacheSize;
+        this.budget = Budget.UNLIMITED;
+    }
+
+    /**
+     * Limits every cell to the given budget. A cell that exhausts its budget counts as not solved.
+     *
+     * @param budget The budget of every cell.
+     */
+    public void setBudget(Budget budget) {
+        this.budget = requireNonNull(budget);
+    }
+
+    /**
+     * Runs all cells of the given configurations and reports every result as soon as its cell has finished.
+     * The consumer is called on the calling thread, one result at a time, in the order in which the cells finish.
+     *
+     * @param configurations The configurations to run.
+     * @param repetitions    The number of repetitions of every configuration.
+     * @param seed           The seed from which the seeds of the repetitions are derived.
+     * @param onResult       Receives every result as soon as it is available.
+     * @return The results of all cells, ordered by configuration and repetition.
+     * @throws IllegalStateException if the calling thread is interrupted.
+     */
+    public List<CellResult> run(List<Configuration> configurations, int repetitions, long seed,
+                                Consumer<CellResult> onResult) {
+        return run(configurations, 0, repetitions, seed, onResult);
+    }
+
+    /**
+     * Runs the repetitions {@code firstRepetition} to {@code firstRepetition + repetitions - 1} of the given
+     * configurations, such that further repetitions can be added to an experiment without repeating earlier ones.
+     *
+     * @param configurations  The configurations to run.
+     * @param firstRepetition The index of the first repetition to run.
+     * @param repetitions     The number of repetitions of every configuration.
+     * @param seed            The seed from which the seeds of the repetitions are derived.
+     * @param onResult        Receives every result as soon as it is available.
+     * @return The results of all cells, ordered by configuration and repetition.
+     * @throws IllegalStateException if the calling thread is interrupted.
+     */
+    public List<CellResult> run(List<Configuration> configurations, int firstRepetition, int repetitions, long seed,
+                                Consumer<CellResult> onResult) {
+        int cells = configurations.size() * repetitions;
+        CellResult[] results = new CellResult[cells];
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CompletionService<Integer> completion = new ExecutorCompletionService<>(executor);
+            for (int cell = 0; cell < cells; cell++) {
+                int index = cell;
+                Configuration configuration = configurations.get(cell / repetitions);
+                int repetition = firstRepetition + cell % repetitions;
+                completion.submit(() -> {
+                    results[index] = runCell(configuration, repetition, Randomness.derive(seed, repetition));
+                    return index;
+                });
+            }
+            for (int finished = 0; finished < cells; finished++) {
+                onResult.accept(results[completion.take().get()]);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the experiment.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return List.of(results);
+    }
+
+    /**
+     * Runs a single repetition of the given configuration.
+     */
+    private CellResult runCell(Configuration configuration, int repetition, long seed) {
+        Random random = new RestorableRandom(seed);
+        Environment environment = environments.apply(configuration.task(), random);
+        NeatAlgorithm neat = new NeatAlgorithm(configuration.populationSize(), configuration.maxGenerations(), random,
+                configuration.parameters());
+        if (planCacheSize != 0) {
+            neat.setPlanCache(new PlanCache(planCacheSize));
+        }
+
+        long start = System.nanoTime();
+        Agent best = neat.solve(environment, budget, new CancellationToken());
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        return new CellResult(configuration, repetition, seed, neat.getGeneration(), environment.solved(best),
+                best.getFitness(), neat.getEvaluationCount(), millis);
+    }
+
+    /**
+     * Groups the given results, ordered as returned by {@link #run}, by configuration and summarises every group.
+     *
+     * @param configurations The configurations in the order they were run.
+     * @param results        The results of all cells.
+     * @return The summaries in the order of the configurations.
+     */
+    public static List<Summary> summarise(List<Configuration> configurations, List<CellResult> results) {
+        List<Summary> summaries = new ArrayList<>(configurations.size());
+        int repetitions = configurations.isEmpty() ? 0 : results.size() / configurations.size();
+        for (int i = 0; i < configurations.size(); i++) {
+            summaries.add(Summary.of(configurations.get(i), results.subList(i * repetitions, (i + 1) * repetitions)));
+        }
+        return summaries;
+    }
+}
@@ -0,0 +1,41 @@
+package de.uni_passau.fim.se2.sbse.neat.experiments;
+
+import de.uni_passau.fim.se2.sbse.neat.algorithms.NeatParameters;
+
+import java.util.Random;
+
+/**
+ * The ranges from which the tuner draws candidate parameters.
+ * <p>
+ * The probabilities of rare structural mutations span more than an order of magnitude and are therefore drawn
+ * log-uniformly, such that small values are explored as thoroughly as large ones. All other parameters are drawn
+ * uniformly. The ranges enclose the {@link NeatParameters#DEFAULT defaults}.
+ */
+public final class ParameterSpace {
+
+    private ParameterSpace() {
+        // private constructor to prevent instantiation.
+    }
+
+    /**
+     * Draws a random parameter set.
+     *
+     * @param random The random number generator to draw from.
+     * @return The drawn parameters.
+     */
+    public static NeatParameters sample(Random random) {
+        return new NeatParameters(
+                logUniform(random, 0.005, 0.2),
+                logUniform(random, 0.01, 0.5),
+                random.nextDouble(0.5, 1.0),
+                logUniform(random, 0.001, 0.1),
+                random.nextDouble(0.25, 1.0),
+                random.nextInt(1, 8),
+                random.nextInt(2, 21),
+                random.nextDouble(1.0, 5.0));
+    }
+
+    private static double logUniform(Random random, double lower, double upper) {
+        return Math.exp(random.nextDouble(Math.log(lower), Math.log(upper)));
+    }
+}
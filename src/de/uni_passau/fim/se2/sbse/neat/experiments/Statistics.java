@@ -0,0 +1,84 @@
+package de.uni_passau.fim.se2.sbse.neat.experiments;
+
+import java.util.Arrays;
+
+/**
+ * Distribution-free summary statistics for the small samples of experiment repetitions.
+ */
+public final class Statistics {
+
+    /**
+     * The standard normal quantile of a two-sided 95% interval.
+     */
+    private static final double Z_95 = 1.959963984540054;
+
+    private Statistics() {
+        // private constructor to prevent instantiation.
+    }
+
+    /**
+     * A closed interval.
+     *
+     * @param lower The lower bound.
+     * @param upper The upper bound.
+     */
+    public record Interval(double lower, double upper) {
+    }
+
+    /**
+     * Returns the median of the given values.
+     *
+     * @param values The values, which are not modified.
+     * @return The median, or NaN if there are no values.
+     */
+    public static double median(double[] values) {
+        if (values.length == 0) {
+            return Double.NaN;
+        }
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+
+    /**
+     * Returns an approximate 95% confidence interval of the median, spanned by the order statistics whose ranks
+     * follow from the normal approximation of the binomial distribution. The interval makes no assumption about the
+     * distribution of the values, but it is conservative and widens to the range of the values for small samples.
+     *
+     * @param values The values, which are not modified.
+     * @return The confidence interval of the median, or NaN bounds if there are no values.
+     */
+    public static Interval medianInterval(double[] values) {
+        int n = values.length;
+        if (n == 0) {
+            return new Interval(Double.NaN, Double.NaN);
+        }
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        double halfWidth = Z_95 * Math.sqrt(n) / 2;
+        int lower = Math.max(1, (int) Math.floor(n / 2.0 - halfWidth));
+        int upper = Math.min(n, (int) Math.ceil(1 + n / 2.0 + halfWidth));
+        return new Interval(sorted[lower - 1], sorted[upper - 1]);
+    }
+
+    /**
+     * Returns the Wilson score 95% confidence interval of a success rate, which stays within [0, 1]
+     * and remains meaningful if all or none of the trials succeeded.
+     *
+     * @param successes The number of successful trials.
+     * @param trials    The number of trials.
+     * @return The confidence interval of the success rate, or NaN bounds if there are no trials.
+     */
+    public static Interval wilsonInterval(long successes, long trials) {
+        if (trials == 0) {
+            return new Interval(Double.NaN, Double.NaN);
+        }
+        double rate = (double) successes / trials;
+        double z2 = Z_95 * Z_95;
+        double denominator = 1 + z2 / trials;
+        double centre = (rate + z2 / (2 * trials)) / denominator;
+        double halfWidth = Z_95 * Math.sqrt(rate * (1 - rate) / trials + z2 / (4.0 * trials * trials)) / denominator;
+        return new Interval(Math.max(0, centre - halfWidth), Math.min(1, centre + halfWidth));
+    }
+}
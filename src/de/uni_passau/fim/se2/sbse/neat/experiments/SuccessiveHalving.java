@@ -0,0 +1,167 @@
+package de.uni_passau.fim.se2.sbse.neat.experiments;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Tunes the parameters of the algorithm for the shortest median wall-clock time to a solution by racing configurations
+ * against each other with successive halving.
+ * <p>
+ * In the first round, every configuration runs a few repetitions. The configurations are then ranked by their median
+ * time to a solution, and only the best {@code 1 / eta} of them advance to the next round, in which every survivor is
+ * run {@code eta} times as often as before. Configurations that are clearly slow are thereby dropped after a few cheap
+ * runs, while the repetitions are concentrated on the promising ones, whose medians become more and more reliable.
+ * The rounds end once no more than one configuration would advance, and the best configuration of the last round wins.
+ * <p>
+ * The repetitions of earlier rounds are kept, and repetition {@code i} of every configuration faces the same seed.
+ * A run that does not solve the task counts as infinitely slow, so a configuration that fails in at least half of its
+ * runs has an infinite median and ranks behind every configuration that usually succeeds. Since the runs of a round
+ * share the processors, the measured times are only comparable if the number of threads does not exceed the number of
+ * physical cores.
+ */
+public class SuccessiveHalving {
+
+    /**
+     * Ranks candidates by their median time to a solution, then by their number of solved runs, and finally by their
+     * mean time of the solved runs.
+     */
+    public static final Comparator<Candidate> RANKING = Comparator.comparingDouble(Candidate::medianMillis)
+            .thenComparing(Comparator.comparingInt(Candidate::solved).reversed())
+            .thenComparingDouble(Candidate::meanSolvedMillis);
+
+    private final ExperimentRunner runner;
+    private final int initialRepetitions;
+    private final int eta;
+
+    /**
+     * Creates a new tuner.
+     *
+     * @param runner             The runner of the repetitions, whose budget caps the time of a single run.
+     * @param initialRepetitions The number of repetitions of every configuration in the first round.
+     * @param eta                The factor by which the configurations are reduced and the repetitions are increased.
+     */
+    public SuccessiveHalving(ExperimentRunner runner, int initialRepetitions, int eta) {
+        if (initialRepetitions < 1) {
+            throw new IllegalArgumentException("The number of initial repetitions must be positive.");
+        }
+        if (eta < 2) {
+            throw new IllegalArgumentException("The reduction factor must be at least 2.");
+        }
+        this.runner = requireNonNull(runner);
+        this.initialRepetitions = initialRepetitions;
+        this.eta = eta;
+    }
+
+    /**
+     * A configuration together with its measurements so far.
+     *
+     * @param configuration    The configuration.
+     * @param runs             The number of completed runs.
+     * @param solved           The number of runs that solved the task.
+     * @param medianMillis     The median wall-clock time to a solution, counting unsolved runs as infinite.
+     * @param meanSolvedMillis The mean wall-clock time of the solved runs, or infinity if no run was solved.
+     */
+    public record Candidate(Configuration configuration, int runs, int solved, double medianMillis,
+                            double meanSolvedMillis) {
+
+        /**
+         * The CSV header of the rows written by {@link #csv()}.
+         */
+        public static final String CSV_HEADER = Configuration.CSV_HEADER + ",runs,solved,median_ms,mean_solved_ms";
+
+        /**
+         * Summarises the given results of a configuration.
+         *
+         * @param configuration The configuration.
+         * @param results       The results of its runs.
+         * @return The candidate.
+         */
+        public static Candidate of(Configuration configuration, List<CellResult> results) {
+            double[] millis = new double[results.size()];
+            int solved = 0;
+            double solvedMillis = 0;
+            for (int i = 0; i < millis.length; i++) {
+                CellResult result = results.get(i);
+                if (result.solved()) {
+                    millis[i] = result.millis();
+                    solved++;
+                    solvedMillis += result.millis();
+                } else {
+                    millis[i] = Double.POSITIVE_INFINITY;
+                }
+            }
+            return new Candidate(configuration, results.size(), solved, Statistics.median(millis),
+                    solved == 0 ? Double.POSITIVE_INFINITY : solvedMillis / solved);
+        }
+
+        /**
+         * Returns the candidate as one CSV row in the order of {@link #CSV_HEADER}.
+         *
+         * @return The candidate as CSV row.
+         */
+        public String csv() {
+            return String.format(Locale.ROOT, "%s,%d,%d,%.1f,%.1f", configuration.csv(), runs, solved,
+                    medianMillis, meanSolvedMillis);
+        }
+    }
+
+    /**
+     * Races the given configurations against each other until no more than one of them would advance.
+     *
+     * @param configurations The configurations to race.
+     * @param seed           The seed from which the seeds of the repetitions are derived.
+     * @param onResult       Receives every result as soon as it is available.
+     * @param onRound        Receives the ranking of the configurations that took part in each round, best first.
+     * @return The ranking of the last round, whose first candidate is the best configuration.
+     * @throws IllegalArgumentException if no configurations are given.
+     */
+    public List<Candidate> tune(List<Configuration> configurations, long seed, Consumer<CellResult> onResult,
+                                Consumer<List<Candidate>> onRound) {
+        if (configurations.isEmpty()) {
+            throw new IllegalArgumentException("At least one configuration is required.");
+        }
+        List<Configuration> survivors = List.copyOf(configurations);
+        List<List<CellResult>> results = new ArrayList<>();
+        survivors.forEach(configuration -> results.add(new ArrayList<>()));
+        int completed = 0;
+        int target = initialRepetitions;
+        while (true) {
+            List<CellResult> round = runner.run(survivors, completed, target - completed, seed, onResult);
+            int perConfiguration = target - completed;
+            List<Candidate> ranking = new ArrayList<>(survivors.size());
+            for (int i = 0; i < survivors.size(); i++) {
+                results.get(i).addAll(round.subList(i * perConfiguration, (i + 1) * perConfiguration));
+                ranking.add(Candidate.of(survivors.get(i), results.get(i)));
+            }
+            // Sorting the indices keeps the results aligned with the surviving configurations
+            List<Integer> order = new ArrayList<>(survivors.size());
+            for (int i = 0; i < survivors.size(); i++) {
+                order.add(i);
+            }
+            order.sort(Comparator.comparing(ranking::get, RANKING));
+            List<Candidate> sorted = order.stream().map(ranking::get).toList();
+            onRound.accept(sorted);
+
+            int kept = survivors.size() / eta;
+            if (kept <= 1) {
+                return sorted;
+            }
+            List<Configuration> nextSurvivors = new ArrayList<>(kept);
+            List<List<CellResult>> nextResults = new ArrayList<>(kept);
+            for (int i = 0; i < kept; i++) {
+                nextSurvivors.add(survivors.get(order.get(i)));
+                nextResults.add(results.get(order.get(i)));
+            }
+            survivors = nextSurvivors;
+            results.clear();
+            results.addAll(nextResults);
+            completed = target;
+            target = Math.multiplyExact(target, eta);
+        }
+    }
+}
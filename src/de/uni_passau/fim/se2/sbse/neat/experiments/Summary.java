@@ -0,0 +1,61 @@
+package de.uni_passau.fim.se2.sbse.neat.experiments;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Aggregates the repetitions of one configuration into medians and 95% confidence intervals.
+ *
+ * @param configuration      The summarised configuration.
+ * @param repetitions        The number of repetitions.
+ * @param successes          The number of repetitions that solved the task.
+ * @param successRate        The Wilson interval of the success rate.
+ * @param medianGenerations  The median number of generations.
+ * @param generations        The confidence interval of the median number of generations.
+ * @param medianBestFitness  The median fitness of the best agents.
+ * @param bestFitness        The confidence interval of the median fitness of the best agents.
+ * @param medianMillis       The median wall-clock time of a repetition in milliseconds.
+ */
+public record Summary(Configuration configuration, int repetitions, int successes, Statistics.Interval successRate,
+                      double medianGenerations, Statistics.Interval generations,
+                      double medianBestFitness, Statistics.Interval bestFitness, double medianMillis) {
+
+    /**
+     * The CSV header of the rows written by {@link #csv()}.
+     */
+    public static final String CSV_HEADER = Configuration.CSV_HEADER
+            + ",repetitions,successes,success_rate,success_ci_low,success_ci_high,"
+            + "median_generations,generations_ci_low,generations_ci_high,"
+            + "median_best_fitness,best_fitness_ci_low,best_fitness_ci_high,median_wall_ms";
+
+    /**
+     * Summarises the given results, which must all belong to the given configuration.
+     *
+     * @param configuration The configuration of the results.
+     * @param results       The results of the repetitions of the configuration.
+     * @return The summary of the results.
+     */
+    public static Summary of(Configuration configuration, List<CellResult> results) {
+        double[] generations = results.stream().mapToDouble(CellResult::generations).toArray();
+        double[] bestFitness = results.stream().mapToDouble(CellResult::bestFitness).toArray();
+        double[] millis = results.stream().mapToDouble(CellResult::millis).toArray();
+        int successes = (int) results.stream().filter(CellResult::solved).count();
+        return new Summary(configuration, results.size(), successes,
+                Statistics.wilsonInterval(successes, results.size()),
+                Statistics.median(generations), Statistics.medianInterval(generations),
+                Statistics.median(bestFitness), Statistics.medianInterval(bestFitness),
+                Statistics.median(millis));
+    }
+
+    /**
+     * Returns the summary as one CSV row in the order of {@link #CSV_HEADER}.
+     *
+     * @return The summary as CSV row.
+     */
+    public String csv() {
+        return String.format(Locale.ROOT, "%s,%d,%d,%.4f,%.4f,%.4f,%s,%s,%s,%s,%s,%s,%.1f", configuration.csv(),
+                repetitions, successes, (double) successes / repetitions, successRate.lower(), successRate.upper(),
+                medianGenerations, generations.lower(), generations.upper(),
+                medianBestFitness, bestFitness.lower(), bestFitness.upper(), medianMillis);
+    }
+}
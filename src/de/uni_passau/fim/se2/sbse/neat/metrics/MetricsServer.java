@@ -0,0 +1,65 @@
+package de.uni_passau.fim.se2.sbse.neat.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Serves {@link RunMetrics} in the Prometheus text exposition format on {@code GET /metrics} of the loopback interface.
+ * Requests are answered by the dispatcher thread of the server, which only reads the metrics and never blocks a run.
+ */
+public class MetricsServer implements AutoCloseable {
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final RunMetrics metrics;
+    private final HttpServer server;
+
+    /**
+     * Starts a new server on the given port of the loopback interface.
+     *
+     * @param metrics The metrics to serve.
+     * @param port    The port to listen on, 0 selects a free port.
+     * @throws IOException if the server cannot be bound to the port.
+     */
+    public MetricsServer(RunMetrics metrics, int port) throws IOException {
+        this.metrics = requireNonNull(metrics);
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/metrics", this::handleMetrics);
+        server.start();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = metrics.format().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    /**
+     * Stops the server without waiting for running requests.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
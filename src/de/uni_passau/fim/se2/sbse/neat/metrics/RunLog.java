@@ -0,0 +1,158 @@
+package de.uni_passau.fim.se2.sbse.neat.metrics;
+
+import de.uni_passau.fim.se2.sbse.neat.algorithms.GenerationListener;
+import de.uni_passau.fim.se2.sbse.neat.algorithms.GenerationStats;
+import de.uni_passau.fim.se2.sbse.neat.utils.RingBuffer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Appends one CSV row per generation of every observed run to a log file.
+ * <p>
+ * The rows are written by a dedicated thread, hence logging never blocks a generation: the thread running the
+ * algorithm only places the statistics into a bounded {@link RingBuffer} and wakes the writer. If the writer falls so
+ * far behind that the buffer is full, the row is dropped and counted instead. The writer flushes the file whenever it
+ * has drained the buffer, so the log can be followed while the runs are still going; a reader should only ignore an
+ * incomplete last line. Existing logs are appended to, and the header is only written to an empty file.
+ */
+public final class RunLog implements AutoCloseable {
+
+    /**
+     * The header of the log, times are given in milliseconds and species sizes are separated by semicolons.
+     */
+    public static final String HEADER = "run,generation,species,species_sizes,mean_genome_size,best_fitness,champion,"
+            + "mean_fitness,innovations,evaluations,steps,checkpointing_ms,evaluation_ms,speciation_ms,"
+            + "fitness_sharing_ms,reproduction_ms,crossover_ms,mutation_ms";
+
+    /**
+     * The default number of rows that may wait for the writer.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private record Entry(String run, GenerationStats stats) {
+    }
+
+    private final RingBuffer<Entry> queue;
+    private final BufferedWriter writer;
+    private final Thread thread;
+    private final LongAdder dropped = new LongAdder();
+    private volatile boolean closed;
+    private volatile IOException failure;
+
+    /**
+     * Opens the given log file and starts the writer.
+     *
+     * @param file     The file to append to, which is created if it does not exist.
+     * @param capacity The number of rows that may wait for the writer, a power of two.
+     * @throws IOException if the file cannot be opened.
+     */
+    public RunLog(Path file, int capacity) throws IOException {
+        queue = new RingBuffer<>(capacity);
+        boolean empty = !Files.exists(file) || Files.size(file) == 0;
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+        if (empty) {
+            writer.write(HEADER);
+            writer.newLine();
+            writer.flush();
+        }
+        thread = Thread.ofPlatform().name("run-log").daemon().start(this::drain);
+    }
+
+    /**
+     * Returns a listener that logs the generations of a run under the given name.
+     * The listener may be added to several algorithms running concurrently.
+     *
+     * @param run The name of the run, which must not contain commas.
+     * @return The listener logging the generations of the run.
+     */
+    public GenerationListener listener(String run) {
+        requireNonNull(run);
+        return stats -> {
+            if (queue.offer(new Entry(run, stats))) {
+                LockSupport.unpark(thread);
+            } else {
+                dropped.increment();
+            }
+        };
+    }
+
+    /**
+     * Returns the number of rows dropped because the writer fell behind.
+     *
+     * @return The number of dropped rows.
+     */
+    public long getDroppedRows() {
+        return dropped.sum();
+    }
+
+    /**
+     * Writes all pending rows and closes the file. Generations completed afterwards are not logged.
+     *
+     * @throws IOException if writing a row or closing the file failed.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer.close();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Writes the rows as they arrive until the log is closed.
+     */
+    private void drain() {
+        try {
+            while (true) {
+                // Read before draining, such that every row offered before closing is written
+                boolean finishing = closed;
+                boolean written = false;
+                for (Entry entry = queue.poll(); entry != null; entry = queue.poll()) {
+                    writer.write(row(entry));
+                    writer.newLine();
+                    written = true;
+                }
+                if (written) {
+                    writer.flush();
+                }
+                if (finishing) {
+                    return;
+                }
+                LockSupport.park(this);
+            }
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+
+    private static String row(Entry entry) {
+        GenerationStats stats = entry.stats();
+        return String.format(Locale.ROOT, "%s,%d,%d,%s,%.2f,%s,%016x,%s,%d,%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f",
+                entry.run(), stats.generation(), stats.speciesCount(),
+                stats.speciesSizes().stream().map(String::valueOf).collect(Collectors.joining(";")),
+                stats.meanGenomeSize(), stats.bestFitness(), stats.championHash(), stats.meanFitness(),
+                stats.innovationCount(), stats.evaluations(), stats.steps(),
+                stats.checkpointingNanos() / 1e6, stats.evaluationNanos() / 1e6, stats.speciationNanos() / 1e6,
+                stats.fitnessSharingNanos() / 1e6, stats.reproductionNanos() / 1e6, stats.crossoverNanos() / 1e6,
+                stats.mutationNanos() / 1e6);
+    }
+}
@@ -0,0 +1,144 @@
+package de.uni_passau.fim.se2.sbse.neat.metrics;
+
+import de.uni_passau.fim.se2.sbse.neat.algorithms.GenerationListener;
+import de.uni_passau.fim.se2.sbse.neat.algorithms.GenerationStats;
+import de.uni_passau.fim.se2.sbse.neat.algorithms.NeatAlgorithm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Collects live metrics of NEAT runs and formats them in the Prometheus text exposition format.
+ * Counters accumulate over all runs that were attached to the metrics, gauges describe the most recently completed
+ * generation of any attached run. Rates, such as evaluations or steps per second, are left to the scraper, e.g.,
+ * {@code rate(neat_steps_total[1m])}, hence scraping never changes the metrics and any number of scrapers may read them.
+ * <p>
+ * The metrics never slow down the hot paths of a run. Evaluations and environment steps are counted by the striped
+ * counters of the attached algorithms, which evaluation threads update without contention and which are only summed
+ * when the metrics are scraped. All other values are published once per generation by the thread running the
+ * algorithm, either into striped counters as well or as a single immutable snapshot.
+ */
+public class RunMetrics implements GenerationListener {
+
+    private final LongAdder generations = new LongAdder();
+    private final LongAdder checkpointingNanos = new LongAdder();
+    private final LongAdder evaluationNanos = new LongAdder();
+    private final LongAdder speciationNanos = new LongAdder();
+    private final LongAdder fitnessSharingNanos = new LongAdder();
+    private final LongAdder reproductionNanos = new LongAdder();
+    private final LongAdder crossoverNanos = new LongAdder();
+    private final LongAdder mutationNanos = new LongAdder();
+    private volatile GenerationStats latest;
+
+    // Guarded by this, attaching, detaching and scraping are rare compared to generations
+    private final List<NeatAlgorithm> running = new ArrayList<>();
+    private long finishedEvaluations;
+    private long finishedSteps;
+
+    /**
+     * Starts collecting the metrics of the given algorithm, which must not run yet.
+     *
+     * @param algorithm The algorithm to observe.
+     */
+    public synchronized void attach(NeatAlgorithm algorithm) {
+        algorithm.addGenerationListener(this);
+        running.add(requireNonNull(algorithm));
+    }
+
+    /**
+     * Stops collecting the metrics of the given algorithm once its run has ended.
+     * Its evaluations and steps remain part of the counters.
+     *
+     * @param algorithm The algorithm to stop observing.
+     */
+    public synchronized void detach(NeatAlgorithm algorithm) {
+        if (running.remove(algorithm)) {
+            algorithm.removeGenerationListener(this);
+            finishedEvaluations += algorithm.getEvaluationCount();
+            finishedSteps += algorithm.getStepCount();
+        }
+    }
+
+    @Override
+    public void generationCompleted(GenerationStats stats) {
+        generations.increment();
+        checkpointingNanos.add(stats.checkpointingNanos());
+        evaluationNanos.add(stats.evaluationNanos());
+        speciationNanos.add(stats.speciationNanos());
+        fitnessSharingNanos.add(stats.fitnessSharingNanos());
+        reproductionNanos.add(stats.reproductionNanos());
+        crossoverNanos.add(stats.crossoverNanos());
+        mutationNanos.add(stats.mutationNanos());
+        latest = stats;
+    }
+
+    /**
+     * Formats the current metrics in the Prometheus text exposition format.
+     *
+     * @return The metrics, one sample per line.
+     */
+    public synchronized String format() {
+        long evaluations = finishedEvaluations;
+        long steps = finishedSteps;
+        for (NeatAlgorithm algorithm : running) {
+            evaluations += algorithm.getEvaluationCount();
+            steps += algorithm.getStepCount();
+        }
+
+        StringBuilder out = new StringBuilder();
+        GenerationStats stats = latest;
+        header(out, "neat_generation", "gauge", "The number of completed generations of the most recently reported run.");
+        sample(out, "neat_generation", "", stats == null ? 0 : stats.generation() + 1);
+        header(out, "neat_generations_total", "counter", "The number of completed generations of all runs.");
+        sample(out, "neat_generations_total", "", generations.sum());
+        header(out, "neat_evaluations_total", "counter", "The number of evaluations of all runs.");
+        sample(out, "neat_evaluations_total", "", evaluations);
+        header(out, "neat_steps_total", "counter", "The number of environment steps of all runs.");
+        sample(out, "neat_steps_total", "", steps);
+        if (stats != null) {
+            header(out, "neat_best_fitness", "gauge", "The highest fitness of the most recently completed generation.");
+            sample(out, "neat_best_fitness", "", stats.bestFitness());
+            header(out, "neat_mean_fitness", "gauge", "The mean fitness of the most recently completed generation.");
+            sample(out, "neat_mean_fitness", "", stats.meanFitness());
+            header(out, "neat_species", "gauge", "The number of species of the most recently completed generation.");
+            sample(out, "neat_species", "", stats.speciesCount());
+            header(out, "neat_innovations", "gauge", "The number of connection innovations of the most recently reported run.");
+            sample(out, "neat_innovations", "", stats.innovationCount());
+            header(out, "neat_mean_connections", "gauge", "The mean number of connection genes per genome of the most recently completed generation.");
+            sample(out, "neat_mean_connections", "", stats.meanGenomeSize());
+        }
+        header(out, "neat_phase_seconds_total", "counter", "The time spent in each phase of all reported generations.");
+        sample(out, "neat_phase_seconds_total", "phase=\"checkpointing\"", checkpointingNanos.sum() / 1e9);
+        sample(out, "neat_phase_seconds_total", "phase=\"evaluation\"", evaluationNanos.sum() / 1e9);
+        sample(out, "neat_phase_seconds_total", "phase=\"speciation\"", speciationNanos.sum() / 1e9);
+        sample(out, "neat_phase_seconds_total", "phase=\"fitness_sharing\"", fitnessSharingNanos.sum() / 1e9);
+        sample(out, "neat_phase_seconds_total", "phase=\"reproduction\"", reproductionNanos.sum() / 1e9);
+        header(out, "neat_operator_seconds_total", "counter", "The time spent in the variation operators during reproduction.");
+        sample(out, "neat_operator_seconds_total", "operator=\"crossover\"", crossoverNanos.sum() / 1e9);
+        sample(out, "neat_operator_seconds_total", "operator=\"mutation\"", mutationNanos.sum() / 1e9);
+        return out.toString();
+    }
+
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, double value) {
+        out.append(name);
+        if (!labels.isEmpty()) {
+            out.append('{').append(labels).append('}');
+        }
+        out.append(' ').append(formatValue(value)).append('\n');
+    }
+
+    private static String formatValue(double value) {
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+}
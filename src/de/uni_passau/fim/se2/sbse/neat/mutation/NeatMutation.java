@@ -1,7 +1,9 @@
 package de.uni_passau.fim.se2.sbse.neat.mutation;
 
+import de.uni_passau.fim.se2.sbse.neat.algorithms.NeatParameters;
 import de.uni_passau.fim.se2.sbse.neat.algorithms.innovations.ConnectionInnovation;
 import de.uni_passau.fim.se2.sbse.neat.algorithms.innovations.Innovation;
+import de.uni_passau.fim.se2.sbse.neat.events.InnovationEvent;
 import de.uni_passau.fim.se2.sbse.neat.chromosomes.*;
 
 import java.util.List;
@@ -20,11 +22,10 @@
  */
 public class NeatMutation implements Mutation<NetworkChromosome> {
 
-
-    private static final double PROB_ADD_NEURON = 0.03;
-    private static final double PROB_ADD_CONNECTION = 0.05;
-    private static final double PROB_MUTATE_WEIGHTS = 0.8;
-    private static final double PROB_TOGGLE_CONNECTION = 0.01;
+    private final double addNeuronProbability;
+    private final double addConnectionProbability;
+    private final double mutateWeightsProbability;
+    private final double toggleConnectionProbability;
 
     /**
      * The random number generator to use.
@@ -45,8 +46,23 @@ public class NeatMutation implements Mutation<NetworkChromosome> {
      * @param random      The random number generator.
      */
     public NeatMutation(Set<Innovation> innovations, Random random) {
+        this(innovations, random, NeatParameters.DEFAULT);
+    }
+
+    /**
+     * Constructs a new NeatMutation that applies the mutations with the probabilities of the given parameters.
+     *
+     * @param innovations The list of innovations that occurred so far in the search.
+     * @param random      The random number generator.
+     * @param parameters  The parameters holding the mutation probabilities.
+     */
+    public NeatMutation(Set<Innovation> innovations, Random random, NeatParameters parameters) {
         this.innovations = requireNonNull(innovations);
         this.random = requireNonNull(random);
+        this.addNeuronProbability = parameters.addNeuronProbability();
+        this.addConnectionProbability = parameters.addConnectionProbability();
+        this.mutateWeightsProbability = parameters.mutateWeightsProbability();
+        this.toggleConnectionProbability = parameters.toggleConnectionProbability();
     }
 
 
@@ -63,19 +79,19 @@ public NetworkChromosome apply(NetworkChromosome parent) {
         NetworkChromosome offspring = parent.copy();
         double chance = random.nextDouble();
 
-        if (chance < PROB_ADD_NEURON) {
+        if (chance < addNeuronProbability) {
             offspring = addNeuron(offspring);
         }
 
-        if (chance < PROB_ADD_CONNECTION) {
+        if (chance < addConnectionProbability) {
             offspring = addConnection(offspring);
         }
 
-        if (chance < PROB_TOGGLE_CONNECTION) {
+        if (chance < toggleConnectionProbability) {
             offspring = toggleConnection(offspring);
         }
 
-        if (chance < PROB_MUTATE_WEIGHTS) {
+        if (chance < mutateWeightsProbability) {
             offspring = mutateWeights(offspring);
         }
 
@@ -275,6 +291,14 @@ private int getInnovationNumberForConnection(int sourceId, int targetId) {
         int newInnovationNumber = innovations.size() + 1;
         innovations.add(new ConnectionInnovation(sourceId, targetId, newInnovationNumber));
 
+        InnovationEvent event = new InnovationEvent();
+        if (event.shouldCommit()) {
+            event.innovationNumber = newInnovationNumber;
+            event.source = sourceId;
+            event.target = targetId;
+            event.commit();
+        }
+
         return newInnovationNumber;
     }
 
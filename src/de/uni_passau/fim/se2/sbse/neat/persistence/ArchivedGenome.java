@@ -0,0 +1,49 @@
+package de.uni_passau.fim.se2.sbse.neat.persistence;
+
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import de.uni_passau.fim.se2.sbse.neat.phenotype.CompiledNetwork;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * A genome read from a {@link GenomeArchiveReader genome archive}.
+ * The encoded genome is a read-only view of the memory-mapped archive, hence scanning an archive copies no genomes
+ * and only the genomes that are decoded are materialised on the heap.
+ *
+ * @param generation The generation in which the genome was evaluated.
+ * @param hash       The {@link NetworkChromosome#contentHash() content hash} of the genome.
+ * @param genome     The genome encoded by the {@link GenomeCodec}.
+ */
+public record ArchivedGenome(int generation, long hash, ByteBuffer genome) {
+
+    /**
+     * Returns the fitness of the genome without decoding it.
+     *
+     * @return The fitness the genome was evaluated to.
+     * @throws IOException if the genome is corrupt.
+     */
+    public double fitness() throws IOException {
+        return GenomeCodec.fitness(genome);
+    }
+
+    /**
+     * Decodes the genome into a network chromosome.
+     *
+     * @return The decoded chromosome, including its fitness.
+     * @throws IOException if the genome is corrupt.
+     */
+    public NetworkChromosome decode() throws IOException {
+        return GenomeCodec.decode(genome.duplicate());
+    }
+
+    /**
+     * Decodes the genome directly into a compiled network.
+     *
+     * @return The decoded network, including its fitness.
+     * @throws IOException if the genome is corrupt.
+     */
+    public CompiledNetwork decodeCompiled() throws IOException {
+        return GenomeCodec.decodeCompiled(genome.duplicate());
+    }
+}
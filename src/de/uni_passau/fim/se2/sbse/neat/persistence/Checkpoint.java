@@ -0,0 +1,58 @@
+package de.uni_passau.fim.se2.sbse.neat.persistence;
+
+import de.uni_passau.fim.se2.sbse.neat.algorithms.innovations.ConnectionInnovation;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import de.uni_passau.fim.se2.sbse.neat.utils.RestorableRandom;
+
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A snapshot of the complete state of a NEAT run taken at the beginning of a generation.
+ * Restoring the snapshot, including the state of the random number generator, continues the run deterministically.
+ *
+ * @param origin          The configuration of the run the snapshot was taken of.
+ * @param generation      The generation that is about to be evaluated.
+ * @param deltaThreshold  The compatibility threshold used for speciation.
+ * @param evaluationCount The number of evaluations performed so far.
+ * @param stepCount       The number of environment steps taken so far.
+ * @param population      The population of the generation.
+ * @param innovations     All innovations that occurred so far.
+ * @param bestAgent       The best agent found so far, or {@code null} if no agent has been evaluated.
+ * @param randomState     The position of the random number generator in its stream.
+ */
+public record Checkpoint(Origin origin, int generation, double deltaThreshold, long evaluationCount, long stepCount,
+                         List<NetworkChromosome> population, List<ConnectionInnovation> innovations,
+                         NetworkChromosome bestAgent, RestorableRandom.State randomState) {
+
+    /**
+     * Identifies the run a checkpoint belongs to, such that a run is not resumed from the checkpoint of another run.
+     *
+     * @param task           The name of the task solved by the run.
+     * @param populationSize The size of the population.
+     * @param seed           The seed the run was started with.
+     */
+    public record Origin(String task, int populationSize, long seed) {
+
+        public Origin {
+            requireNonNull(task);
+        }
+    }
+
+    public Checkpoint {
+        requireNonNull(origin);
+        population = List.copyOf(population);
+        innovations = List.copyOf(innovations);
+        requireNonNull(randomState);
+    }
+
+    /**
+     * Creates a new random number generator that continues the stream at the captured position.
+     *
+     * @return The restored random number generator.
+     */
+    public RestorableRandom restoreRandom() {
+        return new RestorableRandom(randomState);
+    }
+}
@@ -0,0 +1,194 @@
+package de.uni_passau.fim.se2.sbse.neat.persistence;
+
+import de.uni_passau.fim.se2.sbse.neat.algorithms.innovations.ConnectionInnovation;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.*;
+import de.uni_passau.fim.se2.sbse.neat.utils.RestorableRandom;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * Encodes checkpoints into a binary format and decodes them again.
+ */
+final class CheckpointCodec {
+
+    private static final int VERSION = 1;
+
+    private static final ActivationFunction[] ACTIVATION_FUNCTIONS = ActivationFunction.values();
+    private static final NeuronType[] NEURON_TYPES = NeuronType.values();
+
+    private CheckpointCodec() {
+        // private constructor to prevent instantiation.
+    }
+
+    static byte[] encode(Checkpoint checkpoint) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(VERSION);
+            out.writeUTF(checkpoint.origin().task());
+            out.writeInt(checkpoint.origin().populationSize());
+            out.writeLong(checkpoint.origin().seed());
+            out.writeInt(checkpoint.generation());
+            out.writeDouble(checkpoint.deltaThreshold());
+            out.writeLong(checkpoint.evaluationCount());
+            out.writeLong(checkpoint.stepCount());
+
+            out.writeInt(checkpoint.innovations().size());
+            for (ConnectionInnovation innovation : checkpoint.innovations()) {
+                out.writeInt(innovation.getSource());
+                out.writeInt(innovation.getTarget());
+                out.writeInt(innovation.getInnovationNumber());
+            }
+
+            out.writeInt(checkpoint.population().size());
+            for (NetworkChromosome chromosome : checkpoint.population()) {
+                writeChromosome(out, chromosome);
+            }
+
+            out.writeBoolean(checkpoint.bestAgent() != null);
+            if (checkpoint.bestAgent() != null) {
+                writeChromosome(out, checkpoint.bestAgent());
+            }
+
+            out.writeLong(checkpoint.randomState().seed());
+            out.writeDouble(checkpoint.randomState().nextNextGaussian());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static Checkpoint decode(byte[] data) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported checkpoint version " + version + ".");
+        }
+        Checkpoint.Origin origin = new Checkpoint.Origin(in.readUTF(), in.readInt(), in.readLong());
+        int generation = in.readInt();
+        double deltaThreshold = in.readDouble();
+        long evaluationCount = in.readLong();
+        long stepCount = in.readLong();
+
+        int innovationCount = in.readInt();
+        List<ConnectionInnovation> innovations = new ArrayList<>(innovationCount);
+        for (int i = 0; i < innovationCount; i++) {
+            innovations.add(new ConnectionInnovation(in.readInt(), in.readInt(), in.readInt()));
+        }
+
+        int populationSize = in.readInt();
+        List<NetworkChromosome> population = new ArrayList<>(populationSize);
+        for (int i = 0; i < populationSize; i++) {
+            population.add(readChromosome(in));
+        }
+
+        NetworkChromosome bestAgent = in.readBoolean() ? readChromosome(in) : null;
+
+        RestorableRandom.State randomState = new RestorableRandom.State(in.readLong(), in.readDouble());
+        return new Checkpoint(origin, generation, deltaThreshold, evaluationCount, stepCount, population, innovations,
+                bestAgent, randomState);
+    }
+
+    /**
+     * Writes a chromosome as a table of its distinct neurons followed by its layers and connections,
+     * both of which refer to neurons by their index in the table.
+     */
+    private static void writeChromosome(DataOutputStream out, NetworkChromosome chromosome) throws IOException {
+        Map<Integer, Integer> neuronIndices = new HashMap<>();
+        List<NeuronGene> neurons = new ArrayList<>();
+        for (List<NeuronGene> layer : chromosome.getLayers().values()) {
+            for (NeuronGene neuron : layer) {
+                addNeuron(neuronIndices, neurons, neuron);
+            }
+        }
+        for (ConnectionGene connection : chromosome.getConnections()) {
+            addNeuron(neuronIndices, neurons, connection.getSourceNeuron());
+            addNeuron(neuronIndices, neurons, connection.getTargetNeuron());
+        }
+
+        out.writeInt(neurons.size());
+        for (NeuronGene neuron : neurons) {
+            out.writeInt(neuron.getId());
+            out.writeByte(neuron.getActivationFunction() == null ? -1 : neuron.getActivationFunction().ordinal());
+            out.writeByte(neuron.getNeuronType() == null ? -1 : neuron.getNeuronType().ordinal());
+        }
+
+        out.writeInt(chromosome.getLayers().size());
+        for (Map.Entry<Double, List<NeuronGene>> layer : chromosome.getLayers().entrySet()) {
+            out.writeDouble(layer.getKey());
+            out.writeInt(layer.getValue().size());
+            for (NeuronGene neuron : layer.getValue()) {
+                out.writeInt(neuronIndices.get(neuron.getId()));
+            }
+        }
+
+        out.writeInt(chromosome.getConnections().size());
+        for (ConnectionGene connection : chromosome.getConnections()) {
+            out.writeInt(neuronIndices.get(connection.getSourceNeuron().getId()));
+            out.writeInt(neuronIndices.get(connection.getTargetNeuron().getId()));
+            out.writeDouble(connection.getWeight());
+            out.writeBoolean(connection.getEnabled());
+            out.writeInt(connection.getInnovationNumber());
+        }
+
+        out.writeDouble(chromosome.getFitness());
+        writeCost(out, chromosome.getEvaluationCost());
+        writeCost(out, chromosome.getPredictedCost());
+    }
+
+    private static void addNeuron(Map<Integer, Integer> neuronIndices, List<NeuronGene> neurons, NeuronGene neuron) {
+        if (!neuronIndices.containsKey(neuron.getId())) {
+            neuronIndices.put(neuron.getId(), neurons.size());
+            neurons.add(neuron);
+        }
+    }
+
+    private static NetworkChromosome readChromosome(DataInputStream in) throws IOException {
+        NeuronGene[] neurons = new NeuronGene[in.readInt()];
+        for (int i = 0; i < neurons.length; i++) {
+            int id = in.readInt();
+            byte activationFunction = in.readByte();
+            byte neuronType = in.readByte();
+            neurons[i] = new NeuronGene(id,
+                    activationFunction < 0 ? null : ACTIVATION_FUNCTIONS[activationFunction],
+                    neuronType < 0 ? null : NEURON_TYPES[neuronType]);
+        }
+
+        int layerCount = in.readInt();
+        Map<Double, List<NeuronGene>> layers = new HashMap<>();
+        for (int i = 0; i < layerCount; i++) {
+            double layer = in.readDouble();
+            int size = in.readInt();
+            List<NeuronGene> layerNeurons = new ArrayList<>(size);
+            for (int j = 0; j < size; j++) {
+                layerNeurons.add(neurons[in.readInt()]);
+            }
+            layers.put(layer, layerNeurons);
+        }
+
+        int connectionCount = in.readInt();
+        List<ConnectionGene> connections = new ArrayList<>(connectionCount);
+        for (int i = 0; i < connectionCount; i++) {
+            NeuronGene source = neurons[in.readInt()];
+            NeuronGene target = neurons[in.readInt()];
+            double weight = in.readDouble();
+            boolean enabled = in.readBoolean();
+            connections.add(new ConnectionGene(source, target, weight, enabled, in.readInt()));
+        }
+
+        NetworkChromosome chromosome = new NetworkChromosome(layers, connections);
+        chromosome.setFitness(in.readDouble());
+        chromosome.setEvaluationCost(readCost(in));
+        chromosome.setPredictedCost(readCost(in));
+        return chromosome;
+    }
+
+    private static void writeCost(DataOutputStream out, EvaluationCost cost) throws IOException {
+        out.writeLong(cost.steps());
+        out.writeLong(cost.nanos());
+    }
+
+    private static EvaluationCost readCost(DataInputStream in) throws IOException {
+        return new EvaluationCost(in.readLong(), in.readLong());
+    }
+}
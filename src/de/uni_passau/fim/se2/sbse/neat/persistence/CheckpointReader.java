@@ -0,0 +1,68 @@
+package de.uni_passau.fim.se2.sbse.neat.persistence;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+/**
+ * Reads checkpoints written by a {@link CheckpointWriter}.
+ */
+public final class CheckpointReader {
+
+    private CheckpointReader() {
+        // private constructor to prevent instantiation.
+    }
+
+    /**
+     * Reads the last complete checkpoint of the given file.
+     * Trailing records that were not completely written are skipped.
+     *
+     * @param file The checkpoint file.
+     * @return The last complete checkpoint, or an empty optional if the file does not exist or contains no complete checkpoint.
+     * @throws IOException if the file cannot be read or the checkpoint cannot be decoded.
+     */
+    public static Optional<Checkpoint> readLast(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        byte[] last = null;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            while (true) {
+                byte[] payload = readRecord(in);
+                if (payload == null) {
+                    break;
+                }
+                last = payload;
+            }
+        }
+        return last == null ? Optional.empty() : Optional.of(CheckpointCodec.decode(last));
+    }
+
+    /**
+     * Reads the next record of the stream.
+     *
+     * @return The payload of the record, or {@code null} if the stream contains no further complete record.
+     */
+    private static byte[] readRecord(DataInputStream in) throws IOException {
+        try {
+            if (in.readInt() != CheckpointWriter.RECORD_MAGIC) {
+                return null;
+            }
+            int length = in.readInt();
+            if (length < 0) {
+                return null;
+            }
+            byte[] payload = new byte[length];
+            in.readFully(payload);
+            long expectedChecksum = in.readLong();
+
+            CRC32 checksum = new CRC32();
+            checksum.update(payload);
+            return checksum.getValue() == expectedChecksum ? payload : null;
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+}
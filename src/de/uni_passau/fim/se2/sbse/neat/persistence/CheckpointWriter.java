@@ -0,0 +1,139 @@
+package de.uni_passau.fim.se2.sbse.neat.persistence;
+
+import de.uni_passau.fim.se2.sbse.neat.events.CheckpointEvent;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Appends checkpoints to a file without blocking the caller.
+ * Checkpoints are encoded on the calling thread, which takes a consistent snapshot of the state,
+ * and written to the file by a dedicated background thread.
+ * <p>
+ * Every checkpoint is stored as a self-contained record protected by a checksum.
+ * A record that was only partially written, for instance because the process crashed, is ignored when reading the file.
+ *
+ * @see CheckpointReader
+ */
+public class CheckpointWriter implements AutoCloseable {
+
+    static final int RECORD_MAGIC = 0x4E454154;
+
+    /**
+     * The file the checkpoints are appended to.
+     */
+    private final Path file;
+
+    /**
+     * The run all checkpoints of the file belong to.
+     */
+    private final Checkpoint.Origin origin;
+
+    /**
+     * The background thread writing the encoded checkpoints.
+     */
+    private final ExecutorService executor;
+
+    private volatile IOException failure;
+
+    /**
+     * Creates a new writer appending checkpoints to the given file.
+     *
+     * @param file   The file the checkpoints are appended to, created if it does not exist.
+     * @param origin The run all checkpoints of the file belong to.
+     */
+    public CheckpointWriter(Path file, Checkpoint.Origin origin) {
+        this.file = requireNonNull(file);
+        this.origin = requireNonNull(origin);
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "checkpoint-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Encodes the given checkpoint and schedules it for being appended to the file.
+     *
+     * @param checkpoint The checkpoint to write.
+     * @throws IllegalArgumentException if the checkpoint belongs to another run than the file.
+     * @throws UncheckedIOException     if a previous checkpoint could not be written.
+     */
+    public void write(Checkpoint checkpoint) {
+        if (!origin.equals(checkpoint.origin())) {
+            throw new IllegalArgumentException("The checkpoint belongs to another run than " + file + ".");
+        }
+        if (failure != null) {
+            throw new UncheckedIOException("Could not write checkpoint to " + file + ".", failure);
+        }
+        byte[] payload = CheckpointCodec.encode(checkpoint);
+        executor.execute(() -> append(checkpoint.generation(), payload));
+    }
+
+    private void append(int generation, byte[] payload) {
+        CheckpointEvent event = new CheckpointEvent();
+        event.begin();
+        boolean succeeded = true;
+        CRC32 checksum = new CRC32();
+        checksum.update(payload);
+
+        ByteBuffer record = ByteBuffer.allocate(Integer.BYTES * 2 + payload.length + Long.BYTES);
+        record.putInt(RECORD_MAGIC).putInt(payload.length).put(payload).putLong(checksum.getValue());
+        record.flip();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            failure = e;
+            succeeded = false;
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.generation = generation;
+            event.file = file.toString();
+            event.bytes = record.capacity();
+            event.succeeded = succeeded;
+            event.commit();
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public Checkpoint.Origin getOrigin() {
+        return origin;
+    }
+
+    /**
+     * Waits until all scheduled checkpoints have been written.
+     *
+     * @throws UncheckedIOException if a checkpoint could not be written.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure != null) {
+            throw new UncheckedIOException("Could not write checkpoint to " + file + ".", failure);
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package de.uni_passau.fim.se2.sbse.neat.persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+import static de.uni_passau.fim.se2.sbse.neat.persistence.GenomeArchiveWriter.*;
+
+/**
+ * Scans an archive written by a {@link GenomeArchiveWriter} without loading it into memory.
+ * <p>
+ * All segments are mapped read-only, and the iterators step through the records of the mapped segments, such that
+ * the operating system only pages in the parts of the archive that are actually read. Queries for generations or
+ * genomes consult the sparse index first and only scan the blocks that may contain matching records.
+ * Records that are not covered by the index, e.g., because the writer was not closed, are indexed when the archive is
+ * opened.
+ */
+public final class GenomeArchiveReader implements Iterable<ArchivedGenome> {
+
+    /**
+     * A run of consecutive records within one segment.
+     */
+    private record Block(int segment, int start, int end, int minGeneration, int maxGeneration, long[] bloom) {
+    }
+
+    private final List<ByteBuffer> segments;
+    private final List<Block> blocks;
+
+    private GenomeArchiveReader(List<ByteBuffer> segments, List<Block> blocks) {
+        this.segments = segments;
+        this.blocks = blocks;
+    }
+
+    /**
+     * Opens the archive in the given directory.
+     *
+     * @param directory The directory of the archive.
+     * @return The reader of the archive, which is empty if the directory contains no segments.
+     * @throws IOException if a segment or the index cannot be read.
+     */
+    public static GenomeArchiveReader open(Path directory) throws IOException {
+        int segmentCount = segmentCount(directory);
+        List<ByteBuffer> segments = new ArrayList<>(segmentCount);
+        for (int number = 0; number < segmentCount; number++) {
+            try (FileChannel channel = FileChannel.open(segmentFile(directory, number), StandardOpenOption.READ)) {
+                MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                if (segment.limit() < SEGMENT_HEADER_BYTES || segment.getInt(0) != SEGMENT_MAGIC) {
+                    throw new IOException("Segment " + number + " is not part of a genome archive.");
+                }
+                if (segment.getInt(Integer.BYTES) != VERSION) {
+                    throw new IOException("Unsupported archive version " + segment.getInt(Integer.BYTES) + ".");
+                }
+                segments.add(segment);
+            }
+        }
+
+        List<Block> blocks = readIndex(directory.resolve(INDEX_FILE), segments);
+        int[] indexedEnd = new int[segments.size()];
+        Arrays.fill(indexedEnd, SEGMENT_HEADER_BYTES);
+        for (Block block : blocks) {
+            indexedEnd[block.segment()] = Math.max(indexedEnd[block.segment()], block.end());
+        }
+        for (int segment = 0; segment < segments.size(); segment++) {
+            indexTail(segments.get(segment), segment, indexedEnd[segment], blocks);
+        }
+        blocks.sort(Comparator.comparingInt(Block::segment).thenComparingInt(Block::start));
+        return new GenomeArchiveReader(segments, blocks);
+    }
+
+    /**
+     * Returns an iterator over all genomes in the order they were appended.
+     *
+     * @return The iterator over all genomes.
+     */
+    @Override
+    public Iterator<ArchivedGenome> iterator() {
+        return new RecordIterator(blocks, (generation, hash) -> true);
+    }
+
+    /**
+     * Returns an iterator over the genomes evaluated in the given range of generations.
+     *
+     * @param fromGeneration The first generation, inclusive.
+     * @param toGeneration   The last generation, inclusive.
+     * @return The iterator over the genomes of the generations, in the order they were appended.
+     */
+    public Iterator<ArchivedGenome> generations(int fromGeneration, int toGeneration) {
+        List<Block> candidates = blocks.stream()
+                .filter(block -> block.maxGeneration() >= fromGeneration && block.minGeneration() <= toGeneration)
+                .toList();
+        return new RecordIterator(candidates,
+                (generation, hash) -> generation >= fromGeneration && generation <= toGeneration);
+    }
+
+    /**
+     * Returns an iterator over all evaluations of the genome with the given content hash.
+     *
+     * @param hash The {@link de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome#contentHash() content hash}.
+     * @return The iterator over the genomes with the hash, in the order they were appended.
+     */
+    public Iterator<ArchivedGenome> withHash(long hash) {
+        List<Block> candidates = blocks.stream()
+                .filter(block -> GenomeArchiveWriter.mayContain(block.bloom(), hash))
+                .toList();
+        return new RecordIterator(candidates, (generation, recordHash) -> recordHash == hash);
+    }
+
+    /**
+     * Returns the latest generation of which genomes were archived.
+     *
+     * @return The highest generation of any record, or -1 if the archive is empty.
+     */
+    public int maxGeneration() {
+        int maxGeneration = -1;
+        for (Block block : blocks) {
+            maxGeneration = Math.max(maxGeneration, block.maxGeneration());
+        }
+        return maxGeneration;
+    }
+
+    /**
+     * Returns the number of segments of the archive.
+     */
+    static int segmentCount(Path directory) {
+        int count = 0;
+        while (Files.exists(segmentFile(directory, count))) {
+            count++;
+        }
+        return count;
+    }
+
+    static Path segmentFile(Path directory, int number) {
+        return directory.resolve(String.format(Locale.ROOT, "segment-%05d.bin", number));
+    }
+
+    /**
+     * Reads the complete entries of the index, ignoring a trailing entry that was only partially written.
+     */
+    private static List<Block> readIndex(Path file, List<ByteBuffer> segments) throws IOException {
+        List<Block> blocks = new ArrayList<>();
+        if (!Files.exists(file)) {
+            return blocks;
+        }
+        ByteBuffer index = ByteBuffer.wrap(Files.readAllBytes(file));
+        while (index.remaining() >= INDEX_ENTRY_BYTES) {
+            int segment = index.getInt();
+            int start = index.getInt();
+            int end = index.getInt();
+            index.getInt();
+            int minGeneration = index.getInt();
+            int maxGeneration = index.getInt();
+            long[] bloom = new long[BLOOM_WORDS];
+            for (int i = 0; i < bloom.length; i++) {
+                bloom[i] = index.getLong();
+            }
+            if (segment < 0 || segment >= segments.size() || start < SEGMENT_HEADER_BYTES || end < start
+                    || end > segments.get(segment).limit()) {
+                throw new IOException("The index of the genome archive is corrupt.");
+            }
+            blocks.add(new Block(segment, start, end, minGeneration, maxGeneration, bloom));
+        }
+        return blocks;
+    }
+
+    /**
+     * Indexes the records of the given segment from the given offset on in blocks of the writer's size.
+     */
+    private static void indexTail(ByteBuffer segment, int number, int offset, List<Block> blocks) {
+        int position = offset;
+        while (true) {
+            int start = position;
+            int count = 0;
+            int minGeneration = Integer.MAX_VALUE;
+            int maxGeneration = Integer.MIN_VALUE;
+            long[] bloom = new long[BLOOM_WORDS];
+            int length;
+            while (count < BLOCK_RECORDS && (length = recordLength(segment, position)) > 0) {
+                int generation = segment.getInt(position + Integer.BYTES);
+                minGeneration = Math.min(minGeneration, generation);
+                maxGeneration = Math.max(maxGeneration, generation);
+                addToBloom(bloom, segment.getLong(position + Integer.BYTES * 2));
+                position += RECORD_HEADER_BYTES + length;
+                count++;
+            }
+            if (count == 0) {
+                return;
+            }
+            blocks.add(new Block(number, start, position, minGeneration, maxGeneration, bloom));
+        }
+    }
+
+    /**
+     * Returns the length of the genome of the record at the given offset, or 0 if the segment ends there.
+     */
+    private static int recordLength(ByteBuffer segment, int offset) {
+        if (segment.limit() - offset < RECORD_HEADER_BYTES) {
+            return 0;
+        }
+        int length = segment.getInt(offset);
+        return length > 0 && length <= segment.limit() - offset - RECORD_HEADER_BYTES ? length : 0;
+    }
+
+    @FunctionalInterface
+    private interface RecordFilter {
+        boolean accept(int generation, long hash);
+    }
+
+    /**
+     * Steps through the records of the given blocks and returns the accepted ones.
+     * The headers of rejected records are read in place, only accepted records are materialised.
+     */
+    private final class RecordIterator implements Iterator<ArchivedGenome> {
+
+        private final List<Block> candidates;
+        private final RecordFilter filter;
+        private int block;
+        private int position;
+        private ArchivedGenome next;
+
+        RecordIterator(List<Block> candidates, RecordFilter filter) {
+            this.candidates = candidates;
+            this.filter = filter;
+            this.position = candidates.isEmpty() ? 0 : candidates.getFirst().start();
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public ArchivedGenome next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            ArchivedGenome current = next;
+            advance();
+            return current;
+        }
+
+        private void advance() {
+            next = null;
+            while (block < candidates.size()) {
+                Block current = candidates.get(block);
+                if (position >= current.end()) {
+                    block++;
+                    if (block < candidates.size()) {
+                        position = candidates.get(block).start();
+                    }
+                    continue;
+                }
+                ByteBuffer segment = segments.get(current.segment());
+                int length = segment.getInt(position);
+                int generation = segment.getInt(position + Integer.BYTES);
+                long hash = segment.getLong(position + Integer.BYTES * 2);
+                int genomeStart = position + RECORD_HEADER_BYTES;
+                position = genomeStart + length;
+                if (filter.accept(generation, hash)) {
+                    next = new ArchivedGenome(generation, hash, segment.slice(genomeStart, length));
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package de.uni_passau.fim.se2.sbse.neat.persistence;
+
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Appends evaluated genomes to an archive of memory-mapped segment files, such that arbitrarily many genomes can be
+ * kept without holding them on the heap.
+ * <p>
+ * An archive is a directory of numbered segments of a fixed size. Every segment starts with a short header, followed by
+ * records of the generation, the content hash and the {@link GenomeCodec encoded} genome. Segments are mapped into
+ * memory, so appending a record is a copy into the page cache, which the operating system writes back lazily. Unused
+ * space at the end of a segment is left zeroed, which marks its end; file systems supporting sparse files do not
+ * allocate it. A record is only visible to readers once its length, which is written last, is set.
+ * <p>
+ * Besides the segments, a sparse index describes every block of {@value #BLOCK_RECORDS} consecutive records by its
+ * position, its range of generations and a Bloom filter of its hashes. Readers use it to skip blocks that cannot
+ * contain the requested generations or genomes. Reopening an archive appends new segments after the existing ones;
+ * a run resumed from a checkpoint replays generations that are already archived, which can be skipped with
+ * {@link #skipGenerationsThrough(int)}. An archive that must not be continued is removed with {@link #delete(Path)}.
+ *
+ * @see GenomeArchiveReader
+ */
+public class GenomeArchiveWriter implements AutoCloseable {
+
+    static final int SEGMENT_MAGIC = 0x4E415243;
+    static final int VERSION = 1;
+    static final int SEGMENT_HEADER_BYTES = Integer.BYTES * 2;
+    static final int RECORD_HEADER_BYTES = Integer.BYTES * 2 + Long.BYTES;
+    static final int BLOCK_RECORDS = 256;
+    static final int BLOOM_WORDS = 32;
+    static final int BLOOM_HASHES = 4;
+    static final int INDEX_ENTRY_BYTES = Integer.BYTES * 6 + Long.BYTES * BLOOM_WORDS;
+    static final String INDEX_FILE = "index";
+
+    /**
+     * The default size of a segment.
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 64 << 20;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final GenomeCodec.WeightPrecision precision;
+    private final FileChannel index;
+    private int segment;
+    private MappedByteBuffer buffer;
+    private volatile int skippedGenerations = -1;
+
+    // The block of records that is not yet described by the index
+    private int blockStart;
+    private int blockCount;
+    private int blockMinGeneration;
+    private int blockMaxGeneration;
+    private final long[] blockBloom = new long[BLOOM_WORDS];
+
+    /**
+     * Opens the archive in the given directory for appending, creating it if it does not exist.
+     *
+     * @param directory   The directory of the archive.
+     * @param segmentSize The size of every segment in bytes, which limits the size of a single genome.
+     * @param precision   The precision in which the weights of the genomes are stored.
+     * @throws IOException if the archive cannot be created.
+     */
+    public GenomeArchiveWriter(Path directory, int segmentSize, GenomeCodec.WeightPrecision precision)
+            throws IOException {
+        if (segmentSize <= SEGMENT_HEADER_BYTES + RECORD_HEADER_BYTES) {
+            throw new IllegalArgumentException("The segment size is too small.");
+        }
+        this.directory = requireNonNull(directory);
+        this.segmentSize = segmentSize;
+        this.precision = requireNonNull(precision);
+        Files.createDirectories(directory);
+        index = FileChannel.open(directory.resolve(INDEX_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        openSegment(GenomeArchiveReader.segmentCount(directory));
+    }
+
+    /**
+     * Deletes the segments and the index of the archive in the given directory, if there is one.
+     *
+     * @param directory The directory of the archive.
+     * @throws IOException if a file of the archive cannot be deleted.
+     */
+    public static void delete(Path directory) throws IOException {
+        int segmentCount = GenomeArchiveReader.segmentCount(directory);
+        for (int number = 0; number < segmentCount; number++) {
+            Files.delete(GenomeArchiveReader.segmentFile(directory, number));
+        }
+        Files.deleteIfExists(directory.resolve(INDEX_FILE));
+    }
+
+    /**
+     * Appends the given evaluated genome, unless its generation is skipped.
+     * May be called concurrently, the genome is encoded on the calling thread.
+     *
+     * @param generation The generation in which the genome was evaluated.
+     * @param chromosome The evaluated genome.
+     * @throws IllegalArgumentException if the encoded genome does not fit into a segment.
+     * @throws UncheckedIOException     if a new segment cannot be created.
+     */
+    public void append(int generation, NetworkChromosome chromosome) {
+        if (generation <= skippedGenerations) {
+            return;
+        }
+        byte[] genome = GenomeCodec.encode(chromosome, precision);
+        long hash = chromosome.contentHash();
+        int length = RECORD_HEADER_BYTES + genome.length;
+        if (length > segmentSize - SEGMENT_HEADER_BYTES) {
+            throw new IllegalArgumentException("The genome of " + genome.length + " bytes does not fit into a segment.");
+        }
+        synchronized (this) {
+            try {
+                if (buffer.remaining() < length) {
+                    writeBlock();
+                    openSegment(segment + 1);
+                }
+                int offset = buffer.position();
+                buffer.putInt(offset + Integer.BYTES, generation);
+                buffer.putLong(offset + Integer.BYTES * 2, hash);
+                buffer.put(offset + RECORD_HEADER_BYTES, genome);
+                buffer.putInt(offset, genome.length);
+                buffer.position(offset + length);
+
+                if (blockCount == 0) {
+                    blockStart = offset;
+                    blockMinGeneration = generation;
+                    blockMaxGeneration = generation;
+                }
+                blockCount++;
+                blockMinGeneration = Math.min(blockMinGeneration, generation);
+                blockMaxGeneration = Math.max(blockMaxGeneration, generation);
+                addToBloom(blockBloom, hash);
+                if (blockCount == BLOCK_RECORDS) {
+                    writeBlock();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not append to the genome archive " + directory + ".", e);
+            }
+        }
+    }
+
+    /**
+     * Ignores all genomes appended for the given generation or earlier ones, e.g., because a resumed run replays
+     * generations whose genomes were archived before it was interrupted.
+     *
+     * @param generation The last generation to skip, e.g., {@link GenomeArchiveReader#maxGeneration()}.
+     */
+    public void skipGenerationsThrough(int generation) {
+        skippedGenerations = generation;
+    }
+
+    /**
+     * Indexes the last records and writes all segments back to the file system.
+     *
+     * @throws IOException if the index cannot be written.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            writeBlock();
+            buffer.force();
+        } finally {
+            index.close();
+        }
+    }
+
+    /**
+     * Maps a new segment with the given number and writes its header.
+     */
+    private void openSegment(int number) throws IOException {
+        try (FileChannel channel = FileChannel.open(GenomeArchiveReader.segmentFile(directory, number),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            mapped.putInt(SEGMENT_MAGIC).putInt(VERSION);
+            if (buffer != null) {
+                buffer.force();
+            }
+            buffer = mapped;
+            segment = number;
+        }
+    }
+
+    /**
+     * Appends the entry of the current block to the index, if the block contains any records.
+     */
+    private void writeBlock() throws IOException {
+        if (blockCount == 0) {
+            return;
+        }
+        ByteBuffer entry = ByteBuffer.allocate(INDEX_ENTRY_BYTES);
+        entry.putInt(segment).putInt(blockStart).putInt(buffer.position()).putInt(blockCount)
+                .putInt(blockMinGeneration).putInt(blockMaxGeneration);
+        for (long word : blockBloom) {
+            entry.putLong(word);
+        }
+        entry.flip();
+        while (entry.hasRemaining()) {
+            index.write(entry);
+        }
+        blockCount = 0;
+        Arrays.fill(blockBloom, 0);
+    }
+
+    /**
+     * Sets the bits of the given hash in a Bloom filter. The content hashes are well mixed, hence the bit positions
+     * are derived from the two halves of the hash by double hashing.
+     */
+    static void addToBloom(long[] bloom, long hash) {
+        int first = (int) hash;
+        int second = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            int bit = (first + i * second) & (BLOOM_WORDS * Long.SIZE - 1);
+            bloom[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    /**
+     * Returns whether the given hash may have been added to the Bloom filter.
+     */
+    static boolean mayContain(long[] bloom, long hash) {
+        int first = (int) hash;
+        int second = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            int bit = (first + i * second) & (BLOOM_WORDS * Long.SIZE - 1);
+            if ((bloom[bit >>> 6] & 1L << bit) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,416 @@
+package de.uni_passau.fim.se2.sbse.neat.persistence;
+
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.*;
+import de.uni_passau.fim.se2.sbse.neat.phenotype.CompiledNetwork;
+import de.uni_passau.fim.se2.sbse.neat.phenotype.NetworkCompiler;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.*;
+
+/**
+ * Encodes single network chromosomes into a compact, versioned binary format, e.g., to export the champion of a run.
+ * <p>
+ * A genome consists of a header, a table of its distinct neurons, its layers and its connections.
+ * Neuron ids and innovation numbers are stored as variable-length deltas to their predecessor,
+ * neurons are referred to by their index in the neuron table and weights are stored with the requested precision.
+ * Every distinct layer is stored once in ascending order, followed by the neurons of the layer, hence the layer of a
+ * neuron is given by the rank of its group. The fixed input and output layers are only flagged, whereas hidden layers
+ * lie at random positions between them and are stored as plain doubles, since deltas of their bit patterns would be
+ * just as long.
+ * The layout mirrors the order in which a network is compiled, such that a genome can be decoded directly into a
+ * {@link CompiledNetwork} without creating the chromosome first.
+ */
+public final class GenomeCodec {
+
+    static final int MAGIC = 0x4E47454E;
+    static final int VERSION = 2;
+
+    private static final int INPUT_LAYER_FLAG = 1;
+    private static final int OUTPUT_LAYER_FLAG = 2;
+
+    private static final ActivationFunction[] ACTIVATION_FUNCTIONS = ActivationFunction.values();
+    private static final NeuronType[] NEURON_TYPES = NeuronType.values();
+
+    /**
+     * The precision in which connection weights are stored.
+     */
+    public enum WeightPrecision {
+        /**
+         * Stores weights as 64-bit doubles, which preserves the network exactly.
+         */
+        DOUBLE,
+        /**
+         * Stores weights as 16-bit half-precision floats with a relative error of at most 2<sup>-11</sup>.
+         */
+        HALF
+    }
+
+    private GenomeCodec() {
+        // private constructor to prevent instantiation.
+    }
+
+    /**
+     * Encodes the given chromosome, including its fitness.
+     *
+     * @param chromosome The chromosome to encode.
+     * @param precision  The precision in which the weights are stored.
+     * @return The encoded genome.
+     */
+    public static byte[] encode(NetworkChromosome chromosome, WeightPrecision precision) {
+        Map<Integer, Integer> slots = new HashMap<>();
+        List<NeuronGene> neurons = new ArrayList<>();
+        List<Double> sortedLayers = new ArrayList<>(chromosome.getLayers().keySet());
+        Collections.sort(sortedLayers);
+        for (double layer : sortedLayers) {
+            for (NeuronGene neuron : chromosome.getLayers().get(layer)) {
+                addNeuron(slots, neurons, neuron);
+            }
+        }
+        for (ConnectionGene connection : chromosome.getConnections()) {
+            addNeuron(slots, neurons, connection.getSourceNeuron());
+            addNeuron(slots, neurons, connection.getTargetNeuron());
+        }
+
+        Output out = new Output(32 + neurons.size() * 3 + chromosome.getConnections().size() * 12);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeByte(precision.ordinal());
+        out.writeLong(Double.doubleToRawLongBits(chromosome.getFitness()));
+
+        out.writeVarint(neurons.size());
+        int previousId = 0;
+        for (NeuronGene neuron : neurons) {
+            out.writeVarint(zigzag(neuron.getId() - previousId));
+            out.writeByte(ordinal(neuron.getActivationFunction()) + 1 | (ordinal(neuron.getNeuronType()) + 1) << 4);
+            previousId = neuron.getId();
+        }
+
+        out.writeVarint(sortedLayers.size());
+        int fixedLayers = fixedLayers(sortedLayers);
+        out.writeByte(fixedLayers);
+        int expectedSlot = 0;
+        for (int i = 0; i < sortedLayers.size(); i++) {
+            double layer = sortedLayers.get(i);
+            if (!isFixedLayer(fixedLayers, i, sortedLayers.size())) {
+                out.writeLong(Double.doubleToLongBits(layer));
+            }
+            List<NeuronGene> layerNeurons = chromosome.getLayers().get(layer);
+            out.writeVarint(layerNeurons.size());
+            for (NeuronGene neuron : layerNeurons) {
+                int slot = slots.get(neuron.getId());
+                out.writeVarint(zigzag(slot - expectedSlot));
+                expectedSlot = slot + 1;
+            }
+        }
+
+        out.writeVarint(chromosome.getConnections().size());
+        int previousInnovation = 0;
+        for (ConnectionGene connection : chromosome.getConnections()) {
+            out.writeVarint(zigzag(connection.getInnovationNumber() - previousInnovation));
+            previousInnovation = connection.getInnovationNumber();
+            out.writeVarint(slots.get(connection.getSourceNeuron().getId()));
+            out.writeVarint((long) slots.get(connection.getTargetNeuron().getId()) << 1 | (connection.getEnabled() ? 1 : 0));
+            switch (precision) {
+                case DOUBLE -> out.writeLong(Double.doubleToRawLongBits(connection.getWeight()));
+                case HALF -> out.writeShort(Float.floatToFloat16((float) connection.getWeight()));
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a genome into a network chromosome.
+     *
+     * @param data The encoded genome.
+     * @return The decoded chromosome.
+     * @throws IOException if the data is not a genome of a supported version.
+     */
+    public static NetworkChromosome decode(ByteBuffer data) throws IOException {
+        try {
+            Header header = readHeader(data);
+
+            NeuronGene[] neurons = new NeuronGene[readCount(data)];
+            int id = 0;
+            for (int slot = 0; slot < neurons.length; slot++) {
+                id += unzigzag(readVarint(data));
+                int kind = data.get();
+                neurons[slot] = new NeuronGene(id, activationFunction(kind), neuronType(kind));
+            }
+
+            int layerCount = readCount(data);
+            int fixedLayers = data.get();
+            Map<Double, List<NeuronGene>> layers = new HashMap<>();
+            int expectedSlot = 0;
+            for (int i = 0; i < layerCount; i++) {
+                double layer = readLayer(data, fixedLayers, i, layerCount);
+                int size = readCount(data);
+                List<NeuronGene> neuronsOfLayer = new ArrayList<>(size);
+                for (int j = 0; j < size; j++) {
+                    int slot = expectedSlot + unzigzag(readVarint(data));
+                    neuronsOfLayer.add(neurons[slot]);
+                    expectedSlot = slot + 1;
+                }
+                layers.put(layer, neuronsOfLayer);
+            }
+
+            int connectionCount = readCount(data);
+            List<ConnectionGene> connections = new ArrayList<>(connectionCount);
+            int innovation = 0;
+            for (int i = 0; i < connectionCount; i++) {
+                innovation += unzigzag(readVarint(data));
+                NeuronGene source = neurons[(int) readVarint(data)];
+                long target = readVarint(data);
+                double weight = readWeight(data, header.precision());
+                connections.add(new ConnectionGene(source, neurons[(int) (target >>> 1)], weight, (target & 1) == 1, innovation));
+            }
+
+            NetworkChromosome chromosome = new NetworkChromosome(layers, connections);
+            chromosome.setFitness(header.fitness());
+            return chromosome;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException("The genome is truncated or corrupt.", e);
+        }
+    }
+
+    /**
+     * Decodes a genome directly into a compiled network without creating the chromosome.
+     *
+     * @param data The encoded genome.
+     * @return The compiled network, whose fitness is the fitness of the encoded chromosome.
+     * @throws IOException if the data is not a genome of a supported version.
+     */
+    public static CompiledNetwork decodeCompiled(ByteBuffer data) throws IOException {
+        try {
+            Header header = readHeader(data);
+
+            ActivationFunction[] activations = new ActivationFunction[readCount(data)];
+            for (int slot = 0; slot < activations.length; slot++) {
+                readVarint(data);
+                activations[slot] = activationFunction(data.get());
+            }
+
+            NetworkCompiler.Builder builder = new NetworkCompiler.Builder(activations.length);
+            int layerCount = readCount(data);
+            int fixedLayers = data.get();
+            int expectedSlot = 0;
+            for (int i = 0; i < layerCount; i++) {
+                double layer = readLayer(data, fixedLayers, i, layerCount);
+                int size = readCount(data);
+                for (int j = 0; j < size; j++) {
+                    int slot = expectedSlot + unzigzag(readVarint(data));
+                    expectedSlot = slot + 1;
+                    if (layer == NetworkChromosome.INPUT_LAYER) {
+                        builder.input(slot);
+                    } else {
+                        builder.neuron(slot, activations[slot]);
+                    }
+                    if (layer == NetworkChromosome.OUTPUT_LAYER) {
+                        builder.output(slot);
+                    }
+                }
+            }
+
+            int connectionCount = readCount(data);
+            for (int i = 0; i < connectionCount; i++) {
+                readVarint(data);
+                int source = (int) readVarint(data);
+                long target = readVarint(data);
+                builder.connection(source, (int) (target >>> 1), readWeight(data, header.precision()), (target & 1) == 1);
+            }
+
+            CompiledNetwork network = builder.build();
+            network.setFitness(header.fitness());
+            return network;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException("The genome is truncated or corrupt.", e);
+        }
+    }
+
+    public static NetworkChromosome decode(byte[] data) throws IOException {
+        return decode(ByteBuffer.wrap(data));
+    }
+
+    public static CompiledNetwork decodeCompiled(byte[] data) throws IOException {
+        return decodeCompiled(ByteBuffer.wrap(data));
+    }
+
+    /**
+     * Reads the fitness of an encoded genome without decoding the network.
+     *
+     * @param data The encoded genome, whose position is not changed.
+     * @return The fitness stored with the genome.
+     * @throws IOException if the data is not a genome of a supported version.
+     */
+    static double fitness(ByteBuffer data) throws IOException {
+        try {
+            return readHeader(data.duplicate()).fitness();
+        } catch (BufferUnderflowException e) {
+            throw new IOException("The genome is truncated or corrupt.", e);
+        }
+    }
+
+    private record Header(WeightPrecision precision, double fitness) {
+    }
+
+    private static Header readHeader(ByteBuffer data) throws IOException {
+        if (data.getInt() != MAGIC) {
+            throw new IOException("The data is not an encoded genome.");
+        }
+        int version = data.get();
+        if (version != VERSION) {
+            throw new IOException("Unsupported genome version " + version + ".");
+        }
+        int precision = data.get();
+        if (precision < 0 || precision >= WeightPrecision.values().length) {
+            throw new IOException("Unsupported weight precision " + precision + ".");
+        }
+        return new Header(WeightPrecision.values()[precision], Double.longBitsToDouble(data.getLong()));
+    }
+
+    /**
+     * Returns the flags of the fixed layers the given sorted layers start and end with.
+     */
+    private static int fixedLayers(List<Double> sortedLayers) {
+        int flags = 0;
+        if (!sortedLayers.isEmpty() && Double.compare(sortedLayers.getFirst(), NetworkChromosome.INPUT_LAYER) == 0) {
+            flags |= INPUT_LAYER_FLAG;
+        }
+        if (!sortedLayers.isEmpty() && Double.compare(sortedLayers.getLast(), NetworkChromosome.OUTPUT_LAYER) == 0) {
+            flags |= OUTPUT_LAYER_FLAG;
+        }
+        return flags;
+    }
+
+    /**
+     * Returns whether the layer with the given rank is a flagged fixed layer, whose value is not stored.
+     */
+    private static boolean isFixedLayer(int fixedLayers, int rank, int layerCount) {
+        return rank == 0 && (fixedLayers & INPUT_LAYER_FLAG) != 0
+                || rank == layerCount - 1 && (fixedLayers & OUTPUT_LAYER_FLAG) != 0;
+    }
+
+    /**
+     * Reads the layer with the given rank, whose value is only stored if it is not a flagged fixed layer.
+     */
+    private static double readLayer(ByteBuffer data, int fixedLayers, int rank, int layerCount) {
+        if (rank == 0 && (fixedLayers & INPUT_LAYER_FLAG) != 0) {
+            return NetworkChromosome.INPUT_LAYER;
+        }
+        if (rank == layerCount - 1 && (fixedLayers & OUTPUT_LAYER_FLAG) != 0) {
+            return NetworkChromosome.OUTPUT_LAYER;
+        }
+        return data.getDouble();
+    }
+
+    private static double readWeight(ByteBuffer data, WeightPrecision precision) {
+        return switch (precision) {
+            case DOUBLE -> Double.longBitsToDouble(data.getLong());
+            case HALF -> Float.float16ToFloat(data.getShort());
+        };
+    }
+
+    private static void addNeuron(Map<Integer, Integer> slots, List<NeuronGene> neurons, NeuronGene neuron) {
+        if (!slots.containsKey(neuron.getId())) {
+            slots.put(neuron.getId(), neurons.size());
+            neurons.add(neuron);
+        }
+    }
+
+    private static int ordinal(Enum<?> constant) {
+        return constant == null ? -1 : constant.ordinal();
+    }
+
+    private static ActivationFunction activationFunction(int kind) {
+        int ordinal = (kind & 0x0F) - 1;
+        return ordinal < 0 ? null : ACTIVATION_FUNCTIONS[ordinal];
+    }
+
+    private static NeuronType neuronType(int kind) {
+        int ordinal = (kind >>> 4 & 0x0F) - 1;
+        return ordinal < 0 ? null : NEURON_TYPES[ordinal];
+    }
+
+    private static int readCount(ByteBuffer data) throws IOException {
+        long count = readVarint(data);
+        if (count > data.remaining()) {
+            throw new IOException("The genome is truncated or corrupt.");
+        }
+        return (int) count;
+    }
+
+    private static long zigzag(long value) {
+        return value << 1 ^ value >> 63;
+    }
+
+    private static int unzigzag(long value) {
+        return (int) unzigzagLong(value);
+    }
+
+    private static long unzigzagLong(long value) {
+        return value >>> 1 ^ -(value & 1);
+    }
+
+    private static long readVarint(ByteBuffer data) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            byte b = data.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable-length integer.");
+    }
+
+    /**
+     * A growable big-endian byte buffer.
+     */
+    private static final class Output {
+        private byte[] bytes;
+        private int size;
+
+        private Output(int capacity) {
+            this.bytes = new byte[capacity];
+        }
+
+        private void ensure(int additional) {
+            if (size + additional > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + additional));
+            }
+        }
+
+        private void writeByte(int value) {
+            ensure(1);
+            bytes[size++] = (byte) value;
+        }
+
+        private void writeShort(int value) {
+            writeByte(value >>> 8);
+            writeByte(value);
+        }
+
+        private void writeInt(int value) {
+            writeShort(value >>> 16);
+            writeShort(value);
+        }
+
+        private void writeLong(long value) {
+            writeInt((int) (value >>> 32));
+            writeInt((int) value);
+        }
+
+        private void writeVarint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                writeByte((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            writeByte((int) value);
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package de.uni_passau.fim.se2.sbse.neat.phenotype;
+
+/**
+ * A phenotype that stores its fitness, such that subclasses only have to provide the activation of the network.
+ * Generated classes extend it as well, hence it must remain public.
+ */
+public abstract class AbstractPhenotype implements Phenotype {
+
+    private double fitness;
+
+    @Override
+    public void setFitness(double fitness) {
+        this.fitness = fitness;
+    }
+
+    @Override
+    public double getFitness() {
+        return fitness;
+    }
+}
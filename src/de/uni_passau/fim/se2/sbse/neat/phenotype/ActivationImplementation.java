@@ -0,0 +1,149 @@
+package de.uni_passau.fim.se2.sbse.neat.phenotype;
+
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.ActivationFunction;
+
+/**
+ * The implementations of the activation functions that compiled networks can be evaluated with.
+ * The approximations trade accuracy for speed: every implementation documents the maximum absolute error
+ * of {@link #tanh(double)} and {@link #sigmoid(double)} over all finite inputs, see {@link #maxError()}.
+ * The sigmoid function is computed as {@code 0.5 + 0.5 * tanh(x / 2)} by the approximations,
+ * hence its error is at most half the error of the hyperbolic tangent.
+ * <p>
+ * Only {@link #EXACT} produces outputs that are bit-for-bit identical to
+ * {@link de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome#getOutput},
+ * as long as no linear chains were folded during compilation.
+ */
+public enum ActivationImplementation {
+
+    /**
+     * Computes the activation functions with {@link Math#tanh} and {@link Math#exp}, exactly as
+     * {@link ActivationFunction#apply(double)}.
+     */
+    EXACT(0.0) {
+        @Override
+        public double tanh(double input) {
+            return Math.tanh(input);
+        }
+
+        @Override
+        public double sigmoid(double input) {
+            return 1 / (1 + Math.exp(-input));
+        }
+    },
+
+    /**
+     * Approximates the hyperbolic tangent by truncating Lambert's continued fraction to a rational function of
+     * degree 7 over 8, which is replaced by ±1 beyond ±5.65.
+     * The maximum absolute error is {@code 3e-5}, and each activation takes a single division
+     * instead of a call into the math library.
+     */
+    RATIONAL(3e-5) {
+        /**
+         * The input beyond which the approximation is less accurate than ±1.
+         */
+        private static final double CLAMP = 5.65;
+
+        @Override
+        public double tanh(double input) {
+            if (input >= CLAMP) {
+                return 1.0;
+            } else if (input <= -CLAMP) {
+                return -1.0;
+            }
+            double square = input * input;
+            double numerator = input * (2027025 + square * (270270 + square * (6930 + square * 36)));
+            double denominator = 2027025 + square * (945945 + square * (51975 + square * (630 + square)));
+            return Math.clamp(numerator / denominator, -1.0, 1.0);
+        }
+    },
+
+    /**
+     * Interpolates the hyperbolic tangent linearly between 2049 equidistant samples of the interval [0, 8],
+     * which is replaced by ±1 beyond ±8. The table takes 16 KiB and fits into the first level cache.
+     * The maximum absolute error is {@code 2e-6}.
+     */
+    TABLE(2e-6) {
+        @Override
+        public double tanh(double input) {
+            double magnitude = Math.abs(input);
+            if (magnitude >= Table.RANGE) {
+                return Math.copySign(1.0, input);
+            } else if (Double.isNaN(magnitude)) {
+                return input;
+            }
+            double position = magnitude * Table.SCALE;
+            int index = (int) position;
+            double lower = Table.TANH[index];
+            double result = lower + (Table.TANH[index + 1] - lower) * (position - index);
+            return Math.copySign(result, input);
+        }
+    };
+
+    /**
+     * The maximum absolute error of the approximation.
+     */
+    private final double maxError;
+
+    ActivationImplementation(double maxError) {
+        this.maxError = maxError;
+    }
+
+    /**
+     * Returns the maximum absolute error of {@link #tanh(double)} and {@link #sigmoid(double)} over all finite inputs.
+     *
+     * @return The maximum absolute error, zero for the exact implementation.
+     */
+    public double maxError() {
+        return maxError;
+    }
+
+    /**
+     * Computes the hyperbolic tangent of the given input.
+     *
+     * @param input The weighted sum of the inputs of a neuron.
+     * @return The hyperbolic tangent of the input.
+     */
+    public abstract double tanh(double input);
+
+    /**
+     * Computes the logistic sigmoid function of the given input.
+     *
+     * @param input The weighted sum of the inputs of a neuron.
+     * @return The sigmoid of the input.
+     */
+    public double sigmoid(double input) {
+        return 0.5 + 0.5 * tanh(0.5 * input);
+    }
+
+    /**
+     * Applies the given activation function to the given input.
+     *
+     * @param activation The activation function.
+     * @param input      The weighted sum of the inputs of a neuron.
+     * @return The output of the neuron.
+     */
+    public double apply(ActivationFunction activation, double input) {
+        return switch (activation) {
+            case SIGMOID -> sigmoid(input);
+            case TANH -> tanh(input);
+            case NONE -> input;
+        };
+    }
+
+    /**
+     * Holds the samples of {@link #TABLE}, which are only computed if the table is used.
+     */
+    private static final class Table {
+
+        private static final double RANGE = 8.0;
+        private static final int INTERVALS = 2048;
+        private static final double SCALE = INTERVALS / RANGE;
+        private static final double[] TANH = new double[INTERVALS + 1];
+
+        static {
+            for (int i = 0; i <= INTERVALS; i++) {
+                TANH[i] = Math.tanh(i / SCALE);
+            }
+        }
+    }
+}
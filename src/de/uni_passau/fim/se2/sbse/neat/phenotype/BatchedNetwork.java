@@ -0,0 +1,237 @@
+package de.uni_passau.fim.se2.sbse.neat.phenotype;
+
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.ActivationFunction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Activates a batch of networks sharing one {@link EvaluationPlan} in a single pass.
+ * Every network of the batch occupies a lane, and all matrices store the lanes of one row contiguously,
+ * i.e., the weight of connection {@code c} in lane {@code l} is stored at {@code c * capacity + l}.
+ * The innermost loops therefore run over consecutive lanes with the same operation,
+ * which the JIT compiler translates into SIMD instructions.
+ * <p>
+ * Each lane performs exactly the same floating point operations in the same order as {@link CompiledNetwork},
+ * hence its outputs are bit-for-bit identical to those of the compiled network it was created from.
+ * Like those, they only match the chromosome of the network exactly unless linear chains were folded.
+ * Lanes can be reordered with {@link #swapLanes(int, int)}, which allows callers to move finished networks
+ * to the end of the batch and only activate the lanes that are still running.
+ * <p>
+ * Like compiled networks, a batch must not be activated by several threads at once.
+ */
+public final class BatchedNetwork {
+
+    private final EvaluationPlan plan;
+
+    /**
+     * The number of lanes of the batch.
+     */
+    private final int capacity;
+
+    /**
+     * The weights of all lanes, stored connection by connection.
+     */
+    private final double[] weights;
+
+    /**
+     * The outputs of all neurons in all lanes during the current activation, stored slot by slot.
+     */
+    private final double[] values;
+
+    /**
+     * The weighted sum of the neuron that is currently activated in every lane.
+     */
+    private final double[] sums;
+
+    /**
+     * Creates a batch of the given networks, one lane per network in the given order.
+     *
+     * @param plan    The plan shared by all networks.
+     * @param weights The weight vector of every network, see {@link EvaluationPlan#extractWeights}.
+     * @throws IllegalArgumentException if there are no networks or a weight vector does not match the plan.
+     */
+    public BatchedNetwork(EvaluationPlan plan, List<double[]> weights) {
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("A batch requires at least one network.");
+        }
+        this.plan = plan;
+        this.capacity = weights.size();
+        int connections = plan.connectionCount();
+        this.weights = new double[connections * capacity];
+        for (int lane = 0; lane < capacity; lane++) {
+            double[] laneWeights = weights.get(lane);
+            if (laneWeights.length != connections) {
+                throw new IllegalArgumentException("Expected " + connections + " weights but got " + laneWeights.length + ".");
+            }
+            for (int connection = 0; connection < connections; connection++) {
+                this.weights[connection * capacity + lane] = laneWeights[connection];
+            }
+        }
+        this.values = new double[plan.slotCount() * capacity];
+        this.sums = new double[capacity];
+    }
+
+    /**
+     * Creates a batch of the given compiled networks, one lane per network in the given order.
+     *
+     * @param networks The networks, which must all share the same plan.
+     * @return The batch of the networks.
+     * @throws IllegalArgumentException if there are no networks or the networks do not share the same plan.
+     */
+    public static BatchedNetwork of(List<CompiledNetwork> networks) {
+        if (networks.isEmpty()) {
+            throw new IllegalArgumentException("A batch requires at least one network.");
+        }
+        EvaluationPlan plan = networks.getFirst().getPlan();
+        List<double[]> weights = new ArrayList<>(networks.size());
+        for (CompiledNetwork network : networks) {
+            if (network.getPlan() != plan) {
+                throw new IllegalArgumentException("All networks of a batch must share the same plan.");
+            }
+            weights.add(network.weights());
+        }
+        return new BatchedNetwork(plan, weights);
+    }
+
+    /**
+     * Creates a batch in which every lane holds the given network, such that a batch of inputs for the same network
+     * can be evaluated in one pass.
+     *
+     * @param network The network of all lanes.
+     * @param lanes   The number of lanes.
+     * @return The batch of copies of the network.
+     * @throws IllegalArgumentException if the number of lanes is not positive.
+     */
+    public static BatchedNetwork replicate(CompiledNetwork network, int lanes) {
+        if (lanes < 1) {
+            throw new IllegalArgumentException("A batch requires at least one network.");
+        }
+        return new BatchedNetwork(network.getPlan(), Collections.nCopies(lanes, network.weights()));
+    }
+
+    public EvaluationPlan getPlan() {
+        return plan;
+    }
+
+    /**
+     * Returns the number of networks in the batch.
+     *
+     * @return The number of lanes.
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    public int inputSize() {
+        return plan.inputSize();
+    }
+
+    public int outputSize() {
+        return plan.outputSize();
+    }
+
+    /**
+     * Activates all lanes of the batch.
+     *
+     * @param inputs  The input matrix, input {@code i} of lane {@code l} is stored at {@code i * capacity() + l}.
+     * @param outputs The output matrix, output {@code o} of lane {@code l} is stored at {@code o * capacity() + l}.
+     * @see #activate(double[], double[], int)
+     */
+    public void activate(double[] inputs, double[] outputs) {
+        activate(inputs, outputs, capacity);
+    }
+
+    /**
+     * Activates the first {@code lanes} lanes of the batch, the other lanes are neither read nor written.
+     * The number of inputs is derived from the length of the input matrix, which may provide fewer inputs
+     * than {@link #inputSize()}, just like for {@link CompiledNetwork#activate(double[], double[])}.
+     *
+     * @param inputs  The input matrix, input {@code i} of lane {@code l} is stored at {@code i * capacity() + l}.
+     * @param outputs The output matrix, output {@code o} of lane {@code l} is stored at {@code o * capacity() + l}.
+     * @param lanes   The number of lanes to activate.
+     * @throws IllegalArgumentException if the input matrix does not consist of complete rows.
+     */
+    public void activate(double[] inputs, double[] outputs, int lanes) {
+        if (inputs.length % capacity != 0) {
+            throw new IllegalArgumentException("The input matrix must consist of rows of " + capacity + " lanes.");
+        }
+        int stride = capacity;
+        double[] values = this.values;
+        double[] weights = this.weights;
+        double[] sums = this.sums;
+        int[] inputSlots = plan.inputSlots;
+        int[] neuronSlots = plan.neuronSlots;
+        int[] connectionStarts = plan.connectionStarts;
+        int[] sourceSlots = plan.sourceSlots;
+        ActivationFunction[] activations = plan.activations;
+        int[] outputSlots = plan.outputSlots;
+
+        Arrays.fill(values, 0.0);
+        int inputCount = inputs.length / stride;
+        for (int i = 0; i < inputCount; i++) {
+            System.arraycopy(inputs, i * stride, values, inputSlots[i] * stride, lanes);
+        }
+        Arrays.fill(values, inputSlots[inputCount] * stride, inputSlots[inputCount] * stride + lanes, 1.0);
+
+        for (int neuron = 0; neuron < neuronSlots.length; neuron++) {
+            Arrays.fill(sums, 0, lanes, 0.0);
+            for (int connection = connectionStarts[neuron]; connection < connectionStarts[neuron + 1]; connection++) {
+                int source = sourceSlots[connection] * stride;
+                int weight = connection * stride;
+                for (int lane = 0; lane < lanes; lane++) {
+                    sums[lane] += values[source + lane] * weights[weight + lane];
+                }
+            }
+            int target = neuronSlots[neuron] * stride;
+            activate(plan.implementation, activations[neuron], sums, values, target, lanes);
+        }
+
+        for (int i = 0; i < outputSlots.length; i++) {
+            System.arraycopy(values, outputSlots[i] * stride, outputs, i * stride, lanes);
+        }
+    }
+
+    /**
+     * Applies the activation function to the sums of the given lanes and stores the results at the given offset.
+     * The switch is hoisted out of the loop over the lanes to keep the loops free of branches.
+     */
+    private static void activate(ActivationImplementation implementation, ActivationFunction activation,
+                                 double[] sums, double[] values, int offset, int lanes) {
+        switch (activation) {
+            case NONE -> System.arraycopy(sums, 0, values, offset, lanes);
+            case SIGMOID -> {
+                for (int lane = 0; lane < lanes; lane++) {
+                    values[offset + lane] = implementation.sigmoid(sums[lane]);
+                }
+            }
+            case TANH -> {
+                for (int lane = 0; lane < lanes; lane++) {
+                    values[offset + lane] = implementation.tanh(sums[lane]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Swaps the networks of the two given lanes.
+     *
+     * @param lane  The first lane.
+     * @param other The second lane.
+     */
+    public void swapLanes(int lane, int other) {
+        Objects.checkIndex(lane, capacity);
+        Objects.checkIndex(other, capacity);
+        if (lane == other) {
+            return;
+        }
+        for (int offset = 0; offset < weights.length; offset += capacity) {
+            double weight = weights[offset + lane];
+            weights[offset + lane] = weights[offset + other];
+            weights[offset + other] = weight;
+        }
+    }
+}
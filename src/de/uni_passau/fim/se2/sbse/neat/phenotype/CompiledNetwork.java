@@ -0,0 +1,136 @@
+package de.uni_passau.fim.se2.sbse.neat.phenotype;
+
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.ActivationFunction;
+
+import java.util.Arrays;
+
+/**
+ * A network compiled into flat arrays that can be activated without traversing the object graph of its chromosome.
+ * It consists of an {@link EvaluationPlan}, which may be shared with networks of the same structure, and its own weights.
+ * The incoming connections of every activated neuron are stored contiguously in the order of the connection genes,
+ * which makes the outputs bit-for-bit identical to {@link de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome#getOutput},
+ * unless linear chains were folded by the {@link NetworkCompiler.Builder#build() compiler}, which may change the rounding
+ * of the outputs in the last place.
+ * <p>
+ * Activating the network does not allocate any memory. Since the value array is reused between activations,
+ * an instance must not be activated by several threads at once; use {@link #copy()} to obtain an instance per thread.
+ *
+ * @see NetworkCompiler
+ */
+public final class CompiledNetwork extends AbstractPhenotype {
+
+    /**
+     * The structure of the network, possibly shared with other networks.
+     */
+    private final EvaluationPlan plan;
+
+    /**
+     * The weight of every connection position of the plan.
+     */
+    private final double[] weights;
+
+    /**
+     * The output of every neuron during the current activation.
+     */
+    private final double[] values;
+
+    CompiledNetwork(EvaluationPlan plan, double[] weights) {
+        this.plan = plan;
+        this.weights = weights;
+        this.values = new double[plan.slotCount()];
+    }
+
+    public EvaluationPlan getPlan() {
+        return plan;
+    }
+
+    @Override
+    public int inputSize() {
+        return plan.inputSize();
+    }
+
+    @Override
+    public int outputSize() {
+        return plan.outputSize();
+    }
+
+    /**
+     * Returns the number of enabled connections that are evaluated during an activation.
+     *
+     * @return The number of evaluated connections.
+     */
+    public int connectionCount() {
+        return weights.length;
+    }
+
+    /**
+     * Activates the network for the given inputs and writes its outputs into the given array.
+     *
+     * @param inputs  The inputs of the network, at most {@link #inputSize()} values.
+     * @param outputs The array receiving the outputs, at least {@link #outputSize()} values.
+     * @throws IndexOutOfBoundsException if there are too many inputs or too few outputs.
+     */
+    @Override
+    public void activate(double[] inputs, double[] outputs) {
+        double[] values = this.values;
+        double[] weights = this.weights;
+        int[] inputSlots = plan.inputSlots;
+        int[] neuronSlots = plan.neuronSlots;
+        int[] connectionStarts = plan.connectionStarts;
+        int[] sourceSlots = plan.sourceSlots;
+        ActivationFunction[] activations = plan.activations;
+        ActivationImplementation implementation = plan.implementation;
+        int[] outputSlots = plan.outputSlots;
+
+        Arrays.fill(values, 0.0);
+        for (int i = 0; i < inputs.length; i++) {
+            values[inputSlots[i]] = inputs[i];
+        }
+        values[inputSlots[inputs.length]] = 1.0;
+
+        for (int neuron = 0; neuron < neuronSlots.length; neuron++) {
+            double sum = 0.0;
+            for (int connection = connectionStarts[neuron]; connection < connectionStarts[neuron + 1]; connection++) {
+                sum += values[sourceSlots[connection]] * weights[connection];
+            }
+            values[neuronSlots[neuron]] = implementation.apply(activations[neuron], sum);
+        }
+
+        for (int i = 0; i < outputSlots.length; i++) {
+            outputs[i] = values[outputSlots[i]];
+        }
+    }
+
+    double weight(int connection) {
+        return weights[connection];
+    }
+
+    double[] weights() {
+        return weights;
+    }
+
+    /**
+     * Creates a network that evaluates the same plan in single precision, with every weight rounded to {@code float}.
+     *
+     * @return The single precision network.
+     */
+    public FloatNetwork toFloat() {
+        float[] floatWeights = new float[weights.length];
+        for (int i = 0; i < weights.length; i++) {
+            floatWeights[i] = (float) weights[i];
+        }
+        return new FloatNetwork(plan, floatWeights);
+    }
+
+    /**
+     * Creates an instance that shares the compiled structure and weights of this network but has its own value array,
+     * such that both instances can be activated concurrently.
+     *
+     * @return The new instance.
+     */
+    public CompiledNetwork copy() {
+        CompiledNetwork copy = new CompiledNetwork(plan, weights);
+        copy.setFitness(getFitness());
+        return copy;
+    }
+}
@@ -0,0 +1,170 @@
+package de.uni_passau.fim.se2.sbse.neat.phenotype;
+
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.ActivationFunction;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.ConnectionGene;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+
+import java.util.List;
+
+/**
+ * The weight-free part of a compiled network: which neurons are activated in which order and which connections feed them.
+ * All networks with the same {@link NetworkChromosome#structuralHash() structural hash} share a single plan
+ * and only differ in their weight vectors, see {@link #bind(double[])}.
+ * <p>
+ * Every neuron owns a slot in a value array. The incoming connections of the i-th activated neuron occupy the
+ * positions from {@code connectionStarts[i]} (inclusive) to {@code connectionStarts[i + 1]} (exclusive),
+ * and a weight vector stores the weight of every position.
+ */
+public final class EvaluationPlan {
+
+    private final int slotCount;
+
+    /**
+     * The slots of the input layer in order, with the slot following the last input receiving the bias.
+     */
+    final int[] inputSlots;
+
+    /**
+     * The slots of the activated neurons in the order of activation.
+     */
+    final int[] neuronSlots;
+
+    final ActivationFunction[] activations;
+
+    /**
+     * The implementation of the activation functions.
+     */
+    final ActivationImplementation implementation;
+    final int[] connectionStarts;
+    final int[] sourceSlots;
+
+    /**
+     * The factors of the weight of position {@code p} are stored from {@code factorStarts[p]} (inclusive)
+     * to {@code factorStarts[p + 1]} (exclusive) in {@link #weightFactors}.
+     */
+    private final int[] factorStarts;
+
+    /**
+     * The indices among the enabled connection genes whose weights are multiplied to obtain the weight of a position.
+     * Positions that do not stem from folded neurons have a single factor.
+     */
+    private final int[] weightFactors;
+
+    private final int enabledConnectionCount;
+
+    /**
+     * The slots of the output layer in order.
+     */
+    final int[] outputSlots;
+
+    EvaluationPlan(int slotCount, int[] inputSlots, int[] neuronSlots, ActivationFunction[] activations,
+                   ActivationImplementation implementation,
+                   int[] connectionStarts, int[] sourceSlots, int[] factorStarts, int[] weightFactors,
+                   int enabledConnectionCount, int[] outputSlots) {
+        this.slotCount = slotCount;
+        this.inputSlots = inputSlots;
+        this.neuronSlots = neuronSlots;
+        this.activations = activations;
+        this.implementation = implementation;
+        this.connectionStarts = connectionStarts;
+        this.sourceSlots = sourceSlots;
+        this.factorStarts = factorStarts;
+        this.weightFactors = weightFactors;
+        this.enabledConnectionCount = enabledConnectionCount;
+        this.outputSlots = outputSlots;
+    }
+
+    public ActivationImplementation getImplementation() {
+        return implementation;
+    }
+
+    public int slotCount() {
+        return slotCount;
+    }
+
+    /**
+     * Returns the number of inputs the plan expects, which excludes the bias.
+     *
+     * @return The number of inputs.
+     */
+    public int inputSize() {
+        return Math.max(inputSlots.length - 1, 0);
+    }
+
+    public int outputSize() {
+        return outputSlots.length;
+    }
+
+    /**
+     * Returns the length of the weight vectors of this plan, i.e., the number of evaluated connections.
+     *
+     * @return The number of evaluated connections.
+     */
+    public int connectionCount() {
+        return sourceSlots.length;
+    }
+
+    /**
+     * Extracts the weight vector of the given chromosome, which must have the structure this plan was compiled from.
+     *
+     * @param chromosome The chromosome whose weights are extracted.
+     * @return The weight vector of the chromosome in the order of this plan.
+     * @throws IllegalArgumentException if the chromosome has a different number of enabled connections.
+     */
+    public double[] extractWeights(NetworkChromosome chromosome) {
+        List<ConnectionGene> connections = chromosome.getConnections();
+        double[] enabledWeights = new double[enabledConnectionCount];
+        int enabled = 0;
+        for (ConnectionGene connection : connections) {
+            if (connection.getEnabled()) {
+                if (enabled == enabledConnectionCount) {
+                    throw new IllegalArgumentException("The chromosome does not match the structure of the plan.");
+                }
+                enabledWeights[enabled++] = connection.getWeight();
+            }
+        }
+        if (enabled != enabledConnectionCount) {
+            throw new IllegalArgumentException("The chromosome does not match the structure of the plan.");
+        }
+
+        return gatherWeights(enabledWeights);
+    }
+
+    /**
+     * Computes the weight vector from the weights of the enabled connections in the order of the connection genes.
+     */
+    double[] gatherWeights(double[] enabledWeights) {
+        double[] weights = new double[sourceSlots.length];
+        for (int position = 0; position < weights.length; position++) {
+            double weight = enabledWeights[weightFactors[factorStarts[position]]];
+            for (int factor = factorStarts[position] + 1; factor < factorStarts[position + 1]; factor++) {
+                weight *= enabledWeights[weightFactors[factor]];
+            }
+            weights[position] = weight;
+        }
+        return weights;
+    }
+
+    /**
+     * Returns the number of neuron activations per activation of the network.
+     *
+     * @return The number of activated neurons.
+     */
+    public int neuronCount() {
+        return neuronSlots.length;
+    }
+
+    /**
+     * Binds the given weight vector to this plan.
+     *
+     * @param weights The weight vector, see {@link #extractWeights(NetworkChromosome)}.
+     * @return The compiled network evaluating this plan with the given weights.
+     * @throws IllegalArgumentException if the length of the weight vector does not match the plan.
+     */
+    public CompiledNetwork bind(double[] weights) {
+        if (weights.length != sourceSlots.length) {
+            throw new IllegalArgumentException("Expected " + sourceSlots.length + " weights but got " + weights.length + ".");
+        }
+        return new CompiledNetwork(this, weights);
+    }
+}
@@ -0,0 +1,104 @@
+package de.uni_passau.fim.se2.sbse.neat.phenotype;
+
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.ActivationFunction;
+
+import java.util.Arrays;
+
+/**
+ * A compiled network that stores its weights and evaluates its neurons in single precision.
+ * It shares the {@link EvaluationPlan} of the {@link CompiledNetwork} it was created from, rounds every weight
+ * to the nearest {@code float} and accumulates the weighted sums in {@code float}, which halves the memory
+ * occupied by weights and values.
+ * The activation functions are computed in double precision and rounded to {@code float} afterwards.
+ * <p>
+ * The outputs deviate from the double precision network by rounding errors, which grow with the depth of the network
+ * and the number of incoming connections of a neuron. Like compiled networks, an instance must not be activated
+ * by several threads at once.
+ *
+ * @see CompiledNetwork#toFloat()
+ */
+public final class FloatNetwork extends AbstractPhenotype {
+
+    private final EvaluationPlan plan;
+
+    /**
+     * The weight of every connection position of the plan, rounded to single precision.
+     */
+    private final float[] weights;
+
+    /**
+     * The output of every neuron during the current activation.
+     */
+    private final float[] values;
+
+    FloatNetwork(EvaluationPlan plan, float[] weights) {
+        this.plan = plan;
+        this.weights = weights;
+        this.values = new float[plan.slotCount()];
+    }
+
+    public EvaluationPlan getPlan() {
+        return plan;
+    }
+
+    @Override
+    public int inputSize() {
+        return plan.inputSize();
+    }
+
+    @Override
+    public int outputSize() {
+        return plan.outputSize();
+    }
+
+    /**
+     * Activates the network for the given inputs, which are rounded to single precision,
+     * and writes its outputs into the given array.
+     *
+     * @param inputs  The inputs of the network, at most {@link #inputSize()} values.
+     * @param outputs The array receiving the outputs, at least {@link #outputSize()} values.
+     * @throws IndexOutOfBoundsException if there are too many inputs or too few outputs.
+     */
+    @Override
+    public void activate(double[] inputs, double[] outputs) {
+        float[] values = this.values;
+        float[] weights = this.weights;
+        int[] inputSlots = plan.inputSlots;
+        int[] neuronSlots = plan.neuronSlots;
+        int[] connectionStarts = plan.connectionStarts;
+        int[] sourceSlots = plan.sourceSlots;
+        ActivationFunction[] activations = plan.activations;
+        ActivationImplementation implementation = plan.implementation;
+        int[] outputSlots = plan.outputSlots;
+
+        Arrays.fill(values, 0.0f);
+        for (int i = 0; i < inputs.length; i++) {
+            values[inputSlots[i]] = (float) inputs[i];
+        }
+        values[inputSlots[inputs.length]] = 1.0f;
+
+        for (int neuron = 0; neuron < neuronSlots.length; neuron++) {
+            float sum = 0.0f;
+            for (int connection = connectionStarts[neuron]; connection < connectionStarts[neuron + 1]; connection++) {
+                sum += values[sourceSlots[connection]] * weights[connection];
+            }
+            values[neuronSlots[neuron]] = (float) implementation.apply(activations[neuron], sum);
+        }
+
+        for (int i = 0; i < outputSlots.length; i++) {
+            outputs[i] = values[outputSlots[i]];
+        }
+    }
+
+    /**
+     * Creates an instance that shares the plan and weights of this network but has its own value array,
+     * such that both instances can be activated concurrently.
+     *
+     * @return The new instance.
+     */
+    public FloatNetwork copy() {
+        FloatNetwork copy = new FloatNetwork(plan, weights);
+        copy.setFitness(getFitness());
+        return copy;
+    }
+}
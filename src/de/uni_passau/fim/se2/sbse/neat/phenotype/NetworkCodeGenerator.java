@@ -0,0 +1,213 @@
+package de.uni_passau.fim.se2.sbse.neat.phenotype;
+
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.ActivationFunction;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+
+import javax.tools.*;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Path;
+import java.security.CodeSource;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Generates Java classes that activate a single network in straight-line code.
+ * Every neuron becomes a local variable, every connection a multiply-add with its weight baked in as a constant,
+ * and every activation function is inlined, so activating the network involves neither loops nor array lookups.
+ * <p>
+ * The generated code performs exactly the same floating point operations in the same order as the
+ * {@link CompiledNetwork} of the chromosome, hence its outputs are bit-for-bit identical to
+ * {@link NetworkChromosome#getOutput} unless linear chains were folded during compilation.
+ * Unlike {@link CompiledNetwork}, a generated class only accepts exactly {@link Phenotype#inputSize()} inputs.
+ */
+public final class NetworkCodeGenerator {
+
+    /**
+     * The simple name of classes defined at runtime, which live in this package as required by hidden classes.
+     */
+    private static final String HIDDEN_CLASS_NAME = "GeneratedNetwork";
+
+    private NetworkCodeGenerator() {
+        // private constructor to prevent instantiation.
+    }
+
+    /**
+     * Generates the source of a class extending {@link AbstractPhenotype} for the given chromosome,
+     * which only implements the activation on arrays.
+     *
+     * @param chromosome  The chromosome to generate the class for.
+     * @param packageName The package of the class, or an empty string for the unnamed package.
+     * @param className   The simple name of the class.
+     * @return The source code of the class.
+     */
+    public static String generateSource(NetworkChromosome chromosome, String packageName, String className) {
+        return generateSource(NetworkCompiler.compile(chromosome), packageName, className);
+    }
+
+    /**
+     * Generates a class for the given chromosome and defines it as a hidden class of the running JVM.
+     * The class is compiled in memory, which requires the JVM to provide a Java compiler, and is unloaded
+     * once the returned instance is no longer reachable.
+     * Since compiling takes considerably longer than a single evaluation, this pays off for networks that are
+     * evaluated many times, such as champions.
+     *
+     * @param chromosome The chromosome to generate the class for.
+     * @return A new instance of the generated class, with the fitness of the chromosome.
+     * @throws IllegalStateException if no Java compiler is available or the generated class cannot be compiled,
+     *                               for instance because the network exceeds the maximum size of a method.
+     */
+    public static Phenotype defineHiddenClass(NetworkChromosome chromosome) {
+        String packageName = NetworkCodeGenerator.class.getPackageName();
+        byte[] bytecode = compile(packageName + "." + HIDDEN_CLASS_NAME,
+                generateSource(chromosome, packageName, HIDDEN_CLASS_NAME));
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(bytecode, true);
+            Phenotype phenotype = (Phenotype) lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(void.class)).invoke();
+            phenotype.setFitness(chromosome.getFitness());
+            return phenotype;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Could not define the generated class.", e);
+        }
+    }
+
+    static String generateSource(CompiledNetwork network, String packageName, String className) {
+        EvaluationPlan plan = network.getPlan();
+        if (plan.inputSlots.length == 0) {
+            throw new IllegalArgumentException("The network has no input layer.");
+        }
+        int inputs = network.inputSize();
+        int outputs = network.outputSize();
+        StringBuilder source = new StringBuilder(4096);
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("/**\n * Generated from an evolved network, do not edit.\n */\n")
+                .append("public final class ").append(className)
+                .append(" extends de.uni_passau.fim.se2.sbse.neat.phenotype.AbstractPhenotype {\n\n")
+                .append("    @Override\n    public int inputSize() {\n        return ").append(inputs).append(";\n    }\n\n")
+                .append("    @Override\n    public int outputSize() {\n        return ").append(outputs).append(";\n    }\n\n");
+
+        source.append("    @Override\n    public void activate(double[] inputs, double[] outputs) {\n")
+                .append("        if (inputs.length != ").append(inputs).append(") {\n")
+                .append("            throw new IllegalArgumentException(\"Expected ").append(inputs)
+                .append(" inputs but got \" + inputs.length + \".\");\n        }\n");
+        int slotCount = plan.slotCount();
+        for (int slot = 0; slot < slotCount; slot++) {
+            source.append("        double v").append(slot).append(" = 0.0;\n");
+        }
+        int[] inputSlots = plan.inputSlots;
+        for (int i = 0; i < inputs; i++) {
+            source.append("        v").append(inputSlots[i]).append(" = inputs[").append(i).append("];\n");
+        }
+        source.append("        v").append(inputSlots[inputs]).append(" = 1.0;\n");
+        source.append("        double sum;\n");
+
+        int[] neuronSlots = plan.neuronSlots;
+        for (int neuron = 0; neuron < neuronSlots.length; neuron++) {
+            source.append("        sum = 0.0;\n");
+            for (int connection = plan.connectionStarts[neuron]; connection < plan.connectionStarts[neuron + 1]; connection++) {
+                source.append("        sum += v").append(plan.sourceSlots[connection])
+                        .append(" * ").append(literal(network.weight(connection))).append(";\n");
+            }
+            source.append("        v").append(neuronSlots[neuron]).append(" = ")
+                    .append(activation(plan.activations[neuron])).append(";\n");
+        }
+        int[] outputSlots = plan.outputSlots;
+        for (int i = 0; i < outputSlots.length; i++) {
+            source.append("        outputs[").append(i).append("] = v").append(outputSlots[i]).append(";\n");
+        }
+        source.append("    }\n}\n");
+        return source.toString();
+    }
+
+    /**
+     * Returns the expression applying the activation function to the variable {@code sum},
+     * which must match {@link ActivationFunction#apply(double)} exactly.
+     */
+    private static String activation(ActivationFunction activation) {
+        return switch (activation) {
+            case NONE -> "sum";
+            case SIGMOID -> "1 / (1 + Math.exp(-sum))";
+            case TANH -> "Math.tanh(sum)";
+        };
+    }
+
+    /**
+     * Returns a literal denoting exactly the given value.
+     */
+    private static String literal(double value) {
+        if (Double.isNaN(value)) {
+            return "Double.NaN";
+        } else if (Double.isInfinite(value)) {
+            return value > 0 ? "Double.POSITIVE_INFINITY" : "Double.NEGATIVE_INFINITY";
+        }
+        return Double.toHexString(value);
+    }
+
+    /**
+     * Compiles the given source of a single top-level class in memory.
+     */
+    private static byte[] compile(String className, String source) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("Generating classes at runtime requires a JDK.");
+        }
+
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        ByteArrayOutputStream bytecode = new ByteArrayOutputStream();
+        JavaFileObject sourceFile = new SimpleJavaFileObject(
+                URI.create("string:///" + className.replace('.', '/') + JavaFileObject.Kind.SOURCE.extension),
+                JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return source;
+            }
+        };
+
+        try (StandardJavaFileManager standardManager = compiler.getStandardFileManager(diagnostics, Locale.ROOT, null);
+             JavaFileManager manager = new ForwardingJavaFileManager<>(standardManager) {
+                 @Override
+                 public JavaFileObject getJavaFileForOutput(Location location, String name, JavaFileObject.Kind kind, FileObject sibling) {
+                     return new SimpleJavaFileObject(URI.create("bytes:///" + name.replace('.', '/') + kind.extension), kind) {
+                         @Override
+                         public OutputStream openOutputStream() {
+                             return bytecode;
+                         }
+                     };
+                 }
+             }) {
+            List<String> options = List.of("-classpath", classPath(), "-g:none", "-proc:none");
+            Boolean success = compiler.getTask(null, manager, diagnostics, options, null, List.of(sourceFile)).call();
+            if (!Boolean.TRUE.equals(success)) {
+                throw new IllegalStateException("Could not compile the generated class: " + diagnostics.getDiagnostics());
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not compile the generated class.", e);
+        }
+        return bytecode.toByteArray();
+    }
+
+    /**
+     * Returns the class path of the running application, including the location of this class.
+     */
+    private static String classPath() {
+        String classPath = System.getProperty("java.class.path");
+        CodeSource codeSource = Phenotype.class.getProtectionDomain().getCodeSource();
+        if (codeSource == null) {
+            return classPath;
+        }
+        try {
+            return Path.of(codeSource.getLocation().toURI()) + File.pathSeparator + classPath;
+        } catch (URISyntaxException | IllegalArgumentException | FileSystemNotFoundException e) {
+            return classPath;
+        }
+    }
+}
@@ -0,0 +1,428 @@
+package de.uni_passau.fim.se2.sbse.neat.phenotype;
+
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.ActivationFunction;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.ConnectionGene;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NeuronGene;
+
+import java.util.*;
+
+/**
+ * Compiles network chromosomes into {@link CompiledNetwork}s.
+ */
+public final class NetworkCompiler {
+
+    private NetworkCompiler() {
+        // private constructor to prevent instantiation.
+    }
+
+    /**
+     * Compiles the given chromosome. Neurons are identified by their id, as in
+     * {@link NetworkChromosome#getOutput}, and activated layer by layer in ascending order of the layers.
+     *
+     * @param chromosome The chromosome to compile.
+     * @return The compiled network.
+     * @throws IllegalArgumentException if a neuron outside the input layer has no activation function.
+     */
+    public static CompiledNetwork compile(NetworkChromosome chromosome) {
+        return compile(chromosome, ActivationImplementation.EXACT);
+    }
+
+    /**
+     * Compiles the given chromosome like {@link #compile(NetworkChromosome)},
+     * but evaluates the activation functions with the given implementation.
+     *
+     * @param chromosome     The chromosome to compile.
+     * @param implementation The implementation of the activation functions.
+     * @return The compiled network.
+     * @throws IllegalArgumentException if a neuron outside the input layer has no activation function.
+     */
+    public static CompiledNetwork compile(NetworkChromosome chromosome, ActivationImplementation implementation) {
+        Map<Integer, Integer> slots = new HashMap<>();
+        for (List<NeuronGene> layer : chromosome.getLayers().values()) {
+            for (NeuronGene neuron : layer) {
+                slots.putIfAbsent(neuron.getId(), slots.size());
+            }
+        }
+        for (ConnectionGene connection : chromosome.getConnections()) {
+            slots.putIfAbsent(connection.getSourceNeuron().getId(), slots.size());
+            slots.putIfAbsent(connection.getTargetNeuron().getId(), slots.size());
+        }
+
+        Builder builder = new Builder(slots.size()).implementation(implementation);
+        List<NeuronGene> inputLayer = chromosome.getLayers().getOrDefault(NetworkChromosome.INPUT_LAYER, List.of());
+        for (NeuronGene neuron : inputLayer) {
+            builder.input(slots.get(neuron.getId()));
+        }
+
+        List<Double> sortedLayers = new ArrayList<>(chromosome.getLayers().keySet());
+        Collections.sort(sortedLayers);
+        for (double layer : sortedLayers) {
+            if (layer == NetworkChromosome.INPUT_LAYER) {
+                continue;
+            }
+            for (NeuronGene neuron : chromosome.getLayers().get(layer)) {
+                builder.neuron(slots.get(neuron.getId()), neuron.getActivationFunction());
+            }
+        }
+
+        for (ConnectionGene connection : chromosome.getConnections()) {
+            builder.connection(slots.get(connection.getSourceNeuron().getId()), slots.get(connection.getTargetNeuron().getId()),
+                    connection.getWeight(), connection.getEnabled());
+        }
+
+        for (NeuronGene neuron : chromosome.getLayers().getOrDefault(NetworkChromosome.OUTPUT_LAYER, List.of())) {
+            builder.output(slots.get(neuron.getId()));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Assembles a compiled network from neurons identified by slot indices,
+     * which allows compiling networks without creating their chromosome first.
+     * The methods of every kind must be called in the order of the network,
+     * i.e., inputs and outputs in the order of their layer, neurons in the order of activation,
+     * and connections in the order of the connection genes.
+     */
+    public static final class Builder {
+
+        private final int slotCount;
+        private int[] inputSlots = new int[8];
+        private int inputCount;
+        private int[] neuronSlots = new int[8];
+        private ActivationFunction[] activations = new ActivationFunction[8];
+        private int neuronCount;
+        private int[] sources = new int[16];
+        private int[] targets = new int[16];
+        private double[] weights = new double[16];
+        private int connectionCount;
+        private int[] outputSlots = new int[4];
+        private int outputCount;
+        private ActivationImplementation implementation = ActivationImplementation.EXACT;
+
+        /**
+         * Creates a new builder for a network with the given number of neurons.
+         *
+         * @param slotCount The number of distinct neurons, each of which is identified by a slot in {@code [0, slotCount)}.
+         */
+        public Builder(int slotCount) {
+            if (slotCount < 0) {
+                throw new IllegalArgumentException("The number of slots must not be negative.");
+            }
+            this.slotCount = slotCount;
+        }
+
+        /**
+         * Sets the implementation of the activation functions, which is {@link ActivationImplementation#EXACT} by default.
+         *
+         * @param implementation The implementation of the activation functions.
+         * @return This builder.
+         */
+        public Builder implementation(ActivationImplementation implementation) {
+            this.implementation = Objects.requireNonNull(implementation);
+            return this;
+        }
+
+        /**
+         * Appends a neuron to the input layer, the neuron after the last input receives the bias.
+         *
+         * @param slot The slot of the neuron.
+         * @return This builder.
+         */
+        public Builder input(int slot) {
+            inputSlots = grow(inputSlots, inputCount);
+            inputSlots[inputCount++] = checkSlot(slot);
+            return this;
+        }
+
+        /**
+         * Appends a neuron that is activated after all previously appended neurons.
+         *
+         * @param slot       The slot of the neuron.
+         * @param activation The activation function of the neuron.
+         * @return This builder.
+         */
+        public Builder neuron(int slot, ActivationFunction activation) {
+            if (activation == null) {
+                throw new IllegalArgumentException("Neuron in slot " + slot + " has no activation function.");
+            }
+            if (neuronCount == neuronSlots.length) {
+                neuronSlots = Arrays.copyOf(neuronSlots, neuronCount * 2);
+                activations = Arrays.copyOf(activations, neuronCount * 2);
+            }
+            neuronSlots[neuronCount] = checkSlot(slot);
+            activations[neuronCount++] = activation;
+            return this;
+        }
+
+        /**
+         * Appends a connection, disabled connections are ignored.
+         *
+         * @param source  The slot of the source neuron.
+         * @param target  The slot of the target neuron.
+         * @param weight  The weight of the connection.
+         * @param enabled Whether the connection is enabled.
+         * @return This builder.
+         */
+        public Builder connection(int source, int target, double weight, boolean enabled) {
+            checkSlot(source);
+            checkSlot(target);
+            if (!enabled) {
+                return this;
+            }
+            if (connectionCount == sources.length) {
+                sources = Arrays.copyOf(sources, connectionCount * 2);
+                targets = Arrays.copyOf(targets, connectionCount * 2);
+                weights = Arrays.copyOf(weights, connectionCount * 2);
+            }
+            sources[connectionCount] = source;
+            targets[connectionCount] = target;
+            weights[connectionCount++] = weight;
+            return this;
+        }
+
+        /**
+         * Appends a neuron to the output layer.
+         *
+         * @param slot The slot of the neuron.
+         * @return This builder.
+         */
+        public Builder output(int slot) {
+            outputSlots = grow(outputSlots, outputCount);
+            outputSlots[outputCount++] = checkSlot(slot);
+            return this;
+        }
+
+        /**
+         * Builds the compiled network. Before the connections are grouped by their target neuron,
+         * the network is reduced to the structure that can influence its outputs:
+         * <ul>
+         *     <li>Neurons whose output is always zero are removed, i.e., {@code NONE} and {@code TANH} neurons
+         *     that are not reachable from an input or the bias, together with their outgoing connections.</li>
+         *     <li>Neurons from which no output neuron is reachable are removed together with their incoming connections.</li>
+         *     <li>Chains through hidden {@code NONE} neurons with a single incoming connection are folded,
+         *     such that the successors of such a neuron are directly connected to its source
+         *     with the product of both weights.</li>
+         * </ul>
+         * The first two reductions only drop terms that are exactly zero or never read, so the outputs remain
+         * bit-for-bit identical. Folding multiplies the weights before the value instead of after it,
+         * which may change the rounding of the result in the last place.
+         * The grouping is stable, hence the incoming connections of a neuron keep the order in which they were appended.
+         *
+         * @return The compiled network.
+         */
+        public CompiledNetwork build() {
+            boolean[] isInput = flags(inputSlots, inputCount);
+            boolean[] zero = zeroSlots(isInput);
+            boolean[] live = liveSlots(zero);
+
+            int[] keptSources = new int[connectionCount];
+            int[] keptTargets = new int[connectionCount];
+            int[][] factors = new int[connectionCount][];
+            int keptConnections = 0;
+            for (int i = 0; i < connectionCount; i++) {
+                if (!zero[sources[i]] && live[targets[i]]) {
+                    keptSources[keptConnections] = sources[i];
+                    keptTargets[keptConnections] = targets[i];
+                    factors[keptConnections++] = new int[]{i};
+                }
+            }
+            int[] keptNeurons = new int[neuronCount];
+            ActivationFunction[] keptActivations = new ActivationFunction[neuronCount];
+            int keptNeuronCount = 0;
+            for (int neuron = 0; neuron < neuronCount; neuron++) {
+                int slot = neuronSlots[neuron];
+                if (live[slot] && !zero[slot]) {
+                    keptNeurons[keptNeuronCount] = slot;
+                    keptActivations[keptNeuronCount++] = activations[neuron];
+                }
+            }
+
+            boolean[] isOutput = flags(outputSlots, outputCount);
+            int folded;
+            while ((folded = foldableNeuron(keptNeurons, keptActivations, keptNeuronCount,
+                    keptSources, keptTargets, keptConnections, isInput, isOutput)) >= 0) {
+                int slot = keptNeurons[folded];
+                int incoming = -1;
+                for (int i = 0; i < keptConnections; i++) {
+                    if (keptTargets[i] == slot) {
+                        incoming = i;
+                    }
+                }
+                for (int i = 0; i < keptConnections; i++) {
+                    if (keptSources[i] == slot) {
+                        keptSources[i] = keptSources[incoming];
+                        factors[i] = concat(factors[incoming], factors[i]);
+                    }
+                }
+                keptConnections = remove(keptSources, keptTargets, factors, keptConnections, incoming);
+                System.arraycopy(keptNeurons, folded + 1, keptNeurons, folded, keptNeuronCount - folded - 1);
+                System.arraycopy(keptActivations, folded + 1, keptActivations, folded, keptNeuronCount - folded - 1);
+                keptNeuronCount--;
+            }
+
+            int[] incomingStarts = new int[slotCount + 1];
+            for (int i = 0; i < keptConnections; i++) {
+                incomingStarts[keptTargets[i] + 1]++;
+            }
+            for (int slot = 0; slot < slotCount; slot++) {
+                incomingStarts[slot + 1] += incomingStarts[slot];
+            }
+            int[] incomingConnections = new int[keptConnections];
+            int[] positions = Arrays.copyOf(incomingStarts, slotCount);
+            for (int i = 0; i < keptConnections; i++) {
+                incomingConnections[positions[keptTargets[i]]++] = i;
+            }
+
+            // A neuron occurring in several layers is activated once per occurrence, each time with all its connections
+            int[] connectionStarts = new int[keptNeuronCount + 1];
+            for (int neuron = 0; neuron < keptNeuronCount; neuron++) {
+                int slot = keptNeurons[neuron];
+                connectionStarts[neuron + 1] = connectionStarts[neuron] + incomingStarts[slot + 1] - incomingStarts[slot];
+            }
+            int positionCount = connectionStarts[keptNeuronCount];
+            int[] sourceSlots = new int[positionCount];
+            int[] factorStarts = new int[positionCount + 1];
+            int[][] positionFactors = new int[positionCount][];
+            for (int neuron = 0; neuron < keptNeuronCount; neuron++) {
+                int slot = keptNeurons[neuron];
+                int position = connectionStarts[neuron];
+                for (int incoming = incomingStarts[slot]; incoming < incomingStarts[slot + 1]; incoming++, position++) {
+                    int connection = incomingConnections[incoming];
+                    sourceSlots[position] = keptSources[connection];
+                    positionFactors[position] = factors[connection];
+                    factorStarts[position + 1] = factorStarts[position] + factors[connection].length;
+                }
+            }
+            int[] weightFactors = new int[factorStarts[positionCount]];
+            for (int position = 0; position < positionCount; position++) {
+                System.arraycopy(positionFactors[position], 0, weightFactors, factorStarts[position], positionFactors[position].length);
+            }
+
+            EvaluationPlan plan = new EvaluationPlan(slotCount, Arrays.copyOf(inputSlots, inputCount),
+                    Arrays.copyOf(keptNeurons, keptNeuronCount), Arrays.copyOf(keptActivations, keptNeuronCount), implementation,
+                    connectionStarts, sourceSlots, factorStarts, weightFactors, connectionCount,
+                    Arrays.copyOf(outputSlots, outputCount));
+            return plan.bind(plan.gatherWeights(Arrays.copyOf(weights, connectionCount)));
+        }
+
+        /**
+         * Determines the slots whose value is zero during every activation: all slots except the inputs,
+         * unless they are activated by a {@code SIGMOID} function or receive a connection from a non-zero slot.
+         */
+        private boolean[] zeroSlots(boolean[] isInput) {
+            boolean[] zero = new boolean[slotCount];
+            for (int slot = 0; slot < slotCount; slot++) {
+                zero[slot] = !isInput[slot];
+            }
+            for (int neuron = 0; neuron < neuronCount; neuron++) {
+                if (activations[neuron] != ActivationFunction.NONE && activations[neuron] != ActivationFunction.TANH) {
+                    zero[neuronSlots[neuron]] = false;
+                }
+            }
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                for (int i = 0; i < connectionCount; i++) {
+                    if (!zero[sources[i]] && zero[targets[i]]) {
+                        zero[targets[i]] = false;
+                        changed = true;
+                    }
+                }
+            }
+            return zero;
+        }
+
+        /**
+         * Determines the slots from which an output slot is reachable via connections from non-zero slots.
+         */
+        private boolean[] liveSlots(boolean[] zero) {
+            boolean[] live = flags(outputSlots, outputCount);
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                for (int i = connectionCount - 1; i >= 0; i--) {
+                    if (live[targets[i]] && !zero[sources[i]] && !live[sources[i]]) {
+                        live[sources[i]] = true;
+                        changed = true;
+                    }
+                }
+            }
+            return live;
+        }
+
+        /**
+         * Returns the index of a neuron that can be folded into its successors, or -1 if there is none.
+         * A neuron can be folded if it is a hidden {@code NONE} neuron that is activated once and has a single
+         * incoming connection, whose source does not change between the activation of the neuron and the activations
+         * of its successors, and if all successors are activated after the neuron.
+         */
+        private int foldableNeuron(int[] keptNeurons, ActivationFunction[] keptActivations, int keptNeuronCount,
+                                   int[] keptSources, int[] keptTargets, int keptConnections,
+                                   boolean[] isInput, boolean[] isOutput) {
+            int[] occurrences = new int[slotCount];
+            int[] firstOccurrence = new int[slotCount];
+            for (int neuron = keptNeuronCount - 1; neuron >= 0; neuron--) {
+                occurrences[keptNeurons[neuron]]++;
+                firstOccurrence[keptNeurons[neuron]] = neuron;
+            }
+            int[] incomingCount = new int[slotCount];
+            int[] incomingSource = new int[slotCount];
+            for (int i = 0; i < keptConnections; i++) {
+                incomingCount[keptTargets[i]]++;
+                incomingSource[keptTargets[i]] = keptSources[i];
+            }
+
+            candidates:
+            for (int neuron = 0; neuron < keptNeuronCount; neuron++) {
+                int slot = keptNeurons[neuron];
+                if (keptActivations[neuron] != ActivationFunction.NONE || occurrences[slot] != 1
+                        || isInput[slot] || isOutput[slot] || incomingCount[slot] != 1) {
+                    continue;
+                }
+                // The source is either never activated, i.e., an input, or activated once before the neuron
+                int source = incomingSource[slot];
+                if (source == slot || occurrences[source] > 1 || occurrences[source] == 1 && firstOccurrence[source] > neuron) {
+                    continue;
+                }
+                for (int i = 0; i < keptConnections; i++) {
+                    int target = keptTargets[i];
+                    if (keptSources[i] == slot && (occurrences[target] == 0 || firstOccurrence[target] <= neuron)) {
+                        continue candidates;
+                    }
+                }
+                return neuron;
+            }
+            return -1;
+        }
+
+        private static int remove(int[] sources, int[] targets, int[][] factors, int count, int index) {
+            System.arraycopy(sources, index + 1, sources, index, count - index - 1);
+            System.arraycopy(targets, index + 1, targets, index, count - index - 1);
+            System.arraycopy(factors, index + 1, factors, index, count - index - 1);
+            return count - 1;
+        }
+
+        private static int[] concat(int[] first, int[] second) {
+            int[] result = Arrays.copyOf(first, first.length + second.length);
+            System.arraycopy(second, 0, result, first.length, second.length);
+            return result;
+        }
+
+        private boolean[] flags(int[] slots, int count) {
+            boolean[] flags = new boolean[slotCount];
+            for (int i = 0; i < count; i++) {
+                flags[slots[i]] = true;
+            }
+            return flags;
+        }
+
+        private int checkSlot(int slot) {
+            return Objects.checkIndex(slot, slotCount);
+        }
+
+        private static int[] grow(int[] array, int size) {
+            return size == array.length ? Arrays.copyOf(array, size * 2) : array;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package de.uni_passau.fim.se2.sbse.neat.phenotype;
+
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.Agent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An executable form of a network chromosome that is activated on primitive arrays.
+ * Implementations only provide the activation on arrays, the list-based {@link #getOutput(List)} of {@link Agent}
+ * is derived from it.
+ *
+ * @see AbstractPhenotype
+ */
+public interface Phenotype extends Agent {
+
+    /**
+     * Returns the number of inputs the network expects, which excludes the bias.
+     *
+     * @return The number of inputs.
+     */
+    int inputSize();
+
+    int outputSize();
+
+    /**
+     * Activates the network for the given inputs and writes its outputs into the given array.
+     *
+     * @param inputs  The inputs of the network.
+     * @param outputs The array receiving the outputs, at least {@link #outputSize()} values.
+     */
+    void activate(double[] inputs, double[] outputs);
+
+    /**
+     * Activates the network for the given inputs.
+     *
+     * @param inputs The inputs of the network.
+     * @return The outputs of the network.
+     */
+    default double[] activate(double[] inputs) {
+        double[] outputs = new double[outputSize()];
+        activate(inputs, outputs);
+        return outputs;
+    }
+
+    /**
+     * Activates the network for the given state of an environment by copying it into an array.
+     *
+     * @param state The state of the environment.
+     * @return The outputs of the network.
+     */
+    @Override
+    default List<Double> getOutput(List<Double> state) {
+        double[] inputs = new double[state.size()];
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = state.get(i);
+        }
+        double[] outputs = activate(inputs);
+        List<Double> result = new ArrayList<>(outputs.length);
+        for (double output : outputs) {
+            result.add(output);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,170 @@
+package de.uni_passau.fim.se2.sbse.neat.phenotype;
+
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A bounded cache that maps the structural hash of a network to its compiled {@link EvaluationPlan}.
+ * Most offspring only differ from their parents in their weights, so compiling a chromosome usually reduces to
+ * extracting its weight vector and binding it to a cached plan.
+ * If the cache is full, the least recently used plan is evicted.
+ * <p>
+ * The cache may be used by several threads at once. Every compiled network it returns has its own value array.
+ * <p>
+ * {@link #instantiate(NetworkChromosome)} evaluates the networks in the precision of the cache,
+ * whereas {@link #compile(NetworkChromosome)} always yields double precision networks, e.g., for batches.
+ *
+ * @see NetworkChromosome#structuralHash()
+ */
+public class PlanCache {
+
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * The maximum number of plans kept in the cache.
+     */
+    private final int capacity;
+
+    /**
+     * The implementation of the activation functions of the compiled plans.
+     */
+    private final ActivationImplementation implementation;
+
+    /**
+     * The precision of the networks returned by {@link #instantiate(NetworkChromosome)}.
+     */
+    private final Precision precision;
+
+    /**
+     * Maps structural hashes to plans in access order.
+     */
+    private final LinkedHashMap<Long, EvaluationPlan> plans;
+
+    private long hits;
+    private long misses;
+
+    /**
+     * Creates a new plan cache holding at most the given number of plans.
+     *
+     * @param capacity The maximum number of plans, zero compiles every chromosome from scratch.
+     * @throws IllegalArgumentException if the capacity is negative.
+     */
+    public PlanCache(int capacity) {
+        this(capacity, ActivationImplementation.EXACT);
+    }
+
+    /**
+     * Creates a new plan cache holding at most the given number of plans,
+     * which evaluate the activation functions with the given implementation.
+     *
+     * @param capacity       The maximum number of plans, zero compiles every chromosome from scratch.
+     * @param implementation The implementation of the activation functions.
+     * @throws IllegalArgumentException if the capacity is negative.
+     */
+    public PlanCache(int capacity, ActivationImplementation implementation) {
+        this(capacity, implementation, Precision.DOUBLE);
+    }
+
+    /**
+     * Creates a new plan cache holding at most the given number of plans,
+     * which evaluate the activation functions with the given implementation in the given precision.
+     *
+     * @param capacity       The maximum number of plans, zero compiles every chromosome from scratch.
+     * @param implementation The implementation of the activation functions.
+     * @param precision      The precision of the networks returned by {@link #instantiate(NetworkChromosome)}.
+     * @throws IllegalArgumentException if the capacity is negative.
+     */
+    public PlanCache(int capacity, ActivationImplementation implementation, Precision precision) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("The capacity of the plan cache must not be negative.");
+        }
+        this.capacity = capacity;
+        this.implementation = requireNonNull(implementation);
+        this.precision = requireNonNull(precision);
+        this.plans = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, EvaluationPlan> eldest) {
+                return size() > PlanCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Compiles the given chromosome, reusing the cached plan of a chromosome with the same structure if there is one.
+     *
+     * @param chromosome The chromosome to compile.
+     * @return The compiled network.
+     * @throws IllegalArgumentException if a neuron outside the input layer has no activation function.
+     */
+    public CompiledNetwork compile(NetworkChromosome chromosome) {
+        long structuralHash = chromosome.structuralHash();
+        EvaluationPlan plan;
+        synchronized (this) {
+            plan = plans.get(structuralHash);
+            if (plan == null) {
+                misses++;
+            } else {
+                hits++;
+            }
+        }
+
+        if (plan != null) {
+            try {
+                return plan.bind(plan.extractWeights(chromosome));
+            } catch (IllegalArgumentException e) {
+                // A hash collision between different structures, which is compiled from scratch
+            }
+        }
+
+        CompiledNetwork network = NetworkCompiler.compile(chromosome, implementation);
+        if (capacity > 0) {
+            synchronized (this) {
+                plans.put(structuralHash, network.getPlan());
+            }
+        }
+        return network;
+    }
+
+    /**
+     * Compiles the given chromosome like {@link #compile(NetworkChromosome)} and converts it to the precision of the cache.
+     *
+     * @param chromosome The chromosome to compile.
+     * @return The compiled network in the precision of the cache.
+     * @throws IllegalArgumentException if a neuron outside the input layer has no activation function.
+     */
+    public Phenotype instantiate(NetworkChromosome chromosome) {
+        CompiledNetwork network = compile(chromosome);
+        return switch (precision) {
+            case DOUBLE -> network;
+            case FLOAT -> network.toFloat();
+        };
+    }
+
+    public synchronized int size() {
+        return plans.size();
+    }
+
+    public ActivationImplementation getImplementation() {
+        return implementation;
+    }
+
+    public Precision getPrecision() {
+        return precision;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+}
@@ -0,0 +1,17 @@
+package de.uni_passau.fim.se2.sbse.neat.phenotype;
+
+/**
+ * The floating point precision in which compiled networks are evaluated.
+ */
+public enum Precision {
+
+    /**
+     * Evaluates networks in double precision, see {@link CompiledNetwork}.
+     */
+    DOUBLE,
+
+    /**
+     * Evaluates networks in single precision, see {@link FloatNetwork}.
+     */
+    FLOAT
+}
@@ -0,0 +1,393 @@
+package de.uni_passau.fim.se2.sbse.neat.phenotype;
+
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.ActivationFunction;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A compiled network with 8-bit weights that is evaluated in fixed-point arithmetic, e.g., to deploy a champion
+ * on a controller without a floating point unit.
+ * <p>
+ * The incoming weights of every activated neuron share a scale, which maps the largest absolute weight to 127,
+ * and are rounded to signed bytes. Neuron values are fixed-point numbers with {@value #FRACTION_BITS} fractional bits.
+ * A weighted sum is accumulated exactly in a {@code long} and multiplied by the scale of the neuron,
+ * which is stored as a fixed-point number with 32 fractional bits.
+ * The hyperbolic tangent and the sigmoid function are interpolated linearly in lookup tables.
+ * Hence {@link #activate(int[], int[])} uses integer arithmetic only, floating point numbers are solely used
+ * to build the tables and to convert the inputs and outputs of {@link #activate(double[], double[])}.
+ * <p>
+ * The outputs deviate from the original network by the rounding of the weights, which is at most 1/254 of the largest
+ * incoming weight of a neuron, and by the resolution of the fixed-point values. A quantised network should therefore
+ * be re-scored on its environment before it is deployed.
+ * Like compiled networks, an instance must not be activated by several threads at once.
+ */
+public final class QuantisedNetwork extends AbstractPhenotype {
+
+    /**
+     * The number of fractional bits of neuron values.
+     */
+    public static final int FRACTION_BITS = 12;
+
+    /**
+     * The fixed-point representation of one.
+     */
+    public static final int ONE = 1 << FRACTION_BITS;
+
+    static final int MAGIC = 0x4E513847;
+    static final int VERSION = 1;
+
+    private static final int SCALE_BITS = 32;
+    private static final ActivationFunction[] ACTIVATION_FUNCTIONS = ActivationFunction.values();
+
+    private final int slotCount;
+    private final int[] inputSlots;
+    private final int[] neuronSlots;
+    private final ActivationFunction[] activations;
+
+    /**
+     * The scale of the incoming weights of every activated neuron with {@value #SCALE_BITS} fractional bits.
+     */
+    private final long[] scales;
+    private final int[] connectionStarts;
+    private final int[] sourceSlots;
+    private final byte[] weights;
+    private final int[] outputSlots;
+
+    /**
+     * The fixed-point value of every neuron during the current activation.
+     */
+    private final int[] values;
+
+    private QuantisedNetwork(int slotCount, int[] inputSlots, int[] neuronSlots, ActivationFunction[] activations,
+                             long[] scales, int[] connectionStarts, int[] sourceSlots, byte[] weights, int[] outputSlots) {
+        this.slotCount = slotCount;
+        this.inputSlots = inputSlots;
+        this.neuronSlots = neuronSlots;
+        this.activations = activations;
+        this.scales = scales;
+        this.connectionStarts = connectionStarts;
+        this.sourceSlots = sourceSlots;
+        this.weights = weights;
+        this.outputSlots = outputSlots;
+        this.values = new int[slotCount];
+    }
+
+    /**
+     * Compiles and quantises the given chromosome.
+     *
+     * @param chromosome The chromosome to quantise.
+     * @return The quantised network.
+     * @throws IllegalArgumentException if a neuron outside the input layer has no activation function
+     *                                  or the weights of a neuron exceed the range of the scales.
+     */
+    public static QuantisedNetwork quantise(NetworkChromosome chromosome) {
+        return quantise(NetworkCompiler.compile(chromosome));
+    }
+
+    /**
+     * Quantises the weights of the given compiled network.
+     *
+     * @param network The network to quantise.
+     * @return The quantised network.
+     * @throws IllegalArgumentException if the weights of a neuron exceed the range of the scales or are not finite.
+     */
+    public static QuantisedNetwork quantise(CompiledNetwork network) {
+        EvaluationPlan plan = network.getPlan();
+        int[] connectionStarts = plan.connectionStarts;
+        long[] scales = new long[plan.neuronCount()];
+        byte[] weights = new byte[plan.connectionCount()];
+        for (int neuron = 0; neuron < scales.length; neuron++) {
+            double maxWeight = 0;
+            for (int connection = connectionStarts[neuron]; connection < connectionStarts[neuron + 1]; connection++) {
+                maxWeight = Math.max(maxWeight, Math.abs(network.weight(connection)));
+            }
+            if (!Double.isFinite(maxWeight) || maxWeight / 127 >= 1L << (Long.SIZE - 1 - SCALE_BITS)) {
+                throw new IllegalArgumentException("The weights of neuron " + neuron + " cannot be quantised.");
+            }
+            if (maxWeight == 0) {
+                continue;
+            }
+            double scale = maxWeight / 127;
+            scales[neuron] = Math.round(Math.scalb(scale, SCALE_BITS));
+            for (int connection = connectionStarts[neuron]; connection < connectionStarts[neuron + 1]; connection++) {
+                weights[connection] = (byte) Math.round(network.weight(connection) / scale);
+            }
+        }
+        return new QuantisedNetwork(plan.slotCount(), plan.inputSlots, plan.neuronSlots, plan.activations, scales,
+                connectionStarts, plan.sourceSlots, weights, plan.outputSlots);
+    }
+
+    @Override
+    public int inputSize() {
+        return Math.max(inputSlots.length - 1, 0);
+    }
+
+    @Override
+    public int outputSize() {
+        return outputSlots.length;
+    }
+
+    /**
+     * Activates the network for the given fixed-point inputs and writes its fixed-point outputs into the given array.
+     * Values have {@value #FRACTION_BITS} fractional bits, i.e., {@link #ONE} represents one.
+     *
+     * @param inputs  The fixed-point inputs of the network, at most {@link #inputSize()} values.
+     * @param outputs The array receiving the fixed-point outputs, at least {@link #outputSize()} values.
+     * @throws IndexOutOfBoundsException if there are too many inputs or too few outputs.
+     */
+    public void activate(int[] inputs, int[] outputs) {
+        int[] values = this.values;
+        Arrays.fill(values, 0);
+        for (int i = 0; i < inputs.length; i++) {
+            values[inputSlots[i]] = inputs[i];
+        }
+        values[inputSlots[inputs.length]] = ONE;
+
+        for (int neuron = 0; neuron < neuronSlots.length; neuron++) {
+            long sum = 0;
+            for (int connection = connectionStarts[neuron]; connection < connectionStarts[neuron + 1]; connection++) {
+                sum += (long) values[sourceSlots[connection]] * weights[connection];
+            }
+            values[neuronSlots[neuron]] = activate(activations[neuron], scale(sum, scales[neuron]));
+        }
+
+        for (int i = 0; i < outputSlots.length; i++) {
+            outputs[i] = values[outputSlots[i]];
+        }
+    }
+
+    /**
+     * Activates the network for the given inputs, which are rounded to fixed-point numbers.
+     *
+     * @param inputs  The inputs of the network, at most {@link #inputSize()} values.
+     * @param outputs The array receiving the outputs, at least {@link #outputSize()} values.
+     * @throws IndexOutOfBoundsException if there are too many inputs or too few outputs.
+     */
+    @Override
+    public void activate(double[] inputs, double[] outputs) {
+        int[] fixedInputs = new int[inputs.length];
+        for (int i = 0; i < inputs.length; i++) {
+            fixedInputs[i] = saturate(Math.round(Math.scalb(inputs[i], FRACTION_BITS)));
+        }
+        int[] fixedOutputs = new int[outputSlots.length];
+        activate(fixedInputs, fixedOutputs);
+        for (int i = 0; i < fixedOutputs.length; i++) {
+            outputs[i] = Math.scalb((double) fixedOutputs[i], -FRACTION_BITS);
+        }
+    }
+
+    /**
+     * Multiplies the given weighted sum by the given scale and rounds the product towards negative infinity.
+     * The product is computed with 128 bits, hence it cannot overflow before it is saturated.
+     */
+    private static int scale(long sum, long scale) {
+        long high = Math.multiplyHigh(sum, scale);
+        long low = sum * scale;
+        if (high >> (SCALE_BITS - 1) != high >> (Long.SIZE - 1)) {
+            return high < 0 ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        }
+        return saturate(high << (Long.SIZE - SCALE_BITS) | low >>> SCALE_BITS);
+    }
+
+    private static int saturate(long value) {
+        return Math.clamp(value, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    private static int activate(ActivationFunction activation, int input) {
+        return switch (activation) {
+            case NONE -> input;
+            case TANH -> Tables.interpolate(Tables.TANH, input);
+            case SIGMOID -> Tables.interpolate(Tables.SIGMOID, input);
+        };
+    }
+
+    /**
+     * Returns the number of bytes occupied by the weights, one per evaluated connection.
+     *
+     * @return The size of the weights in bytes.
+     */
+    public int weightBytes() {
+        return weights.length;
+    }
+
+    /**
+     * Encodes the network into a compact binary format: a header followed by the input slots, the output slots
+     * and, for every activated neuron, its slot, activation function, scale and incoming connections,
+     * each consisting of a source slot and a weight byte. Slots and counts are stored as variable-length integers.
+     *
+     * @return The encoded network.
+     */
+    public byte[] encode() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(32 + neuronSlots.length * 12 + weights.length * 2);
+        writeInt(out, MAGIC);
+        out.write(VERSION);
+        writeVarint(out, slotCount);
+        writeSlots(out, inputSlots);
+        writeSlots(out, outputSlots);
+        writeVarint(out, neuronSlots.length);
+        for (int neuron = 0; neuron < neuronSlots.length; neuron++) {
+            writeVarint(out, neuronSlots[neuron]);
+            out.write(activations[neuron].ordinal());
+            writeInt(out, (int) (scales[neuron] >>> Integer.SIZE));
+            writeInt(out, (int) scales[neuron]);
+            writeVarint(out, connectionStarts[neuron + 1] - connectionStarts[neuron]);
+            for (int connection = connectionStarts[neuron]; connection < connectionStarts[neuron + 1]; connection++) {
+                writeVarint(out, sourceSlots[connection]);
+                out.write(weights[connection]);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a network encoded by {@link #encode()}.
+     *
+     * @param bytes The encoded network.
+     * @return The decoded network.
+     * @throws IllegalArgumentException if the bytes are not a valid encoding.
+     */
+    public static QuantisedNetwork decode(byte[] bytes) {
+        try {
+            ByteBuffer in = ByteBuffer.wrap(bytes);
+            if (in.getInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a quantised network.");
+            }
+            int version = in.get();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported quantised network version " + version + ".");
+            }
+            int slotCount = readVarint(in);
+            int[] inputSlots = readSlots(in, slotCount);
+            int[] outputSlots = readSlots(in, slotCount);
+            int neuronCount = readVarint(in);
+            int[] neuronSlots = new int[neuronCount];
+            ActivationFunction[] activations = new ActivationFunction[neuronCount];
+            long[] scales = new long[neuronCount];
+            int[] connectionStarts = new int[neuronCount + 1];
+            int[] sourceSlots = new int[16];
+            byte[] weights = new byte[16];
+            for (int neuron = 0; neuron < neuronCount; neuron++) {
+                neuronSlots[neuron] = checkSlot(readVarint(in), slotCount);
+                int activation = in.get();
+                if (activation < 0 || activation >= ACTIVATION_FUNCTIONS.length) {
+                    throw new IllegalArgumentException("Unknown activation function " + activation + ".");
+                }
+                activations[neuron] = ACTIVATION_FUNCTIONS[activation];
+                scales[neuron] = in.getLong();
+                int connections = readVarint(in);
+                int start = connectionStarts[neuron];
+                if (start + connections > sourceSlots.length) {
+                    int capacity = Math.max(start + connections, sourceSlots.length * 2);
+                    sourceSlots = Arrays.copyOf(sourceSlots, capacity);
+                    weights = Arrays.copyOf(weights, capacity);
+                }
+                for (int connection = start; connection < start + connections; connection++) {
+                    sourceSlots[connection] = checkSlot(readVarint(in), slotCount);
+                    weights[connection] = in.get();
+                }
+                connectionStarts[neuron + 1] = start + connections;
+            }
+            if (in.hasRemaining() || inputSlots.length == 0) {
+                throw new IllegalArgumentException("Malformed quantised network.");
+            }
+            int connectionCount = connectionStarts[neuronCount];
+            return new QuantisedNetwork(slotCount, inputSlots, neuronSlots, activations, scales, connectionStarts,
+                    Arrays.copyOf(sourceSlots, connectionCount), Arrays.copyOf(weights, connectionCount), outputSlots);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated quantised network.", e);
+        }
+    }
+
+    private static void writeInt(ByteArrayOutputStream out, int value) {
+        for (int shift = Integer.SIZE - Byte.SIZE; shift >= 0; shift -= Byte.SIZE) {
+            out.write(value >>> shift);
+        }
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write(value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static void writeSlots(ByteArrayOutputStream out, int[] slots) {
+        writeVarint(out, slots.length);
+        for (int slot : slots) {
+            writeVarint(out, slot);
+        }
+    }
+
+    private static int readVarint(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                if (value < 0) {
+                    throw new IllegalArgumentException("Negative length or slot.");
+                }
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed variable-length integer.");
+    }
+
+    private static int[] readSlots(ByteBuffer in, int slotCount) {
+        int length = readVarint(in);
+        if (length > slotCount) {
+            throw new IllegalArgumentException("More slots than the network has.");
+        }
+        int[] slots = new int[length];
+        for (int i = 0; i < length; i++) {
+            slots[i] = checkSlot(readVarint(in), slotCount);
+        }
+        return slots;
+    }
+
+    private static int checkSlot(int slot, int slotCount) {
+        if (slot >= slotCount) {
+            throw new IllegalArgumentException("Slot " + slot + " out of range.");
+        }
+        return slot;
+    }
+
+    /**
+     * Holds the fixed-point samples of the activation functions on [-8, 8] in steps of 1/256,
+     * which are only computed if a quantised network is used. Beyond that range the functions are saturated.
+     */
+    private static final class Tables {
+
+        private static final int STEP_BITS = 4;
+        private static final int RANGE = 8 << FRACTION_BITS;
+        private static final int SAMPLES = (2 * RANGE >> STEP_BITS) + 1;
+        private static final int[] TANH = new int[SAMPLES];
+        private static final int[] SIGMOID = new int[SAMPLES];
+
+        static {
+            for (int i = 0; i < SAMPLES; i++) {
+                double input = Math.scalb((double) ((i << STEP_BITS) - RANGE), -FRACTION_BITS);
+                TANH[i] = (int) Math.round(Math.scalb(Math.tanh(input), FRACTION_BITS));
+                SIGMOID[i] = (int) Math.round(Math.scalb(1 / (1 + Math.exp(-input)), FRACTION_BITS));
+            }
+        }
+
+        private static int interpolate(int[] table, int input) {
+            if (input <= -RANGE) {
+                return table[0];
+            } else if (input >= RANGE) {
+                return table[SAMPLES - 1];
+            }
+            int position = input + RANGE;
+            int index = position >>> STEP_BITS;
+            int fraction = position & (1 << STEP_BITS) - 1;
+            int lower = table[index];
+            return lower + ((table[index + 1] - lower) * fraction >> STEP_BITS);
+        }
+    }
+}
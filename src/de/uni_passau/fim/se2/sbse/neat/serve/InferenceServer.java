@@ -0,0 +1,290 @@
+package de.uni_passau.fim.se2.sbse.neat.serve;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import de.uni_passau.fim.se2.sbse.neat.phenotype.BatchedNetwork;
+import de.uni_passau.fim.se2.sbse.neat.phenotype.CompiledNetwork;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Answers prediction requests for a single compiled network over HTTP on the loopback interface.
+ * <p>
+ * {@code POST /predict} expects the inputs of the network as comma or whitespace separated numbers
+ * and responds with the comma separated outputs. {@code GET /stats} reports the throughput and latency of the server.
+ * <p>
+ * Requests are not evaluated on the threads receiving them. Instead, they are queued and a single evaluation thread
+ * collects all queued requests, up to the maximum batch size, into one batch. The inputs of the batch are written into
+ * the lanes of a {@link BatchedNetwork} holding a copy of the network in every lane, which evaluates the whole batch in
+ * one pass. If fewer requests are queued, the thread waits at most the batch delay for further requests to arrive.
+ * Since only the evaluation thread activates the network, the batch is evaluated without locking, and the only
+ * allocation per request is the array of outputs that completes it.
+ * The reported latency of a request spans from its arrival until its outputs are available.
+ */
+public final class InferenceServer implements AutoCloseable {
+
+    private final CompiledNetwork network;
+    private final BatchedNetwork batchedNetwork;
+    private final int maxBatchSize;
+    private final long batchDelayNanos;
+    private final BlockingQueue<Prediction> queue;
+    private final HttpServer server;
+    private final ExecutorService handlers;
+    private final Thread evaluator;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final AtomicLong maxLatency = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final long startNanos;
+    private volatile boolean running = true;
+
+    /**
+     * A queued prediction request.
+     */
+    private record Prediction(double[] inputs, long arrivalNanos, CompletableFuture<double[]> outputs) {
+    }
+
+    /**
+     * Starts a new server answering requests on the given port of the loopback interface.
+     *
+     * @param network      The network answering the requests.
+     * @param port         The port to listen on, 0 selects a free port.
+     * @param maxBatchSize The maximum number of requests evaluated in one batch.
+     * @param batchDelay   The maximum time to wait for further requests before evaluating an incomplete batch.
+     * @throws IOException if the server cannot be bound to the port.
+     */
+    public InferenceServer(CompiledNetwork network, int port, int maxBatchSize, Duration batchDelay) throws IOException {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("The batch size must be positive.");
+        }
+        this.network = requireNonNull(network);
+        this.batchedNetwork = BatchedNetwork.replicate(network, maxBatchSize);
+        this.maxBatchSize = maxBatchSize;
+        this.batchDelayNanos = batchDelay.toNanos();
+        this.queue = new LinkedBlockingQueue<>();
+
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.handlers = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(handlers);
+        server.createContext("/predict", this::handlePredict);
+        server.createContext("/stats", this::handleStats);
+
+        this.evaluator = new Thread(this::evaluateBatches, "inference-evaluator");
+        this.evaluator.setDaemon(true);
+        this.startNanos = System.nanoTime();
+        evaluator.start();
+        server.start();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Returns the throughput and latency of the server since it was started.
+     *
+     * @return The current statistics.
+     */
+    public ServerStatistics statistics() {
+        long requests = latencies.count();
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        return new ServerStatistics(requests, batches.get(), requests / seconds,
+                latencies.percentile(0.5), latencies.percentile(0.99), maxLatency.get());
+    }
+
+    /**
+     * Predicts the outputs for the given inputs through the batching queue, as if the request was received over HTTP.
+     *
+     * @param inputs The inputs of the network.
+     * @return The future outputs of the network.
+     * @throws IllegalArgumentException if the number of inputs does not match the network.
+     */
+    public CompletableFuture<double[]> predict(double[] inputs) {
+        if (inputs.length != network.inputSize()) {
+            throw new IllegalArgumentException("Expected " + network.inputSize() + " inputs but got " + inputs.length + ".");
+        }
+        return enqueue(inputs, System.nanoTime());
+    }
+
+    private CompletableFuture<double[]> enqueue(double[] inputs, long arrivalNanos) {
+        Prediction prediction = new Prediction(inputs, arrivalNanos, new CompletableFuture<>());
+        queue.add(prediction);
+        return prediction.outputs();
+    }
+
+    private void evaluateBatches() {
+        Prediction[] batch = new Prediction[maxBatchSize];
+        int inputSize = network.inputSize();
+        int outputSize = network.outputSize();
+        double[] inputs = new double[inputSize * maxBatchSize];
+        double[] outputs = new double[outputSize * maxBatchSize];
+        while (running) {
+            int size;
+            try {
+                size = collectBatch(batch);
+            } catch (InterruptedException e) {
+                break;
+            }
+            if (size == 0) {
+                continue;
+            }
+            for (int lane = 0; lane < size; lane++) {
+                double[] laneInputs = batch[lane].inputs();
+                for (int i = 0; i < inputSize; i++) {
+                    inputs[i * maxBatchSize + lane] = laneInputs[i];
+                }
+            }
+            try {
+                batchedNetwork.activate(inputs, outputs, size);
+                long now = System.nanoTime();
+                for (int lane = 0; lane < size; lane++) {
+                    double[] laneOutputs = new double[outputSize];
+                    for (int o = 0; o < outputSize; o++) {
+                        laneOutputs[o] = outputs[o * maxBatchSize + lane];
+                    }
+                    batch[lane].outputs().complete(laneOutputs);
+                    recordLatency(now - batch[lane].arrivalNanos());
+                }
+            } catch (RuntimeException e) {
+                for (int lane = 0; lane < size; lane++) {
+                    batch[lane].outputs().completeExceptionally(e);
+                }
+            }
+            Arrays.fill(batch, 0, size, null);
+            batches.incrementAndGet();
+        }
+    }
+
+    /**
+     * Waits for the first request of a batch and adds further requests until the batch is full or the delay expired.
+     *
+     * @return The number of requests in the batch.
+     */
+    private int collectBatch(Prediction[] batch) throws InterruptedException {
+        Prediction first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return 0;
+        }
+        batch[0] = first;
+        int size = 1;
+        long deadline = System.nanoTime() + batchDelayNanos;
+        while (size < batch.length) {
+            Prediction next = queue.poll();
+            if (next == null) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || (next = queue.poll(remaining, TimeUnit.NANOSECONDS)) == null) {
+                    break;
+                }
+            }
+            batch[size++] = next;
+        }
+        return size;
+    }
+
+    private void handlePredict(HttpExchange exchange) throws IOException {
+        long arrival = System.nanoTime();
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                respond(exchange, 405, "Use POST to request predictions.\n");
+                return;
+            }
+
+            double[] inputs;
+            try {
+                inputs = parseInputs(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.US_ASCII));
+                if (inputs.length != network.inputSize()) {
+                    throw new IllegalArgumentException("Expected " + network.inputSize() + " inputs but got " + inputs.length + ".");
+                }
+            } catch (IllegalArgumentException e) {
+                respond(exchange, 400, e.getMessage() + "\n");
+                return;
+            }
+
+            double[] outputs;
+            try {
+                outputs = enqueue(inputs, arrival).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                respond(exchange, 503, "The server is shutting down.\n");
+                return;
+            } catch (ExecutionException e) {
+                respond(exchange, 500, e.getCause().getMessage() + "\n");
+                return;
+            }
+
+            respond(exchange, 200, formatOutputs(outputs));
+        }
+    }
+
+    private void recordLatency(long nanos) {
+        latencies.record(nanos);
+        maxLatency.accumulateAndGet(nanos, Math::max);
+    }
+
+    private void handleStats(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            respond(exchange, 200, statistics().format() + "\n");
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.US_ASCII);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    static double[] parseInputs(String body) {
+        String trimmed = body.strip();
+        if (trimmed.isEmpty()) {
+            return new double[0];
+        }
+        String[] tokens = trimmed.split("[,\\s]+");
+        double[] inputs = new double[tokens.length];
+        for (int i = 0; i < tokens.length; i++) {
+            inputs[i] = Double.parseDouble(tokens[i]);
+        }
+        return inputs;
+    }
+
+    static String formatOutputs(double[] outputs) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < outputs.length; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(outputs[i]);
+        }
+        return builder.append('\n').toString();
+    }
+
+    /**
+     * Stops accepting requests and waits for the evaluation thread to terminate.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        running = false;
+        evaluator.interrupt();
+        try {
+            evaluator.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        handlers.shutdownNow();
+        for (Prediction pending; (pending = queue.poll()) != null; ) {
+            pending.outputs().completeExceptionally(new CancellationException("The server was closed."));
+        }
+    }
+}
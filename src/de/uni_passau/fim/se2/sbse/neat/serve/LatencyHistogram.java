@@ -0,0 +1,88 @@
+package de.uni_passau.fim.se2.sbse.neat.serve;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of latencies in nanoseconds with logarithmically sized buckets.
+ * Every power of two is split into {@value #SUB_BUCKETS} buckets,
+ * hence reported percentiles overestimate the recorded latency by at most 1/{@value #SUB_BUCKETS}.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(Long.SIZE * SUB_BUCKETS);
+
+    /**
+     * Records a single latency.
+     *
+     * @param nanos The latency in nanoseconds, negative values are recorded as zero.
+     */
+    public void record(long nanos) {
+        counts.incrementAndGet(bucketOf(Math.max(nanos, 0)));
+    }
+
+    /**
+     * Returns the number of recorded latencies.
+     *
+     * @return The number of recorded latencies.
+     */
+    public long count() {
+        long count = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the latency below which the given fraction of all recorded latencies lie.
+     *
+     * @param quantile The quantile in {@code [0, 1]}, e.g., 0.99 for the 99th percentile.
+     * @return The upper bound of the bucket containing the quantile in nanoseconds, or 0 if nothing was recorded.
+     */
+    public long percentile(double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException("The quantile must be between 0 and 1.");
+        }
+        long[] snapshot = new long[counts.length()];
+        long total = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long cumulative = 0;
+        for (int bucket = 0; bucket < snapshot.length; bucket++) {
+            cumulative += snapshot[bucket];
+            if (cumulative >= rank) {
+                return upperBoundOf(bucket);
+            }
+        }
+        return upperBoundOf(snapshot.length - 1);
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int subBucket = bucket % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return ((long) (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS)) + width - 1;
+    }
+}
@@ -0,0 +1,37 @@
+package de.uni_passau.fim.se2.sbse.neat.serve;
+
+import java.util.Locale;
+
+/**
+ * A snapshot of the throughput and latency of an {@link InferenceServer}.
+ *
+ * @param requests          The number of answered prediction requests.
+ * @param batches           The number of forward passes the requests were answered in.
+ * @param requestsPerSecond The number of answered requests per second since the server was started.
+ * @param p50Nanos          The median latency in nanoseconds.
+ * @param p99Nanos          The 99th percentile of the latency in nanoseconds.
+ * @param maxNanos          The maximum latency in nanoseconds.
+ */
+public record ServerStatistics(long requests, long batches, double requestsPerSecond,
+                               long p50Nanos, long p99Nanos, long maxNanos) {
+
+    /**
+     * Returns the mean number of requests answered per forward pass.
+     *
+     * @return The mean batch size, or 0 if no request was answered.
+     */
+    public double meanBatchSize() {
+        return batches == 0 ? 0 : (double) requests / batches;
+    }
+
+    /**
+     * Formats the statistics as a single human-readable line.
+     *
+     * @return The formatted statistics.
+     */
+    public String format() {
+        return String.format(Locale.ROOT,
+                "requests=%d requests/s=%.1f p50=%.1fus p99=%.1fus max=%.1fus mean-batch=%.2f",
+                requests, requestsPerSecond, p50Nanos / 1e3, p99Nanos / 1e3, maxNanos / 1e3, meanBatchSize());
+    }
+}
@@ -0,0 +1,83 @@
+package de.uni_passau.fim.se2.sbse.neat.utils;
+
+/**
+ * A token that allows to cooperatively cancel long-running computations.
+ * Computations poll {@link #isCancelled()} and stop as soon as possible once the token has been cancelled.
+ * <p>
+ * A token may have a parent, in which case it is also cancelled once its parent is cancelled,
+ * and a deadline, after which it is cancelled automatically.
+ * Cancelling a child token does not affect its parent.
+ */
+public class CancellationToken {
+
+    /**
+     * The token whose cancellation is propagated to this token, or {@code null} if there is none.
+     */
+    private final CancellationToken parent;
+
+    /**
+     * The value of {@link System#nanoTime()} after which the token is cancelled.
+     */
+    private final long deadlineNanos;
+
+    /**
+     * Whether the token has a deadline.
+     */
+    private final boolean hasDeadline;
+
+    private volatile boolean cancelled;
+
+    /**
+     * Creates a new token without parent and deadline.
+     */
+    public CancellationToken() {
+        this(null, 0, false);
+    }
+
+    private CancellationToken(CancellationToken parent, long deadlineNanos, boolean hasDeadline) {
+        this.parent = parent;
+        this.deadlineNanos = deadlineNanos;
+        this.hasDeadline = hasDeadline;
+    }
+
+    /**
+     * Creates a new token that is cancelled once this token is cancelled.
+     *
+     * @return The child token.
+     */
+    public CancellationToken child() {
+        return new CancellationToken(this, 0, false);
+    }
+
+    /**
+     * Creates a new token that is cancelled once this token is cancelled or the given deadline has passed.
+     *
+     * @param deadlineNanos The value of {@link System#nanoTime()} after which the child token is cancelled.
+     * @return The child token.
+     */
+    public CancellationToken child(long deadlineNanos) {
+        return new CancellationToken(this, deadlineNanos, true);
+    }
+
+    /**
+     * Cancels the token and all of its children.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Returns whether the token, one of its ancestors, or a deadline has cancelled the computation.
+     *
+     * @return True if the computation should stop, false otherwise.
+     */
+    public boolean isCancelled() {
+        if (cancelled) {
+            return true;
+        }
+        if ((parent != null && parent.isCancelled()) || (hasDeadline && System.nanoTime() - deadlineNanos >= 0)) {
+            cancelled = true;
+        }
+        return cancelled;
+    }
+}
@@ -1,12 +1,10 @@
 package de.uni_passau.fim.se2.sbse.neat.utils;
 
-import java.util.Random;
-
 // This class is a utility class that provides a single source of randomness for the entire application.
 public class Randomness {
 
     // Internal source of randomness.
-    private static final Random random = new Random();
+    private static final RestorableRandom random = new RestorableRandom();
 
     private Randomness() {
         // private constructor to prevent instantiation.
@@ -17,7 +15,22 @@ private Randomness() {
      *
      * @return randomness
      */
-    public static Random random() {
+    public static RestorableRandom random() {
         return random;
     }
+
+    /**
+     * Derives the seed of an independent stream from a base seed, such that consecutive streams are uncorrelated.
+     * The derivation scrambles the base seed offset by the stream index with the SplitMix64 finaliser.
+     *
+     * @param seed   The base seed.
+     * @param stream The index of the stream.
+     * @return The seed of the stream.
+     */
+    public static long derive(long seed, int stream) {
+        long z = seed + (stream + 1L) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
 }
@@ -0,0 +1,115 @@
+package de.uni_passau.fim.se2.sbse.neat.utils;
+
+import java.io.Serial;
+import java.util.Random;
+
+/**
+ * A random number generator whose position in its stream can be captured and restored in place.
+ * Components such as environments keep a reference to the generator they were created with,
+ * hence resuming a run from a checkpoint must continue the stream of the very same instance.
+ * <p>
+ * The generator implements the linear congruential generator of {@link Random} itself, hence it produces exactly the
+ * same sequence as a {@link Random} with the same seed, and its position is fully described by a {@link State}.
+ */
+public final class RestorableRandom extends Random {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    /**
+     * The position of a generator in its stream.
+     *
+     * @param seed             The 48-bit state of the linear congruential generator.
+     * @param nextNextGaussian The second value of the last pair of Gaussian values, or {@code NaN} if it was returned already.
+     */
+    public record State(long seed, double nextNextGaussian) {
+    }
+
+    private long seed;
+    private double nextNextGaussian = Double.NaN;
+
+    /**
+     * Creates a new random number generator with a random seed.
+     */
+    public RestorableRandom() {
+        super();
+    }
+
+    /**
+     * Creates a new random number generator with the given seed.
+     *
+     * @param seed The initial seed.
+     */
+    public RestorableRandom(long seed) {
+        super(seed);
+    }
+
+    /**
+     * Creates a new random number generator that continues the stream at the given position.
+     *
+     * @param state The position in the stream.
+     */
+    public RestorableRandom(State state) {
+        restore(state);
+    }
+
+    /**
+     * Returns the current position of this generator in its stream.
+     *
+     * @return The position in the stream.
+     */
+    public synchronized State getState() {
+        return new State(seed, nextNextGaussian);
+    }
+
+    /**
+     * Continues the stream of this generator at the given position.
+     *
+     * @param state The position in the stream.
+     */
+    public synchronized void restore(State state) {
+        seed = state.seed() & MASK;
+        nextNextGaussian = state.nextNextGaussian();
+    }
+
+    @Override
+    public synchronized void setSeed(long seed) {
+        // Called by the constructor of Random before the field initialisers of this class have run
+        this.seed = (seed ^ MULTIPLIER) & MASK;
+        nextNextGaussian = Double.NaN;
+    }
+
+    @Override
+    protected synchronized int next(int bits) {
+        seed = (seed * MULTIPLIER + ADDEND) & MASK;
+        return (int) (seed >>> (48 - bits));
+    }
+
+    /**
+     * Draws the next value of a standard normal distribution with the polar method of {@link Random#nextGaussian()},
+     * which generates the values in pairs.
+     */
+    @Override
+    public synchronized double nextGaussian() {
+        if (!Double.isNaN(nextNextGaussian)) {
+            double gaussian = nextNextGaussian;
+            nextNextGaussian = Double.NaN;
+            return gaussian;
+        }
+        double v1;
+        double v2;
+        double s;
+        do {
+            v1 = 2 * nextDouble() - 1;
+            v2 = 2 * nextDouble() - 1;
+            s = v1 * v1 + v2 * v2;
+        } while (s >= 1 || s == 0);
+        double multiplier = StrictMath.sqrt(-2 * StrictMath.log(s) / s);
+        nextNextGaussian = v2 * multiplier;
+        return v1 * multiplier;
+    }
+}
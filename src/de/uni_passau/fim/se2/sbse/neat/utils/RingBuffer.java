@@ -0,0 +1,102 @@
+package de.uni_passau.fim.se2.sbse.neat.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A bounded lock-free queue for many producers and a single consumer.
+ * <p>
+ * Every slot of the ring carries a sequence number that tells producers and the consumer whose turn it is: a producer
+ * claims the position {@code p} by advancing the shared tail with a compare-and-set, but may only write its slot once
+ * the sequence of the slot equals {@code p}, and publishes the element by setting the sequence to {@code p + 1}. The
+ * consumer takes the element once the sequence equals {@code p + 1} and releases the slot for the next lap by setting
+ * the sequence to {@code p + capacity}. Producers never wait for each other or for the consumer: if the ring is full,
+ * {@link #offer} returns false at once.
+ *
+ * @param <T> The type of the elements.
+ */
+public final class RingBuffer<T> {
+
+    private final Object[] elements;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+
+    // Only accessed by the consumer
+    private long head;
+
+    /**
+     * Creates an empty ring buffer.
+     *
+     * @param capacity The maximum number of elements, a power of two.
+     */
+    public RingBuffer(int capacity) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("The capacity must be a positive power of two.");
+        }
+        elements = new Object[capacity];
+        sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+        mask = capacity - 1;
+    }
+
+    /**
+     * Appends the given element unless the buffer is full. Can be called by any thread.
+     *
+     * @param element The element to append.
+     * @return True if the element was appended, false if the buffer is full.
+     */
+    public boolean offer(T element) {
+        requireNonNull(element);
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.getAcquire(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements[index] = element;
+                    sequences.setRelease(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // The slot still holds the element of the previous lap
+                return false;
+            } else {
+                // Another producer claimed the position in the meantime
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Removes the oldest element. Must only be called by the single consumer thread.
+     *
+     * @return The oldest element, or {@code null} if the buffer is empty.
+     */
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        int index = (int) head & mask;
+        if (sequences.getAcquire(index) != head + 1) {
+            return null;
+        }
+        T element = (T) elements[index];
+        elements[index] = null;
+        sequences.setRelease(index, head + elements.length);
+        head++;
+        return element;
+    }
+
+    /**
+     * Returns the maximum number of elements.
+     *
+     * @return The capacity of the buffer.
+     */
+    public int capacity() {
+        return elements.length;
+    }
+}
@@ -0,0 +1,76 @@
+package de.uni_passau.fim.se2.sbse.neat.algorithms;
+
+import de.uni_passau.fim.se2.sbse.neat.algorithms.innovations.Innovation;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkGenerator;
+import de.uni_passau.fim.se2.sbse.neat.environments.LockstepEnvironment;
+import de.uni_passau.fim.se2.sbse.neat.environments.SinglePoleBalancing;
+import de.uni_passau.fim.se2.sbse.neat.environments.XOR;
+import de.uni_passau.fim.se2.sbse.neat.mutation.NeatMutation;
+import de.uni_passau.fim.se2.sbse.neat.phenotype.PlanCache;
+import de.uni_passau.fim.se2.sbse.neat.utils.CancellationToken;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchEvaluatorTest {
+
+    @Test
+    public void testXorMatchesSequentialEvaluation() {
+        assertMatchesSequentialEvaluation(new XOR(), 2);
+    }
+
+    @Test
+    public void testCartPoleMatchesSequentialEvaluation() {
+        assertMatchesSequentialEvaluation(new SinglePoleBalancing(2000, 2, false, new Random(0)), 4);
+    }
+
+    @Test
+    public void testCancelledEvaluationSkipsAllBatches() {
+        CancellationToken token = new CancellationToken();
+        token.cancel();
+        List<NetworkChromosome> population = population(new Random(1), 2);
+
+        List<NetworkChromosome> completed = new BatchEvaluator(new XOR(), new PlanCache(PlanCache.DEFAULT_CAPACITY))
+                .evaluate(population, token, _ -> fail("No evaluation should complete"));
+
+        assertTrue(completed.isEmpty());
+    }
+
+    private static void assertMatchesSequentialEvaluation(LockstepEnvironment environment, int inputs) {
+        List<NetworkChromosome> population = population(new Random(3), inputs);
+        PlanCache planCache = new PlanCache(PlanCache.DEFAULT_CAPACITY);
+        List<NetworkChromosome> evaluated = new ArrayList<>();
+
+        List<NetworkChromosome> completed = new BatchEvaluator(environment, planCache)
+                .evaluate(population, new CancellationToken(), evaluated::add);
+
+        assertEquals(population.size(), completed.size());
+        assertEquals(completed, evaluated);
+        assertTrue(planCache.getHits() > 0);
+        for (NetworkChromosome chromosome : population) {
+            double expected = environment.evaluate(chromosome);
+            assertEquals(expected, chromosome.getFitness(), 0.0);
+            assertEquals(environment.getEvaluationSteps(), chromosome.getEvaluationCost().steps());
+        }
+    }
+
+    /**
+     * Creates a population of generated networks and their mutants, many of which share the same structure.
+     */
+    private static List<NetworkChromosome> population(Random random, int inputs) {
+        Set<Innovation> innovations = new HashSet<>();
+        NetworkGenerator generator = new NetworkGenerator(innovations, inputs, 1, random);
+        NeatMutation mutation = new NeatMutation(innovations, random);
+        List<NetworkChromosome> population = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            NetworkChromosome chromosome = generator.generate();
+            population.add(chromosome);
+            population.add(mutation.mutateWeights(chromosome));
+            population.add(mutation.apply(chromosome));
+        }
+        return population;
+    }
+}
@@ -0,0 +1,115 @@
+package de.uni_passau.fim.se2.sbse.neat.algorithms;
+
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.EvaluationCost;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkGenerator;
+import de.uni_passau.fim.se2.sbse.neat.environments.SinglePoleBalancing;
+import de.uni_passau.fim.se2.sbse.neat.environments.XOR;
+import de.uni_passau.fim.se2.sbse.neat.utils.CancellationToken;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EvaluationSchedulerTest {
+
+    @Test
+    public void testConcurrentEvaluationMatchesSequentialEvaluation() {
+        NetworkGenerator generator = new NetworkGenerator(new HashSet<>(), 2, 1, new Random(42));
+        List<NetworkChromosome> chromosomes = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            NetworkChromosome chromosome = generator.generate();
+            chromosome.setPredictedCost(new EvaluationCost(0, i));
+            chromosomes.add(chromosome);
+        }
+
+        List<NetworkChromosome> completed;
+        try (EvaluationScheduler scheduler = new EvaluationScheduler(4)) {
+            completed = scheduler.evaluate(new XOR(), chromosomes, new CancellationToken(), _ -> {
+            });
+        }
+
+        assertEquals(chromosomes.size(), completed.size());
+
+        XOR environment = new XOR();
+        for (NetworkChromosome chromosome : chromosomes) {
+            assertEquals(environment.evaluate(chromosome), chromosome.getFitness(), 0.0);
+            assertEquals(4, chromosome.getEvaluationCost().steps());
+        }
+    }
+
+    @Test
+    public void testRandomisedEvaluationsDoNotDependOnTheThreads() {
+        NetworkGenerator generator = new NetworkGenerator(new HashSet<>(), 4, 1, new Random(42));
+        List<NetworkChromosome> chromosomes = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            chromosomes.add(generator.generate());
+        }
+        SinglePoleBalancing environment = new SinglePoleBalancing(200, 2, true, new Random(7));
+        environment.setCancellationToken(new CancellationToken());
+
+        double[][] fitness = new double[2][chromosomes.size()];
+        int[] threads = {1, 4};
+        for (int run = 0; run < threads.length; run++) {
+            try (EvaluationScheduler scheduler = new EvaluationScheduler(threads[run])) {
+                scheduler.evaluate(environment, chromosomes, chromosome -> chromosome, new Random(3),
+                        new CancellationToken(), _ -> {
+                        });
+            }
+            for (int i = 0; i < chromosomes.size(); i++) {
+                fitness[run][i] = chromosomes.get(i).getFitness();
+            }
+        }
+
+        assertArrayEquals(fitness[0], fitness[1], 0.0);
+    }
+
+    @Test
+    public void testCancelledTokenSkipsEvaluations() {
+        NetworkGenerator generator = new NetworkGenerator(new HashSet<>(), 4, 1, new Random(42));
+        List<NetworkChromosome> chromosomes = List.of(generator.generate(), generator.generate());
+        SinglePoleBalancing environment = new SinglePoleBalancing(10, false, new Random(42));
+        CancellationToken token = new CancellationToken();
+        environment.setCancellationToken(token);
+        token.cancel();
+
+        List<NetworkChromosome> completed;
+        try (EvaluationScheduler scheduler = new EvaluationScheduler(2)) {
+            completed = scheduler.evaluate(environment, chromosomes, token, _ -> fail("No evaluation should complete"));
+        }
+
+        assertTrue(completed.isEmpty());
+    }
+
+    @Test
+    public void testMeasureRecordsEvaluationCost() {
+        NetworkGenerator generator = new NetworkGenerator(new HashSet<>(), 2, 1, new Random(42));
+        NetworkChromosome chromosome = generator.generate();
+
+        double fitness = EvaluationScheduler.measure(new XOR(), chromosome);
+
+        assertEquals(new XOR().evaluate(chromosome), fitness, 0.0);
+        assertEquals(4, chromosome.getEvaluationCost().steps());
+        assertTrue(chromosome.getEvaluationCost().nanos() > 0);
+    }
+
+    @Test
+    public void testPredictAveragesParentCosts() {
+        NetworkGenerator generator = new NetworkGenerator(new HashSet<>(), 2, 1, new Random(42));
+        NetworkChromosome parent1 = generator.generate();
+        NetworkChromosome parent2 = generator.generate();
+        parent1.setEvaluationCost(new EvaluationCost(100, 1000));
+        parent2.setEvaluationCost(new EvaluationCost(300, 3000));
+
+        assertEquals(new EvaluationCost(200, 2000), EvaluationScheduler.predict(parent1, parent2));
+    }
+
+    @Test
+    public void testAtLeastOneThreadIsRequired() {
+        assertThrows(IllegalArgumentException.class, () -> new EvaluationScheduler(0));
+    }
+}
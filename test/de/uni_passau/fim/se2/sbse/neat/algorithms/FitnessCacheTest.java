@@ -0,0 +1,45 @@
+package de.uni_passau.fim.se2.sbse.neat.algorithms;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FitnessCacheTest {
+
+    @Test
+    public void testGetReturnsCachedFitness() {
+        FitnessCache cache = new FitnessCache(2);
+        cache.put(1L, 10.0);
+        assertEquals(10.0, cache.get(1L), 0.001);
+        assertNull(cache.get(2L));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvicted() {
+        FitnessCache cache = new FitnessCache(2);
+        cache.put(1L, 10.0);
+        cache.put(2L, 20.0);
+        cache.get(1L);
+        cache.put(3L, 30.0);
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get(1L));
+        assertNull(cache.get(2L));
+        assertNotNull(cache.get(3L));
+    }
+
+    @Test
+    public void testZeroCapacityDisablesCache() {
+        FitnessCache cache = new FitnessCache(0);
+        cache.put(1L, 10.0);
+        assertNull(cache.get(1L));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testNegativeCapacityThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> new FitnessCache(-1));
+    }
+}
@@ -3,7 +3,9 @@
 import de.uni_passau.fim.se2.sbse.neat.chromosomes.*;
 import de.uni_passau.fim.se2.sbse.neat.crossover.NeatCrossover;
 import de.uni_passau.fim.se2.sbse.neat.environments.Environment;
+import de.uni_passau.fim.se2.sbse.neat.environments.XOR;
 import de.uni_passau.fim.se2.sbse.neat.mutation.NeatMutation;
+import de.uni_passau.fim.se2.sbse.neat.utils.CancellationToken;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -107,6 +109,115 @@ public void testSolveFullGenerations() {
         assertEquals(3, algo.getPopulation().size());
     }
 
+    @Test
+    public void testSolveStopsWhenEvaluationBudgetIsExhausted() {
+        NeatAlgorithm algo = new NeatAlgorithm(10, 50, random);
+        algo.setFitnessCacheCapacity(0);
+
+        Agent bestAgent = algo.solve(new XOR(), Budget.UNLIMITED.withMaxEvaluations(15), new CancellationToken());
+
+        assertNotNull(bestAgent);
+        assertEquals(15, algo.getEvaluationCount());
+        assertEquals(1, algo.getGeneration());
+    }
+
+    @Test
+    public void testSolveReturnsImmediatelyWhenCancelled() {
+        NeatAlgorithm algo = new NeatAlgorithm(10, 50, random);
+        CancellationToken token = new CancellationToken();
+        token.cancel();
+
+        Agent bestAgent = algo.solve(new XOR(), Budget.UNLIMITED, token);
+
+        assertSame(algo.getPopulation().getFirst(), bestAgent);
+        assertEquals(0, algo.getEvaluationCount());
+        assertEquals(0, algo.getGeneration());
+    }
+
+    @Test
+    public void testParametersConfigureMutationAndSpeciation() {
+        NeatParameters parameters = NeatParameters.DEFAULT
+                .withAddNeuronProbability(0)
+                .withAddConnectionProbability(0)
+                .withToggleConnectionProbability(0)
+                .withDesiredSpeciesCount(3)
+                .withInitialDeltaThreshold(4.0);
+        NeatAlgorithm algo = new NeatAlgorithm(20, 3, random, parameters);
+        assertEquals(4.0, algo.getDeltaThreshold());
+
+        algo.solve(new XOR());
+
+        // Without structural mutations, all networks keep the two inputs, the bias and the output
+        for (NetworkChromosome chromosome : algo.getPopulation()) {
+            assertEquals(4, chromosome.getAllNeurons().size());
+        }
+        assertSame(parameters, algo.getParameters());
+        assertThrows(IllegalArgumentException.class, () -> parameters.withMutateWeightsProbability(1.5));
+        assertThrows(IllegalArgumentException.class, () -> parameters.withDesiredSpeciesCount(0));
+        assertThrows(IllegalArgumentException.class, () -> parameters.withCrossoverProbability(-0.1));
+        assertThrows(IllegalArgumentException.class, () -> parameters.withTournamentSize(0));
+    }
+
+    @Test
+    public void testPhaseTimesAddUpToTheRun() {
+        NeatAlgorithm algo = new NeatAlgorithm(20, 3, random);
+
+        long start = System.nanoTime();
+        algo.solve(new XOR());
+        long wallNanos = System.nanoTime() - start;
+
+        long totalNanos = 0;
+        for (Phase phase : Phase.values()) {
+            totalNanos += algo.getPhaseNanos(phase);
+        }
+        assertTrue(algo.getPhaseNanos(Phase.EVALUATION) > 0);
+        assertTrue(algo.getPhaseNanos(Phase.SPECIATION) > 0);
+        assertTrue(algo.getPhaseNanos(Phase.REPRODUCTION) > 0);
+        assertEquals(0, algo.getPhaseNanos(Phase.CHECKPOINTING));
+        assertTrue(totalNanos <= wallNanos);
+    }
+
+    @Test
+    public void testGenerationListenerReceivesEveryGeneration() {
+        NeatAlgorithm algo = new NeatAlgorithm(20, 3, random);
+        List<GenerationStats> reported = new ArrayList<>();
+        algo.addGenerationListener(reported::add);
+
+        algo.solve(new XOR());
+
+        assertEquals(3, reported.size());
+        long evaluationNanos = 0;
+        for (int i = 0; i < reported.size(); i++) {
+            GenerationStats stats = reported.get(i);
+            assertEquals(i, stats.generation());
+            assertTrue(stats.speciesCount() > 0);
+            assertEquals(stats.speciesCount(), stats.speciesSizes().size());
+            assertEquals(20, stats.speciesSizes().stream().mapToInt(Integer::intValue).sum());
+            assertTrue(stats.meanGenomeSize() > 0);
+            assertTrue(stats.crossoverNanos() + stats.mutationNanos() <= stats.reproductionNanos());
+            assertTrue(stats.format().startsWith("generation=" + i + " "));
+            evaluationNanos += stats.evaluationNanos();
+        }
+        assertEquals(algo.getPhaseNanos(Phase.EVALUATION), evaluationNanos);
+
+        assertThrows(NullPointerException.class, () -> algo.addGenerationListener(null));
+    }
+
+    @Test
+    public void testInitialNetworksStartWithHiddenNeurons() {
+        NeatAlgorithm algo = new NeatAlgorithm(5, 0, random);
+        algo.setInitialHiddenNeurons(3);
+
+        algo.solve(new XOR());
+
+        assertEquals(5, algo.getPopulation().size());
+        for (NetworkChromosome chromosome : algo.getPopulation()) {
+            // Two inputs, the bias, the output and three hidden neurons
+            assertEquals(7, chromosome.getAllNeurons().size());
+        }
+        assertThrows(IllegalArgumentException.class, () -> algo.setInitialHiddenNeurons(-1));
+    }
+
     @Test
     public void testGettersAndSetters() {
         NeatAlgorithm algo = new NeatAlgorithm(5, 3, random);
@@ -0,0 +1,222 @@
+package de.uni_passau.fim.se2.sbse.neat.algorithms;
+
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.Agent;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.Species;
+import de.uni_passau.fim.se2.sbse.neat.environments.EpisodicEnvironment;
+import de.uni_passau.fim.se2.sbse.neat.utils.CancellationToken;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RacingEvaluatorTest {
+
+    @Test
+    public void testSurvivorsReceiveExactFitness() {
+        EpisodeEnvironment environment = new EpisodeEnvironment(3, 100, 1000);
+        NetworkChromosome elite = agentWithEpisodeReward(100);
+        NetworkChromosome close = agentWithEpisodeReward(90);
+
+        Map<NetworkChromosome, RacingEvaluator.Result> results =
+                new RacingEvaluator(environment).evaluate(List.of(speciesOf(elite, close)));
+
+        assertEquals(new RacingEvaluator.Result(300, 300, 3, true), results.get(elite));
+        assertEquals(new RacingEvaluator.Result(270, 270, 3, true), results.get(close));
+    }
+
+    @Test
+    public void testHopelessAgentsAreDropped() {
+        EpisodeEnvironment environment = new EpisodeEnvironment(3, 100, 1000);
+        NetworkChromosome elite = agentWithEpisodeReward(100);
+        NetworkChromosome weak = agentWithEpisodeReward(10);
+
+        Map<NetworkChromosome, RacingEvaluator.Result> results =
+                new RacingEvaluator(environment).evaluate(List.of(speciesOf(elite, weak)));
+
+        // After two episodes, the weak agent can reach at most 20 + 100 < 200
+        RacingEvaluator.Result result = results.get(weak);
+        assertFalse(result.exact());
+        assertEquals(2, result.episodes());
+        assertEquals(20, result.fitness(), 0.001);
+        assertEquals(120, result.upperBound(), 0.001);
+        assertEquals(5, environment.episodesRun);
+    }
+
+    @Test
+    public void testAgentsThatCanStillSolveAreNotDropped() {
+        EpisodeEnvironment environment = new EpisodeEnvironment(3, 100, 150);
+        NetworkChromosome elite = agentWithEpisodeReward(100);
+        NetworkChromosome weak = agentWithEpisodeReward(30);
+
+        Map<NetworkChromosome, RacingEvaluator.Result> results =
+                new RacingEvaluator(environment).evaluate(List.of(speciesOf(elite, weak)));
+
+        assertTrue(results.get(weak).exact());
+        assertEquals(90, results.get(weak).fitness(), 0.001);
+    }
+
+    @Test
+    public void testAgentsOnlyCompeteWithinTheirSpecies() {
+        EpisodeEnvironment environment = new EpisodeEnvironment(3, 100, 1000);
+        NetworkChromosome elite = agentWithEpisodeReward(100);
+        NetworkChromosome weak = agentWithEpisodeReward(10);
+
+        Map<NetworkChromosome, RacingEvaluator.Result> results =
+                new RacingEvaluator(environment).evaluate(List.of(speciesOf(elite), speciesOf(weak)));
+
+        assertTrue(results.get(weak).exact());
+        assertEquals(30, results.get(weak).fitness(), 0.001);
+    }
+
+    @Test
+    public void testEvaluationEndsEarlyIfEnvironmentRequestsIt() {
+        EpisodeEnvironment environment = new EpisodeEnvironment(3, 100, 1000);
+        environment.endAfterFirstEpisode = true;
+        NetworkChromosome agent = agentWithEpisodeReward(50);
+
+        Map<NetworkChromosome, RacingEvaluator.Result> results =
+                new RacingEvaluator(environment).evaluate(List.of(speciesOf(agent)));
+
+        assertEquals(new RacingEvaluator.Result(50, 50, 1, true), results.get(agent));
+    }
+
+    @Test
+    public void testContestantsAreReportedWhenTheyLeaveTheRace() {
+        EpisodeEnvironment environment = new EpisodeEnvironment(3, 100, 1000);
+        NetworkChromosome elite = agentWithEpisodeReward(100);
+        NetworkChromosome weak = agentWithEpisodeReward(10);
+
+        List<NetworkChromosome> reported = new ArrayList<>();
+        new RacingEvaluator(environment).evaluate(List.of(speciesOf(elite, weak)), new CancellationToken(),
+                (chromosome, result) -> reported.add(chromosome));
+
+        assertEquals(List.of(weak, elite), reported);
+        assertEquals(2, weak.getEvaluationCost().steps());
+        assertEquals(3, elite.getEvaluationCost().steps());
+    }
+
+    @Test
+    public void testCancellationStopsTheRace() {
+        EpisodeEnvironment environment = new EpisodeEnvironment(3, 100, 1000);
+        environment.endAfterFirstEpisode = true;
+        NetworkChromosome first = agentWithEpisodeReward(50);
+        NetworkChromosome second = agentWithEpisodeReward(60);
+        CancellationToken token = new CancellationToken();
+
+        Map<NetworkChromosome, RacingEvaluator.Result> results = new RacingEvaluator(environment)
+                .evaluate(List.of(speciesOf(first, second)), token, (chromosome, result) -> token.cancel());
+
+        assertEquals(Set.of(first), results.keySet());
+        assertEquals(1, environment.episodesRun);
+    }
+
+    // Helper methods
+    private NetworkChromosome agentWithEpisodeReward(double reward) {
+        NetworkChromosome chromosome = new NetworkChromosome(new HashMap<>(), new ArrayList<>());
+        chromosome.setFitness(reward);
+        return chromosome;
+    }
+
+    private Species speciesOf(NetworkChromosome... members) {
+        Species species = new Species(new Random(0));
+        for (NetworkChromosome member : members) {
+            species.addMember(member);
+        }
+        return species;
+    }
+
+    /**
+     * Rewards every episode of an agent with the fitness the agent was initialised with.
+     */
+    private static final class EpisodeEnvironment implements EpisodicEnvironment {
+        private final int episodes;
+        private final double maxReward;
+        private final double solvedThreshold;
+        private boolean endAfterFirstEpisode;
+        private int episodesRun;
+        private long steps;
+
+        private EpisodeEnvironment(int episodes, double maxReward, double solvedThreshold) {
+            this.episodes = episodes;
+            this.maxReward = maxReward;
+            this.solvedThreshold = solvedThreshold;
+        }
+
+        @Override
+        public int maxEpisodes() {
+            return episodes;
+        }
+
+        @Override
+        public double maxEpisodeReward() {
+            return maxReward;
+        }
+
+        @Override
+        public double runEpisode(Agent agent) {
+            episodesRun++;
+            steps++;
+            return agent.getFitness();
+        }
+
+        @Override
+        public long getEvaluationSteps() {
+            return steps;
+        }
+
+        @Override
+        public boolean endsEvaluation(int episode) {
+            return endAfterFirstEpisode;
+        }
+
+        @Override
+        public double solvedThreshold() {
+            return solvedThreshold;
+        }
+
+        @Override
+        public int stateSize() {
+            return 0;
+        }
+
+        @Override
+        public int actionInputSize() {
+            return 0;
+        }
+
+        @Override
+        public void resetState() {
+        }
+
+        @Override
+        public void updateState(List<Double> actions) {
+        }
+
+        @Override
+        public List<Double> getState() {
+            return List.of();
+        }
+
+        @Override
+        public double evaluate(Agent agent) {
+            return agent.getFitness() * episodes;
+        }
+
+        @Override
+        public boolean isDone() {
+            return true;
+        }
+
+        @Override
+        public boolean solved(Agent agent) {
+            return agent.getFitness() >= solvedThreshold;
+        }
+
+        @Override
+        public void visualise(Agent agent, CountDownLatch latch) {
+        }
+    }
+}
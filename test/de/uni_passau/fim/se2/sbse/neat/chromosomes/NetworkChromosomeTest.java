@@ -157,4 +157,58 @@ public void testGetConnectionMap() {
         assertSame(connections.get(1), connMap.get(2));
         assertSame(connections.get(2), connMap.get(3));
     }
+
+    @Test
+    public void testContentHashEqualForCopies() {
+        NetworkChromosome chromosome = new NetworkChromosome(layers, connections);
+        assertEquals(chromosome.contentHash(), chromosome.copy().contentHash());
+    }
+
+    @Test
+    public void testContentHashDependsOnWeights() {
+        NetworkChromosome chromosome = new NetworkChromosome(layers, connections);
+        NetworkChromosome changed = chromosome.copy();
+        changed.getConnections().set(0, new ConnectionGene(input1, output, 2.5, true, 1));
+        assertNotEquals(chromosome.contentHash(), changed.contentHash());
+    }
+
+    @Test
+    public void testContentHashDependsOnEnabledFlag() {
+        NetworkChromosome chromosome = new NetworkChromosome(layers, connections);
+        NetworkChromosome changed = chromosome.copy();
+        changed.getConnections().set(0, new ConnectionGene(input1, output, 2.0, false, 1));
+        assertNotEquals(chromosome.contentHash(), changed.contentHash());
+    }
+
+    @Test
+    public void testContentHashIgnoresFitness() {
+        NetworkChromosome chromosome = new NetworkChromosome(layers, connections);
+        long hash = chromosome.contentHash();
+        chromosome.setFitness(42.0);
+        assertEquals(hash, chromosome.contentHash());
+    }
+
+    @Test
+    public void testStructuralHashIgnoresWeights() {
+        NetworkChromosome chromosome = new NetworkChromosome(layers, connections);
+        NetworkChromosome changed = chromosome.copy();
+        changed.getConnections().set(0, new ConnectionGene(input1, output, -7.0, true, 1));
+        assertEquals(chromosome.structuralHash(), changed.structuralHash());
+    }
+
+    @Test
+    public void testStructuralHashIgnoresDisabledConnections() {
+        NetworkChromosome chromosome = new NetworkChromosome(layers, connections);
+        NetworkChromosome changed = chromosome.copy();
+        changed.getConnections().add(new ConnectionGene(input2, output, 3.0, false, 4));
+        assertEquals(chromosome.structuralHash(), changed.structuralHash());
+    }
+
+    @Test
+    public void testStructuralHashDependsOnEnabledConnections() {
+        NetworkChromosome chromosome = new NetworkChromosome(layers, connections);
+        NetworkChromosome changed = chromosome.copy();
+        changed.getConnections().set(0, new ConnectionGene(input1, output, 2.0, false, 1));
+        assertNotEquals(chromosome.structuralHash(), changed.structuralHash());
+    }
 }
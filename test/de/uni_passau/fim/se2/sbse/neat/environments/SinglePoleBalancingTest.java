@@ -0,0 +1,76 @@
+package de.uni_passau.fim.se2.sbse.neat.environments;
+
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.Agent;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SinglePoleBalancingTest {
+
+    private static final double MAX_ANGLE = (12 * Math.PI) / 180;
+
+    /**
+     * Balances the pole with a linear controller on the normalised state.
+     */
+    private static final Agent CONTROLLER = new Agent() {
+        @Override
+        public List<Double> getOutput(List<Double> state) {
+            double action = 0.1 * state.get(0) + 0.2 * state.get(1) + 1.0 * state.get(2) + 1.0 * state.get(3);
+            return List.of(Math.clamp(action, -1.0, 1.0));
+        }
+
+        @Override
+        public void setFitness(double fitness) {
+        }
+
+        @Override
+        public double getFitness() {
+            return 0;
+        }
+    };
+
+    @Test
+    public void testFastSineAndCosineAreAccurateWithinFailureThreshold() {
+        for (int i = -10_000; i <= 10_000; i++) {
+            double angle = MAX_ANGLE * i / 10_000;
+            assertEquals(Math.sin(angle), SinglePoleBalancing.fastSin(angle), 1e-15);
+            assertEquals(Math.cos(angle), SinglePoleBalancing.fastCos(angle), 1e-15);
+        }
+        assertEquals(Math.sin(1.0), SinglePoleBalancing.fastSin(1.0));
+        assertEquals(Math.cos(-1.0), SinglePoleBalancing.fastCos(-1.0));
+    }
+
+    @Test
+    public void testFastPhysicsDoNotDriftFromExactPhysics() {
+        SinglePoleBalancing exact = new SinglePoleBalancing(1, false, new Random(0));
+        SinglePoleBalancing fast = new SinglePoleBalancing(1, false, new Random(0));
+        fast.setFastPhysics(true);
+
+        double maxDeviation = 0;
+        while (!exact.isDone()) {
+            assertFalse(fast.isDone());
+            List<Double> exactState = exact.getState();
+            List<Double> fastState = fast.getState();
+            for (int i = 0; i < exactState.size(); i++) {
+                maxDeviation = Math.max(maxDeviation, Math.abs(exactState.get(i) - fastState.get(i)));
+            }
+            exact.updateState(CONTROLLER.getOutput(exactState));
+            fast.updateState(CONTROLLER.getOutput(fastState));
+        }
+
+        assertTrue(fast.isDone());
+        assertEquals(exact.evaluate(CONTROLLER), fast.evaluate(CONTROLLER));
+        assertEquals(exact.maxEpisodes() * exact.maxEpisodeReward(), exact.evaluate(CONTROLLER));
+        assertTrue(maxDeviation < 1e-12, "Maximum deviation " + maxDeviation);
+    }
+
+    @Test
+    public void testCopyKeepsFastPhysics() {
+        SinglePoleBalancing environment = new SinglePoleBalancing(1, false, new Random(0));
+        environment.setFastPhysics(true);
+        assertTrue(((SinglePoleBalancing) environment.copy()).isFastPhysics());
+    }
+}
@@ -0,0 +1,81 @@
+package de.uni_passau.fim.se2.sbse.neat.events;
+
+import de.uni_passau.fim.se2.sbse.neat.algorithms.NeatAlgorithm;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkGenerator;
+import de.uni_passau.fim.se2.sbse.neat.environments.SinglePoleBalancing;
+import de.uni_passau.fim.se2.sbse.neat.environments.XOR;
+import de.uni_passau.fim.se2.sbse.neat.persistence.Checkpoint;
+import de.uni_passau.fim.se2.sbse.neat.persistence.CheckpointWriter;
+import de.uni_passau.fim.se2.sbse.neat.utils.RestorableRandom;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventsTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testRunIsRecorded() throws IOException {
+        Path recordingFile = directory.resolve("run.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(GenerationEvent.class);
+            recording.enable(SpeciationEvent.class);
+            recording.enable(ReproductionEvent.class);
+            recording.enable(EvaluationEvent.class);
+            recording.enable(InnovationEvent.class);
+            recording.enable(CheckpointEvent.class);
+            recording.start();
+
+            NeatAlgorithm neat = new NeatAlgorithm(20, 3, new RestorableRandom(42));
+            try (CheckpointWriter writer = new CheckpointWriter(directory.resolve("run.ckpt"),
+                    new Checkpoint.Origin("XOR", 20, 42))) {
+                neat.setCheckpointWriter(writer, 1);
+                neat.solve(new XOR());
+            }
+            SinglePoleBalancing cartPole = new SinglePoleBalancing(1, false, new Random(0));
+            cartPole.evaluate(new NetworkGenerator(new HashSet<>(), 4, 1, new Random(0)).generate());
+
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile);
+        List<RecordedEvent> generations = ofType(events, "Generation");
+        assertEquals(3, generations.size());
+        for (int i = 0; i < generations.size(); i++) {
+            assertEquals(i, generations.get(i).getInt("generation"));
+            assertEquals(20, generations.get(i).getInt("populationSize"));
+            assertTrue(generations.get(i).getInt("speciesCount") > 0);
+        }
+        assertEquals(3, ofType(events, "Speciation").size());
+        assertEquals(3, ofType(events, "Checkpoint").size());
+        assertEquals(60, ofType(events, "Reproduction").stream().mapToInt(event -> event.getInt("offspring")).sum());
+        assertFalse(ofType(events, "Innovation").isEmpty());
+
+        List<RecordedEvent> evaluations = ofType(events, "Evaluation");
+        assertEquals("CART", evaluations.getLast().getString("environment"));
+        assertTrue(evaluations.getLast().getLong("steps") > 0);
+        for (RecordedEvent evaluation : evaluations.subList(0, evaluations.size() - 1)) {
+            assertEquals("XOR", evaluation.getString("environment"));
+            assertEquals(4, evaluation.getLong("steps"));
+        }
+    }
+
+    private static List<RecordedEvent> ofType(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals("de.uni_passau.fim.se2.sbse.neat." + name))
+                .toList();
+    }
+}
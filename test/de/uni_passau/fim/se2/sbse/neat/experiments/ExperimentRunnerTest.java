@@ -0,0 +1,62 @@
+package de.uni_passau.fim.se2.sbse.neat.experiments;
+
+import de.uni_passau.fim.se2.sbse.neat.algorithms.NeatParameters;
+import de.uni_passau.fim.se2.sbse.neat.environments.SinglePoleBalancing;
+import de.uni_passau.fim.se2.sbse.neat.environments.Tasks;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExperimentRunnerTest {
+
+    private static final List<Configuration> CONFIGURATIONS = List.of(
+            new Configuration(Tasks.CARTPOLE_RANDOM, 20, 5, NeatParameters.DEFAULT),
+            new Configuration(Tasks.CARTPOLE_RANDOM, 20, 5, NeatParameters.DEFAULT.withAddConnectionProbability(0.3)));
+
+    @Test
+    public void testResultsDoNotDependOnTheNumberOfThreads() {
+        List<CellResult> streamed = new ArrayList<>();
+        List<CellResult> sequential = runner(1).run(CONFIGURATIONS, 3, 7, streamed::add);
+        List<CellResult> parallel = runner(3).run(CONFIGURATIONS, 3, 7, result -> {
+        });
+
+        assertEquals(6, streamed.size());
+        assertEquals(6, sequential.size());
+        for (int i = 0; i < sequential.size(); i++) {
+            CellResult expected = sequential.get(i);
+            CellResult actual = parallel.get(i);
+            assertEquals(CONFIGURATIONS.get(i / 3), actual.configuration());
+            assertEquals(i % 3, actual.repetition());
+            assertEquals(expected.seed(), actual.seed());
+            assertEquals(expected.generations(), actual.generations());
+            assertEquals(expected.bestFitness(), actual.bestFitness());
+            assertEquals(expected.evaluations(), actual.evaluations());
+        }
+        // Every configuration faces the same seeds
+        assertEquals(sequential.get(1).seed(), sequential.get(4).seed());
+    }
+
+    @Test
+    public void testResultsAreSummarisedPerConfiguration() {
+        List<CellResult> results = runner(2).run(CONFIGURATIONS, 3, 7, result -> {
+        });
+        List<Summary> summaries = ExperimentRunner.summarise(CONFIGURATIONS, results);
+
+        assertEquals(2, summaries.size());
+        for (int i = 0; i < summaries.size(); i++) {
+            Summary summary = summaries.get(i);
+            assertEquals(CONFIGURATIONS.get(i), summary.configuration());
+            assertEquals(3, summary.repetitions());
+            assertTrue(summary.generations().lower() <= summary.medianGenerations());
+            assertTrue(summary.medianGenerations() <= summary.generations().upper());
+            assertEquals(Summary.CSV_HEADER.split(",").length, summary.csv().split(",").length);
+        }
+    }
+
+    private static ExperimentRunner runner(int threads) {
+        return new ExperimentRunner((task, random) -> new SinglePoleBalancing(10, true, random), threads, 64);
+    }
+}
@@ -0,0 +1,42 @@
+package de.uni_passau.fim.se2.sbse.neat.experiments;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StatisticsTest {
+
+    @Test
+    public void testMedianAndItsInterval() {
+        assertEquals(2, Statistics.median(new double[]{3, 1, 2}));
+        assertEquals(2.5, Statistics.median(new double[]{4, 1, 3, 2}));
+        assertTrue(Double.isNaN(Statistics.median(new double[0])));
+
+        double[] values = new double[30];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 29 - i;
+        }
+        Statistics.Interval interval = Statistics.medianInterval(values);
+        // The 9th and 22nd order statistics of 0, ..., 29
+        assertEquals(8, interval.lower());
+        assertEquals(21, interval.upper());
+
+        Statistics.Interval small = Statistics.medianInterval(new double[]{5, 1, 3});
+        assertEquals(1, small.lower());
+        assertEquals(5, small.upper());
+    }
+
+    @Test
+    public void testWilsonIntervalStaysWithinUnitRange() {
+        Statistics.Interval none = Statistics.wilsonInterval(0, 30);
+        assertEquals(0, none.lower(), 1e-12);
+        assertTrue(none.upper() > 0 && none.upper() < 0.15);
+
+        Statistics.Interval all = Statistics.wilsonInterval(30, 30);
+        assertEquals(1, all.upper(), 1e-12);
+        assertTrue(all.lower() > 0.85 && all.lower() < 1);
+
+        Statistics.Interval half = Statistics.wilsonInterval(15, 30);
+        assertEquals(0.5, (half.lower() + half.upper()) / 2, 1e-12);
+    }
+}
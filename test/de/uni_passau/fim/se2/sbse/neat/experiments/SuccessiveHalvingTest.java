@@ -0,0 +1,67 @@
+package de.uni_passau.fim.se2.sbse.neat.experiments;
+
+import de.uni_passau.fim.se2.sbse.neat.algorithms.NeatParameters;
+import de.uni_passau.fim.se2.sbse.neat.environments.SinglePoleBalancing;
+import de.uni_passau.fim.se2.sbse.neat.environments.Tasks;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SuccessiveHalvingTest {
+
+    @Test
+    public void testSlowConfigurationsAreDroppedAndSurvivorsRunMoreOften() {
+        List<Configuration> configurations = new ArrayList<>();
+        configurations.add(new Configuration(Tasks.CARTPOLE, 20, 5, NeatParameters.DEFAULT));
+        Random random = new Random(0);
+        while (configurations.size() < 5) {
+            configurations.add(new Configuration(Tasks.CARTPOLE, 20, 5, ParameterSpace.sample(random)));
+        }
+        ExperimentRunner runner = new ExperimentRunner((task, rng) -> new SinglePoleBalancing(10, false, rng), 2, 64);
+        List<CellResult> results = new ArrayList<>();
+        List<List<SuccessiveHalving.Candidate>> rounds = new ArrayList<>();
+
+        List<SuccessiveHalving.Candidate> ranking = new SuccessiveHalving(runner, 1, 2)
+                .tune(configurations, 3, results::add, rounds::add);
+
+        // 5 configurations run once, the best 2 run once more, after which a single one would advance
+        assertEquals(2, rounds.size());
+        assertEquals(5, rounds.get(0).size());
+        assertEquals(2, rounds.get(1).size());
+        assertSame(rounds.get(1), ranking);
+        assertEquals(7, results.size());
+        for (SuccessiveHalving.Candidate candidate : ranking) {
+            assertEquals(2, candidate.runs());
+            assertTrue(rounds.get(0).subList(0, 2).stream()
+                    .anyMatch(previous -> previous.configuration().equals(candidate.configuration())));
+        }
+        for (List<SuccessiveHalving.Candidate> round : rounds) {
+            for (int i = 1; i < round.size(); i++) {
+                assertTrue(SuccessiveHalving.RANKING.compare(round.get(i - 1), round.get(i)) <= 0);
+            }
+        }
+    }
+
+    @Test
+    public void testUnsolvedRunsCountAsInfinitelySlow() {
+        Configuration configuration = new Configuration(Tasks.XOR, 10, 1, NeatParameters.DEFAULT);
+        SuccessiveHalving.Candidate usuallySolved = SuccessiveHalving.Candidate.of(configuration, List.of(
+                result(configuration, true, 900), result(configuration, true, 1000), result(configuration, false, 50)));
+        SuccessiveHalving.Candidate rarelySolved = SuccessiveHalving.Candidate.of(configuration, List.of(
+                result(configuration, true, 10), result(configuration, false, 20), result(configuration, false, 30)));
+
+        assertEquals(1000, usuallySolved.medianMillis());
+        assertEquals(950, usuallySolved.meanSolvedMillis());
+        assertEquals(Double.POSITIVE_INFINITY, rarelySolved.medianMillis());
+        assertEquals(1, rarelySolved.solved());
+        assertTrue(SuccessiveHalving.RANKING.compare(usuallySolved, rarelySolved) < 0);
+    }
+
+    private static CellResult result(Configuration configuration, boolean solved, long millis) {
+        return new CellResult(configuration, 0, 0, 1, solved, 0, 0, millis);
+    }
+}
@@ -0,0 +1,46 @@
+package de.uni_passau.fim.se2.sbse.neat.metrics;
+
+import de.uni_passau.fim.se2.sbse.neat.algorithms.NeatAlgorithm;
+import de.uni_passau.fim.se2.sbse.neat.environments.XOR;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RunLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testEveryGenerationIsAppendedAsOneRow() throws IOException {
+        Path file = directory.resolve("runs.csv");
+        for (int run = 0; run < 2; run++) {
+            try (RunLog log = new RunLog(file, 8)) {
+                NeatAlgorithm neat = new NeatAlgorithm(20, 3, new Random(run));
+                neat.addGenerationListener(log.listener("run" + run));
+                neat.solve(new XOR());
+                assertEquals(0, log.getDroppedRows());
+            }
+        }
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(7, lines.size());
+        assertEquals(RunLog.HEADER, lines.getFirst());
+        int columns = RunLog.HEADER.split(",").length;
+        for (int i = 1; i < lines.size(); i++) {
+            String[] row = lines.get(i).split(",");
+            assertEquals(columns, row.length);
+            assertEquals("run" + (i - 1) / 3, row[0]);
+            assertEquals(String.valueOf((i - 1) % 3), row[1]);
+            assertEquals(Integer.parseInt(row[2]), row[3].split(";").length);
+            assertEquals(16, row[6].length());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package de.uni_passau.fim.se2.sbse.neat.metrics;
+
+import de.uni_passau.fim.se2.sbse.neat.algorithms.NeatAlgorithm;
+import de.uni_passau.fim.se2.sbse.neat.environments.XOR;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RunMetricsTest {
+
+    @Test
+    public void testCountersAccumulateOverRuns() {
+        RunMetrics metrics = new RunMetrics();
+        long evaluations = 0;
+        for (int run = 0; run < 2; run++) {
+            NeatAlgorithm neat = new NeatAlgorithm(20, 3, new Random(run));
+            metrics.attach(neat);
+            neat.solve(new XOR());
+            metrics.detach(neat);
+            evaluations += neat.getEvaluationCount();
+        }
+
+        String text = metrics.format();
+        assertTrue(text.contains("\nneat_generations_total 6\n"), text);
+        assertTrue(text.contains("\nneat_generation 3\n"), text);
+        assertTrue(text.contains("\nneat_evaluations_total " + evaluations + "\n"), text);
+        assertTrue(text.contains("# TYPE neat_phase_seconds_total counter\n"), text);
+        assertTrue(text.contains("neat_phase_seconds_total{phase=\"evaluation\"} "), text);
+        assertTrue(text.contains("\nneat_species "), text);
+
+        // Scraping does not change the metrics
+        assertEquals(text, metrics.format());
+    }
+
+    @Test
+    public void testMetricsAreServedOverHttp() throws Exception {
+        RunMetrics metrics = new RunMetrics();
+        try (MetricsServer server = new MetricsServer(metrics, 0);
+             HttpClient client = HttpClient.newHttpClient()) {
+            HttpResponse<String> response = client.send(
+                    HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + "/metrics")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, response.statusCode());
+            assertTrue(response.headers().firstValue("Content-Type").orElseThrow().startsWith("text/plain; version=0.0.4"));
+            assertTrue(response.body().contains("\nneat_evaluations_total 0\n"), response.body());
+        }
+    }
+}
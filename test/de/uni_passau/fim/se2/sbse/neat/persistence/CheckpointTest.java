@@ -0,0 +1,139 @@
+package de.uni_passau.fim.se2.sbse.neat.persistence;
+
+import de.uni_passau.fim.se2.sbse.neat.algorithms.NeatAlgorithm;
+import de.uni_passau.fim.se2.sbse.neat.algorithms.innovations.ConnectionInnovation;
+import de.uni_passau.fim.se2.sbse.neat.algorithms.innovations.Innovation;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.Agent;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkGenerator;
+import de.uni_passau.fim.se2.sbse.neat.environments.SinglePoleBalancing;
+import de.uni_passau.fim.se2.sbse.neat.utils.RestorableRandom;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CheckpointTest {
+
+    private static final Checkpoint.Origin ORIGIN = new Checkpoint.Origin("CARTPOLE_RANDOM", 50, 42);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testCheckpointRoundTrip() throws IOException {
+        RestorableRandom random = new RestorableRandom(0);
+        Set<Innovation> innovations = new HashSet<>();
+        NetworkGenerator generator = new NetworkGenerator(innovations, 4, 1, random);
+        List<NetworkChromosome> population = List.of(generator.generate(), generator.generate());
+        population.getFirst().setFitness(42);
+        List<ConnectionInnovation> connectionInnovations = innovations.stream().map(ConnectionInnovation.class::cast).toList();
+
+        Path file = directory.resolve("run.ckpt");
+        try (CheckpointWriter writer = new CheckpointWriter(file, ORIGIN)) {
+            writer.write(new Checkpoint(ORIGIN, 3, 2.5, 150, 1000, population, connectionInnovations, population.getFirst(),
+                    random.getState()));
+        }
+
+        Checkpoint checkpoint = CheckpointReader.readLast(file).orElseThrow();
+        assertEquals(ORIGIN, checkpoint.origin());
+        assertEquals(3, checkpoint.generation());
+        assertEquals(2.5, checkpoint.deltaThreshold(), 0.0);
+        assertEquals(150, checkpoint.evaluationCount());
+        assertEquals(1000, checkpoint.stepCount());
+        assertEquals(innovations, new HashSet<>(checkpoint.innovations()));
+        assertEquals(population.size(), checkpoint.population().size());
+        for (int i = 0; i < population.size(); i++) {
+            assertEquals(population.get(i).contentHash(), checkpoint.population().get(i).contentHash());
+        }
+        assertEquals(42, checkpoint.bestAgent().getFitness(), 0.0);
+        assertEquals(random.nextLong(), checkpoint.restoreRandom().nextLong());
+    }
+
+    @Test
+    public void testReaderReturnsLastCompleteRecord() throws IOException {
+        Path file = directory.resolve("run.ckpt");
+        try (CheckpointWriter writer = new CheckpointWriter(file, ORIGIN)) {
+            writer.write(emptyCheckpoint(1));
+            writer.write(emptyCheckpoint(2));
+        }
+        // Simulates a crash in the middle of appending the third checkpoint
+        Files.write(file, Arrays.copyOf(Files.readAllBytes(file), 20), StandardOpenOption.APPEND);
+
+        assertEquals(2, CheckpointReader.readLast(file).orElseThrow().generation());
+    }
+
+    @Test
+    public void testCheckpointsOfAnotherRunAreRejected() {
+        try (CheckpointWriter writer = new CheckpointWriter(directory.resolve("run.ckpt"),
+                new Checkpoint.Origin("CARTPOLE_RANDOM", 50, 43))) {
+            assertThrows(IllegalArgumentException.class, () -> writer.write(emptyCheckpoint(1)));
+        }
+    }
+
+    @Test
+    public void testReaderReturnsEmptyForMissingFile() throws IOException {
+        assertTrue(CheckpointReader.readLast(directory.resolve("missing.ckpt")).isEmpty());
+    }
+
+    @Test
+    public void testResumedRunContinuesDeterministically() throws IOException {
+        Path file = directory.resolve("run.ckpt");
+        RestorableRandom random = new RestorableRandom(42);
+        SinglePoleBalancing environment = new SinglePoleBalancing(10, true, random);
+        NeatAlgorithm neat = new NeatAlgorithm(50, 10, random);
+        Agent solution;
+        try (CheckpointWriter writer = new CheckpointWriter(file, ORIGIN)) {
+            neat.setCheckpointWriter(writer, 3);
+            solution = neat.solve(environment);
+        }
+        Checkpoint checkpoint = CheckpointReader.readLast(file).orElseThrow();
+        assertTrue(checkpoint.generation() > 0);
+
+        RestorableRandom resumedRandom = new RestorableRandom(7);
+        SinglePoleBalancing resumedEnvironment = new SinglePoleBalancing(10, true, resumedRandom);
+        NeatAlgorithm resumed = new NeatAlgorithm(50, 10, resumedRandom);
+        resumed.restore(checkpoint);
+        Agent resumedSolution = resumed.solve(resumedEnvironment);
+
+        assertEquals(neat.getGeneration(), resumed.getGeneration());
+        assertEquals(neat.getEvaluationCount(), resumed.getEvaluationCount());
+        assertEquals(solution.getFitness(), resumedSolution.getFitness(), 0.0);
+        assertEquals(((NetworkChromosome) solution).contentHash(), ((NetworkChromosome) resumedSolution).contentHash());
+    }
+
+    @Test
+    public void testRestorableRandomMatchesRandom() {
+        Random expected = new Random(5);
+        RestorableRandom actual = new RestorableRandom(5);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(expected.nextInt(17), actual.nextInt(17));
+            assertEquals(expected.nextDouble(), actual.nextDouble(), 0.0);
+            assertEquals(expected.nextGaussian(), actual.nextGaussian(), 0.0);
+        }
+    }
+
+    @Test
+    public void testRestoredRandomContinuesTheStream() {
+        RestorableRandom random = new RestorableRandom(9);
+        random.nextGaussian();
+        RestorableRandom.State state = random.getState();
+        double[] expected = {random.nextGaussian(), random.nextGaussian(), random.nextDouble()};
+
+        RestorableRandom restored = new RestorableRandom(1);
+        restored.restore(state);
+
+        assertArrayEquals(expected, new double[]{restored.nextGaussian(), restored.nextGaussian(), restored.nextDouble()});
+    }
+
+    // Helper methods
+    private Checkpoint emptyCheckpoint(int generation) {
+        return new Checkpoint(ORIGIN, generation, 3.0, 0, 0, List.of(), List.of(), null, new RestorableRandom(0).getState());
+    }
+}
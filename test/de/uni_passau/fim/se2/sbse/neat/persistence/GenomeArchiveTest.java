@@ -0,0 +1,151 @@
+package de.uni_passau.fim.se2.sbse.neat.persistence;
+
+import de.uni_passau.fim.se2.sbse.neat.algorithms.NeatAlgorithm;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkGenerator;
+import de.uni_passau.fim.se2.sbse.neat.environments.SinglePoleBalancing;
+import de.uni_passau.fim.se2.sbse.neat.environments.XOR;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GenomeArchiveTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testArchiveSpansSegmentsAndAnswersQueriesFromTheIndex() throws IOException {
+        NetworkGenerator generator = new NetworkGenerator(new HashSet<>(), 4, 1, new Random(0));
+        List<NetworkChromosome> genomes = new ArrayList<>();
+        try (GenomeArchiveWriter writer = new GenomeArchiveWriter(directory, 4096, GenomeCodec.WeightPrecision.DOUBLE)) {
+            for (int i = 0; i < 600; i++) {
+                NetworkChromosome genome = generator.generate();
+                genome.setFitness(i);
+                genomes.add(genome);
+                writer.append(i / 100, genome);
+            }
+        }
+        assertTrue(GenomeArchiveReader.segmentCount(directory) > 1);
+
+        GenomeArchiveReader reader = GenomeArchiveReader.open(directory);
+        int count = 0;
+        for (ArchivedGenome archived : reader) {
+            assertEquals(count / 100, archived.generation());
+            assertEquals(genomes.get(count).contentHash(), archived.hash());
+            assertEquals(count, archived.fitness());
+            count++;
+        }
+        assertEquals(600, count);
+
+        Iterator<ArchivedGenome> generation = reader.generations(3, 3);
+        for (int i = 300; i < 400; i++) {
+            assertEquals(i, generation.next().fitness());
+        }
+        assertFalse(generation.hasNext());
+
+        NetworkChromosome wanted = genomes.get(457);
+        ArchivedGenome found = reader.withHash(wanted.contentHash()).next();
+        assertEquals(457, found.fitness());
+        assertEquals(wanted.contentHash(), found.decode().contentHash());
+        assertFalse(reader.withHash(0).hasNext());
+    }
+
+    @Test
+    public void testRecordsMissingFromTheIndexAreFoundAndReopeningAppends() throws IOException {
+        try (GenomeArchiveWriter writer = new GenomeArchiveWriter(directory, GenomeArchiveWriter.DEFAULT_SEGMENT_SIZE,
+                GenomeCodec.WeightPrecision.HALF)) {
+            NeatAlgorithm neat = new NeatAlgorithm(20, 3, new Random(0));
+            neat.setGenomeArchive(writer);
+            neat.solve(new XOR());
+        }
+        // Simulates a writer that was never closed
+        Files.delete(directory.resolve(GenomeArchiveWriter.INDEX_FILE));
+        try (GenomeArchiveWriter writer = new GenomeArchiveWriter(directory, GenomeArchiveWriter.DEFAULT_SEGMENT_SIZE,
+                GenomeCodec.WeightPrecision.HALF)) {
+            writer.append(7, new NetworkGenerator(new HashSet<>(), 2, 1, new Random(1)).generate());
+        }
+
+        GenomeArchiveReader reader = GenomeArchiveReader.open(directory);
+        List<Integer> generations = new ArrayList<>();
+        reader.forEach(archived -> generations.add(archived.generation()));
+        assertEquals(61, generations.size());
+        assertEquals(20, Collections.frequency(generations, 0));
+        assertEquals(7, generations.getLast());
+        assertEquals(20, countOf(reader.generations(2, 2)));
+    }
+
+    @Test
+    public void testSolvingGenerationIsArchivedCompletely() throws IOException {
+        NeatAlgorithm neat = new NeatAlgorithm(50, 50, new Random(0));
+        neat.setThreads(2);
+        try (GenomeArchiveWriter writer = new GenomeArchiveWriter(directory, GenomeArchiveWriter.DEFAULT_SEGMENT_SIZE,
+                GenomeCodec.WeightPrecision.HALF)) {
+            neat.setGenomeArchive(writer);
+            neat.solve(new SinglePoleBalancing(10, false, new Random(0)));
+        }
+
+        GenomeArchiveReader reader = GenomeArchiveReader.open(directory);
+        assertEquals(neat.getGeneration(), reader.maxGeneration());
+        assertEquals(neat.getPopulation().size(), countOf(reader.generations(neat.getGeneration(), neat.getGeneration())));
+    }
+
+    @Test
+    public void testGenerationsAlreadyArchivedAreSkippedWhenResuming() throws IOException {
+        NetworkGenerator generator = new NetworkGenerator(new HashSet<>(), 2, 1, new Random(0));
+        try (GenomeArchiveWriter writer = new GenomeArchiveWriter(directory, GenomeArchiveWriter.DEFAULT_SEGMENT_SIZE,
+                GenomeCodec.WeightPrecision.DOUBLE)) {
+            for (int generation = 0; generation < 3; generation++) {
+                writer.append(generation, generator.generate());
+            }
+        }
+        assertEquals(2, GenomeArchiveReader.open(directory).maxGeneration());
+
+        try (GenomeArchiveWriter writer = new GenomeArchiveWriter(directory, GenomeArchiveWriter.DEFAULT_SEGMENT_SIZE,
+                GenomeCodec.WeightPrecision.DOUBLE)) {
+            writer.skipGenerationsThrough(GenomeArchiveReader.open(directory).maxGeneration());
+            writer.append(2, generator.generate());
+            writer.append(3, generator.generate());
+        }
+
+        GenomeArchiveReader reader = GenomeArchiveReader.open(directory);
+        assertEquals(1, countOf(reader.generations(2, 2)));
+        assertEquals(1, countOf(reader.generations(3, 3)));
+        assertEquals(3, reader.maxGeneration());
+    }
+
+    @Test
+    public void testDeletedArchiveStartsEmpty() throws IOException {
+        NetworkGenerator generator = new NetworkGenerator(new HashSet<>(), 2, 1, new Random(0));
+        try (GenomeArchiveWriter writer = new GenomeArchiveWriter(directory, 4096, GenomeCodec.WeightPrecision.DOUBLE)) {
+            for (int i = 0; i < 100; i++) {
+                writer.append(i, generator.generate());
+            }
+        }
+        assertTrue(GenomeArchiveReader.segmentCount(directory) > 1);
+
+        GenomeArchiveWriter.delete(directory);
+        try (GenomeArchiveWriter writer = new GenomeArchiveWriter(directory, 4096, GenomeCodec.WeightPrecision.DOUBLE)) {
+            writer.append(0, generator.generate());
+        }
+
+        GenomeArchiveReader reader = GenomeArchiveReader.open(directory);
+        assertEquals(1, countOf(reader.iterator()));
+        assertEquals(0, reader.maxGeneration());
+    }
+
+    private static int countOf(Iterator<ArchivedGenome> iterator) {
+        int count = 0;
+        while (iterator.hasNext()) {
+            iterator.next();
+            count++;
+        }
+        return count;
+    }
+}
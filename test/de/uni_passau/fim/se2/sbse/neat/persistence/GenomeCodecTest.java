@@ -0,0 +1,94 @@
+package de.uni_passau.fim.se2.sbse.neat.persistence;
+
+import de.uni_passau.fim.se2.sbse.neat.algorithms.innovations.Innovation;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.ConnectionGene;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkGenerator;
+import de.uni_passau.fim.se2.sbse.neat.mutation.NeatMutation;
+import de.uni_passau.fim.se2.sbse.neat.phenotype.CompiledNetwork;
+import de.uni_passau.fim.se2.sbse.neat.phenotype.NetworkCompiler;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GenomeCodecTest {
+
+    @Test
+    public void testDoublePrecisionRoundTripIsExact() throws IOException {
+        NetworkChromosome chromosome = evolvedNetwork(new Random(0));
+        chromosome.setFitness(12.5);
+
+        NetworkChromosome decoded = GenomeCodec.decode(GenomeCodec.encode(chromosome, GenomeCodec.WeightPrecision.DOUBLE));
+
+        assertEquals(chromosome.contentHash(), decoded.contentHash());
+        assertEquals(12.5, decoded.getFitness(), 0.0);
+    }
+
+    @Test
+    public void testDecodeCompiledMatchesCompiledChromosome() throws IOException {
+        Random random = new Random(1);
+        NetworkChromosome chromosome = evolvedNetwork(random);
+        chromosome.setFitness(7.0);
+
+        CompiledNetwork expected = NetworkCompiler.compile(chromosome);
+        CompiledNetwork actual = GenomeCodec.decodeCompiled(GenomeCodec.encode(chromosome, GenomeCodec.WeightPrecision.DOUBLE));
+
+        assertEquals(7.0, actual.getFitness(), 0.0);
+        for (int sample = 0; sample < 20; sample++) {
+            double[] inputs = {random.nextGaussian(), random.nextGaussian(), random.nextGaussian()};
+            assertArrayEquals(expected.activate(inputs), actual.activate(inputs));
+        }
+    }
+
+    @Test
+    public void testHalfPrecisionIsSmallerAndApproximatesWeights() throws IOException {
+        NetworkChromosome chromosome = evolvedNetwork(new Random(2));
+
+        byte[] full = GenomeCodec.encode(chromosome, GenomeCodec.WeightPrecision.DOUBLE);
+        byte[] half = GenomeCodec.encode(chromosome, GenomeCodec.WeightPrecision.HALF);
+        NetworkChromosome decoded = GenomeCodec.decode(half);
+
+        assertTrue(half.length < full.length);
+        for (int i = 0; i < chromosome.getConnections().size(); i++) {
+            ConnectionGene expected = chromosome.getConnections().get(i);
+            ConnectionGene actual = decoded.getConnections().get(i);
+            assertEquals(expected.getInnovationNumber(), actual.getInnovationNumber());
+            assertEquals(expected.getEnabled(), actual.getEnabled());
+            assertEquals(expected.getWeight(), actual.getWeight(), Math.abs(expected.getWeight()) / 2048 + 1e-7);
+        }
+    }
+
+    @Test
+    public void testTruncatedGenomeIsRejected() {
+        byte[] data = GenomeCodec.encode(evolvedNetwork(new Random(3)), GenomeCodec.WeightPrecision.DOUBLE);
+        assertThrows(IOException.class, () -> GenomeCodec.decode(Arrays.copyOf(data, data.length / 2)));
+        assertThrows(IOException.class, () -> GenomeCodec.decodeCompiled(Arrays.copyOf(data, data.length / 2)));
+    }
+
+    @Test
+    public void testForeignDataIsRejected() {
+        assertThrows(IOException.class, () -> GenomeCodec.decode(new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14}));
+    }
+
+    @Test
+    public void testGenomesOfAnotherVersionAreRejected() {
+        byte[] data = GenomeCodec.encode(evolvedNetwork(new Random(4)), GenomeCodec.WeightPrecision.DOUBLE);
+        data[Integer.BYTES] = GenomeCodec.VERSION - 1;
+        assertThrows(IOException.class, () -> GenomeCodec.decode(data));
+        assertThrows(IOException.class, () -> GenomeCodec.decodeCompiled(data));
+    }
+
+    // Helper methods
+    private NetworkChromosome evolvedNetwork(Random random) {
+        Set<Innovation> innovations = new HashSet<>();
+        NetworkChromosome chromosome = new NetworkGenerator(innovations, 3, 2, random).generate();
+        NeatMutation mutation = new NeatMutation(innovations, random);
+        for (int i = 0; i < 30; i++) {
+            chromosome = mutation.apply(mutation.addNeuron(chromosome));
+        }
+        return chromosome;
+    }
+}
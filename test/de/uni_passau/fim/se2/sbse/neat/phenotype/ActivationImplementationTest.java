@@ -0,0 +1,63 @@
+package de.uni_passau.fim.se2.sbse.neat.phenotype;
+
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.ActivationFunction;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ActivationImplementationTest {
+
+    @Test
+    public void testErrorBoundsHoldAcrossTheInputRange() {
+        for (ActivationImplementation implementation : ActivationImplementation.values()) {
+            for (int i = -2_000_000; i <= 2_000_000; i++) {
+                double input = i * 1e-5;
+                assertEquals(Math.tanh(input), implementation.tanh(input), implementation.maxError(),
+                        implementation + ".tanh(" + input + ")");
+                assertEquals(1 / (1 + Math.exp(-input)), implementation.sigmoid(input), implementation.maxError(),
+                        implementation + ".sigmoid(" + input + ")");
+            }
+        }
+    }
+
+    @Test
+    public void testSpecialValues() {
+        for (ActivationImplementation implementation : ActivationImplementation.values()) {
+            assertEquals(1.0, implementation.tanh(Double.POSITIVE_INFINITY), 0.0);
+            assertEquals(-1.0, implementation.tanh(Double.NEGATIVE_INFINITY), 0.0);
+            assertEquals(0.0, implementation.tanh(0.0), 0.0);
+            assertEquals(1.0, implementation.sigmoid(Double.MAX_VALUE), 0.0);
+            assertEquals(0.0, implementation.sigmoid(-Double.MAX_VALUE), 0.0);
+            assertTrue(Double.isNaN(implementation.tanh(Double.NaN)));
+        }
+    }
+
+    @Test
+    public void testExactImplementationMatchesActivationFunctions() {
+        Random random = new Random(1);
+        for (int i = 0; i < 10_000; i++) {
+            double input = random.nextGaussian() * 4;
+            for (ActivationFunction activation : ActivationFunction.values()) {
+                assertEquals(activation.apply(input), ActivationImplementation.EXACT.apply(activation, input), 0.0);
+            }
+        }
+    }
+
+    @Test
+    public void testApproximateNetworksStayCloseToChromosomes() {
+        Random random = new Random(2);
+        for (NetworkChromosome chromosome : NetworkCompilerTest.evolvedNetworks(random, 3, 2)) {
+            CompiledNetwork network = NetworkCompiler.compile(chromosome, ActivationImplementation.TABLE);
+            List<Double> state = List.of(random.nextGaussian(), random.nextGaussian(), random.nextGaussian());
+            List<Double> expected = chromosome.getOutput(state);
+            List<Double> actual = network.getOutput(state);
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i), actual.get(i), 1e-3);
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package de.uni_passau.fim.se2.sbse.neat.phenotype;
+
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchedNetworkTest {
+
+    @Test
+    public void testLanesMatchCompiledNetworksExactly() {
+        Random random = new Random(1);
+        List<CompiledNetwork> networks = reweightedNetworks(random, 7);
+        BatchedNetwork batch = BatchedNetwork.of(networks);
+
+        double[] inputs = new double[3 * 7];
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = random.nextGaussian();
+        }
+        double[] outputs = new double[2 * 7];
+        batch.activate(inputs, outputs);
+
+        for (int lane = 0; lane < 7; lane++) {
+            double[] expected = networks.get(lane).activate(new double[]{inputs[lane], inputs[7 + lane], inputs[14 + lane]});
+            assertEquals(expected[0], outputs[lane], 0.0);
+            assertEquals(expected[1], outputs[7 + lane], 0.0);
+        }
+    }
+
+    @Test
+    public void testSwappedLanesCanBeActivatedPartially() {
+        List<CompiledNetwork> networks = reweightedNetworks(new Random(2), 4);
+        BatchedNetwork batch = BatchedNetwork.of(networks);
+        batch.swapLanes(0, 3);
+
+        double[] inputs = {0.5, 0.5, 0.5, 0.5, -1.0, -1.0, -1.0, -1.0, 2.0, 2.0, 2.0, 2.0};
+        double[] outputs = new double[2 * 4];
+        outputs[1] = Double.NaN;
+        batch.activate(inputs, outputs, 1);
+
+        double[] expected = networks.get(3).activate(new double[]{0.5, -1.0, 2.0});
+        assertEquals(expected[0], outputs[0], 0.0);
+        assertEquals(expected[1], outputs[4], 0.0);
+        assertTrue(Double.isNaN(outputs[1]));
+    }
+
+    @Test
+    public void testReplicatedLanesEvaluateABatchOfInputs() {
+        CompiledNetwork network = reweightedNetworks(new Random(4), 1).getFirst();
+        BatchedNetwork batch = BatchedNetwork.replicate(network, 3);
+
+        double[] inputs = {0.5, -2.0, 1.0, -1.0, 0.0, 1.0, 2.0, 3.0, -0.5};
+        double[] outputs = new double[2 * 3];
+        batch.activate(inputs, outputs);
+
+        for (int lane = 0; lane < 3; lane++) {
+            double[] expected = network.activate(new double[]{inputs[lane], inputs[3 + lane], inputs[6 + lane]});
+            assertEquals(expected[0], outputs[lane], 0.0);
+            assertEquals(expected[1], outputs[3 + lane], 0.0);
+        }
+    }
+
+    @Test
+    public void testNetworksWithDifferentPlansCannotBeBatched() {
+        List<NetworkChromosome> chromosomes = NetworkCompilerTest.evolvedNetworks(new Random(3), 2, 1);
+        List<CompiledNetwork> networks = List.of(NetworkCompiler.compile(chromosomes.getFirst()),
+                NetworkCompiler.compile(chromosomes.getLast()));
+        assertThrows(IllegalArgumentException.class, () -> BatchedNetwork.of(networks));
+    }
+
+    /**
+     * Creates networks sharing the plan of an evolved network with random weights.
+     */
+    private static List<CompiledNetwork> reweightedNetworks(Random random, int count) {
+        NetworkChromosome chromosome = NetworkCompilerTest.evolvedNetworks(random, 3, 2).getLast();
+        EvaluationPlan plan = NetworkCompiler.compile(chromosome).getPlan();
+        List<CompiledNetwork> networks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            double[] weights = new double[plan.connectionCount()];
+            for (int c = 0; c < weights.length; c++) {
+                weights[c] = random.nextGaussian();
+            }
+            networks.add(plan.bind(weights));
+        }
+        return networks;
+    }
+}
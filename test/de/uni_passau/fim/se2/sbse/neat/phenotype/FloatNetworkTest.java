@@ -0,0 +1,52 @@
+package de.uni_passau.fim.se2.sbse.neat.phenotype;
+
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FloatNetworkTest {
+
+    @Test
+    public void testFloatNetworksMatchDoublePrecisionUpToRounding() {
+        Random random = new Random(5);
+        for (NetworkChromosome chromosome : NetworkCompilerTest.evolvedNetworks(random, 4, 2)) {
+            CompiledNetwork network = NetworkCompiler.compile(chromosome);
+            FloatNetwork floatNetwork = network.toFloat();
+            assertSame(network.getPlan(), floatNetwork.getPlan());
+            for (int i = 0; i < 10; i++) {
+                double[] inputs = {random.nextGaussian(), random.nextGaussian(), random.nextGaussian(), random.nextGaussian()};
+                double[] expected = network.activate(inputs);
+                double[] actual = floatNetwork.activate(inputs);
+                for (int o = 0; o < expected.length; o++) {
+                    assertEquals(expected[o], actual[o], 1e-5 * Math.max(1, Math.abs(expected[o])));
+                    assertEquals((float) actual[o], actual[o]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testPlanCacheInstantiatesTheRequestedPrecision() {
+        NetworkChromosome chromosome = NetworkCompilerTest.evolvedNetworks(new Random(6), 3, 1).getLast();
+        PlanCache doubles = new PlanCache(PlanCache.DEFAULT_CAPACITY);
+        PlanCache floats = new PlanCache(PlanCache.DEFAULT_CAPACITY, ActivationImplementation.EXACT, Precision.FLOAT);
+
+        assertTrue(doubles.instantiate(chromosome) instanceof CompiledNetwork);
+        Phenotype phenotype = floats.instantiate(chromosome);
+        assertTrue(phenotype instanceof FloatNetwork);
+        assertSame(floats.compile(chromosome).getPlan(), ((FloatNetwork) phenotype).getPlan());
+    }
+
+    @Test
+    public void testCopiesActivateIndependently() {
+        NetworkChromosome chromosome = NetworkCompilerTest.evolvedNetworks(new Random(7), 2, 1).getLast();
+        FloatNetwork network = NetworkCompiler.compile(chromosome).toFloat();
+        FloatNetwork copy = network.copy();
+        double[] inputs = {0.25, -0.75};
+
+        assertArrayEquals(network.activate(inputs), copy.activate(inputs));
+    }
+}
@@ -0,0 +1,49 @@
+package de.uni_passau.fim.se2.sbse.neat.phenotype;
+
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NetworkCodeGeneratorTest {
+
+    @Test
+    public void testHiddenClassMatchesChromosomeExactly() {
+        Random random = new Random(4);
+        List<NetworkChromosome> networks = NetworkCompilerTest.evolvedNetworks(random, 3, 2);
+        for (NetworkChromosome chromosome : List.of(networks.getFirst(), networks.get(20), networks.getLast())) {
+            chromosome.setFitness(5.0);
+            Phenotype phenotype = NetworkCodeGenerator.defineHiddenClass(chromosome);
+
+            assertEquals(3, phenotype.inputSize());
+            assertEquals(2, phenotype.outputSize());
+            assertEquals(5.0, phenotype.getFitness(), 0.0);
+            for (int sample = 0; sample < 10; sample++) {
+                List<Double> state = List.of(random.nextGaussian(), random.nextGaussian(), random.nextGaussian());
+                assertEquals(chromosome.getOutput(state), phenotype.getOutput(state));
+            }
+        }
+    }
+
+    @Test
+    public void testSourceBakesInWeightsAsConstants() {
+        NetworkChromosome chromosome = NetworkCompilerTest.evolvedNetworks(new Random(5), 2, 1).getFirst();
+        String source = NetworkCodeGenerator.generateSource(chromosome, "com.example", "Champion");
+
+        assertTrue(source.startsWith("package com.example;"));
+        assertTrue(source.contains("public final class Champion extends"));
+        double weight = chromosome.getConnections().getFirst().getWeight();
+        assertTrue(source.contains(Double.toHexString(weight)));
+        assertFalse(source.contains("for (int neuron"));
+    }
+
+    @Test
+    public void testWrongNumberOfInputsThrowsException() {
+        Phenotype phenotype = NetworkCodeGenerator.defineHiddenClass(
+                NetworkCompilerTest.evolvedNetworks(new Random(6), 2, 1).getFirst());
+        assertThrows(IllegalArgumentException.class, () -> phenotype.activate(new double[1]));
+    }
+}
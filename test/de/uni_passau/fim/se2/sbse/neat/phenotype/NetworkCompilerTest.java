@@ -0,0 +1,213 @@
+package de.uni_passau.fim.se2.sbse.neat.phenotype;
+
+import de.uni_passau.fim.se2.sbse.neat.algorithms.innovations.Innovation;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.*;
+import de.uni_passau.fim.se2.sbse.neat.mutation.NeatMutation;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NetworkCompilerTest {
+
+    @Test
+    public void testCompiledNetworkMatchesChromosomeExactly() {
+        Random random = new Random(1);
+        for (NetworkChromosome chromosome : evolvedNetworks(random, 4, 2)) {
+            CompiledNetwork network = NetworkCompiler.compile(chromosome);
+            for (int sample = 0; sample < 10; sample++) {
+                List<Double> state = List.of(random.nextGaussian(), random.nextGaussian(), random.nextGaussian(), random.nextGaussian());
+                assertEquals(chromosome.getOutput(state), network.getOutput(state));
+            }
+        }
+    }
+
+    @Test
+    public void testDisabledConnectionsAreIgnored() {
+        NeuronGene input = new NeuronGene(1, ActivationFunction.NONE, NeuronType.INPUT);
+        NeuronGene bias = new NeuronGene(2, ActivationFunction.NONE, NeuronType.BIAS);
+        NeuronGene output = new NeuronGene(3, ActivationFunction.NONE, NeuronType.OUTPUT);
+        Map<Double, List<NeuronGene>> layers = new HashMap<>();
+        layers.put(NetworkChromosome.INPUT_LAYER, List.of(input, bias));
+        layers.put(NetworkChromosome.OUTPUT_LAYER, List.of(output));
+        List<ConnectionGene> connections = List.of(
+                new ConnectionGene(input, output, 2.0, true, 1),
+                new ConnectionGene(bias, output, 5.0, false, 2));
+
+        CompiledNetwork network = NetworkCompiler.compile(new NetworkChromosome(layers, connections));
+
+        assertEquals(1, network.inputSize());
+        assertEquals(1, network.outputSize());
+        assertEquals(1, network.connectionCount());
+        assertArrayEquals(new double[]{6.0}, network.activate(new double[]{3.0}));
+    }
+
+    @Test
+    public void testCopiesCanBeActivatedIndependently() {
+        NetworkChromosome chromosome = evolvedNetworks(new Random(2), 2, 1).getLast();
+        CompiledNetwork network = NetworkCompiler.compile(chromosome);
+        network.setFitness(3.0);
+        CompiledNetwork copy = network.copy();
+
+        double[] outputs = new double[1];
+        network.activate(new double[]{0.5, -0.5}, outputs);
+        assertArrayEquals(outputs, copy.activate(new double[]{0.5, -0.5}));
+        assertEquals(3.0, copy.getFitness(), 0.0);
+    }
+
+    @Test
+    public void testTooManyInputsThrowException() {
+        CompiledNetwork network = NetworkCompiler.compile(evolvedNetworks(new Random(3), 2, 1).getFirst());
+        assertThrows(IndexOutOfBoundsException.class, () -> network.activate(new double[3]));
+    }
+
+    @Test
+    public void testNeuronsNotReachingAnOutputAreRemoved() {
+        NeuronGene input = new NeuronGene(1, ActivationFunction.NONE, NeuronType.INPUT);
+        NeuronGene bias = new NeuronGene(2, ActivationFunction.NONE, NeuronType.BIAS);
+        NeuronGene dead = new NeuronGene(3, ActivationFunction.SIGMOID, NeuronType.HIDDEN);
+        NeuronGene output = new NeuronGene(4, ActivationFunction.TANH, NeuronType.OUTPUT);
+        Map<Double, List<NeuronGene>> layers = new HashMap<>();
+        layers.put(NetworkChromosome.INPUT_LAYER, List.of(input, bias));
+        layers.put(0.5, List.of(dead));
+        layers.put(NetworkChromosome.OUTPUT_LAYER, List.of(output));
+        NetworkChromosome chromosome = new NetworkChromosome(layers, List.of(
+                new ConnectionGene(input, dead, 0.7, true, 1),
+                new ConnectionGene(bias, dead, -0.3, true, 2),
+                new ConnectionGene(input, output, 1.5, true, 3)));
+
+        CompiledNetwork network = NetworkCompiler.compile(chromosome);
+
+        assertEquals(1, network.getPlan().neuronCount());
+        assertEquals(1, network.connectionCount());
+        assertEquals(chromosome.getOutput(List.of(0.25)), network.getOutput(List.of(0.25)));
+    }
+
+    @Test
+    public void testNeuronsWithConstantZeroOutputAreRemoved() {
+        NeuronGene input = new NeuronGene(1, ActivationFunction.NONE, NeuronType.INPUT);
+        NeuronGene bias = new NeuronGene(2, ActivationFunction.NONE, NeuronType.BIAS);
+        NeuronGene unreachable = new NeuronGene(3, ActivationFunction.TANH, NeuronType.HIDDEN);
+        NeuronGene constant = new NeuronGene(4, ActivationFunction.SIGMOID, NeuronType.HIDDEN);
+        NeuronGene output = new NeuronGene(5, ActivationFunction.TANH, NeuronType.OUTPUT);
+        Map<Double, List<NeuronGene>> layers = new HashMap<>();
+        layers.put(NetworkChromosome.INPUT_LAYER, List.of(input, bias));
+        layers.put(0.5, List.of(unreachable, constant));
+        layers.put(NetworkChromosome.OUTPUT_LAYER, List.of(output));
+        NetworkChromosome chromosome = new NetworkChromosome(layers, List.of(
+                new ConnectionGene(input, unreachable, 0.9, false, 1),
+                new ConnectionGene(unreachable, output, 2.0, true, 2),
+                new ConnectionGene(constant, output, -1.0, true, 3),
+                new ConnectionGene(input, output, 0.5, true, 4)));
+
+        CompiledNetwork network = NetworkCompiler.compile(chromosome);
+
+        // The sigmoid neuron without inputs outputs 0.5 and must be kept
+        assertEquals(2, network.getPlan().neuronCount());
+        assertEquals(2, network.connectionCount());
+        assertEquals(chromosome.getOutput(List.of(-0.75)), network.getOutput(List.of(-0.75)));
+    }
+
+    @Test
+    public void testLinearChainsAreFolded() {
+        NetworkCompiler.Builder builder = new NetworkCompiler.Builder(5)
+                .input(0).input(1)
+                .neuron(2, ActivationFunction.NONE)
+                .neuron(3, ActivationFunction.NONE)
+                .neuron(4, ActivationFunction.TANH)
+                .connection(0, 2, 2.0, true)
+                .connection(2, 3, 0.5, true)
+                .connection(3, 4, 3.0, true)
+                .connection(1, 4, -1.0, true)
+                .output(4);
+
+        CompiledNetwork network = builder.build();
+
+        assertEquals(1, network.getPlan().neuronCount());
+        assertEquals(2, network.connectionCount());
+        assertArrayEquals(new double[]{Math.tanh(0.8 * 3.0 - 1.0)}, network.activate(new double[]{0.8}));
+    }
+
+    @Test
+    public void testFoldedChromosomeMatchesWithinRounding() {
+        NeuronGene input = new NeuronGene(1, ActivationFunction.NONE, NeuronType.INPUT);
+        NeuronGene bias = new NeuronGene(2, ActivationFunction.NONE, NeuronType.BIAS);
+        NeuronGene hidden = new NeuronGene(3, ActivationFunction.NONE, NeuronType.HIDDEN);
+        NeuronGene output = new NeuronGene(4, ActivationFunction.TANH, NeuronType.OUTPUT);
+        Map<Double, List<NeuronGene>> layers = new HashMap<>();
+        layers.put(NetworkChromosome.INPUT_LAYER, List.of(input, bias));
+        layers.put(0.5, List.of(hidden));
+        layers.put(NetworkChromosome.OUTPUT_LAYER, List.of(output));
+        NetworkChromosome chromosome = new NetworkChromosome(layers, List.of(
+                new ConnectionGene(input, hidden, 0.1, true, 1),
+                new ConnectionGene(hidden, output, 0.7, true, 2),
+                new ConnectionGene(bias, output, -0.3, true, 3)));
+
+        CompiledNetwork network = NetworkCompiler.compile(chromosome);
+        Phenotype generated = NetworkCodeGenerator.defineHiddenClass(chromosome);
+
+        assertEquals(1, network.getPlan().neuronCount());
+        Random random = new Random(6);
+        for (int sample = 0; sample < 100; sample++) {
+            List<Double> state = List.of(random.nextGaussian());
+            double expected = chromosome.getOutput(state).getFirst();
+            assertEquals(expected, network.getOutput(state).getFirst(), 1e-15);
+            assertEquals(expected, generated.getOutput(state).getFirst(), 1e-15);
+        }
+    }
+
+    @Test
+    public void testChainsReadBeforeTheirSourceIsActivatedAreNotFolded() {
+        NetworkCompiler.Builder builder = new NetworkCompiler.Builder(4)
+                .input(0)
+                .neuron(2, ActivationFunction.NONE)
+                .neuron(1, ActivationFunction.TANH)
+                .neuron(3, ActivationFunction.NONE)
+                .connection(0, 1, 1.0, true)
+                .connection(1, 2, 1.0, true)
+                .connection(2, 3, 1.0, true)
+                .output(3);
+
+        // Neuron 2 reads neuron 1 before its activation, hence the output is always zero
+        CompiledNetwork network = builder.build();
+
+        assertEquals(3, network.getPlan().neuronCount());
+        assertArrayEquals(new double[]{0.0}, network.activate(new double[0]));
+    }
+
+    @Test
+    public void testNetworksWithToggledConnectionsShrink() {
+        Random random = new Random(5);
+        NeatMutation mutation = new NeatMutation(new HashSet<>(), random);
+        int enabled = 0;
+        int evaluated = 0;
+        for (NetworkChromosome network : evolvedNetworks(random, 4, 2)) {
+            NetworkChromosome chromosome = mutation.toggleConnection(mutation.toggleConnection(network));
+            assertEquals(chromosome.getOutput(List.of(0.1, 0.2, 0.3, 0.4)),
+                    NetworkCompiler.compile(chromosome).getOutput(List.of(0.1, 0.2, 0.3, 0.4)));
+            enabled += (int) chromosome.getConnections().stream().filter(ConnectionGene::getEnabled).count();
+            evaluated += NetworkCompiler.compile(chromosome).connectionCount();
+        }
+        assertTrue(evaluated < enabled, evaluated + " of " + enabled + " connections are evaluated");
+    }
+
+    /**
+     * Creates a lineage of networks by repeatedly mutating a generated network.
+     */
+    static List<NetworkChromosome> evolvedNetworks(Random random, int inputs, int outputs) {
+        Set<Innovation> innovations = new HashSet<>();
+        NetworkChromosome chromosome = new NetworkGenerator(innovations, inputs, outputs, random).generate();
+        NeatMutation mutation = new NeatMutation(innovations, random);
+        List<NetworkChromosome> networks = new ArrayList<>();
+        networks.add(chromosome);
+        for (int i = 0; i < 40; i++) {
+            chromosome = mutation.apply(chromosome);
+            if (i % 3 == 0) {
+                chromosome = mutation.addNeuron(chromosome);
+            }
+            networks.add(chromosome);
+        }
+        return networks;
+    }
+}
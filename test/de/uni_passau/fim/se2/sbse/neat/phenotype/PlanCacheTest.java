@@ -0,0 +1,85 @@
+package de.uni_passau.fim.se2.sbse.neat.phenotype;
+
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.ConnectionGene;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PlanCacheTest {
+
+    @Test
+    public void testNetworksDifferingInWeightsShareThePlan() {
+        NetworkChromosome chromosome = NetworkCompilerTest.evolvedNetworks(new Random(1), 3, 2).getLast();
+        NetworkChromosome reweighted = withWeightsScaled(chromosome, -0.5);
+        PlanCache cache = new PlanCache(PlanCache.DEFAULT_CAPACITY);
+
+        CompiledNetwork network = cache.compile(chromosome);
+        CompiledNetwork other = cache.compile(reweighted);
+
+        assertSame(network.getPlan(), other.getPlan());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        List<Double> state = List.of(0.3, -1.2, 0.8);
+        assertEquals(chromosome.getOutput(state), network.getOutput(state));
+        assertEquals(reweighted.getOutput(state), other.getOutput(state));
+    }
+
+    @Test
+    public void testCachedPlansMatchChromosomesExactly() {
+        Random random = new Random(2);
+        PlanCache cache = new PlanCache(PlanCache.DEFAULT_CAPACITY);
+        for (NetworkChromosome chromosome : NetworkCompilerTest.evolvedNetworks(random, 4, 2)) {
+            for (NetworkChromosome network : List.of(chromosome, withWeightsScaled(chromosome, 1.5))) {
+                CompiledNetwork compiled = cache.compile(network);
+                List<Double> state = List.of(random.nextGaussian(), random.nextGaussian(), random.nextGaussian(), random.nextGaussian());
+                assertEquals(network.getOutput(state), compiled.getOutput(state));
+            }
+        }
+        assertTrue(cache.getHits() > 0);
+    }
+
+    @Test
+    public void testStructuralChangeMissesTheCache() {
+        List<NetworkChromosome> networks = NetworkCompilerTest.evolvedNetworks(new Random(3), 2, 1);
+        PlanCache cache = new PlanCache(PlanCache.DEFAULT_CAPACITY);
+
+        CompiledNetwork first = cache.compile(networks.getFirst());
+        CompiledNetwork last = cache.compile(networks.getLast());
+
+        assertNotSame(first.getPlan(), last.getPlan());
+        assertEquals(0, cache.getHits());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testZeroCapacityCompilesFromScratch() {
+        NetworkChromosome chromosome = NetworkCompilerTest.evolvedNetworks(new Random(4), 2, 1).getLast();
+        PlanCache cache = new PlanCache(0);
+
+        assertNotSame(cache.compile(chromosome).getPlan(), cache.compile(chromosome).getPlan());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testNegativeCapacityThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> new PlanCache(-1));
+    }
+
+    /**
+     * Returns a copy of the given chromosome whose connections have their weights multiplied by the given factor.
+     */
+    private static NetworkChromosome withWeightsScaled(NetworkChromosome chromosome, double factor) {
+        NetworkChromosome copy = chromosome.copy();
+        List<ConnectionGene> connections = copy.getConnections();
+        for (int i = 0; i < connections.size(); i++) {
+            ConnectionGene connection = connections.get(i);
+            connections.set(i, new ConnectionGene(connection.getSourceNeuron(), connection.getTargetNeuron(),
+                    connection.getWeight() * factor, connection.getEnabled(), connection.getInnovationNumber()));
+        }
+        return copy;
+    }
+}
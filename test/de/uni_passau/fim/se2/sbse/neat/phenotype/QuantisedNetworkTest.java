@@ -0,0 +1,78 @@
+package de.uni_passau.fim.se2.sbse.neat.phenotype;
+
+import de.uni_passau.fim.se2.sbse.neat.algorithms.NeatAlgorithm;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.Agent;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkChromosome;
+import de.uni_passau.fim.se2.sbse.neat.environments.SinglePoleBalancing;
+import de.uni_passau.fim.se2.sbse.neat.persistence.GenomeCodec;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QuantisedNetworkTest {
+
+    @Test
+    public void testQuantisedNetworksApproximateCompiledNetworks() {
+        Random random = new Random(8);
+        double maxError = 0;
+        for (NetworkChromosome chromosome : NetworkCompilerTest.evolvedNetworks(random, 4, 2)) {
+            CompiledNetwork network = NetworkCompiler.compile(chromosome);
+            QuantisedNetwork quantised = QuantisedNetwork.quantise(network);
+            assertEquals(network.connectionCount(), quantised.weightBytes());
+            for (int i = 0; i < 10; i++) {
+                double[] inputs = {random.nextDouble(-1, 1), random.nextDouble(-1, 1), random.nextDouble(-1, 1), random.nextDouble(-1, 1)};
+                double[] expected = network.activate(inputs);
+                double[] actual = quantised.activate(inputs);
+                for (int o = 0; o < expected.length; o++) {
+                    maxError = Math.max(maxError, Math.abs(expected[o] - actual[o]) / Math.max(1, Math.abs(expected[o])));
+                }
+            }
+        }
+        assertTrue(maxError < 0.02, "Maximum error " + maxError);
+    }
+
+    @Test
+    public void testEncodedNetworksDecodeToTheSameOutputs() {
+        Random random = new Random(9);
+        for (NetworkChromosome chromosome : NetworkCompilerTest.evolvedNetworks(random, 3, 2)) {
+            QuantisedNetwork quantised = QuantisedNetwork.quantise(chromosome);
+            byte[] encoded = quantised.encode();
+            QuantisedNetwork decoded = QuantisedNetwork.decode(encoded);
+
+            assertArrayEquals(encoded, decoded.encode());
+            assertTrue(encoded.length < GenomeCodec.encode(chromosome, GenomeCodec.WeightPrecision.DOUBLE).length);
+            int[] inputs = {random.nextInt(-QuantisedNetwork.ONE, QuantisedNetwork.ONE), QuantisedNetwork.ONE, 0};
+            int[] expected = new int[2];
+            int[] actual = new int[2];
+            quantised.activate(inputs, expected);
+            decoded.activate(inputs, actual);
+            assertArrayEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void testMalformedEncodingsAreRejected() {
+        byte[] encoded = QuantisedNetwork.quantise(NetworkCompilerTest.evolvedNetworks(new Random(10), 2, 1).getLast()).encode();
+
+        assertThrows(IllegalArgumentException.class, () -> QuantisedNetwork.decode(Arrays.copyOf(encoded, encoded.length - 1)));
+        assertThrows(IllegalArgumentException.class, () -> QuantisedNetwork.decode(Arrays.copyOf(encoded, encoded.length + 1)));
+        byte[] corrupted = encoded.clone();
+        corrupted[0] ^= 1;
+        assertThrows(IllegalArgumentException.class, () -> QuantisedNetwork.decode(corrupted));
+    }
+
+    @Test
+    public void testQuantisedCartPoleChampionStillBalances() {
+        NeatAlgorithm neat = new NeatAlgorithm(50, 50, new Random(0));
+        Agent champion = neat.solve(new SinglePoleBalancing(10, false, new Random(0)));
+        SinglePoleBalancing environment = new SinglePoleBalancing(10, false, new Random(0));
+        assertTrue(environment.solved(champion));
+
+        QuantisedNetwork quantised = QuantisedNetwork.quantise((NetworkChromosome) champion);
+        quantised.setFitness(environment.evaluate(quantised));
+        assertTrue(environment.solved(quantised));
+    }
+}
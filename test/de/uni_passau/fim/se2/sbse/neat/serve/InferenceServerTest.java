@@ -0,0 +1,84 @@
+package de.uni_passau.fim.se2.sbse.neat.serve;
+
+import de.uni_passau.fim.se2.sbse.neat.algorithms.innovations.Innovation;
+import de.uni_passau.fim.se2.sbse.neat.chromosomes.NetworkGenerator;
+import de.uni_passau.fim.se2.sbse.neat.phenotype.CompiledNetwork;
+import de.uni_passau.fim.se2.sbse.neat.phenotype.NetworkCompiler;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InferenceServerTest {
+
+    private final CompiledNetwork network =
+            NetworkCompiler.compile(new NetworkGenerator(new HashSet<Innovation>(), 3, 2, new Random(0)).generate());
+
+    @Test
+    public void testPredictionsOverHttpMatchTheNetwork() throws Exception {
+        try (InferenceServer server = new InferenceServer(network.copy(), 0, 8, Duration.ofMillis(1));
+             HttpClient client = HttpClient.newHttpClient()) {
+            HttpResponse<String> response = post(client, server, "0.5, -1.0 2.0");
+
+            assertEquals(200, response.statusCode());
+            assertEquals(InferenceServer.formatOutputs(network.activate(new double[]{0.5, -1.0, 2.0})), response.body());
+        }
+    }
+
+    @Test
+    public void testMalformedRequestsAreRejected() throws Exception {
+        try (InferenceServer server = new InferenceServer(network.copy(), 0, 8, Duration.ZERO);
+             HttpClient client = HttpClient.newHttpClient()) {
+            assertEquals(400, post(client, server, "1.0,2.0").statusCode());
+            assertEquals(400, post(client, server, "1.0,x,2.0").statusCode());
+        }
+    }
+
+    @Test
+    public void testConcurrentRequestsAreBatched() throws Exception {
+        try (InferenceServer server = new InferenceServer(network.copy(), 0, 64, Duration.ofMillis(20))) {
+            List<CompletableFuture<double[]>> predictions = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                predictions.add(server.predict(new double[]{i, -i, 1.0}));
+            }
+            for (int i = 0; i < predictions.size(); i++) {
+                assertArrayEquals(network.activate(new double[]{i, -i, 1.0}), predictions.get(i).get());
+            }
+
+            ServerStatistics statistics = server.statistics();
+            assertEquals(32, statistics.requests());
+            assertTrue(statistics.meanBatchSize() > 1, "mean batch size was " + statistics.meanBatchSize());
+            assertTrue(statistics.p99Nanos() >= statistics.p50Nanos());
+        }
+    }
+
+    @Test
+    public void testStatisticsAreReportedOverHttp() throws Exception {
+        try (InferenceServer server = new InferenceServer(network.copy(), 0, 8, Duration.ZERO);
+             HttpClient client = HttpClient.newHttpClient()) {
+            post(client, server, "1,2,3");
+            HttpResponse<String> response = client.send(
+                    HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + "/stats")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+
+            assertTrue(response.body().startsWith("requests=1 "), response.body());
+            assertTrue(response.body().contains("p99="), response.body());
+        }
+    }
+
+    // Helper methods
+    private HttpResponse<String> post(HttpClient client, InferenceServer server, String body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + "/predict"))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,38 @@
+package de.uni_passau.fim.se2.sbse.neat.serve;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testPercentilesOverestimateByAtMostOneSixteenth() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long latency = 1; latency <= 100_000; latency++) {
+            histogram.record(latency * 1000);
+        }
+
+        assertEquals(100_000, histogram.count());
+        long p99 = histogram.percentile(0.99);
+        assertTrue(p99 >= 99_000_000L, "p99 was " + p99);
+        assertTrue(p99 <= 99_000_000L * 17 / 16, "p99 was " + p99);
+        assertTrue(histogram.percentile(0.5) >= 50_000_000L);
+    }
+
+    @Test
+    public void testBucketsCoverAllValues() {
+        for (long value : new long[]{0, 1, 15, 16, 17, 1000, 123_456_789, Long.MAX_VALUE}) {
+            int bucket = LatencyHistogram.bucketOf(value);
+            assertTrue(LatencyHistogram.upperBoundOf(bucket) >= value);
+            if (bucket > 0) {
+                assertTrue(LatencyHistogram.upperBoundOf(bucket - 1) < value);
+            }
+        }
+    }
+
+    @Test
+    public void testEmptyHistogramReportsZero() {
+        assertEquals(0, new LatencyHistogram().percentile(0.99));
+    }
+}
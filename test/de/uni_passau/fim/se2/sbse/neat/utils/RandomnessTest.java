@@ -0,0 +1,22 @@
+package de.uni_passau.fim.se2.sbse.neat.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RandomnessTest {
+
+    @Test
+    public void testDerivedSeedsAreDeterministicAndDistinct() {
+        Set<Long> seeds = new HashSet<>();
+        for (int stream = 0; stream < 1000; stream++) {
+            assertEquals(Randomness.derive(42, stream), Randomness.derive(42, stream));
+            assertTrue(seeds.add(Randomness.derive(42, stream)));
+            assertTrue(seeds.add(Randomness.derive(43, stream)));
+        }
+        assertNotEquals(Randomness.derive(0, 0), 0);
+    }
+}
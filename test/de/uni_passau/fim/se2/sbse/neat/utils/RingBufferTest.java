@@ -0,0 +1,67 @@
+package de.uni_passau.fim.se2.sbse.neat.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RingBufferTest {
+
+    @Test
+    public void testElementsArePolledInOrderAndOfferFailsWhenFull() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+        assertNull(buffer.poll());
+        for (int lap = 0; lap < 3; lap++) {
+            for (int i = 0; i < 4; i++) {
+                assertTrue(buffer.offer(lap * 4 + i));
+            }
+            assertFalse(buffer.offer(-1));
+            for (int i = 0; i < 4; i++) {
+                assertEquals(lap * 4 + i, buffer.poll());
+            }
+            assertNull(buffer.poll());
+        }
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer<>(6));
+    }
+
+    @Test
+    public void testConcurrentProducersLoseNoElements() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 20_000;
+        RingBuffer<Integer> buffer = new RingBuffer<>(64);
+        List<Thread> threads = new ArrayList<>();
+        for (int producer = 0; producer < producers; producer++) {
+            int first = producer * perProducer;
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = first; i < first + perProducer; i++) {
+                    while (!buffer.offer(i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            }));
+        }
+
+        // Every producer's elements must arrive in the order they were offered
+        int[] next = new int[producers];
+        for (int producer = 0; producer < producers; producer++) {
+            next[producer] = producer * perProducer;
+        }
+        for (int received = 0; received < producers * perProducer; ) {
+            Integer element = buffer.poll();
+            if (element == null) {
+                Thread.onSpinWait();
+                continue;
+            }
+            int producer = element / perProducer;
+            assertEquals(next[producer], element);
+            next[producer]++;
+            received++;
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertNull(buffer.poll());
+    }
+}